@@ -25,7 +25,9 @@ import com.google.api.gax.core.FixedExecutorProvider;
 import com.google.api.gax.core.NoCredentialsProvider;
 import com.google.api.gax.retrying.RetrySettings;
 import com.google.api.gax.retrying.RetrySettings.Builder;
+import com.google.api.gax.rpc.FixedTransportChannelProvider;
 import com.google.api.gax.rpc.HeaderProvider;
+import com.google.api.gax.rpc.TransportChannel;
 import com.google.api.gax.rpc.TransportChannelProvider;
 import com.google.cloud.pubsub.v1.SubscriptionAdminClient;
 import com.google.cloud.pubsub.v1.SubscriptionAdminSettings;
@@ -42,6 +44,8 @@ import com.google.cloud.spring.pubsub.core.PubSubConfiguration;
 import com.google.cloud.spring.pubsub.core.PubSubException;
 import com.google.cloud.spring.pubsub.core.PubSubTemplate;
 import com.google.cloud.spring.pubsub.core.health.HealthTrackerRegistry;
+import com.google.cloud.spring.pubsub.core.metrics.MicrometerPubSubMetrics;
+import com.google.cloud.spring.pubsub.core.metrics.PubSubMetrics;
 import com.google.cloud.spring.pubsub.core.publisher.PubSubPublisherTemplate;
 import com.google.cloud.spring.pubsub.core.publisher.PublisherCustomizer;
 import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberTemplate;
@@ -51,18 +55,24 @@ import com.google.cloud.spring.pubsub.support.DefaultSubscriberFactory;
 import com.google.cloud.spring.pubsub.support.PubSubSubscriptionUtils;
 import com.google.cloud.spring.pubsub.support.PublisherFactory;
 import com.google.cloud.spring.pubsub.support.SubscriberFactory;
+import com.google.cloud.spring.pubsub.support.VirtualThreadExecutors;
 import com.google.cloud.spring.pubsub.support.converter.PubSubMessageConverter;
 import com.google.pubsub.v1.ProjectSubscriptionName;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
@@ -120,6 +130,8 @@ public class GcpPubSubAutoConfiguration {
 
   private ExecutorProvider globalExecutorProvider;
 
+  private TransportChannel sharedTransportChannel;
+
   public GcpPubSubAutoConfiguration(
       GcpPubSubProperties gcpPubSubProperties,
       GcpProjectIdProvider gcpProjectIdProvider,
@@ -168,15 +180,20 @@ public class GcpPubSubAutoConfiguration {
   @ConditionalOnMissingBean
   public PubSubPublisherTemplate pubSubPublisherTemplate(
       PublisherFactory publisherFactory,
-      ObjectProvider<PubSubMessageConverter> pubSubMessageConverter) {
+      ObjectProvider<PubSubMessageConverter> pubSubMessageConverter,
+      ObjectProvider<PubSubMetrics> pubSubMetrics) {
     PubSubPublisherTemplate pubSubPublisherTemplate = new PubSubPublisherTemplate(publisherFactory);
     pubSubMessageConverter.ifUnique(pubSubPublisherTemplate::setMessageConverter);
+    pubSubMetrics.ifUnique(pubSubPublisherTemplate::setMetrics);
     return pubSubPublisherTemplate;
   }
 
   @Bean
   @ConditionalOnMissingBean(name = "pubSubAcknowledgementExecutor")
   public Executor pubSubAcknowledgementExecutor() {
+    if (isGlobalVirtualThreads()) {
+      return VirtualThreadExecutors.newExecutor("gcp-pubsub-ack-executor-");
+    }
     ThreadPoolTaskExecutor ackExecutor = new ThreadPoolTaskExecutor();
     ackExecutor.setMaxPoolSize(
         this.gcpPubSubProperties.getSubscriber().getMaxAcknowledgementThreads());
@@ -191,15 +208,42 @@ public class GcpPubSubAutoConfiguration {
       SubscriberFactory subscriberFactory,
       ObjectProvider<PubSubMessageConverter> pubSubMessageConverter,
       @Qualifier("pubSubAsynchronousPullExecutor") ObjectProvider<Executor> asyncPullExecutor,
-      @Qualifier("pubSubAcknowledgementExecutor") Executor ackExecutor) {
+      @Qualifier("pubSubAcknowledgementExecutor") Executor ackExecutor,
+      @Qualifier("subscriberAckBatchingSettings")
+          ObjectProvider<BatchingSettings> ackBatchingSettings,
+      ObjectProvider<PubSubMetrics> pubSubMetrics) {
     PubSubSubscriberTemplate pubSubSubscriberTemplate =
         new PubSubSubscriberTemplate(subscriberFactory);
     pubSubMessageConverter.ifUnique(pubSubSubscriberTemplate::setMessageConverter);
+    pubSubMetrics.ifUnique(pubSubSubscriberTemplate::setMetrics);
     pubSubSubscriberTemplate.setAckExecutor(ackExecutor);
-    asyncPullExecutor.ifAvailable(pubSubSubscriberTemplate::setAsyncPullExecutor);
+    ackBatchingSettings.ifAvailable(pubSubSubscriberTemplate::setAckBatchingSettings);
+    Executor pullExecutor = asyncPullExecutor.getIfAvailable();
+    if (pullExecutor == null && isGlobalVirtualThreads()) {
+      pullExecutor = VirtualThreadExecutors.newExecutor("gcp-pubsub-async-pull-");
+    }
+    if (pullExecutor != null) {
+      pubSubSubscriberTemplate.setAsyncPullExecutor(pullExecutor);
+    }
     return pubSubSubscriberTemplate;
   }
 
+  @Bean
+  @ConditionalOnMissingBean(name = "subscriberAckBatchingSettings")
+  public BatchingSettings subscriberAckBatchingSettings() {
+    PubSubConfiguration.AckBatching ackBatching =
+        this.gcpPubSubProperties.getSubscriber().getAckBatching();
+    if (!ackBatching.isEnabled()) {
+      return null;
+    }
+
+    return BatchingSettings.newBuilder()
+        .setElementCountThreshold(ackBatching.getElementCountThreshold())
+        .setRequestByteThreshold(ackBatching.getRequestByteThreshold())
+        .setDelayThreshold(Duration.ofMillis(ackBatching.getDelayThresholdMillis()))
+        .build();
+  }
+
   @Bean
   @ConditionalOnMissingBean
   public PubSubTemplate pubSubTemplate(
@@ -352,7 +396,8 @@ public class GcpPubSubAutoConfiguration {
       @Qualifier("publisherRetrySettings") ObjectProvider<RetrySettings> retrySettings,
       @Qualifier("publisherTransportChannelProvider")
           TransportChannelProvider publisherTransportChannelProvider,
-      ObjectProvider<PublisherCustomizer> customizersProvider) {
+      ObjectProvider<PublisherCustomizer> customizersProvider,
+      ObjectProvider<PubSubMetrics> pubSubMetrics) {
     DefaultPublisherFactory factory = new DefaultPublisherFactory(this.finalProjectIdProvider);
     factory.setExecutorProvider(executorProvider);
     factory.setCredentialsProvider(this.finalCredentialsProvider);
@@ -368,7 +413,18 @@ public class GcpPubSubAutoConfiguration {
     Collections.reverse(customizers); // highest priority customizer needs to be last
     factory.setCustomizers(customizers);
 
-    return new CachingPublisherFactory(factory);
+    CachingPublisherFactory cachingPublisherFactory = new CachingPublisherFactory(factory);
+    PubSubConfiguration.PublisherCache cache = this.gcpPubSubProperties.getPublisher().getCache();
+    ifSet(cache.getMaxSize(), cachingPublisherFactory::setMaximumSize);
+    ifSet(
+        cache.getIdleTimeoutSeconds(),
+        x -> cachingPublisherFactory.setIdleTimeout(java.time.Duration.ofSeconds(x)));
+    cachingPublisherFactory.setShutdownTimeout(
+        java.time.Duration.ofSeconds(cache.getShutdownTimeoutSeconds()));
+    cachingPublisherFactory.setEvictionGracePeriod(
+        java.time.Duration.ofSeconds(cache.getEvictionGracePeriodSeconds()));
+    pubSubMetrics.ifUnique(cachingPublisherFactory::setMetrics);
+    return cachingPublisherFactory;
   }
 
   @Bean
@@ -421,6 +477,43 @@ public class GcpPubSubAutoConfiguration {
     }
   }
 
+  @Bean(name = {"subscriberTransportChannelProvider", "publisherTransportChannelProvider"})
+  @ConditionalOnMissingBean(
+      name = {"subscriberTransportChannelProvider", "publisherTransportChannelProvider"})
+  @ConditionalOnProperty(prefix = "spring.cloud.gcp.pubsub", name = "channel-pool-size")
+  public TransportChannelProvider sharedTransportChannelProvider() throws IOException {
+    this.sharedTransportChannel =
+        SubscriberStubSettings.defaultGrpcTransportProviderBuilder()
+            .setEndpoint(getSharedChannelPoolEndpoint())
+            .setHeaderProvider(this.headerProvider)
+            .setPoolSize(this.gcpPubSubProperties.getChannelPoolSize())
+            .setKeepAliveTime(
+                Duration.ofMinutes(this.gcpPubSubProperties.getKeepAliveIntervalMinutes()))
+            .build()
+            .getTransportChannel();
+    return FixedTransportChannelProvider.create(this.sharedTransportChannel);
+  }
+
+  private String getSharedChannelPoolEndpoint() {
+    Set<String> endpoints = new LinkedHashSet<>();
+    ifSet(this.gcpPubSubProperties.getPublisher().getEndpoint(), endpoints::add);
+    ifSet(this.gcpPubSubProperties.getSubscriber().getPullEndpoint(), endpoints::add);
+    this.gcpPubSubProperties
+        .getSubscription()
+        .values()
+        .forEach(subscriber -> ifSet(subscriber.getPullEndpoint(), endpoints::add));
+    if (endpoints.size() > 1) {
+      throw new IllegalStateException(
+          "A shared channel pool connects to a single endpoint, but different publisher and pull "
+              + "endpoints are configured: "
+              + endpoints
+              + ". Unset spring.cloud.gcp.pubsub.channel-pool-size or use the same endpoint.");
+    }
+    return endpoints.isEmpty()
+        ? SubscriberStubSettings.getDefaultEndpoint()
+        : endpoints.iterator().next();
+  }
+
   @Bean
   @ConditionalOnMissingBean(name = "subscriberTransportChannelProvider")
   public TransportChannelProvider subscriberTransportChannelProvider() {
@@ -439,6 +532,13 @@ public class GcpPubSubAutoConfiguration {
         .build();
   }
 
+  @PreDestroy
+  public void closeSharedTransportChannel() {
+    if (this.sharedTransportChannel != null) {
+      this.sharedTransportChannel.shutdown();
+    }
+  }
+
   @PostConstruct
   public void registerSubscriberSettings() {
     GenericApplicationContext context = (GenericApplicationContext) this.applicationContext;
@@ -449,13 +549,15 @@ public class GcpPubSubAutoConfiguration {
   }
 
   private void registerSubscriberThreadPoolSchedulerBeans(GenericApplicationContext context) {
-    Integer numThreads = getGlobalExecutorThreads();
-    this.globalScheduler =
-        createAndRegisterSchedulerBean(
-            numThreads,
-            "global-gcp-pubsub-subscriber",
-            "globalPubSubSubscriberThreadPoolScheduler",
-            context);
+    if (!isGlobalVirtualThreads()) {
+      Integer numThreads = getGlobalExecutorThreads();
+      this.globalScheduler =
+          createAndRegisterSchedulerBean(
+              numThreads,
+              "global-gcp-pubsub-subscriber",
+              "globalPubSubSubscriberThreadPoolScheduler",
+              context);
+    }
     registerSelectiveSchedulerBeans(context);
   }
 
@@ -483,8 +585,16 @@ public class GcpPubSubAutoConfiguration {
       this.globalExecutorProvider =
           createAndRegisterExecutorProvider(
               "globalSubscriberExecutorProvider", this.globalScheduler, context);
+    } else if (isGlobalVirtualThreads()) {
+      this.globalExecutorProvider =
+          createAndRegisterVirtualThreadExecutorProvider(
+              "globalSubscriberExecutorProvider",
+              "global-gcp-pubsub-subscriber-",
+              "globalPubSubSubscriberVirtualThreadScheduler",
+              context);
     }
     createAndRegisterSelectiveExecutorProvider(context);
+    createAndRegisterSelectiveVirtualThreadExecutorProvider(context);
   }
 
   private void registerSubscriberRetrySettingsBeans(GenericApplicationContext context) {
@@ -517,6 +627,16 @@ public class GcpPubSubAutoConfiguration {
       String subscriptionName = fullSubscriptionName.getSubscription();
       PubSubConfiguration.Subscriber selectiveSubscriber = subscriberMap.get(subscriptionName);
       Integer selectiveExecutorThreads = selectiveSubscriber.getExecutorThreads();
+      Boolean selectiveVirtualThreads = selectiveSubscriber.getVirtualThreads();
+      if (Boolean.TRUE.equals(selectiveVirtualThreads)) {
+        continue;
+      }
+      if (selectiveExecutorThreads == null
+          && Boolean.FALSE.equals(selectiveVirtualThreads)
+          && isGlobalVirtualThreads()) {
+        // Opted out of the global virtual threads, so fall back to the default thread pool.
+        selectiveExecutorThreads = PubSubConfiguration.DEFAULT_EXECUTOR_THREADS;
+      }
       if (selectiveExecutorThreads != null) {
         String threadName = "gcp-pubsub-subscriber-" + subscriptionName;
         String beanName = "threadPoolScheduler_" + subscriptionName;
@@ -608,6 +728,56 @@ public class GcpPubSubAutoConfiguration {
     }
   }
 
+  /**
+   * Creates and registers virtual thread {@link ExecutorProvider}s for subscriptions opting into
+   * virtual threads when they are not enabled globally.
+   *
+   * @param context application context
+   */
+  private void createAndRegisterSelectiveVirtualThreadExecutorProvider(
+      GenericApplicationContext context) {
+    if (isGlobalVirtualThreads()) {
+      return;
+    }
+    for (Map.Entry<String, PubSubConfiguration.Subscriber> subscription :
+        this.gcpPubSubProperties.getSubscription().entrySet()) {
+      if (!Boolean.TRUE.equals(subscription.getValue().getVirtualThreads())) {
+        continue;
+      }
+      ProjectSubscriptionName fullSubscriptionName = getFullSubscriptionName(subscription.getKey());
+      String fullyQualifiedName = fullSubscriptionName.toString();
+      String subscriptionName = fullSubscriptionName.getSubscription();
+      if (!this.executorProviderMap.containsKey(fullyQualifiedName)) {
+        ExecutorProvider executorProvider =
+            createAndRegisterVirtualThreadExecutorProvider(
+                "subscriberExecutorProvider-" + subscriptionName,
+                "gcp-pubsub-subscriber-" + subscriptionName + "-",
+                "virtualThreadScheduler_" + subscriptionName,
+                context);
+        this.executorProviderMap.putIfAbsent(fullyQualifiedName, executorProvider);
+      }
+    }
+  }
+
+  private ExecutorProvider createAndRegisterVirtualThreadExecutorProvider(
+      String beanName,
+      String threadName,
+      String schedulerBeanName,
+      GenericApplicationContext context) {
+    ScheduledExecutorService scheduler = VirtualThreadExecutors.newScheduledExecutor(threadName);
+    context.registerBeanDefinition(
+        schedulerBeanName,
+        BeanDefinitionBuilder.genericBeanDefinition(ScheduledExecutorService.class, () -> scheduler)
+            .setDestroyMethodName("shutdown")
+            .getBeanDefinition());
+    ExecutorProvider executor = FixedExecutorProvider.create(scheduler);
+    context.registerBeanDefinition(
+        beanName,
+        BeanDefinitionBuilder.genericBeanDefinition(ExecutorProvider.class, () -> executor)
+            .getBeanDefinition());
+    return executor;
+  }
+
   private ExecutorProvider createAndRegisterExecutorProvider(
       String beanName, ThreadPoolTaskScheduler scheduler, GenericApplicationContext context) {
     scheduler.initialize();
@@ -641,6 +811,10 @@ public class GcpPubSubAutoConfiguration {
     }
   }
 
+  private boolean isGlobalVirtualThreads() {
+    return Boolean.TRUE.equals(this.gcpPubSubProperties.getSubscriber().getVirtualThreads());
+  }
+
   private Integer getGlobalExecutorThreads() {
     Integer numThreads = this.gcpPubSubProperties.getSubscriber().getExecutorThreads();
     return numThreads != null ? numThreads : PubSubConfiguration.DEFAULT_EXECUTOR_THREADS;
@@ -650,4 +824,17 @@ public class GcpPubSubAutoConfiguration {
     return PubSubSubscriptionUtils.toProjectSubscriptionName(
         subscriptionName, this.finalProjectIdProvider.getProjectId());
   }
+
+  /** Records Pub/Sub metrics to the Micrometer registry when one is available. */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(MeterRegistry.class)
+  static class PubSubMetricsConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PubSubMetrics pubSubMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+      MeterRegistry registry = meterRegistry.getIfUnique();
+      return registry != null ? new MicrometerPubSubMetrics(registry) : PubSubMetrics.NOOP;
+    }
+  }
 }
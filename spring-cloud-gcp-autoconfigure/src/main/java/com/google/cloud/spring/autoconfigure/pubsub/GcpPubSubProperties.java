@@ -39,6 +39,12 @@ public class GcpPubSubProperties extends PubSubConfiguration implements Credenti
   /** How often to ping the server to keep the channel alive. */
   private int keepAliveIntervalMinutes = 5;
 
+  /**
+   * Number of gRPC channels shared by all publishers, subscribers and admin clients, used in
+   * round-robin. If not set, each of them opens its own channel.
+   */
+  private Integer channelPoolSize;
+
   /** Overrides the GCP OAuth2 credentials specified in the Core module. */
   @NestedConfigurationProperty
   private final Credentials credentials = new Credentials(GcpScope.PUBSUB.getUrl());
@@ -75,4 +81,12 @@ public class GcpPubSubProperties extends PubSubConfiguration implements Credenti
   public void setKeepAliveIntervalMinutes(int keepAliveIntervalMinutes) {
     this.keepAliveIntervalMinutes = keepAliveIntervalMinutes;
   }
+
+  public Integer getChannelPoolSize() {
+    return this.channelPoolSize;
+  }
+
+  public void setChannelPoolSize(Integer channelPoolSize) {
+    this.channelPoolSize = channelPoolSize;
+  }
 }
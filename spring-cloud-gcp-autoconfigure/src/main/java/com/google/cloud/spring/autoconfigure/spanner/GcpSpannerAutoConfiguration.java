@@ -18,6 +18,7 @@ package com.google.cloud.spring.autoconfigure.spanner;
 
 import com.google.api.gax.core.CredentialsProvider;
 import com.google.auth.Credentials;
+import com.google.cloud.spanner.BatchClient;
 import com.google.cloud.spanner.DatabaseAdminClient;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.DatabaseId;
@@ -32,6 +33,7 @@ import com.google.cloud.spring.core.UserAgentHeaderProvider;
 import com.google.cloud.spring.data.spanner.core.SpannerMutationFactory;
 import com.google.cloud.spring.data.spanner.core.SpannerMutationFactoryImpl;
 import com.google.cloud.spring.data.spanner.core.SpannerOperations;
+import com.google.cloud.spring.data.spanner.core.SpannerReactiveTemplate;
 import com.google.cloud.spring.data.spanner.core.SpannerTemplate;
 import com.google.cloud.spring.data.spanner.core.admin.CachingComposingSupplier;
 import com.google.cloud.spring.data.spanner.core.admin.DatabaseIdProvider;
@@ -52,6 +54,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
 import org.springframework.data.rest.webmvc.spi.BackendIdConverter;
+import reactor.core.publisher.Flux;
 
 /** Provides Spring Data classes to use with Cloud Spanner. */
 @Configuration(proxyBeanMethods = false)
@@ -202,6 +205,13 @@ public class GcpSpannerAutoConfiguration {
       return new CachingComposingSupplier<>(databaseIdProvider, spanner::getDatabaseClient);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(value = BatchClient.class, parameterizedContainer = Supplier.class)
+    public Supplier<BatchClient> batchClientProvider(
+        Spanner spanner, Supplier<DatabaseId> databaseIdProvider) {
+      return new CachingComposingSupplier<>(databaseIdProvider, spanner::getBatchClient);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public DatabaseAdminClient spannerDatabaseAdminClient(Spanner spanner) {
@@ -221,13 +231,17 @@ public class GcpSpannerAutoConfiguration {
         SpannerMappingContext mappingContext,
         SpannerEntityProcessor spannerEntityProcessor,
         SpannerMutationFactory spannerMutationFactory,
-        SpannerSchemaUtils spannerSchemaUtils) {
-      return new SpannerTemplate(
-          databaseClientProvider,
-          mappingContext,
-          spannerEntityProcessor,
-          spannerMutationFactory,
-          spannerSchemaUtils);
+        SpannerSchemaUtils spannerSchemaUtils,
+        Supplier<BatchClient> batchClientProvider) {
+      SpannerTemplate spannerTemplate =
+          new SpannerTemplate(
+              databaseClientProvider,
+              mappingContext,
+              spannerEntityProcessor,
+              spannerMutationFactory,
+              spannerSchemaUtils);
+      spannerTemplate.setBatchClientProvider(batchClientProvider);
+      return spannerTemplate;
     }
 
     @Bean
@@ -268,6 +282,21 @@ public class GcpSpannerAutoConfiguration {
     }
   }
 
+  /** Reactive settings. */
+  @ConditionalOnClass(Flux.class)
+  static class ReactiveSpannerAutoConfiguration {
+    @Bean
+    @ConditionalOnMissingBean
+    public SpannerReactiveTemplate spannerReactiveTemplate(
+        Supplier<DatabaseClient> databaseClientProvider,
+        SpannerMappingContext mappingContext,
+        SpannerEntityProcessor spannerEntityProcessor,
+        SpannerMutationFactory spannerMutationFactory) {
+      return new SpannerReactiveTemplate(
+          databaseClientProvider, mappingContext, spannerEntityProcessor, spannerMutationFactory);
+    }
+  }
+
   /** REST settings. */
   @ConditionalOnClass({BackendIdConverter.class, SpannerMappingContext.class})
   static class SpannerKeyRestSupportAutoConfiguration {
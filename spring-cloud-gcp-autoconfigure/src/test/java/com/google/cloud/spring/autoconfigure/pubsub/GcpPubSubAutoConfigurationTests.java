@@ -17,6 +17,8 @@
 package com.google.cloud.spring.autoconfigure.pubsub;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.Mockito.mock;
 
 import com.google.api.gax.batching.BatchingSettings;
@@ -24,8 +26,10 @@ import com.google.api.gax.batching.FlowControlSettings;
 import com.google.api.gax.batching.FlowController;
 import com.google.api.gax.core.CredentialsProvider;
 import com.google.api.gax.core.ExecutorProvider;
+import com.google.api.gax.grpc.GrpcTransportChannel;
 import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
 import com.google.api.gax.retrying.RetrySettings;
+import com.google.api.gax.rpc.FixedTransportChannelProvider;
 import com.google.api.gax.rpc.StatusCode.Code;
 import com.google.api.gax.rpc.TransportChannelProvider;
 import com.google.auth.Credentials;
@@ -33,11 +37,17 @@ import com.google.cloud.pubsub.v1.Publisher;
 import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.spring.core.GcpProjectIdProvider;
 import com.google.cloud.spring.pubsub.core.PubSubConfiguration;
+import com.google.cloud.spring.pubsub.core.metrics.MicrometerPubSubMetrics;
+import com.google.cloud.spring.pubsub.core.metrics.PubSubMetrics;
+import com.google.cloud.spring.pubsub.core.publisher.PubSubPublisherTemplate;
 import com.google.cloud.spring.pubsub.core.publisher.PublisherCustomizer;
+import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberTemplate;
 import com.google.cloud.spring.pubsub.support.CachingPublisherFactory;
 import com.google.cloud.spring.pubsub.support.DefaultPublisherFactory;
 import com.google.cloud.spring.pubsub.support.DefaultSubscriberFactory;
 import com.google.cloud.spring.pubsub.support.PublisherFactory;
+import com.google.cloud.spring.pubsub.support.VirtualThreadExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.jupiter.api.Test;
@@ -112,6 +122,114 @@ class GcpPubSubAutoConfigurationTests {
         });
   }
 
+  @Test
+  void sharedChannelPool_notCreatedByDefault() {
+    baseContextRunner.run(
+        ctx ->
+            assertThat(ctx.getBean("subscriberTransportChannelProvider"))
+                .isNotSameAs(ctx.getBean("publisherTransportChannelProvider")));
+  }
+
+  @Test
+  void sharedChannelPool_usedByPublishersAndSubscribers() {
+    baseContextRunner
+        .withPropertyValues("spring.cloud.gcp.pubsub.channel-pool-size=3")
+        .run(
+            ctx -> {
+              TransportChannelProvider subscriberTcp =
+                  ctx.getBean("subscriberTransportChannelProvider", TransportChannelProvider.class);
+              TransportChannelProvider publisherTcp =
+                  ctx.getBean("publisherTransportChannelProvider", TransportChannelProvider.class);
+
+              assertThat(subscriberTcp)
+                  .isSameAs(publisherTcp)
+                  .isInstanceOf(FixedTransportChannelProvider.class);
+              assertThat(subscriberTcp.shouldAutoClose()).isFalse();
+
+              DefaultSubscriberFactory subscriberFactory =
+                  ctx.getBean(DefaultSubscriberFactory.class);
+              assertThat(FieldUtils.readField(subscriberFactory, "channelProvider", true))
+                  .isSameAs(subscriberTcp);
+              DefaultPublisherFactory publisherFactory =
+                  (DefaultPublisherFactory)
+                      ctx.getBean(CachingPublisherFactory.class).getDelegate();
+              assertThat(FieldUtils.readField(publisherFactory, "channelProvider", true))
+                  .isSameAs(subscriberTcp);
+            });
+  }
+
+  @Test
+  void sharedChannelPool_usesConfiguredEndpoint() {
+    baseContextRunner
+        .withPropertyValues(
+            "spring.cloud.gcp.pubsub.channel-pool-size=2",
+            "spring.cloud.gcp.pubsub.publisher.endpoint=us-east1-pubsub.googleapis.com:443",
+            "spring.cloud.gcp.pubsub.subscriber.pull-endpoint=us-east1-pubsub.googleapis.com:443")
+        .run(
+            ctx -> {
+              TransportChannelProvider tcp =
+                  ctx.getBean("subscriberTransportChannelProvider", TransportChannelProvider.class);
+              GrpcTransportChannel channel = (GrpcTransportChannel) tcp.getTransportChannel();
+              assertThat(channel.getChannel().authority())
+                  .isEqualTo("us-east1-pubsub.googleapis.com:443");
+            });
+  }
+
+  @Test
+  void sharedChannelPool_failsWithDifferentEndpoints() {
+    baseContextRunner
+        .withPropertyValues(
+            "spring.cloud.gcp.pubsub.channel-pool-size=2",
+            "spring.cloud.gcp.pubsub.publisher.endpoint=us-east1-pubsub.googleapis.com:443",
+            "spring.cloud.gcp.pubsub.subscription.subscription-name.pull-endpoint="
+                + "europe-west1-pubsub.googleapis.com:443")
+        .run(
+            ctx ->
+                assertThat(ctx)
+                    .getFailure()
+                    .hasRootCauseInstanceOf(IllegalStateException.class)
+                    .getRootCause()
+                    .hasMessageContaining("us-east1-pubsub.googleapis.com:443")
+                    .hasMessageContaining("europe-west1-pubsub.googleapis.com:443"));
+  }
+
+  @Test
+  void ackBatching_disabledByDefault() {
+    ApplicationContextRunner contextRunner =
+        new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(GcpPubSubAutoConfiguration.class))
+            .withUserConfiguration(TestConfig.class);
+
+    contextRunner.run(
+        ctx -> {
+          GcpPubSubProperties props = ctx.getBean(GcpPubSubProperties.class);
+          assertThat(props.getSubscriber().getAckBatching().isEnabled()).isFalse();
+          assertThat(ctx.getBeanProvider(BatchingSettings.class).stream()).isEmpty();
+        });
+  }
+
+  @Test
+  void ackBatching_custom() {
+    ApplicationContextRunner contextRunner =
+        new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(GcpPubSubAutoConfiguration.class))
+            .withUserConfiguration(TestConfig.class)
+            .withPropertyValues(
+                "spring.cloud.gcp.pubsub.subscriber.ack-batching.enabled=true",
+                "spring.cloud.gcp.pubsub.subscriber.ack-batching.element-count-threshold=500",
+                "spring.cloud.gcp.pubsub.subscriber.ack-batching.delay-threshold-millis=20");
+
+    contextRunner.run(
+        ctx -> {
+          BatchingSettings settings =
+              ctx.getBean("subscriberAckBatchingSettings", BatchingSettings.class);
+          assertThat(settings.getElementCountThreshold()).isEqualTo(500L);
+          assertThat(settings.getRequestByteThreshold()).isNull();
+          assertThat(settings.getDelayThreshold()).isEqualTo(Duration.ofMillis(20));
+          assertThat(ctx.getBean(PubSubSubscriberTemplate.class)).isNotNull();
+        });
+  }
+
   @Test
   void maxInboundMessageSize_default() {
     ApplicationContextRunner contextRunner =
@@ -327,6 +445,80 @@ class GcpPubSubAutoConfigurationTests {
         });
   }
 
+  @Test
+  void metrics_recordedToMeterRegistry() {
+    ApplicationContextRunner contextRunner =
+        new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(GcpPubSubAutoConfiguration.class))
+            .withUserConfiguration(TestConfig.class)
+            .withBean(SimpleMeterRegistry.class);
+
+    contextRunner.run(
+        ctx -> {
+          PubSubMetrics metrics = ctx.getBean(PubSubMetrics.class);
+          assertThat(metrics).isInstanceOf(MicrometerPubSubMetrics.class);
+          PubSubSubscriberTemplate subscriberTemplate = ctx.getBean(PubSubSubscriberTemplate.class);
+          PubSubPublisherTemplate publisherTemplate = ctx.getBean(PubSubPublisherTemplate.class);
+          assertThat(FieldUtils.readField(subscriberTemplate, "metrics", true)).isSameAs(metrics);
+          assertThat(FieldUtils.readField(publisherTemplate, "metrics", true)).isSameAs(metrics);
+        });
+  }
+
+  @Test
+  void metrics_noMeterRegistry_noop() {
+    ApplicationContextRunner contextRunner =
+        new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(GcpPubSubAutoConfiguration.class))
+            .withUserConfiguration(TestConfig.class);
+
+    contextRunner.run(
+        ctx -> assertThat(ctx.getBean(PubSubMetrics.class)).isSameAs(PubSubMetrics.NOOP));
+  }
+
+  @Test
+  void virtualThreads_unsupportedRuntime_failsStartup() {
+    assumeFalse(VirtualThreadExecutors.isSupported());
+    ApplicationContextRunner contextRunner =
+        new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(GcpPubSubAutoConfiguration.class))
+            .withPropertyValues("spring.cloud.gcp.pubsub.subscriber.virtual-threads=true")
+            .withUserConfiguration(TestConfig.class);
+
+    contextRunner.run(
+        ctx ->
+            assertThat(ctx)
+                .getFailure()
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("Virtual threads require Java 21 or later."));
+  }
+
+  @Test
+  void virtualThreads_globalConfigurationSet() {
+    assumeTrue(VirtualThreadExecutors.isSupported());
+    ApplicationContextRunner contextRunner =
+        new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(GcpPubSubAutoConfiguration.class))
+            .withPropertyValues(
+                "spring.cloud.gcp.pubsub.subscriber.virtual-threads=true",
+                "spring.cloud.gcp.pubsub.subscription.pooled.executor-threads=3")
+            .withUserConfiguration(TestConfig.class);
+
+    contextRunner.run(
+        ctx -> {
+          DefaultSubscriberFactory factory =
+              ctx.getBean("defaultSubscriberFactory", DefaultSubscriberFactory.class);
+          ExecutorProvider globalExecutorProvider =
+              ctx.getBean("globalSubscriberExecutorProvider", ExecutorProvider.class);
+          ExecutorProvider pooledExecutorProvider =
+              ctx.getBean("subscriberExecutorProvider-pooled", ExecutorProvider.class);
+
+          assertThat(ctx.containsBean("globalPubSubSubscriberThreadPoolScheduler")).isFalse();
+          assertThat(ctx.containsBean("threadPoolScheduler_pooled")).isTrue();
+          assertThat(factory.getExecutorProvider("other")).isSameAs(globalExecutorProvider);
+          assertThat(factory.getExecutorProvider("pooled")).isSameAs(pooledExecutorProvider);
+        });
+  }
+
   @Test
   void subscriberThreadPoolTaskScheduler_globalConfigurationSet() {
     ApplicationContextRunner contextRunner =
@@ -1303,6 +1495,29 @@ class GcpPubSubAutoConfigurationTests {
         });
   }
 
+  @Test
+  void publisherCache_custom() {
+    baseContextRunner
+        .withPropertyValues(
+            "spring.cloud.gcp.pubsub.publisher.cache.max-size=50",
+            "spring.cloud.gcp.pubsub.publisher.cache.idle-timeout-seconds=600",
+            "spring.cloud.gcp.pubsub.publisher.cache.shutdown-timeout-seconds=5",
+            "spring.cloud.gcp.pubsub.publisher.cache.eviction-grace-period-seconds=2")
+        .run(ctx -> {
+          CachingPublisherFactory factory =
+              ctx.getBean("defaultPublisherFactory", CachingPublisherFactory.class);
+
+          assertThat(FieldUtils.readField(factory, "maximumSize", true)).isEqualTo(50);
+          assertThat(FieldUtils.readField(factory, "idleTimeoutMillis", true)).isEqualTo(600000L);
+          assertThat(FieldUtils.readField(factory, "shutdownTimeout", true))
+              .isEqualTo(java.time.Duration.ofSeconds(5));
+          assertThat(FieldUtils.readField(factory, "evictionGracePeriod", true))
+              .isEqualTo(java.time.Duration.ofSeconds(2));
+          assertThat(FieldUtils.readField(factory, "metrics", true))
+              .isSameAs(ctx.getBean(PubSubMetrics.class));
+        });
+  }
+
   @Test
   void createPublisherWithCustomizer() {
 
@@ -26,6 +26,7 @@ import com.google.cloud.NoCredentials;
 import com.google.cloud.spanner.SpannerOptions;
 import com.google.cloud.spring.autoconfigure.core.GcpContextAutoConfiguration;
 import com.google.cloud.spring.data.spanner.core.SpannerOperations;
+import com.google.cloud.spring.data.spanner.core.SpannerReactiveOperations;
 import com.google.cloud.spring.data.spanner.core.SpannerTransactionManager;
 import com.google.cloud.spring.data.spanner.core.admin.SpannerDatabaseAdminTemplate;
 import com.google.cloud.spring.data.spanner.core.admin.SpannerSchemaUtils;
@@ -37,6 +38,7 @@ import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.rest.webmvc.spi.BackendIdConverter;
 import org.threeten.bp.Duration;
+import reactor.core.publisher.Flux;
 
 /** Tests for Spanner auto-config. */
 public class GcpSpannerAutoConfigurationTests {
@@ -63,6 +65,21 @@ public class GcpSpannerAutoConfigurationTests {
         });
   }
 
+  @Test
+  public void testSpannerReactiveOperationsCreated() {
+    this.contextRunner.run(
+        context -> assertThat(context.getBean(SpannerReactiveOperations.class)).isNotNull());
+  }
+
+  @Test
+  public void testSpannerReactiveOperationsNotCreatedWithoutReactor() {
+    this.contextRunner
+        .withClassLoader(new FilteredClassLoader(Flux.class))
+        .run(
+            context ->
+                assertThat(context.getBeansOfType(SpannerReactiveOperations.class)).isEmpty());
+  }
+
   @Test
   public void testTestRepositoryCreated() {
     this.contextRunner.run(
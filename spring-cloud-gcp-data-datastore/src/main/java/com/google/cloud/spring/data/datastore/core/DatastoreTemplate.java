@@ -60,7 +60,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -163,6 +165,7 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 
   private <T> List<Entity> getEntitiesForSave(
       Iterable<T> entities, Set<Key> persisted, Key... ancestors) {
+    allocateKeys(entities, ancestors);
     List<Entity> entitiesForSave = new LinkedList<>();
     for (T entity : entities) {
       Key key = getKey(entity, true, ancestors);
@@ -174,6 +177,33 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
     return entitiesForSave;
   }
 
+  /**
+   * Allocates the keys of the given entities that have no ID value, with a single allocation
+   * request for all entities of the same type rather than one request per entity.
+   */
+  private void allocateKeys(Iterable<?> entities, Key... ancestors) {
+    Map<DatastorePersistentEntity<?>, List<Object>> entitiesWithoutIds = new LinkedHashMap<>();
+    Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Object entity : entities) {
+      DatastorePersistentEntity<?> datastorePersistentEntity =
+          getPersistentEntity(entity.getClass());
+      DatastorePersistentProperty idProp = datastorePersistentEntity.getIdPropertyOrFail();
+      if (datastorePersistentEntity.getPropertyAccessor(entity).getProperty(idProp) == null
+          && seen.add(entity)) {
+        entitiesWithoutIds
+            .computeIfAbsent(datastorePersistentEntity, x -> new ArrayList<>())
+            .add(entity);
+      }
+    }
+    entitiesWithoutIds.forEach(
+        (datastorePersistentEntity, entitiesOfType) -> {
+          if (entitiesOfType.size() > 1) {
+            this.objectToKeyFactory.allocateKeysForObjects(
+                entitiesOfType, datastorePersistentEntity, ancestors);
+          }
+        });
+  }
+
   private <T> void saveEntities(List<T> instances, Key[] ancestors) {
     if (!instances.isEmpty()) {
       maybeEmitEvent(new BeforeSaveEvent(instances));
@@ -23,8 +23,24 @@ import com.google.cloud.datastore.KeyFactory;
 import com.google.cloud.spring.data.datastore.core.DatastoreTemplate;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastoreDataException;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastorePersistentEntity;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 
 /**
@@ -35,8 +51,23 @@ import org.springframework.util.Assert;
  */
 public class DatastoreServiceObjectToKeyFactory implements ObjectToKeyFactory {
 
+  private static final Log LOGGER = LogFactory.getLog(DatastoreServiceObjectToKeyFactory.class);
+
+  /**
+   * Refills ID pools on two daemon threads that end when idle, rather than on the common fork-join
+   * pool, which blocking allocations would starve.
+   */
+  private static final Executor DEFAULT_ID_POOL_EXECUTOR = createDefaultIdPoolExecutor();
+
   private final Supplier<Datastore> datastore;
 
+  // the ID pools of root keys, by the incomplete key of their kind, project and namespace.
+  private final Map<IncompleteKey, IdPool> idPools = new ConcurrentHashMap<>();
+
+  private volatile int idPoolSize;
+
+  private Executor idPoolExecutor = DEFAULT_ID_POOL_EXECUTOR;
+
   public DatastoreServiceObjectToKeyFactory(Supplier<Datastore> datastore) {
     Assert.notNull(datastore, "A non-null Datastore service is required.");
     this.datastore = datastore;
@@ -86,6 +117,15 @@ public class DatastoreServiceObjectToKeyFactory implements ObjectToKeyFactory {
   public Key allocateKeyForObject(
       Object entity, DatastorePersistentEntity datastorePersistentEntity, Key... ancestors) {
     Assert.notNull(entity, "Cannot get key for null entity object.");
+    return allocateKeysForObjects(
+            Collections.singletonList(entity), datastorePersistentEntity, ancestors)
+        .get(0);
+  }
+
+  @Override
+  public List<Key> allocateKeysForObjects(
+      List<?> entities, DatastorePersistentEntity datastorePersistentEntity, Key... ancestors) {
+    Assert.notNull(entities, "Cannot get keys for null entity objects.");
     Assert.notNull(datastorePersistentEntity, "Persistent entity must not be null.");
     PersistentProperty idProp = datastorePersistentEntity.getIdPropertyOrFail();
 
@@ -107,22 +147,119 @@ public class DatastoreServiceObjectToKeyFactory implements ObjectToKeyFactory {
         keyFactory.addAncestor(DatastoreTemplate.keyToPathElement(ancestor));
       }
     }
-    Key allocatedKey = this.datastore.get().allocateId(keyFactory.newKey());
+    List<Key> allocatedKeys = allocateKeys(keyFactory.newKey(), entities.size());
 
-    Object value;
-    if (idPropType.equals(Key.class)) {
-      value = allocatedKey;
-    } else if (idPropType.equals(Long.class)) {
-      value = allocatedKey.getId();
-    } else {
-      value = allocatedKey.getId().toString();
+    for (int i = 0; i < entities.size(); i++) {
+      Assert.notNull(entities.get(i), "Cannot get key for null entity object.");
+      Key allocatedKey = allocatedKeys.get(i);
+      Object value = idPropType.equals(Key.class) ? allocatedKey : allocatedKey.getId();
+      datastorePersistentEntity.getPropertyAccessor(entities.get(i)).setProperty(idProp, value);
     }
+    return allocatedKeys;
+  }
+
+  /**
+   * Set the number of IDs pre-allocated for each kind, so that new entities without ancestors get
+   * their keys without waiting for an allocation. The pool of a kind is refilled on the ID pool
+   * executor once half of it has been used. IDs left in the pools are never used. Defaults to 0,
+   * which allocates IDs only when they are needed.
+   *
+   * @param idPoolSize the number of IDs to keep allocated for each kind.
+   * @since 3.2
+   */
+  public void setIdPoolSize(int idPoolSize) {
+    Assert.isTrue(idPoolSize >= 0, "The ID pool size must not be negative.");
+    this.idPoolSize = idPoolSize;
+    this.idPools.clear();
+  }
+
+  /**
+   * Set the executor refilling the ID pools. Defaults to an executor of two daemon threads shared
+   * by the key factories.
+   *
+   * @param idPoolExecutor the executor.
+   * @since 3.2
+   */
+  public void setIdPoolExecutor(Executor idPoolExecutor) {
+    Assert.notNull(idPoolExecutor, "A non-null ID pool executor is required.");
+    this.idPoolExecutor = idPoolExecutor;
+  }
 
-    datastorePersistentEntity.getPropertyAccessor(entity).setProperty(idProp, value);
-    return allocatedKey;
+  private static Executor createDefaultIdPoolExecutor() {
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("datastore-id-pool-");
+    threadFactory.setDaemon(true);
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            2, 2, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private List<Key> allocateKeys(IncompleteKey incompleteKey, int count) {
+    if (count == 0) {
+      return Collections.emptyList();
+    }
+    if (this.idPoolSize > 0 && incompleteKey.getAncestors().isEmpty()) {
+      return this.idPools.computeIfAbsent(incompleteKey, IdPool::new).take(count);
+    }
+    return allocateKeysNow(incompleteKey, count);
+  }
+
+  private List<Key> allocateKeysNow(IncompleteKey incompleteKey, int count) {
+    if (count == 1) {
+      return Collections.singletonList(this.datastore.get().allocateId(incompleteKey));
+    }
+    IncompleteKey[] incompleteKeys = new IncompleteKey[count];
+    Arrays.fill(incompleteKeys, incompleteKey);
+    return this.datastore.get().allocateId(incompleteKeys);
   }
 
   private KeyFactory getKeyFactory() {
     return this.datastore.get().newKeyFactory();
   }
+
+  /** The pre-allocated keys of a kind, refilled in the background when running low. */
+  private final class IdPool {
+
+    private final IncompleteKey incompleteKey;
+
+    private final BlockingQueue<Key> keys = new LinkedBlockingQueue<>();
+
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    IdPool(IncompleteKey incompleteKey) {
+      this.incompleteKey = incompleteKey;
+    }
+
+    List<Key> take(int count) {
+      List<Key> taken = new ArrayList<>(count);
+      this.keys.drainTo(taken, count);
+      if (taken.size() < count) {
+        taken.addAll(allocateKeysNow(this.incompleteKey, count - taken.size()));
+      }
+      if (this.keys.size() <= DatastoreServiceObjectToKeyFactory.this.idPoolSize / 2
+          && this.refilling.compareAndSet(false, true)) {
+        try {
+          DatastoreServiceObjectToKeyFactory.this.idPoolExecutor.execute(this::refill);
+        } catch (RejectedExecutionException ex) {
+          this.refilling.set(false);
+        }
+      }
+      return taken;
+    }
+
+    private void refill() {
+      try {
+        int missing = DatastoreServiceObjectToKeyFactory.this.idPoolSize - this.keys.size();
+        if (missing > 0) {
+          this.keys.addAll(allocateKeysNow(this.incompleteKey, missing));
+        }
+      } catch (RuntimeException ex) {
+        // the pool is refilled by a later save, which meanwhile allocates its own keys.
+        LOGGER.debug("Failed to refill the ID pool of " + this.incompleteKey.getKind(), ex);
+      } finally {
+        this.refilling.set(false);
+      }
+    }
+  }
 }
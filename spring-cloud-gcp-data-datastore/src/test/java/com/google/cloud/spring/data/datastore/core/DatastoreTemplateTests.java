@@ -23,6 +23,7 @@ import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -858,6 +859,28 @@ public class DatastoreTemplateTests {
     verify(this.datastore, times(1)).put(ArgumentMatchers.<FullEntity[]>any());
   }
 
+  @Test
+  public void saveAllAllocatesKeysInBulkTest() {
+    ReferenceTestEntity entity1 = new ReferenceTestEntity();
+    ReferenceTestEntity entity2 = new ReferenceTestEntity();
+    doAnswer(
+            invocation -> {
+              entity1.id = 1L;
+              entity2.id = 2L;
+              return Arrays.asList(this.key1, this.key2);
+            })
+        .when(this.objectToKeyFactory)
+        .allocateKeysForObjects(eq(Arrays.asList(entity1, entity2)), any());
+    when(this.objectToKeyFactory.getKeyFromObject(same(entity1), any())).thenReturn(this.key1);
+    when(this.objectToKeyFactory.getKeyFromObject(same(entity2), any())).thenReturn(this.key2);
+
+    this.datastoreTemplate.saveAll(Arrays.asList(entity1, entity2, entity1));
+
+    verify(this.objectToKeyFactory, times(1)).allocateKeysForObjects(any(), any());
+    verify(this.objectToKeyFactory, never()).allocateKeyForObject(any(), any());
+    verify(this.datastore, times(1)).put(ArgumentMatchers.<FullEntity[]>any());
+  }
+
   @Test
   public void saveAllMaxWriteSizeTest() {
     when(this.objectToKeyFactory.allocateKeyForObject(same(this.ob1), any())).thenReturn(this.key1);
@@ -20,6 +20,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.datastore.Datastore;
@@ -29,6 +31,10 @@ import com.google.cloud.datastore.KeyFactory;
 import com.google.cloud.datastore.PathElement;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastoreDataException;
 import com.google.cloud.spring.data.datastore.core.mapping.DatastoreMappingContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -150,6 +156,62 @@ public class DatastoreServiceObjectToKeyFactoryTests {
     assertThat(testEntityWithKeyId.id).isEqualTo(keyWithAncestor);
   }
 
+  @Test
+  public void allocateIdsForObjectsTest() {
+    TestEntityWithId entity1 = new TestEntityWithId();
+    TestEntityWithId entity2 = new TestEntityWithId();
+    KeyFactory keyFactory = new KeyFactory("project").setKind("custom_test_kind");
+    when(this.datastore.newKeyFactory()).thenReturn(new KeyFactory("project"));
+    when(this.datastore.allocateId(keyFactory.newKey(), keyFactory.newKey()))
+        .thenReturn(Arrays.asList(keyFactory.newKey(1L), keyFactory.newKey(2L)));
+
+    List<Key> allocatedKeys =
+        this.datastoreServiceObjectToKeyFactory.allocateKeysForObjects(
+            Arrays.asList(entity1, entity2),
+            this.datastoreMappingContext.getPersistentEntity(TestEntityWithId.class));
+
+    assertThat(allocatedKeys).containsExactly(keyFactory.newKey(1L), keyFactory.newKey(2L));
+    assertThat(entity1.id).isEqualTo(1L);
+    assertThat(entity2.id).isEqualTo(2L);
+    verify(this.datastore, times(1)).allocateId((IncompleteKey[]) any());
+  }
+
+  @Test
+  public void allocateIdFromPoolTest() {
+    KeyFactory keyFactory = new KeyFactory("project").setKind("custom_test_kind");
+    IncompleteKey incompleteKey = keyFactory.newKey();
+    AtomicLong nextId = new AtomicLong();
+    doAnswer(
+            invocation -> {
+              List<Key> keys = new ArrayList<>();
+              for (Object ignored : invocation.getArguments()) {
+                keys.add(keyFactory.newKey(nextId.incrementAndGet()));
+              }
+              return keys;
+            })
+        .when(this.datastore)
+        .allocateId((IncompleteKey[]) any());
+    when(this.datastore.allocateId(incompleteKey))
+        .thenAnswer(invocation -> keyFactory.newKey(nextId.incrementAndGet()));
+    when(this.datastore.newKeyFactory()).thenReturn(new KeyFactory("project"));
+    this.datastoreServiceObjectToKeyFactory.setIdPoolSize(4);
+    this.datastoreServiceObjectToKeyFactory.setIdPoolExecutor(Runnable::run);
+
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      TestEntityWithId entity = new TestEntityWithId();
+      this.datastoreServiceObjectToKeyFactory.allocateKeyForObject(
+          entity, this.datastoreMappingContext.getPersistentEntity(TestEntityWithId.class));
+      ids.add(entity.id);
+    }
+
+    // the first ID is allocated on its own, then the pool is filled and refilled at half size.
+    assertThat(ids).containsExactly(1L, 2L, 3L, 4L);
+    verify(this.datastore, times(1)).allocateId(incompleteKey);
+    verify(this.datastore, times(2)).allocateId((IncompleteKey[]) any());
+    assertThat(nextId.get()).isEqualTo(7L);
+  }
+
   @Test
   public void allocateIdForObjectNonKeyIdTest() {
     this.expectedEx.expect(DatastoreDataException.class);
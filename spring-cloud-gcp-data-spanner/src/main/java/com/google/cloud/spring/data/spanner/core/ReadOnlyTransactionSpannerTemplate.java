@@ -17,6 +17,7 @@
 package com.google.cloud.spring.data.spanner.core;
 
 import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.ReadContext;
 import com.google.cloud.spanner.ReadOnlyTransaction;
@@ -27,6 +28,9 @@ import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -66,17 +70,60 @@ class ReadOnlyTransactionSpannerTemplate extends SpannerTemplate {
     throw new SpannerDataException("A read-only transaction template cannot execute DML.");
   }
 
+  @Override
+  public long[] executeDmlStatements(List<Statement> statements) {
+    throw new SpannerDataException("A read-only transaction template cannot execute DML.");
+  }
+
+  @Override
+  public CompletableFuture<Long> executeDmlStatementAsync(Statement statement) {
+    throw new SpannerDataException("A read-only transaction template cannot execute DML.");
+  }
+
+  @Override
+  public CompletableFuture<long[]> executeDmlStatementsAsync(List<Statement> statements) {
+    throw new SpannerDataException("A read-only transaction template cannot execute DML.");
+  }
+
   @Override
   public long executePartitionedDmlStatement(Statement statement) {
     throw new SpannerDataException(
         "A read-only transaction template cannot execute partitioned DML.");
   }
 
+  @Override
+  boolean isTransactionTemplate() {
+    return true;
+  }
+
   @Override
   protected ReadContext getReadContext() {
     return this.readOnlyTransaction;
   }
 
+  @Override
+  protected SpannerBulkWriteResult applyBulkMutations(
+      List<? extends Collection<Mutation>> mutationGroups, SpannerBulkWriteOptions options) {
+    throw new SpannerDataException("A read-only transaction template cannot execute bulk writes.");
+  }
+
+  @Override
+  public <T> void readPartitioned(
+      Class<T> entityClass, KeySet keys, SpannerReadOptions options, Consumer<? super T> action) {
+    throw new SpannerDataException(
+        "A read-only transaction template cannot execute partitioned reads.");
+  }
+
+  @Override
+  public <T> void queryPartitioned(
+      Class<T> entityClass,
+      Statement statement,
+      SpannerQueryOptions options,
+      Consumer<? super T> action) {
+    throw new SpannerDataException(
+        "A read-only transaction template cannot execute partitioned queries.");
+  }
+
   @Override
   protected ReadContext getReadContext(TimestampBound timestampBound) {
     throw new SpannerDataException(
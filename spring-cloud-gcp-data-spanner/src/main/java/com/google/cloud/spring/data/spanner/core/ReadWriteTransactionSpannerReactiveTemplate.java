@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.ReadContext;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.TimestampBound;
+import com.google.cloud.spanner.TransactionContext;
+import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link SpannerReactiveTemplate} that performs all operations in a single transaction. This
+ * template is not intended for the user to directly instantiate.
+ *
+ * @since 3.2
+ */
+class ReadWriteTransactionSpannerReactiveTemplate extends SpannerReactiveTemplate {
+
+  private final TransactionContext transactionContext;
+
+  ReadWriteTransactionSpannerReactiveTemplate(
+      Supplier<DatabaseClient> databaseClient,
+      SpannerMappingContext mappingContext,
+      SpannerEntityProcessor spannerEntityProcessor,
+      SpannerMutationFactory spannerMutationFactory,
+      TransactionContext transactionContext) {
+    super(databaseClient, mappingContext, spannerEntityProcessor, spannerMutationFactory);
+    this.transactionContext = transactionContext;
+  }
+
+  @Override
+  protected Mono<Void> applyMutations(List<Mutation> mutations) {
+    return Mono.fromRunnable(() -> this.transactionContext.buffer(mutations));
+  }
+
+  @Override
+  protected ReadContext getReadContext() {
+    return this.transactionContext;
+  }
+
+  @Override
+  protected ReadContext getReadContext(TimestampBound timestampBound) {
+    throw new SpannerDataException(
+        "Getting stale snapshot read contexts is not supported"
+            + " in read-write transaction templates.");
+  }
+
+  @Override
+  public Mono<Long> executeDmlStatement(Statement statement) {
+    return toMono(() -> this.transactionContext.executeUpdateAsync(statement));
+  }
+
+  @Override
+  public <T> Flux<T> performReadWriteTransaction(
+      Function<SpannerReactiveOperations, Publisher<T>> operations) {
+    return Flux.error(
+        new SpannerDataException(
+            "A read-write transaction is already under execution. "
+                + "Opening sub-transactions is not supported!"));
+  }
+
+  @Override
+  public <T> Flux<T> performReadOnlyTransaction(
+      Function<SpannerReactiveOperations, Publisher<T>> operations,
+      SpannerReadOptions readOptions) {
+    return Flux.error(
+        new SpannerDataException(
+            "A read-write transaction is already under execution. "
+                + "Opening sub-transactions is not supported!"));
+  }
+}
@@ -17,6 +17,7 @@
 package com.google.cloud.spring.data.spanner.core;
 
 import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.ReadContext;
 import com.google.cloud.spanner.Statement;
@@ -27,6 +28,9 @@ import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -61,6 +65,11 @@ class ReadWriteTransactionSpannerTemplate extends SpannerTemplate {
     this.transactionContext.buffer(mutations);
   }
 
+  @Override
+  boolean isTransactionTemplate() {
+    return true;
+  }
+
   @Override
   protected ReadContext getReadContext() {
     return this.transactionContext;
@@ -71,12 +80,52 @@ class ReadWriteTransactionSpannerTemplate extends SpannerTemplate {
     return this.transactionContext.executeUpdate(statement);
   }
 
+  @Override
+  public long[] executeDmlStatements(List<Statement> statements) {
+    return statements.isEmpty() ? new long[0] : this.transactionContext.batchUpdate(statements);
+  }
+
+  @Override
+  public CompletableFuture<Long> executeDmlStatementAsync(Statement statement) {
+    return toCompletableFuture(this.transactionContext.executeUpdateAsync(statement));
+  }
+
+  @Override
+  public CompletableFuture<long[]> executeDmlStatementsAsync(List<Statement> statements) {
+    return statements.isEmpty()
+        ? CompletableFuture.completedFuture(new long[0])
+        : toCompletableFuture(this.transactionContext.batchUpdateAsync(statements));
+  }
+
   @Override
   public long executePartitionedDmlStatement(Statement statement) {
     throw new SpannerDataException(
         "A read-write transaction template cannot execute partitioned DML.");
   }
 
+  @Override
+  protected SpannerBulkWriteResult applyBulkMutations(
+      List<? extends Collection<Mutation>> mutationGroups, SpannerBulkWriteOptions options) {
+    throw new SpannerDataException("A read-write transaction template cannot execute bulk writes.");
+  }
+
+  @Override
+  public <T> void readPartitioned(
+      Class<T> entityClass, KeySet keys, SpannerReadOptions options, Consumer<? super T> action) {
+    throw new SpannerDataException(
+        "A read-write transaction template cannot execute partitioned reads.");
+  }
+
+  @Override
+  public <T> void queryPartitioned(
+      Class<T> entityClass,
+      Statement statement,
+      SpannerQueryOptions options,
+      Consumer<? super T> action) {
+    throw new SpannerDataException(
+        "A read-write transaction template cannot execute partitioned queries.");
+  }
+
   @Override
   protected ReadContext getReadContext(TimestampBound timestampBound) {
     throw new SpannerDataException(
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import org.springframework.util.Assert;
+
+/**
+ * Encapsulates the options of bulk writes, which split the mutations of many objects into several
+ * commits.
+ *
+ * <p>The mutations of an object, including those of its interleaved children, are always committed
+ * together. An object whose mutations alone exceed the limits is committed on its own.
+ *
+ * @since 3.2
+ */
+public class SpannerBulkWriteOptions {
+
+  /** The default maximum number of mutated cells in a single commit. */
+  public static final int DEFAULT_MAX_CELLS_PER_COMMIT = 20_000;
+
+  /** The default maximum estimated size in bytes of the mutations of a single commit. */
+  public static final long DEFAULT_MAX_BYTES_PER_COMMIT = 10L * 1024 * 1024;
+
+  private int maxCellsPerCommit = DEFAULT_MAX_CELLS_PER_COMMIT;
+
+  private long maxBytesPerCommit = DEFAULT_MAX_BYTES_PER_COMMIT;
+
+  private int maxParallelism = 1;
+
+  private boolean atLeastOnce;
+
+  public int getMaxCellsPerCommit() {
+    return this.maxCellsPerCommit;
+  }
+
+  /**
+   * Set the maximum number of cells mutated by a single commit. Each column written counts as a
+   * cell, and each key or key range deleted as one. Cloud Spanner also counts the entries of
+   * secondary indexes towards its own limit, which this value should leave room for.
+   *
+   * @param maxCellsPerCommit the maximum number of cells per commit.
+   * @return this options object.
+   */
+  public SpannerBulkWriteOptions setMaxCellsPerCommit(int maxCellsPerCommit) {
+    Assert.isTrue(maxCellsPerCommit > 0, "The maximum number of cells must be positive.");
+    this.maxCellsPerCommit = maxCellsPerCommit;
+    return this;
+  }
+
+  public long getMaxBytesPerCommit() {
+    return this.maxBytesPerCommit;
+  }
+
+  /**
+   * Set the maximum estimated size in bytes of the mutations of a single commit.
+   *
+   * @param maxBytesPerCommit the maximum number of bytes per commit.
+   * @return this options object.
+   */
+  public SpannerBulkWriteOptions setMaxBytesPerCommit(long maxBytesPerCommit) {
+    Assert.isTrue(maxBytesPerCommit > 0, "The maximum number of bytes must be positive.");
+    this.maxBytesPerCommit = maxBytesPerCommit;
+    return this;
+  }
+
+  public int getMaxParallelism() {
+    return this.maxParallelism;
+  }
+
+  /**
+   * Set the maximum number of commits running at the same time. Defaults to 1, in which case the
+   * commits run one after the other, in the order of the objects, on the calling thread. Otherwise
+   * they run on the bulk write executor of the template and may complete in any order, so objects
+   * depending on each other, such as a parent and its separately saved interleaved children, should
+   * not be written in parallel.
+   *
+   * @param maxParallelism the maximum number of concurrent commits.
+   * @return this options object.
+   */
+  public SpannerBulkWriteOptions setMaxParallelism(int maxParallelism) {
+    Assert.isTrue(maxParallelism > 0, "The maximum parallelism must be positive.");
+    this.maxParallelism = maxParallelism;
+    return this;
+  }
+
+  public boolean isAtLeastOnce() {
+    return this.atLeastOnce;
+  }
+
+  /**
+   * Set whether each commit is written with {@code writeAtLeastOnce}, which saves a round trip but
+   * may apply the mutations of a commit more than once if it is retried. Only suitable for
+   * idempotent mutations, such as upserts and deletes.
+   *
+   * @param atLeastOnce whether to write at least once rather than exactly once.
+   * @return this options object.
+   */
+  public SpannerBulkWriteOptions setAtLeastOnce(boolean atLeastOnce) {
+    this.atLeastOnce = atLeastOnce;
+    return this;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Mutation;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+/**
+ * The outcome of a bulk write: one result per commit, in the order of the objects written.
+ *
+ * @since 3.2
+ */
+public final class SpannerBulkWriteResult {
+
+  private final List<Batch> batches;
+
+  SpannerBulkWriteResult(List<Batch> batches) {
+    this.batches = Collections.unmodifiableList(batches);
+  }
+
+  public List<Batch> getBatches() {
+    return this.batches;
+  }
+
+  public List<Batch> getFailedBatches() {
+    return this.batches.stream()
+        .filter(batch -> !batch.isSuccessful())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Checks whether all of the commits succeeded.
+   *
+   * @return {@code true} if no commit failed.
+   */
+  public boolean isSuccessful() {
+    return this.batches.stream().allMatch(Batch::isSuccessful);
+  }
+
+  @Override
+  public String toString() {
+    return "SpannerBulkWriteResult{batches=" + this.batches + "}";
+  }
+
+  /** The outcome of a single commit of a bulk write. */
+  public static final class Batch {
+
+    private final List<Mutation> mutations;
+
+    private final long cellCount;
+
+    private final long estimatedBytes;
+
+    @Nullable private final Timestamp commitTimestamp;
+
+    @Nullable private final RuntimeException failure;
+
+    Batch(
+        List<Mutation> mutations,
+        long cellCount,
+        long estimatedBytes,
+        @Nullable Timestamp commitTimestamp,
+        @Nullable RuntimeException failure) {
+      this.mutations = Collections.unmodifiableList(mutations);
+      this.cellCount = cellCount;
+      this.estimatedBytes = estimatedBytes;
+      this.commitTimestamp = commitTimestamp;
+      this.failure = failure;
+    }
+
+    public List<Mutation> getMutations() {
+      return this.mutations;
+    }
+
+    public long getCellCount() {
+      return this.cellCount;
+    }
+
+    public long getEstimatedBytes() {
+      return this.estimatedBytes;
+    }
+
+    /**
+     * Get the timestamp at which the mutations of this batch were committed.
+     *
+     * @return the commit timestamp, or {@code null} if the commit failed.
+     */
+    @Nullable
+    public Timestamp getCommitTimestamp() {
+      return this.commitTimestamp;
+    }
+
+    /**
+     * Get the exception with which the commit of this batch failed.
+     *
+     * @return the failure, or {@code null} if the commit succeeded.
+     */
+    @Nullable
+    public RuntimeException getFailure() {
+      return this.failure;
+    }
+
+    public boolean isSuccessful() {
+      return this.failure == null;
+    }
+
+    @Override
+    public String toString() {
+      return "Batch{mutations="
+          + this.mutations.size()
+          + ", cellCount="
+          + this.cellCount
+          + ", estimatedBytes="
+          + this.estimatedBytes
+          + ", commitTimestamp="
+          + this.commitTimestamp
+          + ", failure="
+          + this.failure
+          + "}";
+    }
+  }
+}
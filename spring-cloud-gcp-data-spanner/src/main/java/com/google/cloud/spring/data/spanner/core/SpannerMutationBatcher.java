@@ -0,0 +1,201 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import com.google.cloud.ByteArray;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeyRange;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Mutation.Op;
+import com.google.cloud.spanner.Value;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits the mutations of a bulk write into batches, each committed on its own, that stay within
+ * a number of cells and an estimated size in bytes.
+ *
+ * @since 3.2
+ */
+final class SpannerMutationBatcher {
+
+  // the estimated size of values of fixed-width types, and of the encoding of any value.
+  private static final int FIXED_WIDTH_BYTES = 8;
+
+  private SpannerMutationBatcher() {}
+
+  /**
+   * Splits groups of mutations into batches, keeping the order of the groups and never splitting a
+   * group, so that the mutations of an object and of its interleaved children are committed
+   * together.
+   *
+   * @param mutationGroups the mutations of each object.
+   * @param options the limits of each batch.
+   * @return the batches.
+   */
+  static List<PendingBatch> split(
+      Iterable<? extends Collection<Mutation>> mutationGroups, SpannerBulkWriteOptions options) {
+    List<PendingBatch> batches = new ArrayList<>();
+    PendingBatch current = new PendingBatch();
+    for (Collection<Mutation> group : mutationGroups) {
+      long groupCells = 0;
+      long groupBytes = 0;
+      for (Mutation mutation : group) {
+        groupCells += countCells(mutation);
+        groupBytes += estimateBytes(mutation);
+      }
+      if (!current.mutations.isEmpty()
+          && (current.cells + groupCells > options.getMaxCellsPerCommit()
+              || current.bytes + groupBytes > options.getMaxBytesPerCommit())) {
+        batches.add(current);
+        current = new PendingBatch();
+      }
+      current.mutations.addAll(group);
+      current.cells += groupCells;
+      current.bytes += groupBytes;
+    }
+    if (!current.mutations.isEmpty()) {
+      batches.add(current);
+    }
+    return batches;
+  }
+
+  /**
+   * Counts the cells mutated by a mutation: one for each column written, or for each key and key
+   * range deleted.
+   *
+   * @param mutation the mutation.
+   * @return the number of cells.
+   */
+  static long countCells(Mutation mutation) {
+    long cells = 0;
+    if (mutation.getOperation() == Op.DELETE) {
+      KeySet keySet = mutation.getKeySet();
+      if (keySet.isAll()) {
+        return 1;
+      }
+      for (Key ignored : keySet.getKeys()) {
+        cells++;
+      }
+      for (KeyRange ignored : keySet.getRanges()) {
+        cells++;
+      }
+    } else {
+      for (String ignored : mutation.getColumns()) {
+        cells++;
+      }
+    }
+    return cells;
+  }
+
+  /**
+   * Estimates the size of a mutation from the size of its column names and values, or of the keys
+   * it deletes.
+   *
+   * @param mutation the mutation.
+   * @return the estimated number of bytes.
+   */
+  static long estimateBytes(Mutation mutation) {
+    long bytes = mutation.getTable().length();
+    if (mutation.getOperation() == Op.DELETE) {
+      KeySet keySet = mutation.getKeySet();
+      for (Key key : keySet.getKeys()) {
+        bytes += key.toString().length();
+      }
+      for (KeyRange range : keySet.getRanges()) {
+        bytes += range.toString().length();
+      }
+      return bytes;
+    }
+    for (String column : mutation.getColumns()) {
+      bytes += column.length();
+    }
+    for (Value value : mutation.getValues()) {
+      bytes += estimateBytes(value);
+    }
+    return bytes;
+  }
+
+  private static long estimateBytes(Value value) {
+    if (value.isNull()) {
+      return 1;
+    }
+    switch (value.getType().getCode()) {
+      case STRING:
+        return FIXED_WIDTH_BYTES + value.getString().length();
+      case JSON:
+        return FIXED_WIDTH_BYTES + value.getJson().length();
+      case BYTES:
+        return FIXED_WIDTH_BYTES + value.getBytes().length();
+      case NUMERIC:
+        return FIXED_WIDTH_BYTES + value.getNumeric().toString().length();
+      case ARRAY:
+        return FIXED_WIDTH_BYTES + estimateArrayBytes(value);
+      default:
+        return FIXED_WIDTH_BYTES;
+    }
+  }
+
+  private static long estimateArrayBytes(Value value) {
+    switch (value.getType().getArrayElementType().getCode()) {
+      case STRING:
+        return estimateStringsBytes(value.getStringArray());
+      case JSON:
+        return estimateStringsBytes(value.getJsonArray());
+      case BYTES:
+        long bytes = 0;
+        for (ByteArray item : value.getBytesArray()) {
+          bytes += FIXED_WIDTH_BYTES + ((item != null) ? item.length() : 0);
+        }
+        return bytes;
+      case NUMERIC:
+        return (long) value.getNumericArray().size() * 2 * FIXED_WIDTH_BYTES;
+      case BOOL:
+        return (long) value.getBoolArray().size() * FIXED_WIDTH_BYTES;
+      case INT64:
+        return (long) value.getInt64Array().size() * FIXED_WIDTH_BYTES;
+      case FLOAT64:
+        return (long) value.getFloat64Array().size() * FIXED_WIDTH_BYTES;
+      case TIMESTAMP:
+        return (long) value.getTimestampArray().size() * FIXED_WIDTH_BYTES;
+      case DATE:
+        return (long) value.getDateArray().size() * FIXED_WIDTH_BYTES;
+      default:
+        return FIXED_WIDTH_BYTES;
+    }
+  }
+
+  private static long estimateStringsBytes(List<String> items) {
+    long bytes = 0;
+    for (String item : items) {
+      bytes += FIXED_WIDTH_BYTES + ((item != null) ? item.length() : 0);
+    }
+    return bytes;
+  }
+
+  /** The mutations of a batch that has not been committed yet, with their estimated size. */
+  static final class PendingBatch {
+
+    final List<Mutation> mutations = new ArrayList<>();
+
+    long cells;
+
+    long bytes;
+  }
+}
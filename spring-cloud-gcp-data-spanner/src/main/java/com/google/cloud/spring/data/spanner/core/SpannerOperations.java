@@ -23,7 +23,10 @@ import com.google.cloud.spanner.Statement;
 import com.google.cloud.spanner.Struct;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Defines operations available to use with Spanner.
@@ -42,6 +45,40 @@ public interface SpannerOperations {
    */
   long executeDmlStatement(Statement statement);
 
+  /**
+   * Execute DML statements on Cloud Spanner in a single round trip with {@code batchUpdate}, in the
+   * current transaction or in a new one. The statements run in order, and the first failing
+   * statement stops the batch with a {@link com.google.cloud.spanner.SpannerBatchUpdateException}
+   * holding the row counts of the statements that succeeded.
+   *
+   * @param statements the DML statements to execute.
+   * @return the number of rows affected by each statement.
+   * @since 3.2
+   */
+  long[] executeDmlStatements(List<Statement> statements);
+
+  /**
+   * Execute a DML statement on Cloud Spanner without waiting for its result. In a transaction,
+   * several statements can be sent this way before any of them has completed, and the transaction
+   * is only committed once all of them have. Otherwise the statement runs in a new transaction.
+   *
+   * @param statement the DML statement to execute.
+   * @return a future of the number of rows affected.
+   * @since 3.2
+   */
+  CompletableFuture<Long> executeDmlStatementAsync(Statement statement);
+
+  /**
+   * Execute DML statements on Cloud Spanner in a single round trip without waiting for their
+   * results, in the current transaction or in a new one.
+   *
+   * @param statements the DML statements to execute.
+   * @return a future of the number of rows affected by each statement.
+   * @since 3.2
+   * @see #executeDmlStatements(List)
+   */
+  CompletableFuture<long[]> executeDmlStatementsAsync(List<Statement> statements);
+
   /**
    * Execute a DML statement in partitioned mode. This is not available inside of transactions.
    *
@@ -175,6 +212,127 @@ public interface SpannerOperations {
    */
   <T> List<T> queryAll(Class<T> entityClass, SpannerPageableQueryOptions options);
 
+  /**
+   * Finds objects stored from their keys, mapping each row lazily as the returned stream is
+   * consumed. The read or query is performed as in {@link #read(Class, KeySet,
+   * SpannerReadOptions)}.
+   *
+   * <p>The stream holds an open result set and must be closed after use, for example with a
+   * try-with-resources statement. No {@link
+   * com.google.cloud.spring.data.spanner.core.mapping.event.AfterReadEvent} is published, since the
+   * objects are never collected.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param keys the keys of the objects to retrieve.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of the object to retrieve.
+   * @return a stream of the objects that could be found using the given keys.
+   * @throws IllegalArgumentException when the read can't be performed, as in {@link #read(Class,
+   *     KeySet, SpannerReadOptions)}.
+   * @since 3.2
+   */
+  <T> Stream<T> readStream(Class<T> entityClass, KeySet keys, SpannerReadOptions options)
+      throws IllegalArgumentException;
+
+  /**
+   * Finds all objects of the given type, mapping each row lazily as the returned stream is
+   * consumed. The stream must be closed after use.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of the object to retrieve.
+   * @return a stream of all objects stored of the given type.
+   * @see #readStream(Class, KeySet, SpannerReadOptions)
+   * @since 3.2
+   */
+  <T> Stream<T> readAllStream(Class<T> entityClass, SpannerReadOptions options);
+
+  /**
+   * Executes a given query string with tags and parameters and applies a given function to each row
+   * of the result as the returned stream is consumed.
+   *
+   * <p>The stream holds an open result set and must be closed after use, for example with a
+   * try-with-resources statement. No {@link
+   * com.google.cloud.spring.data.spanner.core.mapping.event.AfterQueryEvent} is published, since
+   * the rows are never collected.
+   *
+   * @param rowFunc the function to apply to each row of the result.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the options with which to run this query.
+   * @param <A> the type to convert each row Struct into.
+   * @return a stream of the rows each transformed with the given function.
+   * @since 3.2
+   */
+  <A> Stream<A> queryStream(
+      Function<Struct, A> rowFunc, Statement statement, SpannerQueryOptions options);
+
+  /**
+   * Finds objects by using an SQL statement, mapping each row lazily as the returned stream is
+   * consumed. The stream must be closed after use.
+   *
+   * @param entityClass the type of object to retrieve.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of object to retrieve.
+   * @return a stream of the objects found.
+   * @see #queryStream(Function, Statement, SpannerQueryOptions)
+   * @since 3.2
+   */
+  <T> Stream<T> queryStream(Class<T> entityClass, Statement statement, SpannerQueryOptions options);
+
+  /**
+   * Finds all objects of the given type, mapping each row lazily as the returned stream is
+   * consumed. The stream must be closed after use.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param options the Cloud Spanner query options with which to conduct the query operation.
+   * @param <T> the type of the object to retrieve.
+   * @return a stream of all objects stored of the given type.
+   * @see #queryStream(Function, Statement, SpannerQueryOptions)
+   * @since 3.2
+   */
+  <T> Stream<T> queryAllStream(Class<T> entityClass, SpannerPageableQueryOptions options);
+
+  /**
+   * Reads objects stored from their keys by splitting the read into partitions, which are read in
+   * parallel in a single batch read-only transaction. Each object is passed to the given action on
+   * the thread reading its partition, so the action must be thread-safe. Returns once all of the
+   * partitions have been read, or the first partition has failed.
+   *
+   * <p>When the entity has a {@link com.google.cloud.spring.data.spanner.core.mapping.Where} class
+   * annotation or any of the properties is eagerly interleaved, an SQL query is partitioned instead
+   * of the read, which Cloud Spanner then requires to be root-partitionable.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param keys the keys of the objects to retrieve.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param action the action to perform on each object read.
+   * @param <T> the type of the object to retrieve.
+   * @since 3.2
+   */
+  <T> void readPartitioned(
+      Class<T> entityClass, KeySet keys, SpannerReadOptions options, Consumer<? super T> action);
+
+  /**
+   * Finds objects by using an SQL statement that is split into partitions, which are executed in
+   * parallel in a single batch read-only transaction. Each object is passed to the given action on
+   * the thread executing its partition, so the action must be thread-safe. Returns once all of the
+   * partitions have been executed, or the first partition has failed.
+   *
+   * @param entityClass the type of object to retrieve.
+   * @param statement the root-partitionable SQL statement used to select the objects.
+   * @param options the options with which to run this query.
+   * @param action the action to perform on each object found.
+   * @param <T> the type of object to retrieve.
+   * @see #readPartitioned(Class, KeySet, SpannerReadOptions, Consumer)
+   * @since 3.2
+   */
+  <T> void queryPartitioned(
+      Class<T> entityClass,
+      Statement statement,
+      SpannerQueryOptions options,
+      Consumer<? super T> action);
+
   /**
    * Deletes an object based on a key.
    *
@@ -198,6 +356,20 @@ public interface SpannerOperations {
    */
   void deleteAll(Iterable<?> objects);
 
+  /**
+   * Deletes objects in a bulk write. Their mutations are split into several commits, each
+   * limited in the number of cells and bytes mutated, which run in parallel up to the maximum
+   * parallelism of the options. The mutations of an object and of its interleaved children are
+   * always committed together. A failed commit does not stop the others, nor undo those already
+   * committed, and is reported in the result. Not available in transactions.
+   *
+   * @param objects the objects to delete.
+   * @param options the options of the bulk write.
+   * @return the result of each commit.
+   * @since 3.2
+   */
+  SpannerBulkWriteResult deleteAll(Iterable<?> objects, SpannerBulkWriteOptions options);
+
   /**
    * Deletes objects given a set of keys.
    *
@@ -221,6 +393,20 @@ public interface SpannerOperations {
    */
   void insertAll(Iterable<?> objects);
 
+  /**
+   * Insert objects in a bulk write. Their mutations are split into several commits, each
+   * limited in the number of cells and bytes mutated, which run in parallel up to the maximum
+   * parallelism of the options. The mutations of an object and of its interleaved children are
+   * always committed together. A failed commit does not stop the others, nor undo those already
+   * committed, and is reported in the result. Not available in transactions.
+   *
+   * @param objects the objects to insert.
+   * @param options the options of the bulk write.
+   * @return the result of each commit.
+   * @since 3.2
+   */
+  SpannerBulkWriteResult insertAll(Iterable<?> objects, SpannerBulkWriteOptions options);
+
   /**
    * Update an object already in storage.
    *
@@ -235,6 +421,20 @@ public interface SpannerOperations {
    */
   void updateAll(Iterable<?> objects);
 
+  /**
+   * Update objects in a bulk write. Their mutations are split into several commits, each
+   * limited in the number of cells and bytes mutated, which run in parallel up to the maximum
+   * parallelism of the options. The mutations of an object and of its interleaved children are
+   * always committed together. A failed commit does not stop the others, nor undo those already
+   * committed, and is reported in the result. Not available in transactions.
+   *
+   * @param objects the objects to update.
+   * @param options the options of the bulk write.
+   * @return the result of each commit.
+   * @since 3.2
+   */
+  SpannerBulkWriteResult updateAll(Iterable<?> objects, SpannerBulkWriteOptions options);
+
   /**
    * Update an object in storage.
    *
@@ -267,6 +467,21 @@ public interface SpannerOperations {
    */
   void upsertAll(Iterable<?> objects);
 
+  /**
+   * Update or insert objects in a bulk write. Their mutations are split into several commits, each
+   * limited in the number of cells and bytes mutated, which run in parallel up to the maximum
+   * parallelism of the options. The mutations of an object and of its interleaved children are
+   * always committed together. A failed commit does not stop the others, nor undo those already
+   * committed, and is reported in the result. Not available in transactions.
+   *
+   * @param objects the objects to update or insert.
+   * @param options the options of the bulk write.
+   * @return the result of each commit.
+   * @since 3.2
+   */
+  SpannerBulkWriteResult upsertAll(
+      Iterable<?> objects, SpannerBulkWriteOptions options);
+
   /**
    * Update or insert an object into storage.
    *
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Defines the non-blocking operations available to use with Spanner. Rows are emitted as they are
+ * received from Cloud Spanner, following the demand of the subscriber, and no thread is held while
+ * waiting for results.
+ *
+ * <p>Lazily-loaded interleaved properties are not resolved by the reactive operations and are left
+ * as {@code null}; eagerly-loaded interleaved properties are fetched in the same query as their
+ * parent. No application events are published.
+ *
+ * @since 3.2
+ */
+public interface SpannerReactiveOperations {
+
+  /**
+   * Execute a DML statement on Cloud Spanner. This must always be done in a transaction and one
+   * will be started if needed.
+   *
+   * @param statement the DML statement to execute.
+   * @return {@link Mono} emitting the number of rows affected.
+   */
+  Mono<Long> executeDmlStatement(Statement statement);
+
+  /**
+   * Finds a single stored object using a key.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param key the key of the object.
+   * @param <T> the type of the object to retrieve.
+   * @return {@link Mono} emitting the object, or completing empty if no object could be found
+   *     stored with the given key.
+   */
+  <T> Mono<T> read(Class<T> entityClass, Key key);
+
+  /**
+   * Finds objects stored from their keys.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param keys the keys of the objects to retrieve.
+   * @param <T> the type of the object to retrieve.
+   * @return {@link Flux} emitting the objects that could be found using the given keys.
+   */
+  <T> Flux<T> read(Class<T> entityClass, KeySet keys);
+
+  /**
+   * Finds objects stored from their keys. When the entity has a {@link
+   * com.google.cloud.spring.data.spanner.core.mapping.Where} class annotation or any of the
+   * properties is eagerly interleaved, an SQL query is performed instead of a read, as in {@link
+   * SpannerOperations#read(Class, KeySet, SpannerReadOptions)}.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param keys the keys of the objects to retrieve.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of the object to retrieve.
+   * @return {@link Flux} emitting the objects that could be found using the given keys.
+   */
+  <T> Flux<T> read(Class<T> entityClass, KeySet keys, SpannerReadOptions options);
+
+  /**
+   * Finds all objects of the given type.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param <T> the type of the object to retrieve.
+   * @return {@link Flux} emitting all of the stored objects of the given type.
+   */
+  <T> Flux<T> readAll(Class<T> entityClass);
+
+  /**
+   * Finds all objects of the given type.
+   *
+   * @param entityClass the type of the object to retrieve.
+   * @param options the Cloud Spanner read options with which to conduct the read operation.
+   * @param <T> the type of the object to retrieve.
+   * @return {@link Flux} emitting all of the stored objects of the given type.
+   */
+  <T> Flux<T> readAll(Class<T> entityClass, SpannerReadOptions options);
+
+  /**
+   * Executes a given query string with tags and parameters and applies a given function to each row
+   * of the result.
+   *
+   * @param rowFunc the function to apply to each row of the result.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the options with which to run this query.
+   * @param <A> the type to convert each row Struct into.
+   * @return {@link Flux} emitting the rows each transformed with the given function.
+   */
+  <A> Flux<A> query(Function<Struct, A> rowFunc, Statement statement, SpannerQueryOptions options);
+
+  /**
+   * Finds objects by using an SQL statement.
+   *
+   * @param entityClass the type of object to retrieve.
+   * @param statement the SQL statement used to select the objects.
+   * @param options the options with which to run this query.
+   * @param <T> the type of object to retrieve.
+   * @return {@link Flux} emitting the objects that met the statement conditions.
+   */
+  <T> Flux<T> query(Class<T> entityClass, Statement statement, SpannerQueryOptions options);
+
+  /**
+   * Insert an object into Cloud Spanner.
+   *
+   * @param object the object to insert.
+   * @return {@link Mono} completing when the object has been inserted.
+   */
+  Mono<Void> insert(Object object);
+
+  /**
+   * Insert objects into Cloud Spanner.
+   *
+   * @param objects the objects to insert.
+   * @return {@link Mono} completing when the objects have been inserted.
+   */
+  Mono<Void> insertAll(Iterable<?> objects);
+
+  /**
+   * Update an object already in Cloud Spanner.
+   *
+   * @param object the object to update.
+   * @return {@link Mono} completing when the object has been updated.
+   */
+  Mono<Void> update(Object object);
+
+  /**
+   * Update objects already in Cloud Spanner.
+   *
+   * @param objects the objects to update.
+   * @return {@link Mono} completing when the objects have been updated.
+   */
+  Mono<Void> updateAll(Iterable<?> objects);
+
+  /**
+   * Update or insert an object into Cloud Spanner.
+   *
+   * @param object the object to update or insert.
+   * @return {@link Mono} completing when the object has been saved.
+   */
+  Mono<Void> upsert(Object object);
+
+  /**
+   * Update or insert objects into Cloud Spanner.
+   *
+   * @param objects the objects to update or insert.
+   * @return {@link Mono} completing when the objects have been saved.
+   */
+  Mono<Void> upsertAll(Iterable<?> objects);
+
+  /**
+   * Delete an object from Cloud Spanner.
+   *
+   * @param entity the object to delete.
+   * @return {@link Mono} completing when the object has been deleted.
+   */
+  Mono<Void> delete(Object entity);
+
+  /**
+   * Delete objects from Cloud Spanner.
+   *
+   * @param entities the objects to delete.
+   * @return {@link Mono} completing when the objects have been deleted.
+   */
+  Mono<Void> deleteAll(Iterable<?> entities);
+
+  /**
+   * Delete objects from Cloud Spanner using their keys.
+   *
+   * @param entityClass the type of the objects to delete.
+   * @param keys the keys of the objects to delete.
+   * @param <T> the type of the objects to delete.
+   * @return {@link Mono} completing when the objects have been deleted.
+   */
+  <T> Mono<Void> delete(Class<T> entityClass, KeySet keys);
+
+  /**
+   * Performs multiple read and write operations in a single transaction. The publisher returned by
+   * the given function is consumed within the transaction, which is committed once it completes
+   * and retried in full if Cloud Spanner aborts it.
+   *
+   * @param operations the function representing the operations to perform using a
+   *     SpannerReactiveOperations based on a single transaction.
+   * @param <T> the type of the elements emitted by the operations.
+   * @return {@link Flux} emitting the elements of the operations once the transaction has been
+   *     committed.
+   */
+  <T> Flux<T> performReadWriteTransaction(
+      Function<SpannerReactiveOperations, Publisher<T>> operations);
+
+  /**
+   * Performs multiple read-only operations in a single transaction. The transaction is closed when
+   * the returned {@link Flux} terminates or is cancelled.
+   *
+   * @param operations the function representing the operations to perform using a
+   *     SpannerReactiveOperations based on a single transaction.
+   * @param readOptions allows the user to specify staleness for the read transaction
+   * @param <T> the type of the elements emitted by the operations.
+   * @return {@link Flux} emitting the elements of the operations.
+   */
+  <T> Flux<T> performReadOnlyTransaction(
+      Function<SpannerReactiveOperations, Publisher<T>> operations,
+      SpannerReadOptions readOptions);
+}
@@ -0,0 +1,496 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.cloud.spanner.AsyncResultSet;
+import com.google.cloud.spanner.AsyncResultSet.CallbackResponse;
+import com.google.cloud.spanner.AsyncResultSet.ReadyCallback;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.ReadContext;
+import com.google.cloud.spanner.ReadOnlyTransaction;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.TimestampBound;
+import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntity;
+import com.google.cloud.spring.data.spanner.repository.query.SpannerStatementQueryExecutor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+/**
+ * An implementation of {@link SpannerReactiveOperations} using the asynchronous API of the Cloud
+ * Spanner client library.
+ *
+ * <p>Rows are pulled from an {@link AsyncResultSet} only while the subscriber has outstanding
+ * demand; the result set is paused otherwise. Results are mapped and emitted on the thread running
+ * the result set callbacks, which is the gRPC thread delivering them unless a callback executor is
+ * set. Mapping is not expected to block, so the default callback executor runs them directly.
+ *
+ * @since 3.2
+ */
+public class SpannerReactiveTemplate implements SpannerReactiveOperations {
+
+  private static final Log LOGGER = LogFactory.getLog(SpannerReactiveTemplate.class);
+
+  private final Supplier<DatabaseClient> databaseClientProvider;
+
+  private final SpannerMappingContext mappingContext;
+
+  private final SpannerEntityProcessor spannerEntityProcessor;
+
+  private final SpannerMutationFactory mutationFactory;
+
+  private Executor callbackExecutor = Runnable::run;
+
+  public SpannerReactiveTemplate(
+      Supplier<DatabaseClient> databaseClientProvider,
+      SpannerMappingContext mappingContext,
+      SpannerEntityProcessor spannerEntityProcessor,
+      SpannerMutationFactory spannerMutationFactory) {
+    Assert.notNull(databaseClientProvider, "A valid database client for Spanner is required.");
+    Assert.notNull(mappingContext, "A valid mapping context for Spanner is required.");
+    Assert.notNull(spannerEntityProcessor, "A valid entity processor for Spanner is required.");
+    Assert.notNull(spannerMutationFactory, "A valid Spanner mutation factory is required.");
+    this.databaseClientProvider = databaseClientProvider;
+    this.mappingContext = mappingContext;
+    this.spannerEntityProcessor = spannerEntityProcessor;
+    this.mutationFactory = spannerMutationFactory;
+  }
+
+  /**
+   * Set the executor running the result set callbacks, mapping rows and emitting the results, as
+   * well as the work of read-write transactions.
+   *
+   * @param callbackExecutor the executor. Defaults to running on the calling thread.
+   */
+  public void setCallbackExecutor(Executor callbackExecutor) {
+    Assert.notNull(callbackExecutor, "The callbackExecutor can't be null.");
+    this.callbackExecutor = callbackExecutor;
+  }
+
+  protected ReadContext getReadContext() {
+    return this.databaseClientProvider.get().singleUse();
+  }
+
+  protected ReadContext getReadContext(TimestampBound timestampBound) {
+    return this.databaseClientProvider.get().singleUse(timestampBound);
+  }
+
+  protected Mono<Void> applyMutations(List<Mutation> mutations) {
+    return toMono(
+        () ->
+            this.databaseClientProvider
+                .get()
+                .runAsync()
+                .runAsync(
+                    transaction -> {
+                      transaction.buffer(mutations);
+                      return ApiFutures.immediateFuture(null);
+                    },
+                    this.callbackExecutor));
+  }
+
+  @Override
+  public Mono<Long> executeDmlStatement(Statement statement) {
+    return toMono(
+        () ->
+            this.databaseClientProvider
+                .get()
+                .runAsync()
+                .runAsync(
+                    transaction -> transaction.executeUpdateAsync(statement),
+                    this.callbackExecutor));
+  }
+
+  @Override
+  public <T> Mono<T> read(Class<T> entityClass, Key key) {
+    return read(entityClass, KeySet.singleKey(key), null).next();
+  }
+
+  @Override
+  public <T> Flux<T> read(Class<T> entityClass, KeySet keys) {
+    return read(entityClass, keys, null);
+  }
+
+  @Override
+  public <T> Flux<T> read(Class<T> entityClass, KeySet keys, SpannerReadOptions options) {
+    return Flux.defer(
+        () -> {
+          SpannerPersistentEntity<T> persistentEntity =
+              (SpannerPersistentEntity<T>)
+                  this.mappingContext.getPersistentEntityOrFail(entityClass);
+
+          if (persistentEntity.hasEagerlyLoadedProperties() || persistentEntity.hasWhere()) {
+            Statement statement =
+                SpannerStatementQueryExecutor.buildQuery(
+                    keys,
+                    persistentEntity,
+                    this.spannerEntityProcessor.getWriteConverter(),
+                    this.mappingContext,
+                    options != null ? options.getIndex() : null);
+            return query(entityClass, statement, SpannerTemplate.toQueryOption(keys, options));
+          }
+          return emitRows(
+              () -> executeRead(persistentEntity, keys, options),
+              entityRowFunc(
+                  entityClass,
+                  options != null ? options.getIncludeProperties() : null,
+                  options != null && options.isAllowPartialRead()));
+        });
+  }
+
+  @Override
+  public <T> Flux<T> readAll(Class<T> entityClass) {
+    return readAll(entityClass, null);
+  }
+
+  @Override
+  public <T> Flux<T> readAll(Class<T> entityClass, SpannerReadOptions options) {
+    return read(entityClass, KeySet.all(), options);
+  }
+
+  @Override
+  public <A> Flux<A> query(
+      Function<Struct, A> rowFunc, Statement statement, SpannerQueryOptions options) {
+    return emitRows(() -> executeQuery(statement, options), rowFunc);
+  }
+
+  @Override
+  public <T> Flux<T> query(Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
+    return query(
+        entityRowFunc(
+            entityClass,
+            options != null ? options.getIncludeProperties() : null,
+            options != null && options.isAllowPartialRead()),
+        statement,
+        options);
+  }
+
+  @Override
+  public Mono<Void> insert(Object object) {
+    return Mono.defer(() -> applyMutations(this.mutationFactory.insert(object)));
+  }
+
+  @Override
+  public Mono<Void> insertAll(Iterable<?> objects) {
+    return Mono.defer(
+        () ->
+            applyMutations(getMutationsForMultipleObjects(objects, this.mutationFactory::insert)));
+  }
+
+  @Override
+  public Mono<Void> update(Object object) {
+    return Mono.defer(() -> applyMutations(this.mutationFactory.update(object, null)));
+  }
+
+  @Override
+  public Mono<Void> updateAll(Iterable<?> objects) {
+    return Mono.defer(
+        () ->
+            applyMutations(
+                getMutationsForMultipleObjects(
+                    objects, object -> this.mutationFactory.update(object, null))));
+  }
+
+  @Override
+  public Mono<Void> upsert(Object object) {
+    return Mono.defer(() -> applyMutations(this.mutationFactory.upsert(object, null)));
+  }
+
+  @Override
+  public Mono<Void> upsertAll(Iterable<?> objects) {
+    return Mono.defer(
+        () ->
+            applyMutations(
+                getMutationsForMultipleObjects(
+                    objects, object -> this.mutationFactory.upsert(object, null))));
+  }
+
+  @Override
+  public Mono<Void> delete(Object entity) {
+    return Mono.defer(
+        () -> applyMutations(Collections.singletonList(this.mutationFactory.delete(entity))));
+  }
+
+  @Override
+  public Mono<Void> deleteAll(Iterable<?> entities) {
+    return Mono.defer(
+        () ->
+            applyMutations(
+                getMutationsForMultipleObjects(
+                    entities,
+                    entity -> Collections.singletonList(this.mutationFactory.delete(entity)))));
+  }
+
+  @Override
+  public <T> Mono<Void> delete(Class<T> entityClass, KeySet keys) {
+    return Mono.defer(
+        () ->
+            applyMutations(
+                Collections.singletonList(this.mutationFactory.delete(entityClass, keys))));
+  }
+
+  @Override
+  public <T> Flux<T> performReadWriteTransaction(
+      Function<SpannerReactiveOperations, Publisher<T>> operations) {
+    return toMono(
+            () ->
+                this.databaseClientProvider
+                    .get()
+                    .runAsync()
+                    .runAsync(
+                        transaction ->
+                            toApiFuture(
+                                Flux.from(
+                                        operations.apply(
+                                            withCallbackExecutor(
+                                                new ReadWriteTransactionSpannerReactiveTemplate(
+                                                    this.databaseClientProvider,
+                                                    this.mappingContext,
+                                                    this.spannerEntityProcessor,
+                                                    this.mutationFactory,
+                                                    transaction))))
+                                    .collectList()),
+                        this.callbackExecutor))
+        .flatMapIterable(Function.identity());
+  }
+
+  @Override
+  public <T> Flux<T> performReadOnlyTransaction(
+      Function<SpannerReactiveOperations, Publisher<T>> operations,
+      SpannerReadOptions readOptions) {
+    return Flux.using(
+        () ->
+            (readOptions != null && readOptions.getTimestampBound() != null)
+                ? this.databaseClientProvider
+                    .get()
+                    .readOnlyTransaction(readOptions.getTimestampBound())
+                : this.databaseClientProvider.get().readOnlyTransaction(),
+        readOnlyTransaction ->
+            operations.apply(
+                withCallbackExecutor(
+                    new ReadOnlyTransactionSpannerReactiveTemplate(
+                        this.databaseClientProvider,
+                        this.mappingContext,
+                        this.spannerEntityProcessor,
+                        this.mutationFactory,
+                        readOnlyTransaction))),
+        ReadOnlyTransaction::close);
+  }
+
+  private SpannerReactiveTemplate withCallbackExecutor(SpannerReactiveTemplate template) {
+    template.setCallbackExecutor(this.callbackExecutor);
+    return template;
+  }
+
+  private AsyncResultSet executeQuery(Statement statement, SpannerQueryOptions options) {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Executing asynchronous query: " + statement);
+    }
+    if (options == null) {
+      return getReadContext().executeQueryAsync(statement);
+    }
+    return ((options.getTimestampBound() != null)
+            ? getReadContext(options.getTimestampBound())
+            : getReadContext())
+        .executeQueryAsync(statement, options.getOptions());
+  }
+
+  private AsyncResultSet executeRead(
+      SpannerPersistentEntity<?> persistentEntity, KeySet keys, SpannerReadOptions options) {
+    String tableName = persistentEntity.tableName();
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Executing asynchronous read on table " + tableName + " with keys: " + keys);
+    }
+    if (options == null) {
+      return getReadContext().readAsync(tableName, keys, persistentEntity.columns());
+    }
+    ReadContext readContext =
+        (options.getTimestampBound() != null)
+            ? getReadContext(options.getTimestampBound())
+            : getReadContext();
+    if (options.getIndex() == null) {
+      return readContext.readAsync(
+          tableName, keys, persistentEntity.columns(), options.getOptions());
+    }
+    return readContext.readUsingIndexAsync(
+        tableName, options.getIndex(), keys, persistentEntity.columns(), options.getOptions());
+  }
+
+  private <T> Function<Struct, T> entityRowFunc(
+      Class<T> entityClass, Set<String> includeProperties, boolean allowMissingColumns) {
+    return struct ->
+        this.spannerEntityProcessor.read(
+            entityClass, struct, includeProperties, allowMissingColumns);
+  }
+
+  private <A> Flux<A> emitRows(
+      Supplier<AsyncResultSet> resultSetSupplier, Function<Struct, A> rowFunc) {
+    return Flux.create(
+        sink ->
+            new RowEmitter<>(sink, resultSetSupplier.get(), rowFunc)
+                .start(this.callbackExecutor));
+  }
+
+  private List<Mutation> getMutationsForMultipleObjects(
+      Iterable<?> objects, Function<Object, List<Mutation>> individualEntityMutationFunc) {
+    List<Mutation> mutations = new ArrayList<>();
+    for (Object object : objects) {
+      mutations.addAll(individualEntityMutationFunc.apply(object));
+    }
+    return mutations;
+  }
+
+  static <T> Mono<T> toMono(Supplier<ApiFuture<T>> futureSupplier) {
+    return Mono.create(
+        sink -> {
+          ApiFuture<T> future = futureSupplier.get();
+          sink.onCancel(() -> future.cancel(true));
+          ApiFutures.addCallback(
+              future,
+              new ApiFutureCallback<T>() {
+                @Override
+                public void onFailure(Throwable throwable) {
+                  sink.error(throwable);
+                }
+
+                @Override
+                public void onSuccess(T result) {
+                  sink.success(result);
+                }
+              },
+              Runnable::run);
+        });
+  }
+
+  static <T> ApiFuture<T> toApiFuture(Mono<T> mono) {
+    SettableApiFuture<T> future = SettableApiFuture.create();
+    mono.subscribe(future::set, future::setException, () -> future.set(null));
+    return future;
+  }
+
+  /**
+   * Emits the rows of an {@link AsyncResultSet} to a sink, pausing the result set while there is no
+   * demand. One row is read ahead, so that the end of the results is signalled without waiting for
+   * more demand.
+   *
+   * <p>Resuming a result set that is not paused yet has no effect, and the result set only becomes
+   * paused after the callback has returned. To not lose a request arriving in between, the result
+   * set is only resumed once the callback run returning {@link CallbackResponse#PAUSE} has
+   * finished.
+   */
+  private static final class RowEmitter<A> implements ReadyCallback {
+
+    private static final int RUNNING = 0;
+
+    private static final int PAUSING = 1;
+
+    private static final int PAUSED = 2;
+
+    private final FluxSink<A> sink;
+
+    private final AsyncResultSet resultSet;
+
+    private final Function<Struct, A> rowFunc;
+
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+    private Struct nextRow;
+
+    RowEmitter(FluxSink<A> sink, AsyncResultSet resultSet, Function<Struct, A> rowFunc) {
+      this.sink = sink;
+      this.resultSet = resultSet;
+      this.rowFunc = rowFunc;
+    }
+
+    void start(Executor callbackExecutor) {
+      this.sink.onRequest(n -> resumeIfRequested());
+      this.sink.onCancel(this.resultSet::cancel);
+      this.resultSet.setCallback(
+          command ->
+              callbackExecutor.execute(
+                  () -> {
+                    try {
+                      command.run();
+                    } finally {
+                      if (this.state.compareAndSet(PAUSING, PAUSED)) {
+                        resumeIfRequested();
+                      }
+                    }
+                  }),
+          this);
+    }
+
+    @Override
+    public CallbackResponse cursorReady(AsyncResultSet resultSet) {
+      try {
+        while (!this.sink.isCancelled()) {
+          if (this.nextRow == null) {
+            switch (resultSet.tryNext()) {
+              case OK:
+                this.nextRow = resultSet.getCurrentRowAsStruct();
+                break;
+              case NOT_READY:
+                return CallbackResponse.CONTINUE;
+              default:
+                this.sink.complete();
+                return CallbackResponse.DONE;
+            }
+          }
+          if (this.sink.requestedFromDownstream() == 0) {
+            this.state.set(PAUSING);
+            return CallbackResponse.PAUSE;
+          }
+          Struct row = this.nextRow;
+          this.nextRow = null;
+          this.sink.next(this.rowFunc.apply(row));
+        }
+        return CallbackResponse.DONE;
+      } catch (RuntimeException ex) {
+        this.sink.error(ex);
+        return CallbackResponse.DONE;
+      }
+    }
+
+    private void resumeIfRequested() {
+      if (this.sink.requestedFromDownstream() > 0 && this.state.compareAndSet(PAUSED, RUNNING)) {
+        this.resultSet.resume();
+      }
+    }
+  }
+}
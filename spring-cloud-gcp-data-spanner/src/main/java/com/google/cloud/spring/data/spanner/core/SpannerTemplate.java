@@ -16,12 +16,20 @@
 
 package com.google.cloud.spring.data.spanner.core;
 
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.BatchClient;
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.Options.QueryOption;
 import com.google.cloud.spanner.Options.ReadOption;
+import com.google.cloud.spanner.Partition;
+import com.google.cloud.spanner.PartitionOptions;
 import com.google.cloud.spanner.ReadContext;
 import com.google.cloud.spanner.ReadOnlyTransaction;
 import com.google.cloud.spanner.ResultSet;
@@ -36,6 +44,8 @@ import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntity;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentProperty;
+import com.google.cloud.spring.data.spanner.core.mapping.StaleRead;
 import com.google.cloud.spring.data.spanner.core.mapping.event.AfterDeleteEvent;
 import com.google.cloud.spring.data.spanner.core.mapping.event.AfterExecuteDmlEvent;
 import com.google.cloud.spring.data.spanner.core.mapping.event.AfterQueryEvent;
@@ -45,17 +55,36 @@ import com.google.cloud.spring.data.spanner.core.mapping.event.BeforeDeleteEvent
 import com.google.cloud.spring.data.spanner.core.mapping.event.BeforeExecuteDmlEvent;
 import com.google.cloud.spring.data.spanner.core.mapping.event.BeforeSaveEvent;
 import com.google.cloud.spring.data.spanner.repository.query.SpannerStatementQueryExecutor;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
 import org.apache.commons.logging.Log;
@@ -63,9 +92,10 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
-import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
+import org.springframework.util.function.SingletonSupplier;
 
 /**
  * An implementation of {@link SpannerOperations}.
@@ -76,6 +106,18 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
   private static final Log LOGGER = LogFactory.getLog(SpannerTemplate.class);
 
+  /** The maximum number of parameters bound to a single query. */
+  private static final int MAX_QUERY_PARAMETERS = 950;
+
+  /** Number of streamed entities whose children are resolved together. */
+  private static final int STREAM_CHUNK_SIZE = 100;
+
+  private static final Executor DEFAULT_PARTITION_EXECUTOR =
+      createDefaultExecutor("spanner-partition-");
+
+  private static final Executor DEFAULT_BULK_WRITE_EXECUTOR =
+      createDefaultExecutor("spanner-bulk-write-");
+
   private final Supplier<DatabaseClient> databaseClientProvider;
 
   private final SpannerMappingContext mappingContext;
@@ -88,6 +130,14 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
   private @Nullable ApplicationEventPublisher eventPublisher;
 
+  private @Nullable Supplier<BatchClient> batchClientProvider;
+
+  private Executor partitionExecutor = DEFAULT_PARTITION_EXECUTOR;
+
+  private PartitionOptions partitionOptions = PartitionOptions.getDefaultInstance();
+
+  private Executor bulkWriteExecutor = DEFAULT_BULK_WRITE_EXECUTOR;
+
   public SpannerTemplate(
       Supplier<DatabaseClient> databaseClientProvider,
       SpannerMappingContext mappingContext,
@@ -111,6 +161,67 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     this.eventPublisher = applicationEventPublisher;
   }
 
+  /**
+   * Set the provider of the batch client used for partitioned reads and queries. Partitioned reads
+   * and queries are not available without one.
+   *
+   * @param batchClientProvider the batch client provider
+   * @since 3.2
+   */
+  public void setBatchClientProvider(Supplier<BatchClient> batchClientProvider) {
+    this.batchClientProvider = batchClientProvider;
+  }
+
+  /**
+   * Set the executor reading partitions in parallel. Defaults to an executor shared by the
+   * templates, with a thread per processor and at least 4.
+   *
+   * @param partitionExecutor the partition executor
+   * @since 3.2
+   */
+  public void setPartitionExecutor(Executor partitionExecutor) {
+    Assert.notNull(partitionExecutor, "A valid partition executor is required.");
+    this.partitionExecutor = partitionExecutor;
+  }
+
+  /**
+   * Set the options with which partitioned reads and queries are split into partitions.
+   *
+   * @param partitionOptions the partition options
+   * @since 3.2
+   */
+  public void setPartitionOptions(PartitionOptions partitionOptions) {
+    Assert.notNull(partitionOptions, "Valid partition options are required.");
+    this.partitionOptions = partitionOptions;
+  }
+
+  /**
+   * Set the executor committing the batches of bulk writes in parallel. Defaults to an executor
+   * shared by the templates, with a thread per processor and at least 4.
+   *
+   * @param bulkWriteExecutor the bulk write executor
+   * @since 3.2
+   */
+  public void setBulkWriteExecutor(Executor bulkWriteExecutor) {
+    Assert.notNull(bulkWriteExecutor, "A valid bulk write executor is required.");
+    this.bulkWriteExecutor = bulkWriteExecutor;
+  }
+
+  /**
+   * Creates a bounded executor of daemon threads that end when idle, so that it needs no shutdown.
+   * It is used instead of the common fork-join pool, which blocking Spanner calls would starve.
+   */
+  private static Executor createDefaultExecutor(String threadNamePrefix) {
+    int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+    threadFactory.setDaemon(true);
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   protected ReadContext getReadContext() {
     return doWithOrWithoutTransactionContext(x -> x, this.databaseClientProvider.get()::singleUse);
   }
@@ -144,6 +255,97 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     return rowsAffected;
   }
 
+  @Override
+  public long[] executeDmlStatements(List<Statement> statements) {
+    Assert.notNull(statements, "A non-null list of statements is required.");
+    if (statements.isEmpty()) {
+      return new long[0];
+    }
+    statements.forEach(statement -> maybeEmitEvent(new BeforeExecuteDmlEvent(statement)));
+    long[] rowsAffected =
+        doWithOrWithoutTransactionContext(
+            x -> x.batchUpdate(statements),
+            () ->
+                this.databaseClientProvider
+                    .get()
+                    .readWriteTransaction()
+                    .run(transactionContext -> transactionContext.batchUpdate(statements)));
+    emitAfterExecuteDmlEvents(statements, rowsAffected);
+    return rowsAffected;
+  }
+
+  @Override
+  public CompletableFuture<Long> executeDmlStatementAsync(Statement statement) {
+    Assert.notNull(statement, "A non-null statement is required.");
+    maybeEmitEvent(new BeforeExecuteDmlEvent(statement));
+    ApiFuture<Long> rowsAffected =
+        doWithOrWithoutTransactionContext(
+            x -> x.executeUpdateAsync(statement),
+            () ->
+                this.databaseClientProvider
+                    .get()
+                    .runAsync()
+                    .runAsync(
+                        transactionContext -> transactionContext.executeUpdateAsync(statement),
+                        Runnable::run));
+    return toCompletableFuture(rowsAffected)
+        .thenApply(
+            count -> {
+              maybeEmitEvent(new AfterExecuteDmlEvent(statement, count));
+              return count;
+            });
+  }
+
+  @Override
+  public CompletableFuture<long[]> executeDmlStatementsAsync(List<Statement> statements) {
+    Assert.notNull(statements, "A non-null list of statements is required.");
+    if (statements.isEmpty()) {
+      return CompletableFuture.completedFuture(new long[0]);
+    }
+    statements.forEach(statement -> maybeEmitEvent(new BeforeExecuteDmlEvent(statement)));
+    ApiFuture<long[]> rowsAffected =
+        doWithOrWithoutTransactionContext(
+            x -> x.batchUpdateAsync(statements),
+            () ->
+                this.databaseClientProvider
+                    .get()
+                    .runAsync()
+                    .runAsync(
+                        transactionContext -> transactionContext.batchUpdateAsync(statements),
+                        Runnable::run));
+    return toCompletableFuture(rowsAffected)
+        .thenApply(
+            counts -> {
+              emitAfterExecuteDmlEvents(statements, counts);
+              return counts;
+            });
+  }
+
+  private void emitAfterExecuteDmlEvents(List<Statement> statements, long[] rowsAffected) {
+    for (int i = 0; i < rowsAffected.length; i++) {
+      maybeEmitEvent(new AfterExecuteDmlEvent(statements.get(i), rowsAffected[i]));
+    }
+  }
+
+  static <T> CompletableFuture<T> toCompletableFuture(ApiFuture<T> apiFuture) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    ApiFutures.addCallback(
+        apiFuture,
+        new ApiFutureCallback<T>() {
+          @Override
+          public void onFailure(Throwable throwable) {
+            future.completeExceptionally(throwable);
+          }
+
+          @Override
+          public void onSuccess(T result) {
+            future.complete(result);
+          }
+        },
+        Runnable::run);
+    return future;
+  }
+
   @Override
   public long executePartitionedDmlStatement(Statement statement) {
     Assert.notNull(statement, "A non-null statement is required.");
@@ -177,7 +379,8 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
             persistentEntity.tableName(),
             keys,
             Collections.singleton(persistentEntity.getPrimaryKeyColumnName()),
-            null)) {
+            null,
+            entityClass)) {
       maybeEmitEvent(new AfterReadEvent(Collections.emptyList(), keys, null));
       return resultSet.next();
     }
@@ -210,7 +413,12 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     } else {
       entities =
           mapToListAndResolveChildren(
-              executeRead(persistentEntity.tableName(), keys, persistentEntity.columns(), options),
+              executeRead(
+                  persistentEntity.tableName(),
+                  keys,
+                  persistentEntity.columns(),
+                  options,
+                  entityClass),
               entityClass,
               (options != null) ? options.getIncludeProperties() : null,
               options != null && options.isAllowPartialRead());
@@ -229,7 +437,7 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
    *     SpannerQueryOptions} or {@code keys} have "ranges".
    * @see SpannerReadOptions#toQueryOptions()
    */
-  private static SpannerQueryOptions toQueryOption(KeySet keys, SpannerReadOptions options)
+  static SpannerQueryOptions toQueryOption(KeySet keys, SpannerReadOptions options)
       throws IllegalArgumentException {
     if (keys != null && keys.getRanges().iterator().hasNext()) {
       throw new IllegalArgumentException(String.format("KeySet %s has ranges", keys));
@@ -272,6 +480,192 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
   @Override
   public <T> List<T> queryAll(Class<T> entityClass, SpannerPageableQueryOptions options) {
+    return query(entityClass, buildQueryAllStatement(entityClass, options), options);
+  }
+
+  @Override
+  public <T> Stream<T> readStream(Class<T> entityClass, KeySet keys, SpannerReadOptions options) {
+    SpannerPersistentEntity<T> persistentEntity =
+        (SpannerPersistentEntity<T>) this.mappingContext.getPersistentEntityOrFail(entityClass);
+
+    if (persistentEntity.hasEagerlyLoadedProperties() || persistentEntity.hasWhere()) {
+      return queryStream(
+          entityClass,
+          buildReadQuery(keys, persistentEntity, options != null ? options.getIndex() : null),
+          toQueryOption(keys, options));
+    }
+    return mapToStreamAndResolveChildren(
+        executeRead(
+            persistentEntity.tableName(), keys, persistentEntity.columns(), options, entityClass),
+        entityClass,
+        (options != null) ? options.getIncludeProperties() : null,
+        options != null && options.isAllowPartialRead());
+  }
+
+  @Override
+  public <T> Stream<T> readAllStream(Class<T> entityClass, SpannerReadOptions options) {
+    return readStream(entityClass, KeySet.all(), options);
+  }
+
+  @Override
+  public <A> Stream<A> queryStream(
+      Function<Struct, A> rowFunc, Statement statement, SpannerQueryOptions options) {
+    return streamRows(executeQuery(statement, options)).map(rowFunc);
+  }
+
+  @Override
+  public <T> Stream<T> queryStream(
+      Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
+    return mapToStreamAndResolveChildren(
+        executeEntityQuery(statement, options, entityClass),
+        entityClass,
+        (options != null) ? options.getIncludeProperties() : null,
+        options != null && options.isAllowPartialRead());
+  }
+
+  @Override
+  public <T> Stream<T> queryAllStream(Class<T> entityClass, SpannerPageableQueryOptions options) {
+    return queryStream(entityClass, buildQueryAllStatement(entityClass, options), options);
+  }
+
+  @Override
+  public <T> void readPartitioned(
+      Class<T> entityClass, KeySet keys, SpannerReadOptions options, Consumer<? super T> action) {
+    SpannerPersistentEntity<T> persistentEntity =
+        (SpannerPersistentEntity<T>) this.mappingContext.getPersistentEntityOrFail(entityClass);
+
+    if (persistentEntity.hasEagerlyLoadedProperties() || persistentEntity.hasWhere()) {
+      queryPartitioned(
+          entityClass,
+          buildReadQuery(keys, persistentEntity, options != null ? options.getIndex() : null),
+          toQueryOption(keys, options),
+          action);
+      return;
+    }
+    SpannerReadOptions readOptions = (options != null) ? options : new SpannerReadOptions();
+    executePartitioned(
+        readOptions.getTimestampBound(),
+        transaction ->
+            (readOptions.getIndex() == null)
+                ? transaction.partitionRead(
+                    this.partitionOptions,
+                    persistentEntity.tableName(),
+                    keys,
+                    persistentEntity.columns(),
+                    readOptions.getOptions())
+                : transaction.partitionReadUsingIndex(
+                    this.partitionOptions,
+                    persistentEntity.tableName(),
+                    readOptions.getIndex(),
+                    keys,
+                    persistentEntity.columns(),
+                    readOptions.getOptions()),
+        entityClass,
+        readOptions.getIncludeProperties(),
+        readOptions.isAllowPartialRead(),
+        action);
+  }
+
+  @Override
+  public <T> void queryPartitioned(
+      Class<T> entityClass,
+      Statement statement,
+      SpannerQueryOptions options,
+      Consumer<? super T> action) {
+    SpannerQueryOptions queryOptions = (options != null) ? options : new SpannerQueryOptions();
+    executePartitioned(
+        queryOptions.getTimestampBound(),
+        transaction ->
+            transaction.partitionQuery(this.partitionOptions, statement, queryOptions.getOptions()),
+        entityClass,
+        queryOptions.getIncludeProperties(),
+        queryOptions.isAllowPartialRead(),
+        action);
+  }
+
+  /**
+   * Splits a read or query into partitions in a batch read-only transaction and reads them in
+   * parallel on the partition executor. Once a partition has failed, the other partitions stop
+   * passing entities to the action and the failure is rethrown.
+   */
+  private <T> void executePartitioned(
+      TimestampBound timestampBound,
+      Function<BatchReadOnlyTransaction, List<Partition>> partitioner,
+      Class<T> entityClass,
+      Set<String> includeProperties,
+      boolean allowMissingColumns,
+      Consumer<? super T> action) {
+    Assert.state(
+        this.batchClientProvider != null,
+        "A batch client provider is required for partitioned reads.");
+    Assert.notNull(action, "A valid action is required.");
+    if (getTransactionContext() != null) {
+      throw new SpannerDataException("Cannot execute partitioned reads in a transaction.");
+    }
+
+    try (BatchReadOnlyTransaction transaction =
+        this.batchClientProvider
+            .get()
+            .batchReadOnlyTransaction(
+                (timestampBound != null) ? timestampBound : TimestampBound.strong())) {
+      List<Partition> partitions = partitioner.apply(transaction);
+      // children are read in the batch transaction too, at the timestamp of the partitions
+      SpannerTemplate transactionTemplate =
+          new ReadOnlyTransactionSpannerTemplate(
+              this.databaseClientProvider,
+              this.mappingContext,
+              this.spannerEntityProcessor,
+              this.mutationFactory,
+              this.spannerSchemaUtils,
+              transaction);
+      LOGGER.debug("Reading " + partitions.size() + " partitions of " + entityClass.getName());
+
+      AtomicReference<Throwable> failure = new AtomicReference<>();
+      CompletableFuture<?>[] partitionReads = new CompletableFuture<?>[partitions.size()];
+      for (int i = 0; i < partitions.size(); i++) {
+        Partition partition = partitions.get(i);
+        partitionReads[i] =
+            CompletableFuture.runAsync(
+                () -> {
+                  try (Stream<T> entities =
+                      transactionTemplate.mapToStreamAndResolveChildren(
+                          transaction.execute(partition),
+                          entityClass,
+                          includeProperties,
+                          allowMissingColumns)) {
+                    Iterator<T> iterator = entities.iterator();
+                    while (failure.get() == null && iterator.hasNext()) {
+                      action.accept(iterator.next());
+                    }
+                  } catch (RuntimeException | Error ex) {
+                    failure.compareAndSet(null, ex);
+                  }
+                },
+                this.partitionExecutor);
+      }
+      try {
+        CompletableFuture.allOf(partitionReads).join();
+      } catch (CompletionException ex) {
+        failure.compareAndSet(null, ex.getCause());
+      }
+      rethrow(failure.get());
+    }
+  }
+
+  private static void rethrow(Throwable failure) {
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    if (failure != null) {
+      throw new SpannerDataException("Failed to read partitions.", failure);
+    }
+  }
+
+  private Statement buildQueryAllStatement(
+      Class<?> entityClass, SpannerPageableQueryOptions options) {
     SpannerPersistentEntity<?> entity = this.mappingContext.getPersistentEntityOrFail(entityClass);
 
     String sql =
@@ -281,17 +675,14 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
             + " FROM "
             + entity.tableName()
             + SpannerStatementQueryExecutor.buildWhere(entity);
-    return query(
-        entityClass,
-        SpannerStatementQueryExecutor.buildStatementFromSqlWithArgs(
-            SpannerStatementQueryExecutor.applySortingPagingQueryOptions(
-                entityClass, options, sql, this.mappingContext, false),
-            null,
-            null,
-            null,
-            null,
-            null),
-        options);
+    return SpannerStatementQueryExecutor.buildStatementFromSqlWithArgs(
+        SpannerStatementQueryExecutor.applySortingPagingQueryOptions(
+            entityClass, options, sql, this.mappingContext, false),
+        null,
+        null,
+        null,
+        null,
+        null);
   }
 
   @Override
@@ -306,6 +697,11 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
         () -> getMutationsForMultipleObjects(objects, this.mutationFactory::insert), objects, null);
   }
 
+  @Override
+  public SpannerBulkWriteResult insertAll(Iterable<?> objects, SpannerBulkWriteOptions options) {
+    return applyBulkSaveMutations(objects, this.mutationFactory::insert, options);
+  }
+
   @Override
   public void update(Object object) {
     applySaveMutations(
@@ -320,6 +716,11 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
         null);
   }
 
+  @Override
+  public SpannerBulkWriteResult updateAll(Iterable<?> objects, SpannerBulkWriteOptions options) {
+    return applyBulkSaveMutations(objects, x -> this.mutationFactory.update(x, null), options);
+  }
+
   @Override
   public void update(Object object, String... includeProperties) {
     Set<String> incl =
@@ -350,6 +751,12 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
         null);
   }
 
+  @Override
+  public SpannerBulkWriteResult upsertAll(
+      Iterable<?> objects, SpannerBulkWriteOptions options) {
+    return applyBulkSaveMutations(objects, x -> this.mutationFactory.upsert(x, null), options);
+  }
+
   @Override
   public void upsert(Object object, String... includeProperties) {
     Set<String> incl =
@@ -376,6 +783,22 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     maybeEmitEvent(new AfterSaveEvent(mutations, entities, includeProperties));
   }
 
+  private SpannerBulkWriteResult applyBulkSaveMutations(
+      Iterable<?> entities,
+      Function<Object, Collection<Mutation>> individualEntityMutationFunc,
+      SpannerBulkWriteOptions options) {
+    maybeEmitEvent(new BeforeSaveEvent(entities, null));
+    List<Collection<Mutation>> mutationGroups =
+        StreamSupport.stream(entities.spliterator(), false)
+            .map(individualEntityMutationFunc)
+            .collect(Collectors.toList());
+    SpannerBulkWriteResult result = applyBulkMutations(mutationGroups, options);
+    if (result.isSuccessful()) {
+      maybeEmitEvent(new AfterSaveEvent(flatten(mutationGroups), entities, null));
+    }
+    return result;
+  }
+
   @Override
   public void delete(Object entity) {
     applyDeleteMutations(
@@ -392,6 +815,22 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
             .collect(Collectors.toList()));
   }
 
+  @Override
+  public SpannerBulkWriteResult deleteAll(Iterable<?> objects, SpannerBulkWriteOptions options) {
+    List<Collection<Mutation>> mutationGroups =
+        StreamSupport.stream(objects.spliterator(), false)
+            .<Collection<Mutation>>map(
+                x -> Collections.singletonList(this.mutationFactory.delete(x)))
+            .collect(Collectors.toList());
+    List<Mutation> mutations = flatten(mutationGroups);
+    maybeEmitEvent(new BeforeDeleteEvent(mutations, objects, null, null));
+    SpannerBulkWriteResult result = applyBulkMutations(mutationGroups, options);
+    if (result.isSuccessful()) {
+      maybeEmitEvent(new AfterDeleteEvent(mutations, objects, null, null));
+    }
+    return result;
+  }
+
   private void applyDeleteMutations(Iterable<?> objects, List<Mutation> mutations) {
     maybeEmitEvent(new BeforeDeleteEvent(mutations, objects, null, null));
     applyMutations(mutations);
@@ -495,10 +934,25 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
   }
 
   public ResultSet executeQuery(Statement statement, SpannerQueryOptions options) {
+    return executeQuery(statement, options, null);
+  }
+
+  private ResultSet executeEntityQuery(
+      Statement statement, SpannerQueryOptions options, Class<?> entityClass) {
+    TimestampBound staleReadBound = getStaleReadTimestampBound(options, entityClass);
+    return (staleReadBound != null)
+        ? executeQuery(statement, options, staleReadBound)
+        : executeQuery(statement, options);
+  }
+
+  private ResultSet executeQuery(
+      Statement statement,
+      SpannerQueryOptions options,
+      @Nullable TimestampBound staleReadBound) {
 
     long startTime = LOGGER.isDebugEnabled() ? System.currentTimeMillis() : 0;
 
-    ResultSet resultSet = performQuery(statement, options);
+    ResultSet resultSet = performQuery(statement, options, staleReadBound);
     if (LOGGER.isDebugEnabled()) {
       String message;
       if (options == null) {
@@ -506,6 +960,9 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
       } else {
         message = getQueryLogMessageWithOptions(statement, options);
       }
+      if (staleReadBound != null) {
+        message += " at stale read timestamp " + staleReadBound;
+      }
       LOGGER.debug(message);
       LOGGER.debug("Query elapsed milliseconds: " + (System.currentTimeMillis() - startTime));
     }
@@ -526,46 +983,79 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
     return message;
   }
 
-  private ResultSet performQuery(Statement statement, SpannerQueryOptions options) {
+  private ResultSet performQuery(
+      Statement statement,
+      SpannerQueryOptions options,
+      @Nullable TimestampBound staleReadBound) {
     ResultSet resultSet;
     if (options == null) {
-      resultSet = getReadContext().executeQuery(statement);
+      resultSet =
+          ((staleReadBound != null) ? getReadContext(staleReadBound) : getReadContext())
+              .executeQuery(statement);
     } else {
+      TimestampBound timestampBound =
+          (options.getTimestampBound() != null) ? options.getTimestampBound() : staleReadBound;
       resultSet =
-          ((options.getTimestampBound() != null)
-                  ? getReadContext(options.getTimestampBound())
-                  : getReadContext())
+          ((timestampBound != null) ? getReadContext(timestampBound) : getReadContext())
               .executeQuery(statement, options.getOptions());
     }
     return resultSet;
   }
 
+  /**
+   * Gets the timestamp bound of single-use reads of the given entity type from its {@link
+   * StaleRead} annotation, unless the options of the read specify their own timestamp bound or the
+   * read runs in a transaction, which reads at the timestamp of the transaction.
+   */
+  @Nullable
+  private TimestampBound getStaleReadTimestampBound(
+      @Nullable AbstractSpannerRequestOptions<?> options, Class<?> entityClass) {
+    if ((options != null && options.getTimestampBound() != null)
+        || isTransactionTemplate()
+        || getTransactionContext() != null) {
+      return null;
+    }
+    SpannerPersistentEntity<?> persistentEntity =
+        this.mappingContext.getPersistentEntity(entityClass);
+    return (persistentEntity != null) ? persistentEntity.getReadTimestampBound() : null;
+  }
+
   private <T> List<T> executeReadQueryAndResolveChildren(
       KeySet keys,
       SpannerPersistentEntity<T> persistentEntity,
       SpannerQueryOptions options,
       String index) {
-    Statement statement =
-        SpannerStatementQueryExecutor.buildQuery(
-            keys,
-            persistentEntity,
-            this.spannerEntityProcessor.getWriteConverter(),
-            this.mappingContext,
-            index);
+    Statement statement = buildReadQuery(keys, persistentEntity, index);
 
     return resolveChildEntities(
         query(persistentEntity.getType(), statement, options), options.getIncludeProperties());
   }
 
+  private Statement buildReadQuery(
+      KeySet keys, SpannerPersistentEntity<?> persistentEntity, String index) {
+    return SpannerStatementQueryExecutor.buildQuery(
+        keys,
+        persistentEntity,
+        this.spannerEntityProcessor.getWriteConverter(),
+        this.mappingContext,
+        index);
+  }
+
   private ResultSet executeRead(
-      String tableName, KeySet keys, Iterable<String> columns, SpannerReadOptions options) {
+      String tableName,
+      KeySet keys,
+      Iterable<String> columns,
+      SpannerReadOptions options,
+      Class<?> entityClass) {
 
     long startTime = LOGGER.isDebugEnabled() ? System.currentTimeMillis() : 0;
 
-    ReadContext readContext =
+    TimestampBound timestampBound =
         (options != null && options.getTimestampBound() != null)
-            ? getReadContext(options.getTimestampBound())
-            : getReadContext();
+            ? options.getTimestampBound()
+            : getStaleReadTimestampBound(options, entityClass);
+    ReadContext readContext =
+        (timestampBound != null) ? getReadContext(timestampBound) : getReadContext();
 
     ResultSet resultSet;
     if (options == null) {
@@ -631,10 +1121,79 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
         });
   }
 
+  /**
+   * Splits the given groups of mutations into batches and commits each of them on its own, with
+   * at most the maximum parallelism of the options. A failed commit does not stop the others.
+   *
+   * @param mutationGroups the mutations of each object, each group committed in a single batch.
+   * @param options the options of the bulk write.
+   * @return the result of each commit.
+   */
+  protected SpannerBulkWriteResult applyBulkMutations(
+      List<? extends Collection<Mutation>> mutationGroups, SpannerBulkWriteOptions options) {
+    Assert.notNull(options, "Valid bulk write options are required.");
+    if (getTransactionContext() != null) {
+      throw new SpannerDataException("Cannot execute bulk writes in a transaction.");
+    }
+    List<SpannerMutationBatcher.PendingBatch> pending =
+        SpannerMutationBatcher.split(mutationGroups, options);
+    LOGGER.debug("Writing " + pending.size() + " batches of mutations");
+
+    SpannerBulkWriteResult.Batch[] batches = new SpannerBulkWriteResult.Batch[pending.size()];
+    int workers = Math.min(options.getMaxParallelism(), pending.size());
+    if (workers <= 1) {
+      for (int i = 0; i < pending.size(); i++) {
+        batches[i] = commitBatch(pending.get(i), options.isAtLeastOnce());
+      }
+    } else {
+      AtomicInteger nextBatch = new AtomicInteger();
+      CompletableFuture<?>[] commits = new CompletableFuture<?>[workers];
+      for (int w = 0; w < workers; w++) {
+        commits[w] =
+            CompletableFuture.runAsync(
+                () -> {
+                  int i;
+                  while ((i = nextBatch.getAndIncrement()) < pending.size()) {
+                    batches[i] = commitBatch(pending.get(i), options.isAtLeastOnce());
+                  }
+                },
+                this.bulkWriteExecutor);
+      }
+      try {
+        CompletableFuture.allOf(commits).join();
+      } catch (CompletionException ex) {
+        rethrow(ex.getCause());
+      }
+    }
+    return new SpannerBulkWriteResult(Arrays.asList(batches));
+  }
+
+  private SpannerBulkWriteResult.Batch commitBatch(
+      SpannerMutationBatcher.PendingBatch batch, boolean atLeastOnce) {
+    LOGGER.debug("Applying Mutation: " + batch.mutations);
+    Timestamp commitTimestamp = null;
+    RuntimeException failure = null;
+    try {
+      DatabaseClient databaseClient = this.databaseClientProvider.get();
+      commitTimestamp =
+          atLeastOnce
+              ? databaseClient.writeAtLeastOnce(batch.mutations)
+              : databaseClient.write(batch.mutations);
+    } catch (RuntimeException ex) {
+      failure = ex;
+    }
+    return new SpannerBulkWriteResult.Batch(
+        batch.mutations, batch.cells, batch.bytes, commitTimestamp, failure);
+  }
+
+  private static List<Mutation> flatten(List<Collection<Mutation>> mutationGroups) {
+    return mutationGroups.stream().flatMap(Collection::stream).collect(Collectors.toList());
+  }
+
   private <T> List<T> queryAndResolveChildren(
       Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
     return mapToListAndResolveChildren(
-        executeQuery(statement, options),
+        executeEntityQuery(statement, options, entityClass),
         entityClass,
         (options != null) ? options.getIncludeProperties() : null,
         options != null && options.isAllowPartialRead());
@@ -651,51 +1210,216 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
         includeProperties);
   }
 
+  /**
+   * Maps the rows of a result set to entities as the returned stream is consumed. Rows are mapped
+   * in chunks, so that the children of a chunk of entities are fetched with one query per
+   * interleaved property instead of one per entity. The result set is closed with the stream.
+   */
+  private <T> Stream<T> mapToStreamAndResolveChildren(
+      ResultSet resultSet,
+      Class<T> entityClass,
+      Set<String> includeProperties,
+      boolean allowMissingColumns) {
+    Spliterator<T> entities =
+        new Spliterators.AbstractSpliterator<T>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+          private final Deque<T> chunk = new ArrayDeque<>();
+
+          private boolean exhausted;
+
+          @Override
+          public boolean tryAdvance(Consumer<? super T> action) {
+            if (this.chunk.isEmpty()) {
+              List<T> read = new ArrayList<>();
+              while (!this.exhausted && read.size() < STREAM_CHUNK_SIZE) {
+                if (resultSet.next()) {
+                  read.add(
+                      SpannerTemplate.this.spannerEntityProcessor.read(
+                          entityClass,
+                          resultSet.getCurrentRowAsStruct(),
+                          includeProperties,
+                          allowMissingColumns));
+                } else {
+                  this.exhausted = true;
+                }
+              }
+              if (read.isEmpty()) {
+                return false;
+              }
+              this.chunk.addAll(resolveChildEntities(read, includeProperties));
+            }
+            action.accept(this.chunk.poll());
+            return true;
+          }
+        };
+    return StreamSupport.stream(entities, false).onClose(resultSet::close);
+  }
+
+  private static Stream<Struct> streamRows(ResultSet resultSet) {
+    Spliterator<Struct> rows =
+        new Spliterators.AbstractSpliterator<Struct>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+          @Override
+          public boolean tryAdvance(Consumer<? super Struct> action) {
+            if (!resultSet.next()) {
+              return false;
+            }
+            action.accept(resultSet.getCurrentRowAsStruct());
+            return true;
+          }
+        };
+    return StreamSupport.stream(rows, false).onClose(resultSet::close);
+  }
+
   private <T> List<T> resolveChildEntities(List<T> entities, Set<String> includeProperties) {
+    Map<Class<?>, List<Object>> entitiesByType = new LinkedHashMap<>();
     for (Object entity : entities) {
-      resolveChildEntity(entity, includeProperties);
+      entitiesByType.computeIfAbsent(entity.getClass(), x -> new ArrayList<>()).add(entity);
     }
+    entitiesByType.forEach(
+        (type, parents) ->
+            resolveChildEntities(
+                this.mappingContext.getPersistentEntityOrFail(type), parents, includeProperties));
     return entities;
   }
 
-  private void resolveChildEntity(Object entity, Set<String> includeProperties) {
-    SpannerPersistentEntity<?> spannerPersistentEntity =
-        this.mappingContext.getPersistentEntityOrFail(entity.getClass());
-
-    PersistentPropertyAccessor<?> accessor = spannerPersistentEntity.getPropertyAccessor(entity);
+  /**
+   * Resolves the interleaved properties of entities of the same type. The children of all the
+   * entities are fetched with one query per interleaved property, rather than one per entity, and
+   * then resolved recursively in the same way.
+   */
+  private void resolveChildEntities(
+      SpannerPersistentEntity<?> spannerPersistentEntity,
+      List<Object> entities,
+      Set<String> includeProperties) {
+    if (includeProperties != null
+        && !includeProperties.contains(spannerPersistentEntity.getName())) {
+      return;
+    }
     spannerPersistentEntity.doWithInterleavedProperties(
         spannerPersistentProperty -> {
-          if (includeProperties != null
-              && !includeProperties.contains(spannerPersistentEntity.getName())) {
-            return;
+          List<Object> fetchedChildren = new ArrayList<>();
+          List<Object> parents = new ArrayList<>();
+          for (Object entity : entities) {
+            // an interleaved property can only be List
+            List propertyValue =
+                (List)
+                    spannerPersistentEntity
+                        .getPropertyAccessor(entity)
+                        .getProperty(spannerPersistentProperty);
+            if (propertyValue != null) {
+              // a lazy proxy resolves its children itself, if it is ever evaluated
+              if (!ConversionUtils.ignoreForWriteLazyProxy(propertyValue)) {
+                fetchedChildren.addAll(propertyValue);
+              }
+            } else {
+              parents.add(entity);
+            }
           }
-          // an interleaved property can only be List
-          List propertyValue = (List) accessor.getProperty(spannerPersistentProperty);
-          if (propertyValue != null) {
-            resolveChildEntities(propertyValue, null);
+          resolveChildEntities(fetchedChildren, null);
+          if (parents.isEmpty()) {
             return;
           }
-          Class<?> childType = spannerPersistentProperty.getColumnInnerType();
-
-          Supplier<List> getChildrenEntitiesFunc =
-              () ->
-                  queryAndResolveChildren(
-                      childType,
-                      SpannerStatementQueryExecutor.getChildrenRowsQuery(
-                          this.spannerSchemaUtils.getKey(entity),
-                          spannerPersistentProperty,
-                          this.spannerEntityProcessor.getWriteConverter(),
-                          this.mappingContext),
-                      null);
-
-          accessor.setProperty(
-              spannerPersistentProperty,
+
+          Supplier<Map<Key, List<Object>>> childrenByParentKey =
+              SingletonSupplier.of(() -> queryChildren(parents, spannerPersistentProperty));
+          // lazy proxies fetch only their own children unless they opt into batch-loading, in
+          // which case the first proxy to be touched fetches the children of all the parents
+          boolean perParent =
               spannerPersistentProperty.isLazyInterleaved()
-                  ? ConversionUtils.wrapSimpleLazyProxy(getChildrenEntitiesFunc, List.class)
-                  : getChildrenEntitiesFunc.get());
+                  && !spannerPersistentProperty.isBatchLoadedInterleaved();
+          for (Object parent : parents) {
+            Supplier<List> getChildrenEntitiesFunc =
+                perParent
+                    ? () ->
+                        getChildren(
+                            queryChildren(
+                                Collections.singletonList(parent), spannerPersistentProperty),
+                            parent)
+                    : () -> getChildren(childrenByParentKey.get(), parent);
+            spannerPersistentEntity
+                .getPropertyAccessor(parent)
+                .setProperty(
+                    spannerPersistentProperty,
+                    spannerPersistentProperty.isLazyInterleaved()
+                        ? ConversionUtils.wrapSimpleLazyProxy(getChildrenEntitiesFunc, List.class)
+                        : getChildrenEntitiesFunc.get());
+          }
         });
   }
 
+  /**
+   * Fetches the children of the given parents in an interleaved property, grouped by parent key.
+   * The parent keys are bound as a single array parameter when possible; otherwise they are bound
+   * one part at a time and split into as many queries as needed to stay within the query parameter
+   * limit.
+   */
+  private Map<Key, List<Object>> queryChildren(
+      List<Object> parents, SpannerPersistentProperty spannerPersistentProperty) {
+    Set<Key> parentKeys = new LinkedHashSet<>();
+    int keySize = 0;
+    for (Object parent : parents) {
+      Key parentKey = this.spannerSchemaUtils.getKey(parent);
+      if (parentKeys.add(parentKey)) {
+        keySize = parentKey.size();
+      }
+    }
+
+    List<Statement> statements = new ArrayList<>();
+    Statement statement = getChildrenRowsQuery(parentKeys, spannerPersistentProperty);
+    if (statement.getParameters().size() <= MAX_QUERY_PARAMETERS) {
+      statements.add(statement);
+    } else {
+      int maxKeySize = parentKeys.stream().mapToInt(Key::size).max().orElse(1);
+      int keysPerQuery = Math.max(1, MAX_QUERY_PARAMETERS / Math.max(1, maxKeySize));
+      List<Key> keys = new ArrayList<>(parentKeys);
+      for (int i = 0; i < keys.size(); i += keysPerQuery) {
+        statements.add(
+            getChildrenRowsQuery(
+                keys.subList(i, Math.min(i + keysPerQuery, keys.size())),
+                spannerPersistentProperty));
+      }
+    }
+
+    Map<Key, List<Object>> childrenByParentKey = new HashMap<>();
+    for (Statement childrenQuery : statements) {
+      List<?> children =
+          queryAndResolveChildren(
+              spannerPersistentProperty.getColumnInnerType(), childrenQuery, null);
+      for (Object child : children) {
+        childrenByParentKey
+            .computeIfAbsent(getKeyPrefix(child, keySize), x -> new ArrayList<>())
+            .add(child);
+      }
+    }
+    return childrenByParentKey;
+  }
+
+  private Statement getChildrenRowsQuery(
+      Collection<Key> parentKeys, SpannerPersistentProperty spannerPersistentProperty) {
+    KeySet.Builder keySet = KeySet.newBuilder();
+    parentKeys.forEach(keySet::addKey);
+    return SpannerStatementQueryExecutor.getChildrenRowsQuery(
+        keySet.build(),
+        spannerPersistentProperty,
+        this.spannerEntityProcessor.getWriteConverter(),
+        this.mappingContext);
+  }
+
+  private List<Object> getChildren(Map<Key, List<Object>> childrenByParentKey, Object parent) {
+    List<Object> children = childrenByParentKey.get(this.spannerSchemaUtils.getKey(parent));
+    return (children != null) ? new ArrayList<>(children) : new ArrayList<>();
+  }
+
+  private Key getKeyPrefix(Object entity, int size) {
+    Key.Builder prefix = Key.newBuilder();
+    Iterator<Object> parts = this.spannerSchemaUtils.getKey(entity).getParts().iterator();
+    for (int i = 0; i < size && parts.hasNext(); i++) {
+      prefix.appendObject(parts.next());
+    }
+    return prefix.build();
+  }
+
   private List<Mutation> getMutationsForMultipleObjects(
       Iterable<?> it, Function<Object, Collection<Mutation>> individualEntityMutationFunc) {
     return StreamSupport.stream(it.spliterator(), false)
@@ -703,6 +1427,15 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
         .collect(Collectors.toList());
   }
 
+  /**
+   * Returns whether this template performs all its operations in a single transaction.
+   *
+   * @return {@code true} for the templates of read-write and read-only transactions
+   */
+  boolean isTransactionTemplate() {
+    return false;
+  }
+
   private TransactionContext getTransactionContext() {
     if (TransactionSynchronizationManager.isActualTransactionActive()) {
       SpannerTransactionManager.Tx tx =
@@ -33,30 +33,302 @@ import com.google.cloud.spanner.ResultSet;
 import com.google.cloud.spanner.SpannerException;
 import com.google.cloud.spanner.Statement;
 import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.TimestampBound;
+import com.google.cloud.spanner.TimestampBound.Mode;
 import com.google.cloud.spanner.TransactionContext;
 import com.google.cloud.spanner.TransactionManager;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionSystemException;
 import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.CallbackPreferringPlatformTransactionManager;
 import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
 
 /**
  * Spanner transaction manager.
  *
+ * <p>Read-write transactions that Cloud Spanner aborts fail with an {@link
+ * UnexpectedRollbackException} by default. With {@link #setMaxAttempts(int)} set above 1, the
+ * transactional callback, such as a {@code @Transactional} method, is run again after a jittered
+ * exponential backoff instead. A transaction aborted on commit is retried with {@link
+ * TransactionManager#resetForRetry()}, which keeps its session and lock priority. The callback must
+ * then be safe to run more than once.
+ *
+ * <p>For a {@code @Transactional} method, the callback proceeds with the method invocation from the
+ * transaction interceptor. A retry proceeds from there again, so advice ordered after the
+ * transaction interceptor is not run again; such advice must have a higher precedence than the
+ * transaction advice, which has the lowest precedence by default. With a single attempt, as by
+ * default, callbacks run once and are committed or rolled back as by any {@link
+ * AbstractPlatformTransactionManager}.
+ *
  * @since 1.1
  */
-public class SpannerTransactionManager extends AbstractPlatformTransactionManager {
+public class SpannerTransactionManager extends AbstractPlatformTransactionManager
+    implements CallbackPreferringPlatformTransactionManager {
+
+  private static final Log LOGGER = LogFactory.getLog(SpannerTransactionManager.class);
+
   private final Supplier<DatabaseClient> databaseClientProvider;
 
+  // The transaction manager of an attempt aborted on commit, to be reset by the next attempt.
+  private final ThreadLocal<TransactionManager> abortedTransactionManager =
+      new NamedThreadLocal<>("Aborted Spanner transaction manager");
+
+  private final LongAdder readWriteAttempts = new LongAdder();
+
+  private final LongAdder abortedAttempts = new LongAdder();
+
+  private final LongAdder exhaustedRetries = new LongAdder();
+
+  private int maxAttempts = 1;
+
+  private Duration initialBackoff = Duration.ofMillis(10);
+
+  private Duration maxBackoff = Duration.ofSeconds(1);
+
+  @Nullable private TimestampBound readOnlyTimestampBound;
+
   public SpannerTransactionManager(final Supplier databaseClientProvider) {
     this.databaseClientProvider = databaseClientProvider;
   }
 
+  /**
+   * Set the maximum number of times a read-write transaction aborted by Cloud Spanner is run,
+   * including the first attempt. Defaults to 1, which does not retry aborted transactions. The
+   * advice of {@code @Transactional} methods ordered after the transaction advice is not run again
+   * on retries.
+   *
+   * @param maxAttempts the maximum number of attempts.
+   * @since 3.2
+   */
+  public void setMaxAttempts(int maxAttempts) {
+    Assert.isTrue(maxAttempts > 0, "The maximum number of attempts must be positive.");
+    this.maxAttempts = maxAttempts;
+  }
+
+  public int getMaxAttempts() {
+    return this.maxAttempts;
+  }
+
+  /**
+   * Set the upper bound of the backoff before the first retry of an aborted transaction, which is
+   * doubled for each further retry up to the maximum backoff. The actual backoff is chosen at
+   * random below that bound, unless Cloud Spanner specifies a longer retry delay.
+   *
+   * @param initialBackoff the initial backoff.
+   * @since 3.2
+   */
+  public void setInitialBackoff(Duration initialBackoff) {
+    Assert.isTrue(
+        initialBackoff != null && !initialBackoff.isNegative(),
+        "A non-negative initial backoff is required.");
+    this.initialBackoff = initialBackoff;
+  }
+
+  /**
+   * Set the maximum backoff before retrying an aborted transaction.
+   *
+   * @param maxBackoff the maximum backoff.
+   * @since 3.2
+   */
+  public void setMaxBackoff(Duration maxBackoff) {
+    Assert.isTrue(
+        maxBackoff != null && !maxBackoff.isNegative(),
+        "A non-negative maximum backoff is required.");
+    this.maxBackoff = maxBackoff;
+  }
+
+  /**
+   * Set the timestamp bound of read-only transactions, such as {@code @Transactional(readOnly =
+   * true)} methods, which reuse a single multi-use read-only transaction for all of their reads.
+   * With an exact staleness, the reads of a whole request can be served by the nearest replica
+   * without a round trip to the leader, while still seeing a consistent snapshot. Defaults to
+   * strong reads. Multi-use read-only transactions do not support bounded staleness.
+   *
+   * @param readOnlyTimestampBound the timestamp bound, or {@code null} for strong reads.
+   * @since 3.2
+   */
+  public void setReadOnlyTimestampBound(@Nullable TimestampBound readOnlyTimestampBound) {
+    Assert.isTrue(
+        readOnlyTimestampBound == null
+            || (readOnlyTimestampBound.getMode() != Mode.MAX_STALENESS
+                && readOnlyTimestampBound.getMode() != Mode.MIN_READ_TIMESTAMP),
+        "Read-only transactions do not support bounded staleness.");
+    this.readOnlyTimestampBound = readOnlyTimestampBound;
+  }
+
+  @Nullable
+  public TimestampBound getReadOnlyTimestampBound() {
+    return this.readOnlyTimestampBound;
+  }
+
+  /**
+   * Get the number of attempts of read-write transactions run through {@link
+   * #execute(TransactionDefinition, TransactionCallback)}, retries included.
+   *
+   * @return the number of read-write transaction attempts.
+   * @since 3.2
+   */
+  public long getReadWriteAttemptCount() {
+    return this.readWriteAttempts.sum();
+  }
+
+  /**
+   * Get the number of read-write transaction attempts aborted by Cloud Spanner, whether retried or
+   * not. Divided by {@link #getReadWriteAttemptCount()}, it gives the abort rate.
+   *
+   * @return the number of aborted attempts.
+   * @since 3.2
+   */
+  public long getAbortedAttemptCount() {
+    return this.abortedAttempts.sum();
+  }
+
+  /**
+   * Get the number of read-write transactions that failed because their last allowed attempt was
+   * aborted.
+   *
+   * @return the number of transactions that exhausted their retries.
+   * @since 3.2
+   */
+  public long getExhaustedRetryCount() {
+    return this.exhaustedRetries.sum();
+  }
+
+  @Override
+  public <T> T execute(@Nullable TransactionDefinition definition, TransactionCallback<T> callback)
+      throws TransactionException {
+    try {
+      for (int attempt = 1; ; attempt++) {
+        DefaultTransactionStatus status = (DefaultTransactionStatus) getTransaction(definition);
+        Tx tx = (Tx) status.getTransaction();
+        boolean readWrite = status.isNewTransaction() && !tx.isReadOnly();
+        if (readWrite) {
+          this.readWriteAttempts.increment();
+        }
+        boolean retryable = readWrite && attempt < this.maxAttempts;
+        tx.retryOnAbort = retryable;
+        TransactionManager transactionManager = tx.getTransactionManager();
+        T result;
+        try {
+          result = callback.doInTransaction(status);
+        } catch (RuntimeException | Error ex) {
+          rollbackOnException(status, ex);
+          if (readWrite && isAborted(ex) && retryAfterAbort(retryable, attempt, ex)) {
+            continue;
+          }
+          throw ex;
+        } catch (Throwable ex) {
+          rollbackOnException(status, ex);
+          throw new UndeclaredThrowableException(
+              ex, "TransactionCallback threw undeclared checked exception");
+        }
+        try {
+          commit(status);
+        } catch (UnexpectedRollbackException ex) {
+          if (retryable
+              && transactionManager.getState() == TransactionManager.TransactionState.ABORTED) {
+            this.abortedTransactionManager.set(transactionManager);
+          }
+          if (readWrite && isAborted(ex) && retryAfterAbort(retryable, attempt, ex)) {
+            continue;
+          }
+          throw ex;
+        }
+        return result;
+      }
+    } finally {
+      // left over only if the next attempt could not begin.
+      TransactionManager transactionManager = this.abortedTransactionManager.get();
+      if (transactionManager != null) {
+        this.abortedTransactionManager.remove();
+        transactionManager.close();
+      }
+    }
+  }
+
+  /**
+   * Records an aborted attempt and waits before retrying it, if it can be retried.
+   *
+   * @return {@code true} if the transaction is to be retried.
+   */
+  private boolean retryAfterAbort(boolean retryable, int attempt, Throwable ex) {
+    this.abortedAttempts.increment();
+    if (!retryable) {
+      if (this.maxAttempts > 1) {
+        this.exhaustedRetries.increment();
+      }
+      return false;
+    }
+    long backoffMillis = getBackoffMillis(attempt, ex);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Retrying aborted transaction (attempt "
+              + attempt
+              + " of "
+              + this.maxAttempts
+              + ") in "
+              + backoffMillis
+              + " ms");
+    }
+    try {
+      Thread.sleep(backoffMillis);
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread().interrupt();
+      throw new TransactionSystemException(
+          "Interrupted while waiting to retry an aborted transaction", interruptedException);
+    }
+    return true;
+  }
+
+  private long getBackoffMillis(int attempt, Throwable ex) {
+    long bound =
+        Math.min(
+            this.maxBackoff.toMillis(),
+            this.initialBackoff.toMillis() << Math.min(attempt - 1, 30));
+    long backoff = (bound > 0) ? ThreadLocalRandom.current().nextLong(bound + 1) : 0;
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SpannerException) {
+        long retryDelay = ((SpannerException) cause).getRetryDelayInMillis();
+        return Math.max(backoff, Math.min(retryDelay, this.maxBackoff.toMillis()));
+      }
+    }
+    return backoff;
+  }
+
+  private static boolean isAborted(Throwable ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SpannerException
+          && ((SpannerException) cause).getErrorCode() == ErrorCode.ABORTED) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void rollbackOnException(DefaultTransactionStatus status, Throwable ex) {
+    try {
+      rollback(status);
+    } catch (RuntimeException | Error rollbackEx) {
+      rollbackEx.addSuppressed(ex);
+      throw rollbackEx;
+    }
+  }
+
   @Override
   protected Object doGetTransaction() throws TransactionException {
     Tx tx = (Tx) TransactionSynchronizationManager.getResource(databaseClientProvider.get());
@@ -88,7 +360,9 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
     Tx tx = (Tx) transactionObject;
     if (transactionDefinition.isReadOnly()) {
       final ReadContext targetTransactionContext =
-          this.databaseClientProvider.get().readOnlyTransaction();
+          (this.readOnlyTimestampBound != null)
+              ? this.databaseClientProvider.get().readOnlyTransaction(this.readOnlyTimestampBound)
+              : this.databaseClientProvider.get().readOnlyTransaction();
       tx.isReadOnly = true;
       tx.transactionManager = null;
       tx.transactionContext =
@@ -213,8 +487,15 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
             }
           };
     } else {
-      tx.transactionManager = tx.databaseClient.transactionManager();
-      tx.transactionContext = tx.getTransactionManager().begin();
+      TransactionManager abortedTransactionManager = this.abortedTransactionManager.get();
+      if (abortedTransactionManager != null) {
+        this.abortedTransactionManager.remove();
+        tx.transactionManager = abortedTransactionManager;
+        tx.transactionContext = abortedTransactionManager.resetForRetry();
+      } else {
+        tx.transactionManager = tx.databaseClient.transactionManager();
+        tx.transactionContext = tx.getTransactionManager().begin();
+      }
       tx.isReadOnly = false;
     }
 
@@ -236,9 +517,9 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
       }
     } catch (AbortedException ex) {
       // The client library will not close transaction resources if state == ABORTED
-      // to allow for retries, but we do not retry aborted transactions.
+      // to allow for retries, which are only made if the transaction is to be retried.
       // See: SessionPool.close()
-      if (tx.getTransactionManager() != null) {
+      if (tx.getTransactionManager() != null && !tx.retryOnAbort) {
         tx.getTransactionManager().close();
       }
       throw new UnexpectedRollbackException("Transaction Got Rolled Back", ex);
@@ -281,6 +562,7 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
     tx.transactionManager = null;
     tx.transactionContext = null;
     tx.isReadOnly = false;
+    tx.retryOnAbort = false;
   }
 
   /** A transaction object that holds the transaction context. */
@@ -291,6 +573,8 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
 
     boolean isReadOnly;
 
+    boolean retryOnAbort;
+
     DatabaseClient databaseClient;
 
     public Tx(DatabaseClient databaseClient) {
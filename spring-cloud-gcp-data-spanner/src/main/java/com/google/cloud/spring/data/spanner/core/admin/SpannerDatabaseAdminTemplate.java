@@ -24,11 +24,15 @@ import com.google.cloud.spanner.ResultSet;
 import com.google.cloud.spanner.Statement;
 import com.google.cloud.spanner.Struct;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import org.springframework.util.Assert;
 
@@ -36,6 +40,11 @@ import org.springframework.util.Assert;
  * Template for performing many operations to a Spanner database including generating hierarchy
  * schemas and creating and deleting tables.
  *
+ * <p>The tables of each database and their interleaving are read from the information schema and
+ * cached for a minute, or the time-to-live set with {@link #setSchemaCacheTtl(Duration)}, unless
+ * DDL is executed through this template or {@link #invalidateSchemaCache()} is called first. DDL
+ * executed by other means is not seen until then.
+ *
  * @since 1.1
  */
 public class SpannerDatabaseAdminTemplate {
@@ -58,6 +67,14 @@ public class SpannerDatabaseAdminTemplate {
 
   private final Supplier<DatabaseClient> databaseClientProvider;
 
+  private final Map<DatabaseId, SchemaSnapshot> schemaCache = new ConcurrentHashMap<>();
+
+  // incremented on invalidation, so that schemas read before it are not cached after it.
+  private final AtomicLong schemaGeneration = new AtomicLong();
+
+  // null to cache until invalidated.
+  private Duration schemaCacheTtl = Duration.ofMinutes(1);
+
   /**
    * Constructor that takes in the database admin client used to perform operations and the {@link
    * DatabaseId} object holding the project, instance, and database IDs used for all operations.
@@ -82,6 +99,33 @@ public class SpannerDatabaseAdminTemplate {
     this.databaseClientProvider = databaseClientProvider;
   }
 
+  /**
+   * Set how long the tables read from the information schema are cached, unless DDL is executed
+   * through this template or the cache is invalidated first. Defaults to one minute. A zero
+   * duration disables caching.
+   *
+   * @param schemaCacheTtl the time-to-live of the cached schema, or {@code null} for no expiry.
+   * @since 3.2
+   */
+  public void setSchemaCacheTtl(Duration schemaCacheTtl) {
+    Assert.isTrue(
+        schemaCacheTtl == null || !schemaCacheTtl.isNegative(),
+        "The schema cache time-to-live must not be negative.");
+    this.schemaCacheTtl = schemaCacheTtl;
+    invalidateSchemaCache();
+  }
+
+  /**
+   * Discard the cached tables of all databases, so that they are read again from the information
+   * schema. Needed after the schema was changed other than through this template.
+   *
+   * @since 3.2
+   */
+  public void invalidateSchemaCache() {
+    this.schemaGeneration.incrementAndGet();
+    this.schemaCache.clear();
+  }
+
   /**
    * Execute the given DDL strings in order and creates the database if it does not exist.
    *
@@ -103,6 +147,8 @@ public class SpannerDatabaseAdminTemplate {
       throw new SpannerDataException("DDL execution was interrupted", ex);
     } catch (ExecutionException ex) {
       throw new SpannerDataException("DDL could not be executed", ex);
+    } finally {
+      invalidateSchemaCache();
     }
   }
 
@@ -145,19 +191,7 @@ public class SpannerDatabaseAdminTemplate {
    * @return the map of the table names.
    */
   public Map<String, String> getChildParentTablesMap() {
-    Map<String, String> relationships = new HashMap<>();
-    try (ResultSet results =
-        this.databaseClientProvider.get().singleUse().executeQuery(TABLE_AND_PARENT_QUERY)) {
-      while (results.next()) {
-        Struct row = results.getCurrentRowAsStruct();
-        relationships.put(
-            row.getString(TABLE_NAME_COL_NAME),
-            row.isNull(PARENT_TABLE_NAME_COL_NAME)
-                ? null
-                : row.getString(PARENT_TABLE_NAME_COL_NAME));
-      }
-      return relationships;
-    }
+    return new HashMap<>(getSchema().childParentTables);
   }
 
   /**
@@ -171,12 +205,17 @@ public class SpannerDatabaseAdminTemplate {
    */
   public boolean isInterleaved(String ancestor, String descendant) {
     Assert.notNull(ancestor, "A non-null ancestor table name is required.");
-    Set<String> directChildren = getParentChildTablesMap().get(ancestor);
+    return isInterleaved(getSchema().parentChildTables, ancestor, descendant);
+  }
+
+  private static boolean isInterleaved(
+      Map<String, Set<String>> parentChildTables, String ancestor, String descendant) {
+    Set<String> directChildren = parentChildTables.get(ancestor);
     if (ancestor.equals(descendant) || directChildren == null) {
       return false;
     }
     for (String child : directChildren) {
-      if (child.equals(descendant) || isInterleaved(child, descendant)) {
+      if (child.equals(descendant) || isInterleaved(parentChildTables, child, descendant)) {
         return true;
       }
     }
@@ -191,13 +230,8 @@ public class SpannerDatabaseAdminTemplate {
    */
   public Map<String, Set<String>> getParentChildTablesMap() {
     Map<String, Set<String>> relationships = new HashMap<>();
-    for (Map.Entry<String, String> e : getChildParentTablesMap().entrySet()) {
-      if (e.getValue() == null) {
-        continue;
-      }
-      String parent = e.getValue();
-      Set<String> children = relationships.computeIfAbsent(parent, k -> new HashSet<>());
-      children.add(e.getKey());
+    for (Map.Entry<String, Set<String>> e : getSchema().parentChildTables.entrySet()) {
+      relationships.put(e.getKey(), new HashSet<>(e.getValue()));
     }
     return relationships;
   }
@@ -218,6 +252,80 @@ public class SpannerDatabaseAdminTemplate {
    * @return true if the table exists, false otherwise.
    */
   public boolean tableExists(String table) {
-    return databaseExists() && getTables().contains(table);
+    // a cached schema was read from a database that exists.
+    SchemaSnapshot schema = getCachedSchema(this.databaseIdProvider.get());
+    if (schema == null) {
+      if (!databaseExists()) {
+        return false;
+      }
+      schema = getSchema();
+    }
+    return schema.childParentTables.containsKey(table);
+  }
+
+  private SchemaSnapshot getSchema() {
+    DatabaseId databaseId = this.databaseIdProvider.get();
+    SchemaSnapshot schema = getCachedSchema(databaseId);
+    if (schema == null) {
+      // read before the tables, so that a read that overlaps an invalidation is not used after it.
+      long generation = this.schemaGeneration.get();
+      schema = new SchemaSnapshot(readChildParentTables(), generation);
+      if (this.schemaCacheTtl == null || !this.schemaCacheTtl.isZero()) {
+        this.schemaCache.put(databaseId, schema);
+      }
+    }
+    return schema;
+  }
+
+  private SchemaSnapshot getCachedSchema(DatabaseId databaseId) {
+    SchemaSnapshot schema = this.schemaCache.get(databaseId);
+    if (schema != null
+        && (schema.generation != this.schemaGeneration.get()
+            || (this.schemaCacheTtl != null
+                && System.nanoTime() - schema.readAtNanos >= this.schemaCacheTtl.toNanos()))) {
+      this.schemaCache.remove(databaseId, schema);
+      return null;
+    }
+    return schema;
+  }
+
+  private Map<String, String> readChildParentTables() {
+    Map<String, String> relationships = new HashMap<>();
+    try (ResultSet results =
+        this.databaseClientProvider.get().singleUse().executeQuery(TABLE_AND_PARENT_QUERY)) {
+      while (results.next()) {
+        Struct row = results.getCurrentRowAsStruct();
+        relationships.put(
+            row.getString(TABLE_NAME_COL_NAME),
+            row.isNull(PARENT_TABLE_NAME_COL_NAME)
+                ? null
+                : row.getString(PARENT_TABLE_NAME_COL_NAME));
+      }
+      return relationships;
+    }
+  }
+
+  /** The tables of a database and their interleaving, as read at a given time and generation. */
+  private static final class SchemaSnapshot {
+
+    private final Map<String, String> childParentTables;
+
+    private final Map<String, Set<String>> parentChildTables;
+
+    private final long readAtNanos = System.nanoTime();
+
+    private final long generation;
+
+    SchemaSnapshot(Map<String, String> childParentTables, long generation) {
+      this.generation = generation;
+      this.childParentTables = Collections.unmodifiableMap(childParentTables);
+      Map<String, Set<String>> parentChildTables = new HashMap<>();
+      for (Map.Entry<String, String> e : childParentTables.entrySet()) {
+        if (e.getValue() != null) {
+          parentChildTables.computeIfAbsent(e.getValue(), k -> new HashSet<>()).add(e.getKey());
+        }
+      }
+      this.parentChildTables = Collections.unmodifiableMap(parentChildTables);
+    }
   }
 }
@@ -17,18 +17,12 @@
 package com.google.cloud.spring.data.spanner.core.convert;
 
 import com.google.cloud.spanner.Struct;
-import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntity;
-import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentProperty;
+import java.util.Map;
 import java.util.Set;
-import org.springframework.data.mapping.PersistentPropertyAccessor;
-import org.springframework.data.mapping.PreferredConstructor;
-import org.springframework.data.mapping.PropertyHandler;
-import org.springframework.data.mapping.model.EntityInstantiator;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.data.mapping.model.EntityInstantiators;
-import org.springframework.data.mapping.model.ParameterValueProvider;
-import org.springframework.data.mapping.model.PersistentEntityParameterValueProvider;
 
 /**
  * A reading converter for Spanner that uses custom converters.
@@ -43,6 +37,12 @@ class ConverterAwareMappingSpannerEntityReader implements SpannerEntityReader {
 
   private SpannerReadConverter converter;
 
+  /** Maximum number of read plans kept for each entity type. */
+  private static final int MAX_READ_PLANS_PER_TYPE = 8;
+
+  // the read plans of each entity type for distinct row types and read options, latest first.
+  private final Map<Class<?>, SpannerEntityReadPlan<?>[]> readPlans = new ConcurrentHashMap<>();
+
   ConverterAwareMappingSpannerEntityReader(
       SpannerMappingContext spannerMappingContext, SpannerReadConverter spannerReadConverter) {
     this.spannerMappingContext = spannerMappingContext;
@@ -53,7 +53,10 @@ class ConverterAwareMappingSpannerEntityReader implements SpannerEntityReader {
   }
 
   /**
-   * Reads a single POJO from a Cloud Spanner row.
+   * Reads a single POJO from a Cloud Spanner row. The mapping of the columns to the properties is
+   * resolved for the first row of a given type, row type, included columns and missing column
+   * handling, and reused for the following such rows. A few mappings are kept for each type, so
+   * that queries of the same type with different columns do not resolve them again.
    *
    * @param type the type of POJO
    * @param source the Cloud Spanner row
@@ -66,80 +69,40 @@ class ConverterAwareMappingSpannerEntityReader implements SpannerEntityReader {
   @SuppressWarnings("unchecked")
   public <R> R read(
       Class<R> type, Struct source, Set<String> includeColumns, boolean allowMissingColumns) {
-    boolean readAllColumns = includeColumns == null;
+    SpannerEntityReadPlan<?>[] plans = this.readPlans.get(type);
+    if (plans != null) {
+      for (SpannerEntityReadPlan<?> plan : plans) {
+        if (plan.matches(source.getType(), includeColumns, allowMissingColumns)) {
+          return ((SpannerEntityReadPlan<R>) plan).read(source);
+        }
+      }
+    }
+
     SpannerPersistentEntity<R> persistentEntity =
         (SpannerPersistentEntity<R>) this.spannerMappingContext.getPersistentEntityOrFail(type);
-
-    StructAccessor structAccessor = new StructAccessor(source);
-
-    StructPropertyValueProvider propertyValueProvider =
-        new StructPropertyValueProvider(structAccessor, this.converter, this, allowMissingColumns);
-
-    PreferredConstructor<?, SpannerPersistentProperty> persistenceConstructor =
-        persistentEntity.getPersistenceConstructor();
-
-    // @formatter:off
-    ParameterValueProvider<SpannerPersistentProperty> parameterValueProvider =
-        new PersistentEntityParameterValueProvider<>(persistentEntity, propertyValueProvider, null);
-    // @formatter:on
-
-    EntityInstantiator instantiator = this.instantiators.getInstantiatorFor(persistentEntity);
-    R instance = instantiator.createInstance(persistentEntity, parameterValueProvider);
-    PersistentPropertyAccessor accessor = persistentEntity.getPropertyAccessor(instance);
-
-    persistentEntity.doWithProperties(
-        (PropertyHandler<SpannerPersistentProperty>)
-            spannerPersistentProperty -> {
-              if (spannerPersistentProperty.isEmbedded()) {
-                accessor.setProperty(
-                    spannerPersistentProperty,
-                    read(
-                        spannerPersistentProperty.getType(),
-                        source,
-                        includeColumns,
-                        allowMissingColumns));
-              } else {
-                if (!shouldSkipProperty(
-                    structAccessor,
-                    spannerPersistentProperty,
-                    includeColumns,
-                    readAllColumns,
-                    allowMissingColumns,
-                    persistenceConstructor)) {
-
-                  Object value = propertyValueProvider.getPropertyValue(spannerPersistentProperty);
-                  accessor.setProperty(spannerPersistentProperty, value);
-                }
-              }
-            });
-
-    return instance;
-  }
-
-  private boolean shouldSkipProperty(
-      StructAccessor struct,
-      SpannerPersistentProperty spannerPersistentProperty,
-      Set<String> includeColumns,
-      boolean readAllColumns,
-      boolean allowMissingColumns,
-      PreferredConstructor<?, SpannerPersistentProperty> persistenceConstructor) {
-    String columnName = spannerPersistentProperty.getColumnName();
-    boolean notRequiredByPartialRead = !readAllColumns && !includeColumns.contains(columnName);
-
-    return spannerPersistentProperty.isLazyInterleaved()
-        || notRequiredByPartialRead
-        || isMissingColumn(struct, allowMissingColumns, columnName)
-        || struct.isNull(columnName)
-        || persistenceConstructor.isConstructorParameter(spannerPersistentProperty);
+    SpannerEntityReadPlan<R> plan =
+        new SpannerEntityReadPlan<>(
+            persistentEntity,
+            source.getType(),
+            includeColumns,
+            allowMissingColumns,
+            this.spannerMappingContext,
+            this.instantiators,
+            this.converter,
+            this);
+    this.readPlans.compute(type, (key, current) -> addPlan(current, plan));
+    return plan.read(source);
   }
 
-  private boolean isMissingColumn(
-      StructAccessor struct, boolean allowMissingColumns, String columnName) {
-    boolean missingColumn = !struct.hasColumn(columnName);
-    if (missingColumn && !allowMissingColumns) {
-      throw new SpannerDataException(
-          "Unable to read column from Cloud Spanner results: " + columnName);
+  /** Returns the plans with the given one first, dropping the oldest if there are too many. */
+  private static SpannerEntityReadPlan<?>[] addPlan(
+      SpannerEntityReadPlan<?>[] plans, SpannerEntityReadPlan<?> plan) {
+    int kept = (plans != null) ? Math.min(plans.length, MAX_READ_PLANS_PER_TYPE - 1) : 0;
+    SpannerEntityReadPlan<?>[] result = new SpannerEntityReadPlan<?>[kept + 1];
+    result[0] = plan;
+    if (kept > 0) {
+      System.arraycopy(plans, 0, result, 1, kept);
     }
-    return missingColumn;
+    return result;
   }
 }
@@ -31,12 +31,15 @@ import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntity
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentProperty;
 import com.google.gson.Gson;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
@@ -115,6 +118,8 @@ public class ConverterAwareMappingSpannerEntityWriter implements SpannerEntityWr
 
   private final SpannerWriteConverter writeConverter;
 
+  private final Map<Class<?>, List<PropertyBinder>> propertyBinders = new ConcurrentHashMap<>();
+
   ConverterAwareMappingSpannerEntityWriter(
       SpannerMappingContext spannerMappingContext, SpannerWriteConverter writeConverter) {
     this.spannerMappingContext = spannerMappingContext;
@@ -153,17 +158,35 @@ public class ConverterAwareMappingSpannerEntityWriter implements SpannerEntityWr
     SpannerPersistentEntity<?> persistentEntity =
         this.spannerMappingContext.getPersistentEntityOrFail(source.getClass());
     PersistentPropertyAccessor accessor = persistentEntity.getPropertyAccessor(source);
-    persistentEntity.doWithColumnBackedProperties(
-        spannerPersistentProperty -> {
-          if (spannerPersistentProperty.isEmbedded()) {
-            Object embeddedObject = accessor.getProperty(spannerPersistentProperty);
-            if (embeddedObject != null) {
-              write(embeddedObject, sink, includeColumns);
-            }
-          } else if (writeAllColumns
-              || includeColumns.contains(spannerPersistentProperty.getColumnName())) {
-            writeProperty(sink, accessor, spannerPersistentProperty);
-          }
+    for (PropertyBinder propertyBinder : getPropertyBinders(persistentEntity)) {
+      SpannerPersistentProperty spannerPersistentProperty = propertyBinder.property;
+      if (spannerPersistentProperty.isEmbedded()) {
+        Object embeddedObject = accessor.getProperty(spannerPersistentProperty);
+        if (embeddedObject != null) {
+          write(embeddedObject, sink, includeColumns);
+        }
+      } else if (writeAllColumns || includeColumns.contains(propertyBinder.columnName)) {
+        if (propertyBinder.bindFunction != null) {
+          propertyBinder.bindFunction.accept(
+              sink.set(propertyBinder.columnName), accessor.getProperty(spannerPersistentProperty));
+        } else {
+          writeProperty(sink, accessor, spannerPersistentProperty);
+        }
+      }
+    }
+  }
+
+  private List<PropertyBinder> getPropertyBinders(SpannerPersistentEntity<?> persistentEntity) {
+    return this.propertyBinders.computeIfAbsent(
+        persistentEntity.getType(),
+        type -> {
+          List<PropertyBinder> binders = new ArrayList<>();
+          persistentEntity.doWithColumnBackedProperties(
+              property ->
+                  binders.add(
+                      new PropertyBinder(
+                          property, property.isEmbedded() ? null : resolveBindFunction(property))));
+          return Collections.unmodifiableList(binders);
         });
   }
 
@@ -372,6 +395,106 @@ public class ConverterAwareMappingSpannerEntityWriter implements SpannerEntityWr
     return Value.json(jsonString);
   }
 
+  /**
+   * Resolves how the values of a property are bound, following the same steps as {@link
+   * #writeProperty}. The steps only depend on the types of the property and of the converters, so
+   * they are resolved once per property rather than for every value written.
+   *
+   * @param property the property whose values will be bound.
+   * @return the function binding a value of the property, or {@code null} if no binding could be
+   *     resolved ahead of time and {@link #writeProperty} must be used.
+   */
+  private BiConsumer<ValueBinder<WriteBuilder>, Object> resolveBindFunction(
+      SpannerPersistentProperty property) {
+    Class<?> propertyType = property.getType();
+    Type.Code annotatedType = property.getAnnotatedColumnItemType();
+    if (ConversionUtils.isIterableNonByteArrayType(propertyType)) {
+      Class<?> innerType = ConversionUtils.boxIfNeeded(property.getColumnInnerType());
+      if (innerType == null) {
+        return null;
+      }
+      if (annotatedType != null) {
+        return resolveIterableBindFunction(
+            innerType, SpannerTypeMapper.getSimpleJavaClassFor(annotatedType));
+      }
+      BiConsumer<ValueBinder<?>, Iterable> toMethod =
+          iterablePropertyTypeToMethodMap.get(innerType);
+      if (toMethod != null) {
+        return (valueBinder, value) -> toMethod.accept(valueBinder, (Iterable) value);
+      }
+      for (Class<?> targetType : iterablePropertyTypeToMethodMap.keySet()) {
+        BiConsumer<ValueBinder<WriteBuilder>, Object> bindFunction =
+            resolveIterableBindFunction(innerType, targetType);
+        if (bindFunction != null) {
+          return bindFunction;
+        }
+      }
+      return null;
+    }
+    if (property.isCommitTimestamp()) {
+      BiConsumer<ValueBinder<WriteBuilder>, Object> bindFunction =
+          resolveSingleItemBindFunction(Timestamp.class, Timestamp.class);
+      return bindFunction == null
+          ? null
+          : (valueBinder, value) -> bindFunction.accept(valueBinder, Value.COMMIT_TIMESTAMP);
+    }
+    if (annotatedType == Type.Code.JSON) {
+      return (valueBinder, value) -> valueBinder.to(covertJsonToValue(value));
+    }
+    if (annotatedType != null) {
+      return resolveSingleItemBindFunction(
+          propertyType, SpannerTypeMapper.getSimpleJavaClassFor(annotatedType));
+    }
+    BiConsumer<ValueBinder<WriteBuilder>, Object> bindFunction =
+        resolveSingleItemBindFunction(propertyType, propertyType);
+    if (bindFunction == null) {
+      for (Class<?> targetType : singleItemTypeValueBinderMethodMap.keySet()) {
+        bindFunction = resolveSingleItemBindFunction(propertyType, targetType);
+        if (bindFunction != null) {
+          break;
+        }
+      }
+    }
+    return bindFunction;
+  }
+
+  private BiConsumer<ValueBinder<WriteBuilder>, Object> resolveIterableBindFunction(
+      Class<?> innerType, Class<?> targetType) {
+    if (targetType == null || !this.writeConverter.canConvert(innerType, targetType)) {
+      return null;
+    }
+    BiConsumer<ValueBinder<?>, Iterable> toMethod = iterablePropertyTypeToMethodMap.get(targetType);
+    if (toMethod == null) {
+      return null;
+    }
+    return (valueBinder, value) ->
+        toMethod.accept(
+            valueBinder,
+            (value != null)
+                ? ConversionUtils.convertIterable(
+                    (Iterable<Object>) value, targetType, this.writeConverter)
+                : null);
+  }
+
+  @SuppressWarnings("unchecked")
+  private BiConsumer<ValueBinder<WriteBuilder>, Object> resolveSingleItemBindFunction(
+      Class<?> sourceType, Class<?> targetType) {
+    if (targetType == null || !this.writeConverter.canConvert(sourceType, targetType)) {
+      return null;
+    }
+    BiFunction<ValueBinder, Object, ?> toMethod =
+        (BiFunction<ValueBinder, Object, ?>)
+            singleItemTypeValueBinderMethodMap.get(ConversionUtils.boxIfNeeded(targetType));
+    if (toMethod == null) {
+      return null;
+    }
+    return (valueBinder, value) -> {
+      Object ignored =
+          toMethod.apply(
+              valueBinder, (value != null) ? this.writeConverter.convert(value, targetType) : null);
+    };
+  }
+
   /**
    * For each property this method "set"s the column name and finds the corresponding "to" method on
    * the {@link ValueBinder} interface.
@@ -454,4 +577,22 @@ public class ConverterAwareMappingSpannerEntityWriter implements SpannerEntityWr
           String.format("Unsupported mapping for type: %s", propertyType));
     }
   }
+
+  /** A column-backed property with the function binding its values, if resolved. */
+  private static final class PropertyBinder {
+
+    final SpannerPersistentProperty property;
+
+    final String columnName;
+
+    final BiConsumer<ValueBinder<WriteBuilder>, Object> bindFunction;
+
+    PropertyBinder(
+        SpannerPersistentProperty property,
+        BiConsumer<ValueBinder<WriteBuilder>, Object> bindFunction) {
+      this.property = property;
+      this.columnName = property.getColumnName();
+      this.bindFunction = bindFunction;
+    }
+  }
 }
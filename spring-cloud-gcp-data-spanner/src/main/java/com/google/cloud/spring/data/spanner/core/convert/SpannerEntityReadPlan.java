@@ -0,0 +1,304 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core.convert;
+
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.Type;
+import com.google.cloud.spanner.Type.Code;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntity;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentProperty;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.model.EntityInstantiator;
+import org.springframework.data.mapping.model.EntityInstantiators;
+import org.springframework.data.mapping.model.PersistentEntityParameterValueProvider;
+import org.springframework.data.mapping.model.PropertyValueProvider;
+
+/**
+ * The mapping of the columns of a given Cloud Spanner row type to the properties of an entity.
+ * Which properties to read, the index of their column and the function reading it are resolved
+ * once, so that each row of a result set is mapped with index-based access only.
+ *
+ * @param <R> the type of the entity.
+ * @since 3.2
+ */
+final class SpannerEntityReadPlan<R> {
+
+  private final Type structType;
+
+  private final Set<String> includeColumns;
+
+  private final boolean allowMissingColumns;
+
+  private final SpannerPersistentEntity<R> persistentEntity;
+
+  private final EntityInstantiator instantiator;
+
+  private final SpannerCustomConverter readConverter;
+
+  private final SpannerEntityReader entityReader;
+
+  // The readers of the properties set after instantiation, in the order of the properties.
+  private final List<PropertyReader> propertyReaders = new ArrayList<>();
+
+  private final Map<SpannerPersistentProperty, ColumnReader> constructorColumnReaders =
+      new IdentityHashMap<>();
+
+  SpannerEntityReadPlan(
+      SpannerPersistentEntity<R> persistentEntity,
+      Type structType,
+      Set<String> includeColumns,
+      boolean allowMissingColumns,
+      SpannerMappingContext mappingContext,
+      EntityInstantiators instantiators,
+      SpannerCustomConverter readConverter,
+      SpannerEntityReader entityReader) {
+    this.structType = structType;
+    this.includeColumns = includeColumns;
+    this.allowMissingColumns = allowMissingColumns;
+    this.persistentEntity = persistentEntity;
+    this.instantiator = instantiators.getInstantiatorFor(persistentEntity);
+    this.readConverter = readConverter;
+    this.entityReader = entityReader;
+
+    Map<String, Integer> columnIndexes = new HashMap<>();
+    List<Type.StructField> fields = structType.getStructFields();
+    for (int i = 0; i < fields.size(); i++) {
+      columnIndexes.putIfAbsent(fields.get(i).getName(), i);
+    }
+    PreferredConstructor<?, SpannerPersistentProperty> persistenceConstructor =
+        persistentEntity.getPersistenceConstructor();
+
+    persistentEntity.doWithProperties(
+        (PropertyHandler<SpannerPersistentProperty>)
+            property -> {
+              if (property.isEmbedded()) {
+                this.propertyReaders.add(
+                    new EmbeddedReader(
+                        property,
+                        new SpannerEntityReadPlan<>(
+                            mappingContext.getPersistentEntityOrFail(property.getType()),
+                            structType,
+                            includeColumns,
+                            allowMissingColumns,
+                            mappingContext,
+                            instantiators,
+                            readConverter,
+                            entityReader)));
+                return;
+              }
+              String columnName = property.getColumnName();
+              Integer index = columnIndexes.get(columnName);
+              boolean required =
+                  !property.isLazyInterleaved()
+                      && (includeColumns == null || includeColumns.contains(columnName));
+              if (required && index == null && !allowMissingColumns) {
+                // fails when reading a row, in the order of the properties as when read by name.
+                this.propertyReaders.add(
+                    (source, accessor) -> {
+                      throw new SpannerDataException(
+                          "Unable to read column from Cloud Spanner results: " + columnName);
+                    });
+              }
+              if (persistenceConstructor.isConstructorParameter(property)) {
+                if (index != null) {
+                  this.constructorColumnReaders.put(property, new ColumnReader(property, index));
+                }
+              } else if (required && index != null) {
+                this.propertyReaders.add(new ColumnReader(property, index));
+              }
+            });
+  }
+
+  /**
+   * Checks whether this plan can read rows of the given type with the given options.
+   *
+   * @param type the type of the row to read.
+   * @param columns the columns to read, or {@code null} for all columns.
+   * @param allowMissing whether properties with no corresponding column are allowed.
+   * @return {@code true} if this plan was built for the given row type and options.
+   */
+  boolean matches(Type type, Set<String> columns, boolean allowMissing) {
+    return this.allowMissingColumns == allowMissing
+        && (this.includeColumns == columns || Objects.equals(this.includeColumns, columns))
+        && (this.structType == type || this.structType.equals(type));
+  }
+
+  /**
+   * Reads an entity from a row of the type this plan was built for.
+   *
+   * @param source the Cloud Spanner row.
+   * @return the entity.
+   */
+  R read(Struct source) {
+    PropertyValueProvider<SpannerPersistentProperty> valueProvider =
+        new PropertyValueProvider<SpannerPersistentProperty>() {
+          @Override
+          @SuppressWarnings("unchecked")
+          public <T> T getPropertyValue(SpannerPersistentProperty property) {
+            ColumnReader columnReader =
+                SpannerEntityReadPlan.this.constructorColumnReaders.get(property);
+            return (T)
+                (columnReader != null
+                    ? columnReader.read(source)
+                    : newPropertyValueProvider(source).getPropertyValue(property));
+          }
+        };
+    R instance =
+        this.instantiator.createInstance(
+            this.persistentEntity,
+            new PersistentEntityParameterValueProvider<>(
+                this.persistentEntity, valueProvider, null));
+    PersistentPropertyAccessor<R> accessor = this.persistentEntity.getPropertyAccessor(instance);
+    for (PropertyReader propertyReader : this.propertyReaders) {
+      propertyReader.readInto(source, accessor);
+    }
+    return instance;
+  }
+
+  private StructPropertyValueProvider newPropertyValueProvider(Struct source) {
+    return new StructPropertyValueProvider(
+        new StructAccessor(source),
+        this.readConverter,
+        this.entityReader,
+        this.allowMissingColumns);
+  }
+
+  private interface PropertyReader {
+    void readInto(Struct source, PersistentPropertyAccessor<?> accessor);
+  }
+
+  private static final class EmbeddedReader implements PropertyReader {
+
+    private final SpannerPersistentProperty property;
+
+    private final SpannerEntityReadPlan<?> plan;
+
+    EmbeddedReader(SpannerPersistentProperty property, SpannerEntityReadPlan<?> plan) {
+      this.property = property;
+      this.plan = plan;
+    }
+
+    @Override
+    public void readInto(Struct source, PersistentPropertyAccessor<?> accessor) {
+      accessor.setProperty(this.property, this.plan.read(source));
+    }
+  }
+
+  /** Reads the column of a property, skipping the property if the column is null. */
+  private final class ColumnReader implements PropertyReader {
+
+    private final SpannerPersistentProperty property;
+
+    private final int index;
+
+    private final boolean iterable;
+
+    private final boolean json;
+
+    // The function reading the raw value of the column, or null if the column can't be read by
+    // index and the name-based property value provider is used instead.
+    private final BiFunction<Struct, Integer, ?> readFunction;
+
+    ColumnReader(SpannerPersistentProperty property, int index) {
+      this.property = property;
+      this.index = index;
+      this.iterable = ConversionUtils.isIterableNonByteArrayType(property.getType());
+      this.json = !this.iterable && property.getAnnotatedColumnItemType() == Code.JSON;
+      Type columnType =
+          SpannerEntityReadPlan.this.structType.getStructFields().get(index).getType();
+      if (this.iterable) {
+        this.readFunction =
+            columnType.getCode() == Code.ARRAY
+                ? StructAccessor.readIterableMappingIntCol.get(
+                    SpannerTypeMapper.getSimpleJavaClassFor(
+                        columnType.getArrayElementType().getCode()))
+                : null;
+      } else if (this.json) {
+        this.readFunction =
+            (struct, col) -> StructAccessor.readJson(struct, col, property.getType());
+      } else {
+        BiFunction<Struct, Integer, ?> singleReadFunction =
+            StructAccessor.singleItemReadMethodMappingIntCol.get(
+                StructAccessor.getSingleItemTypeCode(columnType));
+        // a column that can't be read as a single value fails the conversion, as when read by name.
+        this.readFunction = singleReadFunction != null ? singleReadFunction : (struct, col) -> null;
+      }
+    }
+
+    @Override
+    public void readInto(Struct source, PersistentPropertyAccessor<?> accessor) {
+      if (!source.isNull(this.index)) {
+        accessor.setProperty(this.property, read(source));
+      }
+    }
+
+    Object read(Struct source) {
+      if (this.readFunction == null) {
+        return newPropertyValueProvider(source).getPropertyValue(this.property);
+      }
+      if (source.isNull(this.index)) {
+        return null;
+      }
+      Object value = this.readFunction.apply(source, this.index);
+      if (value != null && !this.json) {
+        value =
+            this.iterable
+                ? convertList((List<?>) value)
+                : convertOrRead(this.property.getType(), value);
+      }
+      if (value == null) {
+        throw new SpannerDataException(
+            String.format(
+                "The value in column with name %s"
+                    + " could not be converted to the corresponding property in the entity."
+                    + " The property's type is %s.",
+                this.property.getColumnName(), this.property.getType()));
+      }
+      return value;
+    }
+
+    private List<Object> convertList(List<?> values) {
+      Class<?> innerType = this.property.getColumnInnerType();
+      List<Object> converted = new ArrayList<>(values.size());
+      for (Object item : values) {
+        converted.add(convertOrRead(innerType, item));
+      }
+      return converted;
+    }
+
+    private Object convertOrRead(Class<?> targetType, Object sourceValue) {
+      return StructPropertyValueProvider.convertOrRead(
+          SpannerEntityReadPlan.this.readConverter,
+          SpannerEntityReadPlan.this.entityReader,
+          SpannerEntityReadPlan.this.allowMissingColumns,
+          targetType,
+          sourceValue);
+    }
+  }
+}
@@ -55,6 +55,19 @@ public class StructAccessor {
           .put(Struct.class, AbstractStructReader::getStructList)
           .build();
 
+  static final Map<Class, BiFunction<Struct, Integer, List>> readIterableMappingIntCol =
+      new MapBuilder<Class, BiFunction<Struct, Integer, List>>()
+          .put(Boolean.class, AbstractStructReader::getBooleanList)
+          .put(Long.class, AbstractStructReader::getLongList)
+          .put(String.class, AbstractStructReader::getStringList)
+          .put(Double.class, AbstractStructReader::getDoubleList)
+          .put(Timestamp.class, AbstractStructReader::getTimestampList)
+          .put(Date.class, AbstractStructReader::getDateList)
+          .put(ByteArray.class, AbstractStructReader::getBytesList)
+          .put(BigDecimal.class, AbstractStructReader::getBigDecimalList)
+          .put(Struct.class, AbstractStructReader::getStructList)
+          .build();
+
   static final Map<Class, BiFunction<Struct, String, ?>> singleItemReadMethodMapping =
       new MapBuilder<Class, BiFunction<Struct, String, ?>>()
           .put(Boolean.class, AbstractStructReader::getBoolean)
@@ -108,7 +121,6 @@ public class StructAccessor {
 
   public StructAccessor(Struct struct) {
     this.struct = struct;
-    this.columnNamesIndex = indexColumnNames();
   }
 
   Object getSingleValue(String colName) {
@@ -148,6 +160,10 @@ public class StructAccessor {
   }
 
   boolean hasColumn(String columnName) {
+    // the column names are only indexed if needed, as most uses only read values by index.
+    if (this.columnNamesIndex == null) {
+      this.columnNamesIndex = indexColumnNames();
+    }
     return this.columnNamesIndex.contains(columnName);
   }
 
@@ -163,7 +179,7 @@ public class StructAccessor {
     return cols;
   }
 
-  private Class getSingleItemTypeCode(Type colType) {
+  static Class getSingleItemTypeCode(Type colType) {
     Code code = colType.getCode();
     return code.equals(Code.ARRAY)
         ? SpannerTypeMapper.getArrayJavaClassFor(colType.getArrayElementType().getCode())
@@ -178,6 +194,10 @@ public class StructAccessor {
     return gson.fromJson(jsonString, colType);
   }
 
+  static <T> T readJson(Struct struct, int colIndex, Class<T> colType) {
+    return gson.fromJson(struct.getJson(colIndex), colType);
+  }
+
   public <T> T getSingleJsonValue(int colIndex, Class<T> colType) {
     if (this.struct.getColumnType(colIndex).getCode() != Code.JSON) {
       throw new SpannerDataException("Column of index " + colIndex + " not an JSON type.");
@@ -132,10 +132,20 @@ class StructPropertyValueProvider implements PropertyValueProvider<SpannerPersis
   }
 
   private <T> T convertOrRead(Class<T> targetType, Object sourceValue) {
+    return convertOrRead(
+        this.readConverter, this.entityReader, this.allowMissingColumns, targetType, sourceValue);
+  }
+
+  static <T> T convertOrRead(
+      SpannerCustomConverter readConverter,
+      SpannerEntityReader entityReader,
+      boolean allowMissingColumns,
+      Class<T> targetType,
+      Object sourceValue) {
     Class<?> sourceClass = sourceValue.getClass();
     return (Struct.class.isAssignableFrom(sourceClass)
-            && !this.readConverter.canConvert(sourceClass, targetType))
-        ? this.entityReader.read(targetType, (Struct) sourceValue, null, this.allowMissingColumns)
-        : this.readConverter.convert(sourceValue, targetType);
+            && !readConverter.canConvert(sourceClass, targetType))
+        ? entityReader.read(targetType, (Struct) sourceValue, null, allowMissingColumns)
+        : readConverter.convert(sourceValue, targetType);
   }
 }
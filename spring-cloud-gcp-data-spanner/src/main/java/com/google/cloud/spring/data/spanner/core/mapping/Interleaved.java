@@ -39,4 +39,14 @@ public @interface Interleaved {
    * @return whether the interleaved property is retrieved lazily.
    */
   boolean lazy() default false;
+
+  /**
+   * Controls whether a lazily-loaded property is fetched for all the parent entities returned by
+   * the same read or query at once, when the first of their lazy proxies is accessed. This only
+   * applies when {@link #lazy()} is {@literal true}, and defaults to {@literal false}.
+   *
+   * @return whether the lazily-fetched children of a result are retrieved in a single query.
+   * @since 3.2
+   */
+  boolean batchLoad() default false;
 }
@@ -16,12 +16,14 @@
 
 package com.google.cloud.spring.data.spanner.core.mapping;
 
+import com.google.cloud.spanner.TimestampBound;
 import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityWriter;
 import java.util.List;
 import java.util.Set;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.model.MutablePersistentEntity;
+import org.springframework.lang.Nullable;
 
 /**
  * Cloud Spanner specific interface for a {@link MutablePersistentEntity} stored in a Cloud Spanner
@@ -139,4 +141,16 @@ public interface SpannerPersistentEntity<T>
    * @see #getWhere()
    */
   boolean hasWhere();
+
+  /**
+   * Returns the timestamp bound of reads of the entity outside of transactions, from the {@link
+   * StaleRead} annotation of the entity's class or inherited from parents.
+   *
+   * @return the timestamp bound, or {@code null} to read strongly, as by default.
+   * @since 3.2
+   */
+  @Nullable
+  default TimestampBound getReadTimestampBound() {
+    return null;
+  }
 }
@@ -17,6 +17,7 @@
 package com.google.cloud.spring.data.spanner.core.mapping;
 
 import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.TimestampBound;
 import com.google.cloud.spanner.Type;
 import com.google.cloud.spring.data.spanner.core.convert.ConversionUtils;
 import com.google.cloud.spring.data.spanner.core.convert.ConverterAwareMappingSpannerEntityProcessor;
@@ -89,6 +90,8 @@ public class SpannerPersistentEntityImpl<T>
 
   private final String where;
 
+  private final TimestampBound readTimestampBound;
+
   private final Set<Class<?>> jsonProperties = new HashSet<>();
 
   /**
@@ -132,6 +135,13 @@ public class SpannerPersistentEntityImpl<T>
     this.table = this.findAnnotation(Table.class);
     Where annotation = findAnnotation(Where.class);
     this.where = annotation != null ? annotation.value() : "";
+    StaleRead staleRead = findAnnotation(StaleRead.class);
+    this.readTimestampBound =
+        staleRead != null
+            ? (staleRead.exact()
+                ? TimestampBound.ofExactStaleness(staleRead.value(), staleRead.unit())
+                : TimestampBound.ofMaxStaleness(staleRead.value(), staleRead.unit()))
+            : null;
     this.tableNameExpression = detectExpression();
   }
 
@@ -409,6 +419,12 @@ public class SpannerPersistentEntityImpl<T>
     return !where.isEmpty();
   }
 
+  @Override
+  @Nullable
+  public TimestampBound getReadTimestampBound() {
+    return this.readTimestampBound;
+  }
+
   @Override
   public Set<String> columns() {
     return Collections.unmodifiableSet(this.columnNames);
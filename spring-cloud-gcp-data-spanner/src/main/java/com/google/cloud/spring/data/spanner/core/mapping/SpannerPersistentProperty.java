@@ -114,6 +114,17 @@ public interface SpannerPersistentProperty extends PersistentProperty<SpannerPer
    */
   boolean isLazyInterleaved();
 
+  /**
+   * Return whether this property is a lazily-fetched interleaved property that is fetched at once
+   * for all the parent entities of a result. Not batch-loaded by default.
+   *
+   * @return {@code true} if the lazily-fetched property is batch-loaded. {@code false} otherwise.
+   * @since 3.2
+   */
+  default boolean isBatchLoadedInterleaved() {
+    return false;
+  }
+
   /**
    * Return whether this property is an eagerly-fetched interleaved property.
    *
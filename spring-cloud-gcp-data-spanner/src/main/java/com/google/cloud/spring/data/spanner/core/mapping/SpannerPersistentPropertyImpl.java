@@ -192,6 +192,12 @@ public class SpannerPersistentPropertyImpl
     return annotation != null && annotation.lazy();
   }
 
+  @Override
+  public boolean isBatchLoadedInterleaved() {
+    Interleaved annotation = findAnnotation(Interleaved.class);
+    return annotation != null && annotation.lazy() && annotation.batchLoad();
+  }
+
   @Override
   public boolean isEagerInterleaved() {
     Interleaved annotation = findAnnotation(Interleaved.class);
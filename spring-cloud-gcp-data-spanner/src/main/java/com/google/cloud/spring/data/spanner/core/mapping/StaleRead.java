@@ -0,0 +1,63 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core.mapping;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads entities of the annotated type with a stale timestamp bound rather than strongly, so that
+ * they can be served by the nearest replica without a round trip to the leader. Applies to reads
+ * and queries of the entity outside of transactions that are not given a timestamp bound in their
+ * options.
+ *
+ * @since 3.2
+ */
+@Documented
+@Inherited
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface StaleRead {
+
+  /**
+   * The staleness of the reads, in the given unit.
+   *
+   * @return the staleness.
+   */
+  long value();
+
+  /**
+   * The unit of the staleness.
+   *
+   * @return the time unit.
+   */
+  TimeUnit unit() default TimeUnit.SECONDS;
+
+  /**
+   * Whether reads are performed at exactly the given staleness. Otherwise they are performed at a
+   * staleness of at most the given value, chosen by Cloud Spanner to avoid blocking.
+   *
+   * @return {@code true} for exact staleness, {@code false} for bounded staleness.
+   */
+  boolean exact() default false;
+}
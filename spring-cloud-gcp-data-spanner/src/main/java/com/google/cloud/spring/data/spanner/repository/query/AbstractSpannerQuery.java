@@ -17,10 +17,12 @@
 package com.google.cloud.spring.data.spanner.repository.query;
 
 import com.google.cloud.spring.data.spanner.core.SpannerTemplate;
+import com.google.cloud.spring.data.spanner.core.convert.SpannerReadConverter;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.data.repository.query.RepositoryQuery;
 
 /**
@@ -60,6 +62,9 @@ abstract class AbstractSpannerQuery<T> implements RepositoryQuery {
 
   @Override
   public Object execute(Object[] parameters) {
+    if (this.queryMethod.isStreamQuery()) {
+      return executeStreamResult(parameters);
+    }
     List results = executeRawResult(parameters);
     Class<?> simpleConvertedType = getReturnedSimpleConvertableItemType();
     if (simpleConvertedType != null) {
@@ -73,6 +78,17 @@ abstract class AbstractSpannerQuery<T> implements RepositoryQuery {
         : this.queryMethod.getResultProcessor().processResult(results.get(0));
   }
 
+  private Stream<?> executeStreamResult(Object[] parameters) {
+    Stream<?> results = executeRawStreamResult(parameters);
+    Class<?> simpleConvertedType = getReturnedSimpleConvertableItemType();
+    if (simpleConvertedType != null) {
+      SpannerReadConverter readConverter =
+          this.spannerTemplate.getSpannerEntityProcessor().getReadConverter();
+      return results.map(x -> readConverter.convert(x, simpleConvertedType));
+    }
+    return results.map(this::processRawObjectForProjection);
+  }
+
   Object convertToSimpleReturnType(List<?> results, Class<?> simpleConvertedType) {
     return this.queryMethod.isCollectionQuery()
         ? results.stream()
@@ -129,4 +145,17 @@ abstract class AbstractSpannerQuery<T> implements RepositoryQuery {
   }
 
   protected abstract List executeRawResult(Object[] parameters);
+
+  /**
+   * Executes the query, mapping the results as the returned stream is consumed. By default the
+   * results are collected by {@link #executeRawResult(Object[])} before being streamed.
+   *
+   * @param parameters the parameters of the query method invocation
+   * @return the stream of raw results, which must be closed after use
+   * @since 3.2
+   */
+  protected Stream executeRawStreamResult(Object[] parameters) {
+    List results = executeRawResult(parameters);
+    return (results != null) ? results.stream() : Stream.empty();
+  }
 }
@@ -21,6 +21,7 @@ import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.parser.PartTree;
@@ -36,6 +37,8 @@ public class PartTreeSpannerQuery<T> extends AbstractSpannerQuery<T> {
 
   private final PartTree tree;
 
+  private volatile SpannerStatementQueryExecutor.PartTreeSqlTemplate sqlTemplate;
+
   /**
    * Constructor.
    *
@@ -60,23 +63,27 @@ public class PartTreeSpannerQuery<T> extends AbstractSpannerQuery<T> {
     if (isCountOrExistsQuery()) {
       return SpannerStatementQueryExecutor.executeQuery(
           struct -> isCountQuery() ? struct.getLong(0) : struct.getBoolean(0),
-          this.entityType,
-          this.tree,
+          getSqlTemplate(),
           paramAccessor,
-          getQueryMethod().getQueryMethod().getParameters(),
-          this.spannerTemplate,
-          this.spannerMappingContext);
+          this.spannerTemplate);
     }
     if (this.tree.isDelete()) {
       return this.spannerTemplate.performReadWriteTransaction(getDeleteFunction(parameters));
     }
     return SpannerStatementQueryExecutor.executeQuery(
+        this.entityType, getSqlTemplate(), paramAccessor, this.spannerTemplate);
+  }
+
+  @Override
+  protected Stream executeRawStreamResult(Object[] parameters) {
+    if (isCountOrExistsQuery() || this.tree.isDelete()) {
+      return super.executeRawStreamResult(parameters);
+    }
+    return SpannerStatementQueryExecutor.executeStreamQuery(
         this.entityType,
-        this.tree,
-        paramAccessor,
-        getQueryMethod().getQueryMethod().getParameters(),
-        this.spannerTemplate,
-        this.spannerMappingContext);
+        getSqlTemplate(),
+        new ParametersParameterAccessor(getQueryMethod().getParameters(), parameters),
+        this.spannerTemplate);
   }
 
   private Function<SpannerTemplate, List> getDeleteFunction(Object[] parameters) {
@@ -85,12 +92,7 @@ public class PartTreeSpannerQuery<T> extends AbstractSpannerQuery<T> {
           new ParametersParameterAccessor(getQueryMethod().getParameters(), parameters);
       List<T> entitiesToDelete =
           SpannerStatementQueryExecutor.executeQuery(
-              this.entityType,
-              this.tree,
-              paramAccessor,
-              getQueryMethod().getQueryMethod().getParameters(),
-              transactionTemplate,
-              this.spannerMappingContext);
+              this.entityType, getSqlTemplate(), paramAccessor, transactionTemplate);
       transactionTemplate.deleteAll(entitiesToDelete);
 
       List result = null;
@@ -103,6 +105,25 @@ public class PartTreeSpannerQuery<T> extends AbstractSpannerQuery<T> {
     };
   }
 
+  /**
+   * Gets the SQL of this query method, which is built on the first invocation and then reused.
+   *
+   * @return the SQL template of this query method.
+   */
+  private SpannerStatementQueryExecutor.PartTreeSqlTemplate getSqlTemplate() {
+    SpannerStatementQueryExecutor.PartTreeSqlTemplate template = this.sqlTemplate;
+    if (template == null) {
+      template =
+          new SpannerStatementQueryExecutor.PartTreeSqlTemplate(
+              this.tree,
+              this.spannerMappingContext,
+              this.entityType,
+              getQueryMethod().getQueryMethod().getParameters());
+      this.sqlTemplate = template;
+    }
+    return template;
+  }
+
   private boolean isCountOrExistsQuery() {
     return isCountQuery() || isExistsQuery();
   }
@@ -49,6 +49,10 @@ public @interface Query {
   /**
    * Indicates if the annotated Query Method is a DML statement or an SQL statement.
    *
+   * <p>A DML method declared to return a {@link java.util.concurrent.CompletableFuture} of the
+   * number of rows affected sends its statement without waiting for the result, so that several
+   * such methods called in the same transaction are pipelined instead of waiting for each other.
+   *
    * @return {@code false} if the query method is a read-only SQL query. {@code true} if the query
    *     method is executed as a DML query.
    */
@@ -16,10 +16,16 @@
 
 package com.google.cloud.spring.data.spanner.repository.query;
 
+import com.google.cloud.ByteArray;
+import com.google.cloud.Date;
+import com.google.cloud.Timestamp;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Statement;
 import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.Type;
+import com.google.cloud.spanner.Type.StructField;
+import com.google.cloud.spanner.Value;
 import com.google.cloud.spanner.ValueBinder;
 import com.google.cloud.spring.data.spanner.core.SpannerPageableQueryOptions;
 import com.google.cloud.spring.data.spanner.core.SpannerTemplate;
@@ -33,15 +39,19 @@ import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentProper
 import com.google.cloud.spring.data.spanner.core.mapping.Where;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -66,6 +76,8 @@ public final class SpannerStatementQueryExecutor {
 
   private static final String LOWER_LHS = "LOWER(";
 
+  private static final String KEYS_TAG = "keys";
+
   private SpannerStatementQueryExecutor() {}
 
   /**
@@ -87,25 +99,75 @@ public final class SpannerStatementQueryExecutor {
       Parameter[] queryMethodParamsMetadata,
       SpannerTemplate spannerTemplate,
       SpannerMappingContext spannerMappingContext) {
-    SqlStringAndPlaceholders sqlStringAndPlaceholders =
-        buildPartTreeSqlString(tree, spannerMappingContext, type, parameterAccessor);
-    Map<String, Parameter> paramMetadataMap =
-        preparePartTreeSqlTagParameterMap(queryMethodParamsMetadata, sqlStringAndPlaceholders);
-    Object[] params = StreamSupport.stream(parameterAccessor.spliterator(), false).toArray();
+    return executeQuery(
+        type,
+        new PartTreeSqlTemplate(tree, spannerMappingContext, type, queryMethodParamsMetadata),
+        parameterAccessor,
+        spannerTemplate);
+  }
+
+  static <T> List<T> executeQuery(
+      Class<T> type,
+      PartTreeSqlTemplate sqlTemplate,
+      ParameterAccessor parameterAccessor,
+      SpannerTemplate spannerTemplate) {
     return spannerTemplate.query(
+        type, buildPartTreeStatement(sqlTemplate, parameterAccessor, spannerTemplate), null);
+  }
+
+  /**
+   * Executes a PartTree-based query, mapping the resulting entities as the returned stream is
+   * consumed. The stream must be closed after use.
+   *
+   * @param type the type of the underlying entity
+   * @param tree the parsed metadata of the query
+   * @param parameterAccessor the parameters of this specific query
+   * @param queryMethodParamsMetadata parameter metadata from Query Method
+   * @param spannerTemplate used to execute the query
+   * @param spannerMappingContext used to get metadata about the entity type
+   * @param <T> the type of the underlying entity
+   * @return stream of entities.
+   * @since 3.2
+   */
+  public static <T> Stream<T> executeStreamQuery(
+      Class<T> type,
+      PartTree tree,
+      ParameterAccessor parameterAccessor,
+      Parameter[] queryMethodParamsMetadata,
+      SpannerTemplate spannerTemplate,
+      SpannerMappingContext spannerMappingContext) {
+    return executeStreamQuery(
         type,
-        buildStatementFromSqlWithArgs(
-            sqlStringAndPlaceholders.getSql(),
-            sqlStringAndPlaceholders.getPlaceholders(),
-            null,
-            spannerTemplate.getSpannerEntityProcessor().getWriteConverter(),
-            params,
-            paramMetadataMap),
-        null);
+        new PartTreeSqlTemplate(tree, spannerMappingContext, type, queryMethodParamsMetadata),
+        parameterAccessor,
+        spannerTemplate);
+  }
+
+  static <T> Stream<T> executeStreamQuery(
+      Class<T> type,
+      PartTreeSqlTemplate sqlTemplate,
+      ParameterAccessor parameterAccessor,
+      SpannerTemplate spannerTemplate) {
+    return spannerTemplate.queryStream(
+        type, buildPartTreeStatement(sqlTemplate, parameterAccessor, spannerTemplate), null);
+  }
+
+  private static Statement buildPartTreeStatement(
+      PartTreeSqlTemplate sqlTemplate,
+      ParameterAccessor parameterAccessor,
+      SpannerTemplate spannerTemplate) {
+    Object[] params = StreamSupport.stream(parameterAccessor.spliterator(), false).toArray();
+    return buildStatementFromSqlWithArgs(
+        sqlTemplate.getSql(parameterAccessor.getSort(), parameterAccessor.getPageable()),
+        sqlTemplate.getTags(),
+        null,
+        spannerTemplate.getSpannerEntityProcessor().getWriteConverter(),
+        params,
+        sqlTemplate.getParamMetadataMap());
   }
 
   private static Map<String, Parameter> preparePartTreeSqlTagParameterMap(
-      Parameter[] paramsMetadata, SqlStringAndPlaceholders sqlStringAndPlaceholders) {
+      Parameter[] paramsMetadata, List<String> tags) {
     Map<String, Parameter> paramMetadataMap = new HashMap<>();
     for (int i = 0; i < paramsMetadata.length; i++) {
       Parameter param = paramsMetadata[i];
@@ -113,7 +175,7 @@ public final class SpannerStatementQueryExecutor {
       // query.
       // They are processed separately in applySort and buildLimit methods.
       if (param.getType() != Pageable.class && param.getType() != Sort.class) {
-        paramMetadataMap.put(sqlStringAndPlaceholders.getPlaceholders().get(i), param);
+        paramMetadataMap.put(tags.get(i), param);
       }
     }
     return paramMetadataMap;
@@ -141,21 +203,20 @@ public final class SpannerStatementQueryExecutor {
       Parameter[] queryMethodParamsMetadata,
       SpannerTemplate spannerTemplate,
       SpannerMappingContext spannerMappingContext) {
-    SqlStringAndPlaceholders sqlStringAndPlaceholders =
-        buildPartTreeSqlString(tree, spannerMappingContext, type, parameterAccessor);
-    Map<String, Parameter> paramMetadataMap =
-        preparePartTreeSqlTagParameterMap(queryMethodParamsMetadata, sqlStringAndPlaceholders);
-    Object[] params = StreamSupport.stream(parameterAccessor.spliterator(), false).toArray();
-    return spannerTemplate.query(
+    return executeQuery(
         rowFunc,
-        buildStatementFromSqlWithArgs(
-            sqlStringAndPlaceholders.getSql(),
-            sqlStringAndPlaceholders.getPlaceholders(),
-            null,
-            spannerTemplate.getSpannerEntityProcessor().getWriteConverter(),
-            params,
-            paramMetadataMap),
-        null);
+        new PartTreeSqlTemplate(tree, spannerMappingContext, type, queryMethodParamsMetadata),
+        parameterAccessor,
+        spannerTemplate);
+  }
+
+  static <A> List<A> executeQuery(
+      Function<Struct, A> rowFunc,
+      PartTreeSqlTemplate sqlTemplate,
+      ParameterAccessor parameterAccessor,
+      SpannerTemplate spannerTemplate) {
+    return spannerTemplate.query(
+        rowFunc, buildPartTreeStatement(sqlTemplate, parameterAccessor, spannerTemplate), null);
   }
 
   /**
@@ -246,12 +307,33 @@ public final class SpannerStatementQueryExecutor {
       SpannerPersistentProperty spannerPersistentProperty,
       SpannerCustomConverter writeConverter,
       SpannerMappingContext mappingContext) {
+    return getChildrenRowsQuery(
+        KeySet.singleKey(parentKey), spannerPersistentProperty, writeConverter, mappingContext);
+  }
+
+  /**
+   * Gets a {@link Statement} that returns the rows associated with any of the given parent keys,
+   * so that the children of many parent entities can be retrieved with a single query.
+   *
+   * @param parentKeys the parent keys whose children to get.
+   * @param spannerPersistentProperty the property with interleaved list of child entries in the
+   *     parent entity.
+   * @param writeConverter a converter to convert key values as needed to bind to the query
+   *     statement.
+   * @param mappingContext mapping context
+   * @return the Spanner statement to perform the retrieval.
+   * @since 3.2
+   */
+  public static Statement getChildrenRowsQuery(
+      KeySet parentKeys,
+      SpannerPersistentProperty spannerPersistentProperty,
+      SpannerCustomConverter writeConverter,
+      SpannerMappingContext mappingContext) {
     Class<?> childType = spannerPersistentProperty.getColumnInnerType();
     SpannerPersistentEntity<?> persistentEntity =
         mappingContext.getPersistentEntityOrFail(childType);
     String whereClause = getWhere(spannerPersistentProperty, persistentEntity);
-    return buildQuery(
-        KeySet.singleKey(parentKey), persistentEntity, writeConverter, mappingContext, whereClause);
+    return buildQuery(parentKeys, persistentEntity, writeConverter, mappingContext, whereClause);
   }
 
   /**
@@ -306,6 +388,10 @@ public final class SpannerStatementQueryExecutor {
    * secondary {@code index} will be used instead of the table name when the corresponding parameter
    * is not null.
    *
+   * <p>A key set of more than one key is bound as a single {@code ARRAY<STRUCT>} parameter matched
+   * with {@code IN UNNEST}, so that the SQL is the same whatever the number of keys and Cloud
+   * Spanner can reuse its query plan.
+   *
    * @param keySet the key set whose members to get.
    * @param persistentEntity the persistent entity of the table.
    * @param <T> the type of the persistent entity
@@ -323,18 +409,36 @@ public final class SpannerStatementQueryExecutor {
       SpannerMappingContext mappingContext,
       String whereClause,
       String index) {
+    List<SpannerPersistentProperty> keyProperties =
+        persistentEntity.getFlattenedPrimaryKeyProperties();
+    String selectFrom =
+        "SELECT "
+            + getColumnsStringForSelect(persistentEntity, mappingContext, true)
+            + " FROM "
+            + (!StringUtils.hasLength(index)
+                ? persistentEntity.tableName()
+                : String.format("%s@{FORCE_INDEX=%s}", persistentEntity.tableName(), index));
+
+    Value keysArray = toKeyStructArray(keySet, keyProperties);
+    if (keysArray != null) {
+      String condition =
+          combineWithAnd(getKeyStructInUnnestClause(keysArray, keyProperties), whereClause);
+      return Statement.newBuilder(selectFrom + WHERE + condition)
+          .bind(KEYS_TAG)
+          .to(keysArray)
+          .build();
+    }
+
     List<String> orParts = new ArrayList<>();
     List<String> tags = new ArrayList<>();
     List keyParts = new ArrayList();
     int tagNum = 0;
-    List<SpannerPersistentProperty> keyProperties =
-        persistentEntity.getFlattenedPrimaryKeyProperties();
-
     for (Key key : keySet.getKeys()) {
       StringJoiner andJoiner = new StringJoiner(AND);
       Iterator parentKeyParts = key.getParts().iterator();
+      int keyPartNum = 0;
       while (parentKeyParts.hasNext()) {
-        SpannerPersistentProperty keyProp = keyProperties.get(tagNum % keyProperties.size());
+        SpannerPersistentProperty keyProp = keyProperties.get(keyPartNum++);
         String tagName = "tag" + tagNum;
         andJoiner.add(keyProp.getColumnName() + " = @" + tagName);
         tags.add(tagName);
@@ -345,17 +449,79 @@ public final class SpannerStatementQueryExecutor {
     }
     String keyClause = orParts.stream().map(s -> "(" + s + ")").collect(Collectors.joining(" OR "));
     String condition = combineWithAnd(keyClause, whereClause);
-    String sb =
-        "SELECT "
-            + getColumnsStringForSelect(persistentEntity, mappingContext, true)
-            + " FROM "
-            + (!StringUtils.hasLength(index)
-                ? persistentEntity.tableName()
-                : String.format("%s@{FORCE_INDEX=%s}", persistentEntity.tableName(), index))
-            + (condition.isEmpty() ? "" : WHERE + condition);
+    String sb = selectFrom + (condition.isEmpty() ? "" : WHERE + condition);
     return buildStatementFromSqlWithArgs(sb, tags, null, writeConverter, keyParts.toArray(), null);
   }
 
+  /**
+   * Converts a key set of more than one key into an {@code ARRAY<STRUCT>} of the key parts, so that
+   * it can be bound as a single parameter and the SQL does not depend on the number of keys.
+   *
+   * @return the array of key structs, or {@code null} if the key set has a single key, or if the
+   *     keys differ in size or have parts whose Spanner type can't be determined.
+   */
+  private static Value toKeyStructArray(
+      KeySet keySet, List<SpannerPersistentProperty> keyProperties) {
+    List<Struct> keyStructs = new ArrayList<>();
+    Type keyType = null;
+    for (Key key : keySet.getKeys()) {
+      if (key.size() == 0 || key.size() > keyProperties.size()) {
+        return null;
+      }
+      Struct.Builder keyStruct = Struct.newBuilder();
+      int keyPartNum = 0;
+      for (Object keyPart : key.getParts()) {
+        Value value = toKeyPartValue(keyPart);
+        if (value == null) {
+          return null;
+        }
+        keyStruct.set(keyProperties.get(keyPartNum++).getColumnName()).to(value);
+      }
+      Struct struct = keyStruct.build();
+      if (keyType == null) {
+        keyType = struct.getType();
+      } else if (!keyType.equals(struct.getType())) {
+        return null;
+      }
+      keyStructs.add(struct);
+    }
+    return (keyStructs.size() > 1) ? Value.structArray(keyType, keyStructs) : null;
+  }
+
+  private static Value toKeyPartValue(Object keyPart) {
+    if (keyPart instanceof String) {
+      return Value.string((String) keyPart);
+    } else if (keyPart instanceof Long) {
+      return Value.int64((Long) keyPart);
+    } else if (keyPart instanceof Boolean) {
+      return Value.bool((Boolean) keyPart);
+    } else if (keyPart instanceof Double) {
+      return Value.float64((Double) keyPart);
+    } else if (keyPart instanceof BigDecimal) {
+      return Value.numeric((BigDecimal) keyPart);
+    } else if (keyPart instanceof ByteArray) {
+      return Value.bytes((ByteArray) keyPart);
+    } else if (keyPart instanceof Timestamp) {
+      return Value.timestamp((Timestamp) keyPart);
+    } else if (keyPart instanceof Date) {
+      return Value.date((Date) keyPart);
+    }
+    // such as null key parts, which have no Spanner type
+    return null;
+  }
+
+  private static String getKeyStructInUnnestClause(
+      Value keysArray, List<SpannerPersistentProperty> keyProperties) {
+    List<StructField> fields = keysArray.getType().getArrayElementType().getStructFields();
+    StringJoiner fieldTypes = new StringJoiner(", ");
+    StringJoiner columns = new StringJoiner(", ");
+    for (int i = 0; i < fields.size(); i++) {
+      fieldTypes.add(fields.get(i).getName() + " " + fields.get(i).getType().getCode());
+      columns.add(keyProperties.get(i).getColumnName());
+    }
+    return "STRUCT<" + fieldTypes + ">(" + columns + ") IN UNNEST(@" + KEYS_TAG + ")";
+  }
+
   private static <C, P> String getChildrenStructsQuery(
       SpannerPersistentEntity<C> childPersistentEntity,
       SpannerPersistentEntity<P> parentPersistentEntity,
@@ -537,38 +703,6 @@ public final class SpannerStatementQueryExecutor {
     return joiner.toString();
   }
 
-  private static SqlStringAndPlaceholders buildPartTreeSqlString(
-      PartTree tree,
-      SpannerMappingContext spannerMappingContext,
-      Class type,
-      ParameterAccessor params) {
-
-    SpannerPersistentEntity<?> persistentEntity =
-        spannerMappingContext.getPersistentEntityOrFail(type);
-    List<String> tags = new ArrayList<>();
-    StringBuilder stringBuilder = new StringBuilder();
-
-    buildSelect(persistentEntity, tree, stringBuilder, spannerMappingContext);
-    buildFrom(persistentEntity, stringBuilder);
-    buildWhere(tree, persistentEntity, tags, stringBuilder);
-    applySort(
-        params.getSort().isSorted() ? params.getSort() : tree.getSort(),
-        stringBuilder,
-        persistentEntity);
-    buildLimit(tree, stringBuilder, params.getPageable());
-
-    String selectSql = stringBuilder.toString();
-
-    String finalSql = selectSql;
-
-    if (tree.isCountProjection()) {
-      finalSql = "SELECT COUNT(1) FROM (" + selectSql + ")";
-    } else if (tree.isExistsProjection()) {
-      finalSql = "SELECT EXISTS(" + selectSql + ")";
-    }
-    return new SqlStringAndPlaceholders(finalSql, tags);
-  }
-
   private static void buildSelect(
       SpannerPersistentEntity<?> spannerPersistentEntity,
       PartTree tree,
@@ -734,4 +868,90 @@ public final class SpannerStatementQueryExecutor {
       stringBuilder.append(LIMIT).append(tree.getMaxResults());
     }
   }
+
+  /**
+   * The SQL of a PartTree-based query method, built once from the {@link PartTree} and reused by
+   * every invocation of the method. The SELECT, FROM and WHERE clauses and the placeholders only
+   * depend on the method; the ORDER BY clause is cached per distinct {@link Sort} and the LIMIT
+   * clause is appended for each call.
+   */
+  static final class PartTreeSqlTemplate {
+
+    private static final int MAX_CACHED_SORTS = 64;
+
+    private final PartTree tree;
+
+    private final SpannerPersistentEntity<?> persistentEntity;
+
+    private final String selectSql;
+
+    private final List<String> tags;
+
+    private final Map<String, Parameter> paramMetadataMap;
+
+    private final Map<Sort, String> sortedSelectSql = new ConcurrentHashMap<>();
+
+    PartTreeSqlTemplate(
+        PartTree tree,
+        SpannerMappingContext spannerMappingContext,
+        Class<?> type,
+        Parameter[] queryMethodParamsMetadata) {
+      this.tree = tree;
+      this.persistentEntity = spannerMappingContext.getPersistentEntityOrFail(type);
+      List<String> placeholders = new ArrayList<>();
+      StringBuilder stringBuilder = new StringBuilder();
+      buildSelect(this.persistentEntity, tree, stringBuilder, spannerMappingContext);
+      buildFrom(this.persistentEntity, stringBuilder);
+      buildWhere(tree, this.persistentEntity, placeholders, stringBuilder);
+      this.selectSql = stringBuilder.toString();
+      this.tags = Collections.unmodifiableList(placeholders);
+      this.paramMetadataMap =
+          preparePartTreeSqlTagParameterMap(queryMethodParamsMetadata, this.tags);
+    }
+
+    List<String> getTags() {
+      return this.tags;
+    }
+
+    Map<String, Parameter> getParamMetadataMap() {
+      return this.paramMetadataMap;
+    }
+
+    /**
+     * Gets the SQL string for a call with the given sort and paging parameters.
+     *
+     * @param sort the sort given as a parameter of the call, used if sorted instead of the sort of
+     *     the method name.
+     * @param pageable the paging given as a parameter of the call.
+     * @return the SQL string.
+     */
+    String getSql(Sort sort, Pageable pageable) {
+      StringBuilder stringBuilder =
+          new StringBuilder(getSortedSelectSql(sort.isSorted() ? sort : this.tree.getSort()));
+      buildLimit(this.tree, stringBuilder, pageable);
+      String selectSql = stringBuilder.toString();
+      if (this.tree.isCountProjection()) {
+        return "SELECT COUNT(1) FROM (" + selectSql + ")";
+      } else if (this.tree.isExistsProjection()) {
+        return "SELECT EXISTS(" + selectSql + ")";
+      }
+      return selectSql;
+    }
+
+    private String getSortedSelectSql(Sort sort) {
+      if (sort.isUnsorted()) {
+        return this.selectSql;
+      }
+      String sql = this.sortedSelectSql.get(sort);
+      if (sql == null) {
+        sql =
+            applySort(sort, new StringBuilder(this.selectSql), this.persistentEntity).toString();
+        // Sorts passed as parameters are unbounded, so only a limited number of them are kept.
+        if (this.sortedSelectSql.size() < MAX_CACHED_SORTS) {
+          this.sortedSelectSql.putIfAbsent(sort, sql);
+        }
+      }
+      return sql;
+    }
+  }
 }
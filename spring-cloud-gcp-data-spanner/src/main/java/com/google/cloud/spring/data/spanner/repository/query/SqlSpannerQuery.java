@@ -26,6 +26,7 @@ import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntity;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerPersistentEntityImpl;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,9 +36,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -84,6 +87,8 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
 
   private SpelExpressionParser expressionParser;
 
+  private volatile SqlPlan sqlPlan;
+
   SqlSpannerQuery(
       Class<T> type,
       SpannerQueryMethod queryMethod,
@@ -153,19 +158,21 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
     return result;
   }
 
-  private void resolveSpelTags(QueryTagValue queryTagValue) {
-    Expression[] expressions = detectExpressions(queryTagValue.sql);
+  private void resolveSpelTags(SqlPlan plan, QueryTagValue queryTagValue) {
+    if (!plan.hasSpel) {
+      return;
+    }
     StringBuilder sb = new StringBuilder();
     Map<Object, String> valueToTag = new HashMap<>();
     int tagNum = 0;
     EvaluationContext evaluationContext =
         this.evaluationContextProvider.getEvaluationContext(
             this.queryMethod.getParameters(), queryTagValue.rawParams);
-    for (Expression expression : expressions) {
-      if (expression instanceof LiteralExpression) {
-        sb.append(expression.getValue(String.class));
-      } else if (expression instanceof SpelExpression) {
-        Object value = expression.getValue(evaluationContext);
+    for (Object fragment : plan.fragments) {
+      if (fragment instanceof String) {
+        sb.append((String) fragment);
+      } else {
+        Object value = ((Expression) fragment).getValue(evaluationContext);
         if (valueToTag.containsKey(value)) {
           sb.append("@").append(valueToTag.get(value));
         } else {
@@ -179,38 +186,108 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
           queryTagValue.tags.add(newTag);
           sb.append("@").append(newTag);
         }
-      } else {
-        throw new SpannerDataException(
-            "Unexpected expression type. SQL queries are expected to be "
-                + "concatenation of Literal and SpEL expressions.");
       }
     }
     queryTagValue.sql = sb.toString();
   }
 
+  @Override
+  public Object execute(Object[] parameters) {
+    // DML methods returning a future execute their statement without waiting for its result.
+    if (this.isDml && getSqlPlan().returnsFuture) {
+      ParameterAccessor paramAccessor =
+          new ParametersParameterAccessor(getQueryMethod().getParameters(), parameters);
+      return this.spannerTemplate.executeDmlStatementAsync(
+          buildStatementFromQueryAndTags(resolveQueryTagValue(parameters, paramAccessor)));
+    }
+    return super.execute(parameters);
+  }
+
   @Override
   public List executeRawResult(Object[] parameters) {
 
     ParameterAccessor paramAccessor =
         new ParametersParameterAccessor(getQueryMethod().getParameters(), parameters);
+    QueryTagValue queryTagValue = resolveQueryTagValue(parameters, paramAccessor);
+
+    if (this.isDml) {
+      return Collections.singletonList(
+          this.spannerTemplate.executeDmlStatement(buildStatementFromQueryAndTags(queryTagValue)));
+    }
+    SpannerPageableQueryOptions spannerQueryOptions =
+        buildReadQueryOptions(paramAccessor.getPageable(), paramAccessor.getSort());
+    Statement statement = buildReadStatement(spannerQueryOptions, queryTagValue);
+    Function<Struct, Object> rowFunc = getSingleValueRowFunc();
+    return (rowFunc != null)
+        ? this.spannerTemplate.query(rowFunc, statement, spannerQueryOptions)
+        : this.spannerTemplate.query(this.entityType, statement, spannerQueryOptions);
+  }
+
+  @Override
+  protected Stream executeRawStreamResult(Object[] parameters) {
+    if (this.isDml) {
+      return super.executeRawStreamResult(parameters);
+    }
+    ParameterAccessor paramAccessor =
+        new ParametersParameterAccessor(getQueryMethod().getParameters(), parameters);
+    QueryTagValue queryTagValue = resolveQueryTagValue(parameters, paramAccessor);
+
+    SpannerPageableQueryOptions spannerQueryOptions =
+        buildReadQueryOptions(paramAccessor.getPageable(), paramAccessor.getSort());
+    Statement statement = buildReadStatement(spannerQueryOptions, queryTagValue);
+    Function<Struct, Object> rowFunc = getSingleValueRowFunc();
+    return (rowFunc != null)
+        ? this.spannerTemplate.queryStream(rowFunc, statement, spannerQueryOptions)
+        : this.spannerTemplate.queryStream(this.entityType, statement, spannerQueryOptions);
+  }
+
+  private QueryTagValue resolveQueryTagValue(Object[] parameters, ParameterAccessor paramAccessor) {
     Object[] params = StreamSupport.stream(paramAccessor.spliterator(), false).toArray();
+    SqlPlan plan = getSqlPlan();
 
-    QueryTagValue queryTagValue =
-        new QueryTagValue(
-            getParamTags(),
-            parameters,
-            params,
-            resolveEntityClassNames(this.sql, this.spannerMappingContext));
+    QueryTagValue queryTagValue = new QueryTagValue(plan, parameters, params);
 
-    resolveSpelTags(queryTagValue);
+    resolveSpelTags(plan, queryTagValue);
+    return queryTagValue;
+  }
 
-    return this.isDml
-        ? Collections.singletonList(
-            this.spannerTemplate.executeDmlStatement(buildStatementFromQueryAndTags(queryTagValue)))
-        : executeReadSql(paramAccessor.getPageable(), paramAccessor.getSort(), queryTagValue);
+  /**
+   * Gets the parsed form of the SQL of this query method, which is built on the first invocation
+   * and then reused.
+   *
+   * @return the parsed SQL of this query method.
+   */
+  private SqlPlan getSqlPlan() {
+    SqlPlan plan = this.sqlPlan;
+    if (plan == null) {
+      String resolvedSql = resolveEntityClassNames(this.sql, this.spannerMappingContext);
+      List<Object> fragments = new ArrayList<>();
+      for (Expression expression : detectExpressions(resolvedSql)) {
+        if (expression instanceof LiteralExpression) {
+          fragments.add(expression.getValue(String.class));
+        } else if (expression instanceof SpelExpression) {
+          fragments.add(expression);
+        } else {
+          throw new SpannerDataException(
+              "Unexpected expression type. SQL queries are expected to be "
+                  + "concatenation of Literal and SpEL expressions.");
+        }
+      }
+      Method method = getQueryMethod().getQueryMethod();
+      plan =
+          new SqlPlan(
+              resolvedSql,
+              fragments,
+              getParamTags(),
+              getParamMetadataMap(method),
+              method.getReturnType() != Object.class
+                  && method.getReturnType().isAssignableFrom(CompletableFuture.class));
+      this.sqlPlan = plan;
+    }
+    return plan;
   }
 
-  private List executeReadSql(Pageable pageable, Sort sort, QueryTagValue queryTagValue) {
+  private SpannerPageableQueryOptions buildReadQueryOptions(Pageable pageable, Sort sort) {
     SpannerPageableQueryOptions spannerQueryOptions =
         new SpannerPageableQueryOptions().setAllowPartialRead(true);
 
@@ -221,7 +298,11 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
     if (pageable != null && pageable.isPaged()) {
       spannerQueryOptions.setOffset(pageable.getOffset()).setLimit(pageable.getPageSize());
     }
+    return spannerQueryOptions;
+  }
 
+  private Statement buildReadStatement(
+      SpannerPageableQueryOptions spannerQueryOptions, QueryTagValue queryTagValue) {
     final Class<?> returnedType = getReturnedType();
     final SpannerPersistentEntity<?> entity =
         returnedType == null ? null : this.spannerMappingContext.getPersistentEntity(returnedType);
@@ -234,22 +315,24 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
             this.spannerMappingContext,
             entity != null && entity.hasEagerlyLoadedProperties());
 
-    Statement statement = buildStatementFromQueryAndTags(queryTagValue);
+    return buildStatementFromQueryAndTags(queryTagValue);
+  }
 
+  /**
+   * Returns the function reading the single column of each row when the query method returns
+   * simple values or JSON fields rather than entities, or {@code null} otherwise.
+   */
+  private Function<Struct, Object> getSingleValueRowFunc() {
     if (getReturnedSimpleConvertableItemType() != null) {
-      return this.spannerTemplate.query(
-          struct -> new StructAccessor(struct).getSingleValue(0), statement, spannerQueryOptions);
+      return struct -> new StructAccessor(struct).getSingleValue(0);
     }
     // check if returnedType is a field annotated as json
+    Class<?> returnedType = getReturnedType();
     boolean isJsonField = isJsonFieldType(returnedType);
     if (isJsonField) {
-      return this.spannerTemplate.query(
-          struct -> new StructAccessor(struct).getSingleJsonValue(0, returnedType),
-          statement,
-          spannerQueryOptions);
+      return struct -> new StructAccessor(struct).getSingleJsonValue(0, returnedType);
     }
-
-    return this.spannerTemplate.query(this.entityType, statement, spannerQueryOptions);
+    return null;
   }
 
   private boolean isJsonFieldType(Class<?> returnedType) {
@@ -263,18 +346,22 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
   }
 
   private Statement buildStatementFromQueryAndTags(QueryTagValue queryTagValue) {
-    Map<String, java.lang.reflect.Parameter> paramMetadataMap = new HashMap<>();
-    for (java.lang.reflect.Parameter param : getQueryMethod().getQueryMethod().getParameters()) {
-      Param annotation = param.getAnnotation(Param.class);
-      paramMetadataMap.put(annotation == null ? param.getName() : annotation.value(), param);
-    }
     return SpannerStatementQueryExecutor.buildStatementFromSqlWithArgs(
         queryTagValue.sql,
         queryTagValue.tags,
         this.paramStructConvertFunc,
         this.spannerTemplate.getSpannerEntityProcessor().getWriteConverter(),
         queryTagValue.params.toArray(),
-        paramMetadataMap);
+        queryTagValue.paramMetadataMap);
+  }
+
+  private static Map<String, java.lang.reflect.Parameter> getParamMetadataMap(Method method) {
+    Map<String, java.lang.reflect.Parameter> paramMetadataMap = new HashMap<>();
+    for (java.lang.reflect.Parameter param : method.getParameters()) {
+      Param annotation = param.getAnnotation(Param.class);
+      paramMetadataMap.put(annotation == null ? param.getName() : annotation.value(), param);
+    }
+    return Collections.unmodifiableMap(paramMetadataMap);
   }
 
   private Expression[] detectExpressions(String sql) {
@@ -291,6 +378,45 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
     }
   }
 
+  /**
+   * The parts of the SQL of this query method that don't depend on the arguments of a call: the
+   * SQL with entity class names resolved to table names, split into literal fragments and parsed
+   * SpEL expressions, the tags and metadata of the method parameters, and whether the method
+   * returns a future.
+   */
+  private static final class SqlPlan {
+
+    final String sql;
+
+    // Either literal SQL strings or SpEL expressions, in the order they appear in the SQL.
+    final List<Object> fragments;
+
+    final boolean hasSpel;
+
+    final List<String> tags;
+
+    final Set<String> initialTags;
+
+    final Map<String, java.lang.reflect.Parameter> paramMetadataMap;
+
+    final boolean returnsFuture;
+
+    SqlPlan(
+        String sql,
+        List<Object> fragments,
+        List<String> tags,
+        Map<String, java.lang.reflect.Parameter> paramMetadataMap,
+        boolean returnsFuture) {
+      this.sql = sql;
+      this.fragments = fragments;
+      this.hasSpel = fragments.stream().anyMatch(Expression.class::isInstance);
+      this.tags = Collections.unmodifiableList(tags);
+      this.initialTags = Collections.unmodifiableSet(new HashSet<>(tags));
+      this.paramMetadataMap = paramMetadataMap;
+      this.returnsFuture = returnsFuture;
+    }
+  }
+
   // Convenience class to hold a grouping of SQL, tags, and parameter values.
   private static class QueryTagValue {
 
@@ -304,15 +430,18 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
 
     final Object[] rawParams;
 
+    final Map<String, java.lang.reflect.Parameter> paramMetadataMap;
+
     String sql;
 
-    QueryTagValue(List<String> tags, Object[] rawParams, Object[] params, String sql) {
-      this.tags = tags;
+    QueryTagValue(SqlPlan plan, Object[] rawParams, Object[] params) {
+      this.tags = new ArrayList<>(plan.tags);
       this.intialParams = params;
-      this.sql = sql;
-      this.initialTags = new HashSet<>(tags);
+      this.sql = plan.sql;
+      this.initialTags = plan.initialTags;
       this.params = new ArrayList<>(Arrays.asList(params));
       this.rawParams = rawParams;
+      this.paramMetadataMap = plan.paramMetadataMap;
     }
   }
 }
@@ -38,6 +38,8 @@ import org.springframework.data.repository.query.QueryLookupStrategy.Key;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
 import org.springframework.data.spel.ExpressionDependencies;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
@@ -51,7 +53,12 @@ import org.springframework.util.Assert;
 public class SpannerRepositoryFactory extends RepositoryFactorySupport
     implements ApplicationContextAware {
 
-  private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+  // Expressions of query methods are evaluated on every call, so they are compiled once they
+  // have been interpreted enough times, falling back to interpretation if compilation fails.
+  private static final SpelExpressionParser EXPRESSION_PARSER =
+      new SpelExpressionParser(
+          new SpelParserConfiguration(
+              SpelCompilerMode.MIXED, SpannerRepositoryFactory.class.getClassLoader()));
 
   private final SpannerMappingContext spannerMappingContext;
 
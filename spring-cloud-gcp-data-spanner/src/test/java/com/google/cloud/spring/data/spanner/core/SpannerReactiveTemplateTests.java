@@ -0,0 +1,287 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.data.spanner.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.api.core.ApiFutures;
+import com.google.cloud.spanner.AsyncResultSet;
+import com.google.cloud.spanner.AsyncResultSet.CallbackResponse;
+import com.google.cloud.spanner.AsyncResultSet.CursorState;
+import com.google.cloud.spanner.AsyncResultSet.ReadyCallback;
+import com.google.cloud.spanner.AsyncRunner;
+import com.google.cloud.spanner.AsyncRunner.AsyncWork;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ErrorCode;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.ReadContext;
+import com.google.cloud.spanner.ReadOnlyTransaction;
+import com.google.cloud.spanner.SpannerExceptionFactory;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.TransactionContext;
+import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
+import com.google.cloud.spring.data.spanner.core.mapping.PrimaryKey;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
+import com.google.cloud.spring.data.spanner.core.mapping.Table;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Tests for {@link SpannerReactiveTemplate}. */
+public class SpannerReactiveTemplateTests {
+
+  private static final Statement DML = Statement.of("UPDATE custom_test_table SET id = 'b'");
+
+  private DatabaseClient databaseClient;
+
+  private SpannerEntityProcessor entityProcessor;
+
+  private SpannerMutationFactory mutationFactory;
+
+  private ReadContext readContext;
+
+  private TransactionContext transactionContext;
+
+  private SpannerReactiveTemplate reactiveTemplate;
+
+  @Before
+  public void setUp() {
+    this.databaseClient = mock(DatabaseClient.class);
+    this.entityProcessor = mock(SpannerEntityProcessor.class);
+    this.mutationFactory = mock(SpannerMutationFactory.class);
+    this.readContext = mock(ReadContext.class);
+    this.transactionContext = mock(TransactionContext.class);
+    when(this.databaseClient.singleUse()).thenReturn(this.readContext);
+
+    AsyncRunner asyncRunner = mock(AsyncRunner.class);
+    when(this.databaseClient.runAsync()).thenReturn(asyncRunner);
+    when(asyncRunner.runAsync(any(), any()))
+        .thenAnswer(
+            invocation ->
+                invocation.<AsyncWork<?>>getArgument(0).doWorkAsync(this.transactionContext));
+
+    this.reactiveTemplate =
+        new SpannerReactiveTemplate(
+            () -> this.databaseClient,
+            new SpannerMappingContext(),
+            this.entityProcessor,
+            this.mutationFactory);
+  }
+
+  @Test
+  public void queryEmitsRowsOnDemandTest() {
+    Statement statement = Statement.of("SELECT id FROM custom_test_table");
+    AsyncResultSet resultSet = asyncResultSet(row("a"), row("b"), row("c"));
+    when(this.readContext.executeQueryAsync(statement)).thenReturn(resultSet);
+
+    StepVerifier.create(
+            this.reactiveTemplate.query(struct -> struct.getString("id"), statement, null), 1)
+        .expectNext("a")
+        .then(() -> verify(resultSet, times(2)).tryNext())
+        .thenRequest(2)
+        .expectNext("b", "c")
+        .verifyComplete();
+
+    verify(resultSet, times(1)).resume();
+  }
+
+  @Test
+  public void readMapsEntitiesTest() {
+    Struct row = row("a");
+    AsyncResultSet resultSet = asyncResultSet(row);
+    TestEntity entity = new TestEntity();
+    when(this.readContext.readAsync(eq("custom_test_table"), eq(KeySet.all()), any()))
+        .thenReturn(resultSet);
+    when(this.entityProcessor.read(TestEntity.class, row, null, false)).thenReturn(entity);
+
+    StepVerifier.create(this.reactiveTemplate.readAll(TestEntity.class))
+        .expectNext(entity)
+        .verifyComplete();
+  }
+
+  @Test
+  public void readByKeyCompletesEmptyTest() {
+    AsyncResultSet resultSet = asyncResultSet();
+    when(this.readContext.readAsync(eq("custom_test_table"), any(), any())).thenReturn(resultSet);
+
+    StepVerifier.create(this.reactiveTemplate.read(TestEntity.class, Key.of("a")))
+        .verifyComplete();
+  }
+
+  @Test
+  public void queryCancelTest() {
+    Statement statement = Statement.of("SELECT id FROM custom_test_table");
+    AsyncResultSet resultSet = asyncResultSet(row("a"), row("b"));
+    when(this.readContext.executeQueryAsync(statement)).thenReturn(resultSet);
+
+    StepVerifier.create(
+            this.reactiveTemplate.query(struct -> struct.getString("id"), statement, null), 1)
+        .expectNext("a")
+        .thenCancel()
+        .verify();
+
+    verify(resultSet).cancel();
+  }
+
+  @Test
+  public void queryErrorTest() {
+    Statement statement = Statement.of("SELECT id FROM custom_test_table");
+    AsyncResultSet resultSet = mock(AsyncResultSet.class);
+    when(resultSet.tryNext())
+        .thenThrow(SpannerExceptionFactory.newSpannerException(ErrorCode.INTERNAL, "failed"));
+    driveCallbacks(resultSet);
+    when(this.readContext.executeQueryAsync(statement)).thenReturn(resultSet);
+
+    StepVerifier.create(
+            this.reactiveTemplate.query(struct -> struct.getString("id"), statement, null))
+        .expectErrorMessage("INTERNAL: failed")
+        .verify();
+  }
+
+  @Test
+  public void insertBuffersMutationsTest() {
+    TestEntity entity = new TestEntity();
+    List<Mutation> mutations =
+        Collections.singletonList(Mutation.newInsertBuilder("custom_test_table").build());
+    when(this.mutationFactory.insert(entity)).thenReturn(mutations);
+
+    StepVerifier.create(this.reactiveTemplate.insert(entity)).verifyComplete();
+
+    verify(this.transactionContext).buffer(mutations);
+  }
+
+  @Test
+  public void readWriteTransactionTest() {
+    TestEntity entity = new TestEntity();
+    Mutation mutation = Mutation.delete("custom_test_table", Key.of("a"));
+    when(this.mutationFactory.delete(entity)).thenReturn(mutation);
+    when(this.transactionContext.executeUpdateAsync(DML))
+        .thenReturn(ApiFutures.immediateFuture(3L));
+
+    StepVerifier.create(
+            this.reactiveTemplate.performReadWriteTransaction(
+                operations ->
+                    operations.delete(entity).then(operations.executeDmlStatement(DML))))
+        .expectNext(3L)
+        .verifyComplete();
+
+    verify(this.transactionContext).buffer(Collections.singletonList(mutation));
+    verify(this.databaseClient, never()).singleUse();
+  }
+
+  @Test
+  public void readOnlyTransactionTest() {
+    ReadOnlyTransaction readOnlyTransaction = mock(ReadOnlyTransaction.class);
+    when(this.databaseClient.readOnlyTransaction()).thenReturn(readOnlyTransaction);
+    AtomicBoolean nestedTransactionFailed = new AtomicBoolean();
+
+    StepVerifier.create(
+            this.reactiveTemplate.performReadOnlyTransaction(
+                operations ->
+                    operations
+                        .performReadOnlyTransaction(nested -> Mono.just(1), null)
+                        .doOnError(
+                            SpannerDataException.class, ex -> nestedTransactionFailed.set(true))
+                        .onErrorResume(ex -> Mono.empty())
+                        .then(operations.insert(new TestEntity())),
+                null))
+        .expectErrorMessage("A read-only transaction template cannot perform mutations.")
+        .verify();
+
+    assertThat(nestedTransactionFailed).isTrue();
+    verify(readOnlyTransaction).close();
+  }
+
+  private static Struct row(String id) {
+    return Struct.newBuilder().set("id").to(id).build();
+  }
+
+  /**
+   * Creates a mocked result set returning the given rows, which runs its callback until it returns
+   * {@link CallbackResponse#PAUSE} or {@link CallbackResponse#DONE}, like the client library.
+   */
+  private static AsyncResultSet asyncResultSet(Struct... rows) {
+    AsyncResultSet resultSet = mock(AsyncResultSet.class);
+    Iterator<Struct> iterator = Arrays.asList(rows).iterator();
+    AtomicReference<Struct> currentRow = new AtomicReference<>();
+    when(resultSet.tryNext())
+        .thenAnswer(
+            invocation -> {
+              if (!iterator.hasNext()) {
+                return CursorState.DONE;
+              }
+              currentRow.set(iterator.next());
+              return CursorState.OK;
+            });
+    when(resultSet.getCurrentRowAsStruct()).thenAnswer(invocation -> currentRow.get());
+    driveCallbacks(resultSet);
+    return resultSet;
+  }
+
+  private static void driveCallbacks(AsyncResultSet resultSet) {
+    AtomicReference<Runnable> callbackRun = new AtomicReference<>();
+    AtomicBoolean paused = new AtomicBoolean();
+    when(resultSet.setCallback(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Executor executor = invocation.getArgument(0);
+              ReadyCallback callback = invocation.getArgument(1);
+              callbackRun.set(
+                  () ->
+                      executor.execute(
+                          () ->
+                              paused.set(
+                                  callback.cursorReady(resultSet) == CallbackResponse.PAUSE)));
+              callbackRun.get().run();
+              return ApiFutures.immediateFuture(null);
+            });
+    doAnswer(
+            invocation -> {
+              if (paused.getAndSet(false)) {
+                callbackRun.get().run();
+              }
+              return null;
+            })
+        .when(resultSet)
+        .resume();
+  }
+
+  @Table(name = "custom_test_table")
+  private static class TestEntity {
+    @PrimaryKey String id;
+  }
+}
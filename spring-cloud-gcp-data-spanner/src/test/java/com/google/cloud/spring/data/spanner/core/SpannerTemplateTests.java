@@ -17,6 +17,7 @@
 package com.google.cloud.spring.data.spanner.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
@@ -24,26 +25,39 @@ import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.api.core.ApiFutures;
 import com.google.cloud.ByteArray;
 import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.AsyncRunner;
+import com.google.cloud.spanner.AsyncRunner.AsyncWork;
+import com.google.cloud.spanner.BatchClient;
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
 import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ErrorCode;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.Options.ReadOption;
+import com.google.cloud.spanner.Partition;
+import com.google.cloud.spanner.PartitionOptions;
 import com.google.cloud.spanner.ReadContext;
 import com.google.cloud.spanner.ReadOnlyTransaction;
 import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.SpannerException;
+import com.google.cloud.spanner.SpannerExceptionFactory;
 import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
 import com.google.cloud.spanner.TimestampBound;
 import com.google.cloud.spanner.TransactionContext;
 import com.google.cloud.spanner.TransactionRunner;
 import com.google.cloud.spanner.TransactionRunner.TransactionCallable;
+import com.google.cloud.spanner.Type;
 import com.google.cloud.spring.data.spanner.core.admin.CachingComposingSupplier;
 import com.google.cloud.spring.data.spanner.core.admin.SpannerSchemaUtils;
 import com.google.cloud.spring.data.spanner.core.convert.SpannerEntityProcessor;
@@ -52,7 +66,9 @@ import com.google.cloud.spring.data.spanner.core.mapping.Column;
 import com.google.cloud.spring.data.spanner.core.mapping.Embedded;
 import com.google.cloud.spring.data.spanner.core.mapping.Interleaved;
 import com.google.cloud.spring.data.spanner.core.mapping.PrimaryKey;
+import com.google.cloud.spring.data.spanner.core.mapping.SpannerDataException;
 import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
+import com.google.cloud.spring.data.spanner.core.mapping.StaleRead;
 import com.google.cloud.spring.data.spanner.core.mapping.Table;
 import com.google.cloud.spring.data.spanner.core.mapping.Where;
 import com.google.cloud.spring.data.spanner.core.mapping.event.AfterDeleteEvent;
@@ -67,15 +83,20 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.context.ApplicationEvent;
@@ -188,6 +209,55 @@ public class SpannerTemplateTests {
     verify(context, times(1)).executeUpdate(DML);
   }
 
+  @Test
+  public void executeDmlStatementsTest() {
+    Statement dml2 = Statement.of("delete statement");
+    TransactionContext context = mock(TransactionContext.class);
+    TransactionRunner transactionRunner = mock(TransactionRunner.class);
+    when(this.databaseClient.readWriteTransaction()).thenReturn(transactionRunner);
+    when(transactionRunner.run(any()))
+        .thenAnswer(
+            invocation -> {
+              TransactionCallable transactionCallable = invocation.getArgument(0);
+              return transactionCallable.run(context);
+            });
+    when(context.batchUpdate(Arrays.asList(DML, dml2))).thenReturn(new long[] {3L, 4L});
+    ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    this.spannerTemplate.setApplicationEventPublisher(publisher);
+
+    assertThat(this.spannerTemplate.executeDmlStatements(Arrays.asList(DML, dml2)))
+        .containsExactly(3L, 4L);
+
+    InOrder inOrder = Mockito.inOrder(publisher, context);
+    inOrder.verify(publisher).publishEvent(new BeforeExecuteDmlEvent(DML));
+    inOrder.verify(publisher).publishEvent(new BeforeExecuteDmlEvent(dml2));
+    inOrder.verify(context).batchUpdate(Arrays.asList(DML, dml2));
+    inOrder.verify(publisher).publishEvent(new AfterExecuteDmlEvent(DML, 3L));
+    inOrder.verify(publisher).publishEvent(new AfterExecuteDmlEvent(dml2, 4L));
+    verify(context, never()).executeUpdate(any());
+  }
+
+  @Test
+  public void executeDmlStatementAsyncTest() {
+    TransactionContext context = mock(TransactionContext.class);
+    AsyncRunner asyncRunner = mock(AsyncRunner.class);
+    when(this.databaseClient.runAsync()).thenReturn(asyncRunner);
+    when(asyncRunner.runAsync(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              AsyncWork<?> work = invocation.getArgument(0);
+              return work.doWorkAsync(context);
+            });
+    when(context.executeUpdateAsync(DML)).thenReturn(ApiFutures.immediateFuture(333L));
+
+    verifyBeforeAndAfterEvents(
+        new BeforeExecuteDmlEvent(DML),
+        new AfterExecuteDmlEvent(DML, 333L),
+        () -> assertThat(this.spannerTemplate.executeDmlStatementAsync(DML).join()).isEqualTo(333L),
+        x -> {});
+    verify(context).executeUpdateAsync(DML);
+  }
+
   @Test
   public void executePartitionedDmlTest() {
     when(this.databaseClient.executePartitionedUpdate(DML)).thenReturn(333L);
@@ -471,11 +541,14 @@ public class SpannerTemplateTests {
                 "SELECT other, id, custom_col, id_2, ARRAY (SELECT AS STRUCT deleted, id3, id, id_2"
                     + " FROM child_test_table WHERE (child_test_table.id = parent_test_table.id AND"
                     + " child_test_table.id_2 = parent_test_table.id_2) AND (deleted = false)) AS"
-                    + " childEntities FROM parent_test_table WHERE (id = @tag0) OR (id_2 = @tag1)")
-            .bind("tag0")
-            .to("key1")
-            .bind("tag1")
-            .to("key2")
+                    + " childEntities FROM parent_test_table WHERE STRUCT<id STRING>(id) IN"
+                    + " UNNEST(@keys)")
+            .bind("keys")
+            .toStructArray(
+                Type.struct(Type.StructField.of("id", Type.string())),
+                Arrays.asList(
+                    Struct.newBuilder().set("id").to("key1").build(),
+                    Struct.newBuilder().set("id").to("key2").build()))
             .build();
     verify(spyTemplate, times(1)).query(eq(ParentEntity.class), eq(statement), any());
     verify(this.databaseClient, times(1)).singleUse();
@@ -541,6 +614,72 @@ public class SpannerTemplateTests {
     verify(this.databaseClient, times(1)).singleUse();
   }
 
+  @Test
+  public void staleReadTest() {
+    TimestampBound staleness = TimestampBound.ofMaxStaleness(15, TimeUnit.SECONDS);
+    TimestampBound exact = TimestampBound.ofExactStaleness(1, TimeUnit.SECONDS);
+    ReadContext staleReadContext = mock(ReadContext.class);
+    ReadContext exactReadContext = mock(ReadContext.class);
+    when(this.databaseClient.singleUse(staleness)).thenReturn(staleReadContext);
+    when(this.databaseClient.singleUse(exact)).thenReturn(exactReadContext);
+    Statement statement = Statement.of("SELECT * FROM stale_test_table");
+
+    this.spannerTemplate.read(StaleEntity.class, KeySet.all());
+    this.spannerTemplate.query(StaleEntity.class, statement, null);
+    this.spannerTemplate.query(
+        StaleEntity.class, statement, new SpannerQueryOptions().setTimestampBound(exact));
+
+    verify(staleReadContext, times(1)).read(eq("stale_test_table"), eq(KeySet.all()), any());
+    verify(staleReadContext, times(1)).executeQuery(statement);
+    verify(exactReadContext, times(1)).executeQuery(eq(statement), any());
+    verify(this.databaseClient, times(2)).singleUse(staleness);
+    verify(this.databaseClient, never()).singleUse();
+  }
+
+  @Test
+  public void staleReadIgnoredInReadWriteTransactionTest() {
+    TransactionRunner transactionRunner = mock(TransactionRunner.class);
+    when(this.databaseClient.readWriteTransaction()).thenReturn(transactionRunner);
+    TransactionContext transactionContext = mock(TransactionContext.class);
+    when(transactionRunner.run(any()))
+        .thenAnswer(
+            invocation -> {
+              TransactionCallable transactionCallable = invocation.getArgument(0);
+              return transactionCallable.run(transactionContext);
+            });
+    Statement statement = Statement.of("SELECT * FROM stale_test_table");
+
+    this.spannerTemplate.performReadWriteTransaction(
+        spannerTemplate -> {
+          spannerTemplate.read(StaleEntity.class, KeySet.all());
+          spannerTemplate.query(StaleEntity.class, statement, null);
+          return null;
+        });
+
+    verify(transactionContext, times(1)).read(eq("stale_test_table"), eq(KeySet.all()), any());
+    verify(transactionContext, times(1)).executeQuery(statement);
+    verify(this.databaseClient, never()).singleUse(any(TimestampBound.class));
+  }
+
+  @Test
+  public void staleReadIgnoredInReadOnlyTransactionTest() {
+    ReadOnlyTransaction readOnlyTransaction = mock(ReadOnlyTransaction.class);
+    when(this.databaseClient.readOnlyTransaction()).thenReturn(readOnlyTransaction);
+    Statement statement = Statement.of("SELECT * FROM stale_test_table");
+
+    this.spannerTemplate.performReadOnlyTransaction(
+        spannerTemplate -> {
+          spannerTemplate.read(StaleEntity.class, KeySet.all());
+          spannerTemplate.query(StaleEntity.class, statement, null);
+          return null;
+        },
+        null);
+
+    verify(readOnlyTransaction, times(1)).read(eq("stale_test_table"), eq(KeySet.all()), any());
+    verify(readOnlyTransaction, times(1)).executeQuery(statement);
+    verify(this.databaseClient, never()).singleUse(any(TimestampBound.class));
+  }
+
   @Test
   public void findAllTest() {
     SpannerTemplate spyTemplate = spy(this.spannerTemplate);
@@ -813,6 +952,300 @@ public class SpannerTemplateTests {
     assertThat(((TestEntity) results.get(2)).id).isEqualTo("c");
   }
 
+  @Test
+  public void queryStreamMapsRowsLazilyTest() {
+    ResultSet results = mock(ResultSet.class);
+    Struct row1 = Struct.newBuilder().set("id").to("a").build();
+    Struct row2 = Struct.newBuilder().set("id").to("b").build();
+    when(results.next()).thenReturn(true, true, false);
+    when(results.getCurrentRowAsStruct()).thenReturn(row1, row2);
+    when(this.readContext.executeQuery(any())).thenReturn(results);
+    TestEntity t1 = new TestEntity();
+    TestEntity t2 = new TestEntity();
+    when(this.objectMapper.read(TestEntity.class, row1, null, false)).thenReturn(t1);
+    when(this.objectMapper.read(TestEntity.class, row2, null, false)).thenReturn(t2);
+
+    try (Stream<TestEntity> stream =
+        this.spannerTemplate.queryStream(TestEntity.class, Statement.of("test"), null)) {
+      // no row is read until the stream is consumed.
+      verify(results, never()).next();
+
+      Iterator<TestEntity> entities = stream.iterator();
+      assertThat(entities.next()).isSameAs(t1);
+      // rows are read a chunk at a time, here up to the end of the results.
+      verify(results, times(3)).next();
+      assertThat(entities.next()).isSameAs(t2);
+      assertThat(entities.hasNext()).isFalse();
+      verify(results, never()).close();
+    }
+    verify(results, times(1)).close();
+  }
+
+  @Test
+  public void queryStreamResolvesChildrenPerChunkTest() {
+    ResultSet results = mock(ResultSet.class);
+    Struct row1 = Struct.newBuilder().set("id").to("a").build();
+    Struct row2 = Struct.newBuilder().set("id").to("c").build();
+    when(results.next()).thenReturn(true, true, false);
+    when(results.getCurrentRowAsStruct()).thenReturn(row1, row2);
+    when(this.readContext.executeQuery(any())).thenReturn(results, mock(ResultSet.class));
+    ParentEntity p1 = new ParentEntity();
+    p1.id = "a";
+    p1.id2 = "b";
+    ParentEntity p2 = new ParentEntity();
+    p2.id = "c";
+    p2.id2 = "d";
+    when(this.objectMapper.read(ParentEntity.class, row1, null, false)).thenReturn(p1);
+    when(this.objectMapper.read(ParentEntity.class, row2, null, false)).thenReturn(p2);
+    ChildEntity c1 = new ChildEntity();
+    c1.id = "a";
+    c1.id_2 = "b";
+    c1.id3 = "1";
+    ChildEntity c2 = new ChildEntity();
+    c2.id = "c";
+    c2.id_2 = "d";
+    c2.id3 = "2";
+    when(this.objectMapper.mapToList(any(), eq(ChildEntity.class), any(), eq(false)))
+        .thenReturn(Arrays.asList(c1, c2));
+
+    try (Stream<ParentEntity> stream =
+        this.spannerTemplate.queryStream(ParentEntity.class, Statement.of("test"), null)) {
+      assertThat(stream).containsExactly(p1, p2);
+    }
+
+    // one query for the parents and a single one for the children of the whole chunk.
+    verify(this.readContext, times(2)).executeQuery(any());
+    assertThat(p1.childEntities).containsExactly(c1);
+    assertThat(p2.childEntities).containsExactly(c2);
+  }
+
+  @Test
+  public void readAllStreamTest() {
+    ResultSet results = mock(ResultSet.class);
+    Struct row = Struct.newBuilder().set("id").to("a").build();
+    when(results.next()).thenReturn(true, false);
+    when(results.getCurrentRowAsStruct()).thenReturn(row);
+    when(this.readContext.read(any(), any(), any())).thenReturn(results);
+    ChildEntity child = new ChildEntity();
+    when(this.objectMapper.read(ChildEntity.class, row, null, false)).thenReturn(child);
+
+    try (Stream<ChildEntity> stream = this.spannerTemplate.readAllStream(ChildEntity.class, null)) {
+      assertThat(stream).containsExactly(child);
+    }
+
+    verify(this.readContext, times(1)).read(eq("child_test_table"), eq(KeySet.all()), any());
+    verify(results, times(1)).close();
+  }
+
+  @Test
+  public void readPartitionedTest() {
+    BatchClient batchClient = mock(BatchClient.class);
+    BatchReadOnlyTransaction transaction = mock(BatchReadOnlyTransaction.class);
+    when(batchClient.batchReadOnlyTransaction(TimestampBound.strong())).thenReturn(transaction);
+    Partition partition1 = mock(Partition.class);
+    Partition partition2 = mock(Partition.class);
+    when(transaction.partitionRead(
+            eq(PartitionOptions.getDefaultInstance()),
+            eq("child_test_table"),
+            eq(KeySet.all()),
+            any()))
+        .thenReturn(Arrays.asList(partition1, partition2));
+    Struct row1 = Struct.newBuilder().set("id").to("a").build();
+    Struct row2 = Struct.newBuilder().set("id").to("b").build();
+    ResultSet results1 = mock(ResultSet.class);
+    when(results1.next()).thenReturn(true, false);
+    when(results1.getCurrentRowAsStruct()).thenReturn(row1);
+    ResultSet results2 = mock(ResultSet.class);
+    when(results2.next()).thenReturn(true, false);
+    when(results2.getCurrentRowAsStruct()).thenReturn(row2);
+    when(transaction.execute(partition1)).thenReturn(results1);
+    when(transaction.execute(partition2)).thenReturn(results2);
+    ChildEntity child1 = new ChildEntity();
+    ChildEntity child2 = new ChildEntity();
+    when(this.objectMapper.read(ChildEntity.class, row1, null, false)).thenReturn(child1);
+    when(this.objectMapper.read(ChildEntity.class, row2, null, false)).thenReturn(child2);
+
+    this.spannerTemplate.setBatchClientProvider(() -> batchClient);
+    List<ChildEntity> children = new CopyOnWriteArrayList<>();
+    this.spannerTemplate.readPartitioned(ChildEntity.class, KeySet.all(), null, children::add);
+
+    assertThat(children).containsExactlyInAnyOrder(child1, child2);
+    verify(results1).close();
+    verify(results2).close();
+    verify(transaction).close();
+  }
+
+  @Test
+  public void readPartitionedResolvesChildrenInBatchTransactionTest() {
+    BatchClient batchClient = mock(BatchClient.class);
+    BatchReadOnlyTransaction transaction = mock(BatchReadOnlyTransaction.class);
+    when(batchClient.batchReadOnlyTransaction(TimestampBound.strong())).thenReturn(transaction);
+    Statement statement = Statement.of("SELECT * FROM parent_test_table");
+    Partition partition = mock(Partition.class);
+    when(transaction.partitionQuery(PartitionOptions.getDefaultInstance(), statement))
+        .thenReturn(Collections.singletonList(partition));
+    Struct row = Struct.newBuilder().set("id").to("a").build();
+    ResultSet results = mock(ResultSet.class);
+    when(results.next()).thenReturn(true, false);
+    when(results.getCurrentRowAsStruct()).thenReturn(row);
+    when(transaction.execute(partition)).thenReturn(results);
+    ParentEntity parent = new ParentEntity();
+    parent.id = "a";
+    parent.id2 = "b";
+    when(this.objectMapper.read(ParentEntity.class, row, null, false)).thenReturn(parent);
+    ChildEntity child = new ChildEntity();
+    child.id = "a";
+    child.id_2 = "b";
+    child.id3 = "1";
+    when(this.objectMapper.mapToList(any(), eq(ChildEntity.class), any(), eq(false)))
+        .thenReturn(Collections.singletonList(child));
+
+    this.spannerTemplate.setBatchClientProvider(() -> batchClient);
+    this.spannerTemplate.setPartitionExecutor(Runnable::run);
+    List<ParentEntity> parents = new ArrayList<>();
+    this.spannerTemplate.queryPartitioned(ParentEntity.class, statement, null, parents::add);
+
+    assertThat(parents).containsExactly(parent);
+    assertThat(parent.childEntities).containsExactly(child);
+    verify(transaction, times(1)).executeQuery(any());
+    verify(this.readContext, never()).executeQuery(any());
+  }
+
+  @Test
+  public void queryPartitionedFailureTest() {
+    BatchClient batchClient = mock(BatchClient.class);
+    BatchReadOnlyTransaction transaction = mock(BatchReadOnlyTransaction.class);
+    TimestampBound timestampBound = TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS);
+    when(batchClient.batchReadOnlyTransaction(timestampBound)).thenReturn(transaction);
+    Statement statement = Statement.of("SELECT * FROM child_test_table");
+    Partition partition = mock(Partition.class);
+    when(transaction.partitionQuery(PartitionOptions.getDefaultInstance(), statement))
+        .thenReturn(Collections.singletonList(partition));
+    when(transaction.execute(partition))
+        .thenThrow(SpannerExceptionFactory.newSpannerException(ErrorCode.INTERNAL, "failed"));
+
+    this.spannerTemplate.setBatchClientProvider(() -> batchClient);
+    this.spannerTemplate.setPartitionExecutor(Runnable::run);
+    assertThatThrownBy(
+            () ->
+                this.spannerTemplate.queryPartitioned(
+                    ChildEntity.class,
+                    statement,
+                    new SpannerQueryOptions().setTimestampBound(timestampBound),
+                    child -> {}))
+        .isInstanceOf(SpannerException.class)
+        .hasMessage("INTERNAL: failed");
+    verify(transaction).close();
+  }
+
+  @Test
+  public void insertAllBulkSplitsByCellsTest() {
+    TestEntity entity1 = new TestEntity();
+    TestEntity entity2 = new TestEntity();
+    TestEntity entity3 = new TestEntity();
+    Mutation mutation1 = twoColumnInsert("a");
+    Mutation mutation2 = twoColumnInsert("b");
+    Mutation mutation3 = twoColumnInsert("c");
+    when(this.mutationFactory.insert(same(entity1)))
+        .thenReturn(Collections.singletonList(mutation1));
+    when(this.mutationFactory.insert(same(entity2)))
+        .thenReturn(Collections.singletonList(mutation2));
+    when(this.mutationFactory.insert(same(entity3)))
+        .thenReturn(Collections.singletonList(mutation3));
+    Timestamp commitTimestamp = Timestamp.ofTimeMicroseconds(1);
+    when(this.databaseClient.write(any())).thenReturn(commitTimestamp);
+    List<TestEntity> entities = Arrays.asList(entity1, entity2, entity3);
+
+    SpannerBulkWriteResult result =
+        this.spannerTemplate.insertAll(
+            entities, new SpannerBulkWriteOptions().setMaxCellsPerCommit(4));
+
+    assertThat(result.isSuccessful()).isTrue();
+    assertThat(result.getBatches()).hasSize(2);
+    assertThat(result.getBatches().get(0).getMutations()).containsExactly(mutation1, mutation2);
+    assertThat(result.getBatches().get(0).getCellCount()).isEqualTo(4);
+    assertThat(result.getBatches().get(0).getCommitTimestamp()).isEqualTo(commitTimestamp);
+    assertThat(result.getBatches().get(1).getMutations()).containsExactly(mutation3);
+    assertThat(result.getBatches().get(1).getCellCount()).isEqualTo(2);
+    InOrder inOrder = Mockito.inOrder(this.databaseClient);
+    inOrder.verify(this.databaseClient).write(Arrays.asList(mutation1, mutation2));
+    inOrder.verify(this.databaseClient).write(Collections.singletonList(mutation3));
+    verify(this.databaseClient, never()).writeAtLeastOnce(any());
+  }
+
+  @Test
+  public void upsertAllBulkReportsFailedBatchesTest() {
+    TestEntity entity1 = new TestEntity();
+    TestEntity entity2 = new TestEntity();
+    TestEntity entity3 = new TestEntity();
+    Mutation mutation1 = twoColumnInsert("a");
+    Mutation mutation2 = twoColumnInsert("b");
+    Mutation mutation3 = twoColumnInsert("c");
+    when(this.mutationFactory.upsert(same(entity1), isNull()))
+        .thenReturn(Collections.singletonList(mutation1));
+    when(this.mutationFactory.upsert(same(entity2), isNull()))
+        .thenReturn(Collections.singletonList(mutation2));
+    when(this.mutationFactory.upsert(same(entity3), isNull()))
+        .thenReturn(Collections.singletonList(mutation3));
+    SpannerException failure =
+        SpannerExceptionFactory.newSpannerException(ErrorCode.INTERNAL, "failed");
+    when(this.databaseClient.writeAtLeastOnce(any())).thenReturn(Timestamp.ofTimeMicroseconds(1));
+    when(this.databaseClient.writeAtLeastOnce(Collections.singletonList(mutation2)))
+        .thenThrow(failure);
+    ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    this.spannerTemplate.setApplicationEventPublisher(publisher);
+    this.spannerTemplate.setBulkWriteExecutor(Runnable::run);
+
+    SpannerBulkWriteResult result =
+        this.spannerTemplate.upsertAll(
+            Arrays.asList(entity1, entity2, entity3),
+            new SpannerBulkWriteOptions()
+                .setMaxBytesPerCommit(1)
+                .setMaxParallelism(2)
+                .setAtLeastOnce(true));
+
+    assertThat(result.isSuccessful()).isFalse();
+    assertThat(result.getBatches()).hasSize(3);
+    assertThat(result.getBatches().get(0).isSuccessful()).isTrue();
+    assertThat(result.getBatches().get(2).isSuccessful()).isTrue();
+    assertThat(result.getFailedBatches()).hasSize(1);
+    assertThat(result.getFailedBatches().get(0).getMutations()).containsExactly(mutation2);
+    assertThat(result.getFailedBatches().get(0).getFailure()).isSameAs(failure);
+    assertThat(result.getFailedBatches().get(0).getCommitTimestamp()).isNull();
+    verify(this.databaseClient, times(3)).writeAtLeastOnce(any());
+    verify(this.databaseClient, never()).write(any());
+    verify(publisher, times(1)).publishEvent(any(BeforeSaveEvent.class));
+    verify(publisher, never()).publishEvent(any(AfterSaveEvent.class));
+  }
+
+  @Test
+  public void deleteAllBulkInTransactionTemplateTest() {
+    this.expectedException.expect(SpannerDataException.class);
+    this.expectedException.expectMessage(
+        "A read-write transaction template cannot execute bulk writes.");
+    TestEntity entity = new TestEntity();
+    when(this.mutationFactory.delete(entity))
+        .thenReturn(Mutation.delete("custom_test_table", Key.of("key")));
+
+    new ReadWriteTransactionSpannerTemplate(
+            () -> this.databaseClient,
+            this.mappingContext,
+            this.objectMapper,
+            this.mutationFactory,
+            this.schemaUtils,
+            mock(TransactionContext.class))
+        .deleteAll(Collections.singletonList(entity), new SpannerBulkWriteOptions());
+  }
+
+  private static Mutation twoColumnInsert(String id) {
+    return Mutation.newInsertBuilder("custom_test_table")
+        .set("id")
+        .to(id)
+        .set("value")
+        .to(1L)
+        .build();
+  }
+
   @Test
   public void resolveChildEntityTest() {
     ParentEntity p = new ParentEntity();
@@ -885,6 +1318,120 @@ public class SpannerTemplateTests {
     verify(this.objectMapper, times(2)).mapToList(any(), any(), any(), eq(false));
   }
 
+  @Test
+  public void resolveChildEntitiesInSingleQueryTest() {
+    ParentEntity p1 = new ParentEntity();
+    p1.id = "a";
+    p1.id2 = "b";
+    ParentEntity p2 = new ParentEntity();
+    p2.id = "c";
+    p2.id2 = "d";
+    ChildEntity c1 = new ChildEntity();
+    c1.id = "a";
+    c1.id_2 = "b";
+    c1.id3 = "1";
+    ChildEntity c2 = new ChildEntity();
+    c2.id = "c";
+    c2.id_2 = "d";
+    c2.id3 = "2";
+    ChildEntity c3 = new ChildEntity();
+    c3.id = "a";
+    c3.id_2 = "b";
+    c3.id3 = "3";
+    when(this.objectMapper.mapToList(any(), eq(ParentEntity.class), any(), eq(false)))
+        .thenReturn(Arrays.asList(p1, p2));
+    when(this.objectMapper.mapToList(any(), eq(ChildEntity.class), any(), eq(false)))
+        .thenReturn(Arrays.asList(c1, c2, c3));
+
+    List<ParentEntity> results = this.spannerTemplate.readAll(ParentEntity.class);
+
+    // one query for the parents and a single one for the children of both parents.
+    ArgumentCaptor<Statement> statementCaptor = ArgumentCaptor.forClass(Statement.class);
+    verify(this.readContext, times(2)).executeQuery(statementCaptor.capture());
+    assertThat(statementCaptor.getValue().getSql())
+        .isEqualTo(
+            "SELECT deleted, id3, id, id_2 FROM child_test_table WHERE (STRUCT<id STRING, id_2"
+                + " STRING>(id, id_2) IN UNNEST(@keys)) AND (deleted = false)");
+    assertThat(results.get(0).childEntities).containsExactly(c1, c3);
+    assertThat(results.get(1).childEntities).containsExactly(c2);
+  }
+
+  @Test
+  public void resolveChildEntitiesSplitsKeysBoundPerPartTest() {
+    // keys of different sizes can't share a struct type, so they are bound one part at a time.
+    SpannerSchemaUtils spySchemaUtils = spy(this.schemaUtils);
+    doAnswer(
+            invocation -> {
+              Object entity = invocation.getArgument(0);
+              return (entity instanceof ParentEntity && ((ParentEntity) entity).id2 == null)
+                  ? Key.of(((ParentEntity) entity).id)
+                  : invocation.callRealMethod();
+            })
+        .when(spySchemaUtils)
+        .getKey(any());
+    SpannerTemplate template =
+        new SpannerTemplate(
+            () -> this.databaseClient,
+            this.mappingContext,
+            this.objectMapper,
+            this.mutationFactory,
+            spySchemaUtils);
+    List<ParentEntity> parents = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      ParentEntity parent = new ParentEntity();
+      parent.id = "id" + i;
+      parent.id2 = (i % 2 == 0) ? null : "id2";
+      parents.add(parent);
+    }
+    when(this.objectMapper.mapToList(any(), eq(ParentEntity.class), any(), eq(false)))
+        .thenReturn(parents);
+    when(this.objectMapper.mapToList(any(), eq(ChildEntity.class), any(), eq(false)))
+        .thenReturn(Collections.emptyList());
+
+    template.readAll(ParentEntity.class);
+
+    // one query for the parents, and the 1500 key parts split within the parameter limit.
+    ArgumentCaptor<Statement> statementCaptor = ArgumentCaptor.forClass(Statement.class);
+    verify(this.readContext, times(4)).executeQuery(statementCaptor.capture());
+    List<Statement> childQueries = statementCaptor.getAllValues().subList(1, 4);
+    assertThat(childQueries)
+        .extracting(statement -> statement.getParameters().size())
+        .containsExactly(712, 713, 75);
+  }
+
+  @Test
+  public void batchLoadLazyChildrenTest() {
+    BatchLoadedParentEntity p1 = new BatchLoadedParentEntity();
+    p1.id = "a";
+    BatchLoadedParentEntity p2 = new BatchLoadedParentEntity();
+    p2.id = "b";
+    ChildEntity c1 = new ChildEntity();
+    c1.id = "a";
+    c1.id_2 = "x";
+    c1.id3 = "1";
+    ChildEntity c2 = new ChildEntity();
+    c2.id = "b";
+    c2.id_2 = "y";
+    c2.id3 = "2";
+    when(this.objectMapper.mapToList(any(), eq(BatchLoadedParentEntity.class), any(), eq(false)))
+        .thenReturn(Arrays.asList(p1, p2));
+    when(this.objectMapper.mapToList(any(), eq(ChildEntity.class), any(), eq(false)))
+        .thenReturn(Arrays.asList(c1, c2));
+
+    List<BatchLoadedParentEntity> results =
+        this.spannerTemplate.readAll(BatchLoadedParentEntity.class);
+
+    // the children aren't fetched until a lazy property is touched.
+    verify(this.objectMapper, times(1)).mapToList(any(), any(), any(), eq(false));
+
+    assertThat(results.get(0).childEntities).containsExactly(c1);
+    assertThat(results.get(1).childEntities).containsExactly(c2);
+
+    // touching the first proxy fetched the children of both parents.
+    verify(this.objectMapper, times(2)).mapToList(any(), any(), any(), eq(false));
+    verify(this.readContext, times(1)).executeQuery(any());
+  }
+
   private void verifyEvents(
       ApplicationEvent expectedBefore,
       ApplicationEvent expectedAfter,
@@ -972,6 +1519,12 @@ public class SpannerTemplateTests {
     double[] doubles;
   }
 
+  @Table(name = "stale_test_table")
+  @StaleRead(15)
+  private static class StaleEntity {
+    @PrimaryKey String id;
+  }
+
   @Table(name = "parent_test_table")
   private static class ParentEntity {
     @PrimaryKey(keyOrder = 1)
@@ -992,6 +1545,14 @@ public class SpannerTemplateTests {
     List<ChildEntity> childEntities;
   }
 
+  @Table(name = "parent_test_table")
+  private static class BatchLoadedParentEntity {
+    @PrimaryKey String id;
+
+    @Interleaved(lazy = true, batchLoad = true)
+    List<ChildEntity> childEntities;
+  }
+
   @Table(name = "child_test_table")
   private static class ChildEntity {
     @PrimaryKey(keyOrder = 1)
@@ -26,11 +26,19 @@ import static org.mockito.Mockito.when;
 import com.google.cloud.spanner.AbortedException;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.ErrorCode;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.ReadOnlyTransaction;
 import com.google.cloud.spanner.SpannerException;
 import com.google.cloud.spanner.SpannerExceptionFactory;
+import com.google.cloud.spanner.TimestampBound;
 import com.google.cloud.spanner.TransactionContext;
 import com.google.cloud.spanner.TransactionManager;
 import com.google.cloud.spanner.TransactionManager.TransactionState;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aopalliance.intercept.MethodInterceptor;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -39,12 +47,17 @@ import org.junit.rules.ExpectedException;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.transaction.support.DefaultTransactionStatus;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /** Tests for the Spanner transaction manager. */
 public class SpannerTransactionManagerTests {
@@ -154,6 +167,34 @@ public class SpannerTransactionManagerTests {
     verify(transactionManager, times(0)).getState();
   }
 
+  @Test
+  public void testDoBeginReadOnlyWithTimestampBound() {
+    TimestampBound exact = TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS);
+    ReadOnlyTransaction readOnlyTransaction = mock(ReadOnlyTransaction.class);
+    when(this.databaseClient.readOnlyTransaction(exact)).thenReturn(readOnlyTransaction);
+    this.manager.setReadOnlyTimestampBound(exact);
+
+    DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+    definition.setReadOnly(true);
+
+    TransactionSynchronizationManager.unbindResource(this.databaseClient);
+
+    this.manager.doBegin(this.tx, definition);
+    this.tx.getTransactionContext().read("table", KeySet.all(), Collections.emptyList());
+
+    Assert.assertTrue(this.tx.isReadOnly());
+    verify(readOnlyTransaction, times(1)).read("table", KeySet.all(), Collections.emptyList());
+    verify(this.databaseClient, never()).readOnlyTransaction();
+  }
+
+  @Test
+  public void testReadOnlyTimestampBoundRejectsBoundedStaleness() {
+    this.expectedEx.expect(IllegalArgumentException.class);
+    this.expectedEx.expectMessage("Read-only transactions do not support bounded staleness.");
+
+    this.manager.setReadOnlyTimestampBound(TimestampBound.ofMaxStaleness(10, TimeUnit.SECONDS));
+  }
+
   @Test
   public void testDoCommit() {
     when(transactionManager.getState()).thenReturn(TransactionState.STARTED);
@@ -237,4 +278,146 @@ public class SpannerTransactionManagerTests {
 
     verify(transactionManager, never()).rollback();
   }
+
+  @Test
+  public void testExecuteRetriesTransactionAbortedOnCommit() {
+    TransactionSynchronizationManager.unbindResource(this.databaseClient);
+    this.manager.setMaxAttempts(3);
+    this.manager.setInitialBackoff(Duration.ZERO);
+    when(transactionManager.begin()).thenReturn(this.transactionContext);
+    when(transactionManager.resetForRetry()).thenReturn(this.transactionContext);
+    when(transactionManager.getState())
+        .thenReturn(TransactionState.STARTED, TransactionState.ABORTED, TransactionState.STARTED);
+    Mockito.doThrow(SpannerExceptionFactory.newSpannerException(ErrorCode.ABORTED, "aborted"))
+        .doNothing()
+        .when(transactionManager)
+        .commit();
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result =
+        new TransactionTemplate(this.manager)
+            .execute(
+                transactionStatus -> {
+                  attempts.incrementAndGet();
+                  return "result";
+                });
+
+    Assert.assertEquals("result", result);
+    Assert.assertEquals(2, attempts.get());
+    verify(transactionManager, times(1)).begin();
+    verify(transactionManager, times(1)).resetForRetry();
+    verify(transactionManager, times(2)).commit();
+    verify(transactionManager, never()).close();
+    Assert.assertEquals(2, this.manager.getReadWriteAttemptCount());
+    Assert.assertEquals(1, this.manager.getAbortedAttemptCount());
+    Assert.assertEquals(0, this.manager.getExhaustedRetryCount());
+  }
+
+  @Test
+  public void testExecuteDoesNotRetryByDefault() {
+    TransactionSynchronizationManager.unbindResource(this.databaseClient);
+    when(transactionManager.begin()).thenReturn(this.transactionContext);
+    when(transactionManager.getState()).thenReturn(TransactionState.STARTED);
+    Mockito.doThrow(SpannerExceptionFactory.newSpannerException(ErrorCode.ABORTED, "aborted"))
+        .when(transactionManager)
+        .commit();
+    AtomicInteger attempts = new AtomicInteger();
+
+    Assert.assertThrows(
+        UnexpectedRollbackException.class,
+        () -> new TransactionTemplate(this.manager).execute(status -> attempts.incrementAndGet()));
+
+    Assert.assertEquals(1, attempts.get());
+    verify(transactionManager, times(1)).close();
+    verify(transactionManager, never()).resetForRetry();
+    Assert.assertEquals(1, this.manager.getAbortedAttemptCount());
+    Assert.assertEquals(0, this.manager.getExhaustedRetryCount());
+  }
+
+  @Test
+  public void testExecuteStopsRetryingAfterMaxAttempts() {
+    TransactionSynchronizationManager.unbindResource(this.databaseClient);
+    this.manager.setMaxAttempts(2);
+    this.manager.setInitialBackoff(Duration.ZERO);
+    when(transactionManager.begin()).thenReturn(this.transactionContext);
+    when(transactionManager.getState()).thenReturn(TransactionState.STARTED);
+    SpannerException aborted =
+        SpannerExceptionFactory.newSpannerException(ErrorCode.ABORTED, "aborted");
+    AtomicInteger attempts = new AtomicInteger();
+
+    SpannerException thrown =
+        Assert.assertThrows(
+            SpannerException.class,
+            () ->
+                new TransactionTemplate(this.manager)
+                    .execute(
+                        status -> {
+                          attempts.incrementAndGet();
+                          throw aborted;
+                        }));
+
+    Assert.assertSame(aborted, thrown);
+    Assert.assertEquals(2, attempts.get());
+    verify(transactionManager, times(2)).begin();
+    verify(transactionManager, times(2)).rollback();
+    verify(transactionManager, never()).commit();
+    Assert.assertEquals(2, this.manager.getAbortedAttemptCount());
+    Assert.assertEquals(1, this.manager.getExhaustedRetryCount());
+  }
+
+  @Test
+  public void testExecuteRetriesTransactionalProxy() {
+    TransactionSynchronizationManager.unbindResource(this.databaseClient);
+    this.manager.setMaxAttempts(2);
+    this.manager.setInitialBackoff(Duration.ZERO);
+    when(transactionManager.begin()).thenReturn(this.transactionContext);
+    when(transactionManager.resetForRetry()).thenReturn(this.transactionContext);
+    when(transactionManager.getState())
+        .thenReturn(TransactionState.STARTED, TransactionState.ABORTED, TransactionState.STARTED);
+    Mockito.doThrow(SpannerExceptionFactory.newSpannerException(ErrorCode.ABORTED, "aborted"))
+        .doNothing()
+        .when(transactionManager)
+        .commit();
+    TransactionalService target = new TransactionalService();
+    AtomicInteger outerAdviceInvocations = new AtomicInteger();
+    AtomicInteger innerAdviceInvocations = new AtomicInteger();
+    ProxyFactory proxyFactory = new ProxyFactory(target);
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAdvice(
+        (MethodInterceptor)
+            invocation -> {
+              outerAdviceInvocations.incrementAndGet();
+              return invocation.proceed();
+            });
+    proxyFactory.addAdvice(
+        new TransactionInterceptor(this.manager, new AnnotationTransactionAttributeSource()));
+    proxyFactory.addAdvice(
+        (MethodInterceptor)
+            invocation -> {
+              innerAdviceInvocations.incrementAndGet();
+              return invocation.proceed();
+            });
+
+    String result = ((TransactionalService) proxyFactory.getProxy()).run();
+
+    Assert.assertEquals("result", result);
+    Assert.assertEquals(2, target.invocations.get());
+    Assert.assertEquals(1, outerAdviceInvocations.get());
+    // the retry proceeds from the transaction interceptor, past the advice ordered after it.
+    Assert.assertEquals(1, innerAdviceInvocations.get());
+    verify(transactionManager, times(1)).resetForRetry();
+    verify(transactionManager, times(2)).commit();
+  }
+
+  /** A service with a {@code @Transactional} method counting its invocations. */
+  public static class TransactionalService {
+
+    final AtomicInteger invocations = new AtomicInteger();
+
+    @Transactional
+    public String run() {
+      this.invocations.incrementAndGet();
+      return "result";
+    }
+  }
 }
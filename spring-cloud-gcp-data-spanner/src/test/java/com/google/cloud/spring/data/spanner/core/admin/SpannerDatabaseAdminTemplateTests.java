@@ -18,7 +18,9 @@ package com.google.cloud.spring.data.spanner.core.admin;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,6 +38,7 @@ import com.google.cloud.spanner.Struct;
 import com.google.cloud.spanner.Value;
 import com.google.spanner.admin.database.v1.CreateDatabaseMetadata;
 import com.google.spanner.admin.database.v1.UpdateDatabaseDdlMetadata;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -178,6 +181,75 @@ class SpannerDatabaseAdminTemplateTests {
         .updateDatabaseDdl("fakeinstance", "fakedb", this.ddlList, null);
   }
 
+  @Test
+  void schemaIsCachedUntilDdlIsExecutedTest() throws Exception {
+    ReadContext readContext = mockTables();
+    OperationFuture<Void, UpdateDatabaseDdlMetadata> mockFuture = mock(OperationFuture.class);
+    when(this.databaseAdminClient.updateDatabaseDdl("fakeinstance", "fakedb", this.ddlList, null))
+        .thenReturn(mockFuture);
+
+    assertThat(this.spannerDatabaseAdminTemplate.getTables()).containsExactlyInAnyOrder("parent");
+    assertThat(this.spannerDatabaseAdminTemplate.tableExists("parent")).isTrue();
+    assertThat(this.spannerDatabaseAdminTemplate.isInterleaved("parent", "child")).isFalse();
+    verify(readContext, times(1)).executeQuery(any());
+    verify(this.databaseAdminClient, never()).listDatabases(any());
+
+    this.spannerDatabaseAdminTemplate.executeDdlStrings(this.ddlList, false);
+    this.spannerDatabaseAdminTemplate.getChildParentTablesMap();
+    verify(readContext, times(2)).executeQuery(any());
+  }
+
+  @Test
+  void schemaIsNotCachedWithZeroTtlTest() {
+    ReadContext readContext = mockTables();
+    this.spannerDatabaseAdminTemplate.setSchemaCacheTtl(Duration.ZERO);
+
+    this.spannerDatabaseAdminTemplate.getTables();
+    this.spannerDatabaseAdminTemplate.getParentChildTablesMap();
+
+    verify(readContext, times(2)).executeQuery(any());
+  }
+
+  @Test
+  void schemaReadDuringInvalidationIsNotCachedTest() {
+    ReadContext readContext = mockTables();
+    ResultSet results = readContext.executeQuery(any());
+    clearInvocations(readContext);
+    when(readContext.executeQuery(any()))
+        .thenAnswer(
+            invocation -> {
+              // DDL completing while the information schema is read.
+              this.spannerDatabaseAdminTemplate.invalidateSchemaCache();
+              return results;
+            })
+        .thenReturn(results);
+
+    this.spannerDatabaseAdminTemplate.getTables();
+    this.spannerDatabaseAdminTemplate.getTables();
+    this.spannerDatabaseAdminTemplate.getTables();
+
+    verify(readContext, times(2)).executeQuery(any());
+  }
+
+  private ReadContext mockTables() {
+    ReadContext readContext = mock(ReadContext.class);
+    MockResults mockResults = new MockResults();
+    mockResults.structs =
+        Arrays.asList(
+            Struct.newBuilder()
+                .set("table_name")
+                .to(Value.string("parent"))
+                .set("parent_table_name")
+                .to(Value.string(null))
+                .build());
+    ResultSet results = mock(ResultSet.class);
+    when(results.next()).thenAnswer(invocation -> mockResults.next());
+    when(results.getCurrentRowAsStruct()).thenAnswer(invocation -> mockResults.getCurrent());
+    when(this.databaseClient.singleUse()).thenReturn(readContext);
+    when(readContext.executeQuery(any())).thenReturn(results);
+    return readContext;
+  }
+
   private static class MockResults {
     List<Struct> structs;
 
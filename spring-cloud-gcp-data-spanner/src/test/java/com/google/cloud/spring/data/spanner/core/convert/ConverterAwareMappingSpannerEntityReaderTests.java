@@ -18,6 +18,7 @@ package com.google.cloud.spring.data.spanner.core.convert;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,6 +31,7 @@ import com.google.cloud.spanner.Type;
 import com.google.cloud.spanner.Type.StructField;
 import com.google.cloud.spanner.Value;
 import com.google.cloud.spring.data.spanner.core.convert.TestEntities.FaultyTestEntity;
+import com.google.cloud.spring.data.spanner.core.convert.TestEntities.InnerTestEntity;
 import com.google.cloud.spring.data.spanner.core.convert.TestEntities.OuterTestEntity;
 import com.google.cloud.spring.data.spanner.core.convert.TestEntities.OuterTestEntityFlat;
 import com.google.cloud.spring.data.spanner.core.convert.TestEntities.OuterTestEntityFlatFaulty;
@@ -327,16 +329,107 @@ public class ConverterAwareMappingSpannerEntityReaderTests {
   @Test
   public void ensureConstructorArgsAreReadOnce() {
     Struct row = mock(Struct.class);
-    when(row.getString("id")).thenReturn("1234");
+    when(row.getString(0)).thenReturn("1234");
     when(row.getType())
         .thenReturn(Type.struct(Arrays.asList(Type.StructField.of("id", Type.string()))));
-    when(row.getColumnType("id")).thenReturn(Type.string());
+    when(row.getColumnType(0)).thenReturn(Type.string());
 
     TestEntities.SimpleConstructorTester result =
         this.spannerEntityReader.read(TestEntities.SimpleConstructorTester.class, row);
 
     assertThat(result.id).isEqualTo("1234");
-    verify(row, times(1)).getString("id");
+    verify(row, times(1)).getString(0);
+  }
+
+  @Test
+  public void readRowsOfDifferentTypesTest() {
+    Struct first =
+        Struct.newBuilder()
+            .set("id")
+            .to(Value.string("key1"))
+            .set("custom_col")
+            .to(Value.string("string1"))
+            .set("booleanField")
+            .to(Value.bool(true))
+            .set("longField")
+            .to(Value.int64(3L))
+            .set("doubleField")
+            .to(Value.float64(3.14))
+            .build();
+    Struct second =
+        Struct.newBuilder()
+            .set("id")
+            .to(Value.string("key2"))
+            .set("custom_col")
+            .to(Value.string("string2"))
+            .set("booleanField")
+            .to(Value.bool(false))
+            .set("longField")
+            .to(Value.int64(null))
+            .set("doubleField")
+            .to(Value.float64(2.71))
+            .build();
+    // the same columns in a different order
+    Struct reordered =
+        Struct.newBuilder()
+            .set("doubleField")
+            .to(Value.float64(1.41))
+            .set("longField")
+            .to(Value.int64(5L))
+            .set("booleanField")
+            .to(Value.bool(true))
+            .set("custom_col")
+            .to(Value.string("string3"))
+            .set("id")
+            .to(Value.string("key3"))
+            .build();
+
+    TestEntities.PartialConstructor result1 =
+        this.spannerEntityReader.read(TestEntities.PartialConstructor.class, first);
+    TestEntities.PartialConstructor result2 =
+        this.spannerEntityReader.read(TestEntities.PartialConstructor.class, second);
+    TestEntities.PartialConstructor result3 =
+        this.spannerEntityReader.read(TestEntities.PartialConstructor.class, reordered);
+
+    assertThat(result1.id).isEqualTo("key1");
+    assertThat(result1.stringField).isEqualTo("string1");
+    assertThat(result1.booleanField).isTrue();
+    assertThat(result1.longField).isEqualTo(3L);
+    assertThat(result1.doubleField).isEqualTo(3.14);
+    assertThat(result2.id).isEqualTo("key2");
+    assertThat(result2.stringField).isEqualTo("string2");
+    assertThat(result2.booleanField).isFalse();
+    assertThat(result2.longField).isZero();
+    assertThat(result2.doubleField).isEqualTo(2.71);
+    assertThat(result3.id).isEqualTo("key3");
+    assertThat(result3.stringField).isEqualTo("string3");
+    assertThat(result3.booleanField).isTrue();
+    assertThat(result3.longField).isEqualTo(5L);
+    assertThat(result3.doubleField).isEqualTo(1.41);
+  }
+
+  @Test
+  public void readPlansKeptForAlternatingRowTypesTest() {
+    SpannerMappingContext mappingContext = spy(new SpannerMappingContext());
+    SpannerEntityReader reader =
+        new ConverterAwareMappingSpannerEntityReader(mappingContext, this.spannerReadConverter);
+    Struct valueOnly = Struct.newBuilder().set("value").to(Value.string("a")).build();
+    Struct allColumns =
+        Struct.newBuilder()
+            .set("value")
+            .to(Value.string("b"))
+            .set("missingColumnValue")
+            .to(Value.string("c"))
+            .build();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(reader.read(InnerTestEntity.class, valueOnly, null, true).value).isEqualTo("a");
+      assertThat(reader.read(InnerTestEntity.class, allColumns, null, true).missingColumnValue)
+          .isEqualTo("c");
+    }
+
+    // a plan is resolved once for each row type, not whenever the row type changes.
+    verify(mappingContext, times(2)).getPersistentEntityOrFail(InnerTestEntity.class);
   }
 
   @Test
@@ -375,16 +468,16 @@ public class ConverterAwareMappingSpannerEntityReaderTests {
   @Test
   public void readJsonFieldTest() {
     Struct row = mock(Struct.class);
-    when(row.getString("id")).thenReturn("1234");
+    when(row.getString(0)).thenReturn("1234");
     when(row.getType())
         .thenReturn(
             Type.struct(
                 Arrays.asList(
                     Type.StructField.of("id", Type.string()),
                     Type.StructField.of("params", Type.json()))));
-    when(row.getColumnType("id")).thenReturn(Type.string());
+    when(row.getColumnType(0)).thenReturn(Type.string());
 
-    when(row.getJson("params")).thenReturn("{\"p1\":\"address line\",\"p2\":\"5\"}");
+    when(row.getJson(1)).thenReturn("{\"p1\":\"address line\",\"p2\":\"5\"}");
 
     TestEntities.TestEntityJson result =
         this.spannerEntityReader.read(TestEntities.TestEntityJson.class, row);
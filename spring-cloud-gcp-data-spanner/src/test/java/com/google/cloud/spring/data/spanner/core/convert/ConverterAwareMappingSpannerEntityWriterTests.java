@@ -23,6 +23,8 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -365,6 +367,44 @@ public class ConverterAwareMappingSpannerEntityWriterTests {
     verify(valueBinder).to(Value.json(null));
   }
 
+  @Test
+  public void writeResolvesBindingsOncePerEntityTypeTest() {
+    SpannerWriteConverter converter = spy(new SpannerWriteConverter());
+    SpannerEntityWriter writer =
+        new ConverterAwareMappingSpannerEntityWriter(new SpannerMappingContext(), converter);
+
+    TestEntity first = new TestEntity();
+    first.id = "key1";
+    first.enumField = TestEntity.Color.WHITE;
+    first.longField = 3L;
+    TestEntity second = new TestEntity();
+    second.id = "key2";
+    second.enumField = TestEntity.Color.BLACK;
+    second.longField = 5L;
+
+    WriteBuilder firstBuilder = Mutation.newInsertBuilder("custom_test_table");
+    writer.write(first, firstBuilder::set);
+    long probes = countCanConvertInvocations(converter);
+    WriteBuilder secondBuilder = Mutation.newInsertBuilder("custom_test_table");
+    writer.write(second, secondBuilder::set);
+
+    assertThat(countCanConvertInvocations(converter)).isEqualTo(probes);
+    Map<String, Value> firstValues = firstBuilder.build().asMap();
+    Map<String, Value> secondValues = secondBuilder.build().asMap();
+    assertThat(firstValues.get("id").getString()).isEqualTo("key1");
+    assertThat(firstValues.get("custom_col").getString()).isEqualTo("WHITE");
+    assertThat(firstValues.get("longField").getString()).isEqualTo("3");
+    assertThat(secondValues.get("id").getString()).isEqualTo("key2");
+    assertThat(secondValues.get("custom_col").getString()).isEqualTo("BLACK");
+    assertThat(secondValues.get("longField").getString()).isEqualTo("5");
+  }
+
+  private static long countCanConvertInvocations(SpannerWriteConverter converter) {
+    return mockingDetails(converter).getInvocations().stream()
+        .filter(invocation -> invocation.getMethod().getName().equals("canConvert"))
+        .count();
+  }
+
   @Test
   public void writeUnsupportedTypeIterableTest() {
     this.expectedEx.expect(SpannerDataException.class);
@@ -31,6 +31,7 @@ import static org.mockito.Mockito.when;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
 import com.google.cloud.spring.data.spanner.core.SpannerTemplate;
 import com.google.cloud.spring.data.spanner.core.convert.SpannerWriteConverter;
 import com.google.cloud.spring.data.spanner.core.mapping.Column;
@@ -223,8 +224,35 @@ class SpannerQueryLookupStrategyTests {
             "SELECT other, deleted, id, custom_col, id_2, ARRAY (SELECT AS STRUCT deleted, id3, id,"
                 + " id_2 FROM child_test_table WHERE (child_test_table.id = custom_test_table.id"
                 + " AND child_test_table.id_2 = custom_test_table.id_2) AND (deleted = false)) AS"
-                + " childEntities FROM custom_test_table WHERE ((id = @tag0 AND id_2 = @tag1) OR"
-                + " (id = @tag2 AND id_2 = @tag3)) AND (deleted = false)");
+                + " childEntities FROM custom_test_table WHERE (STRUCT<id STRING, id_2 STRING>(id,"
+                + " id_2) IN UNNEST(@keys)) AND (deleted = false)");
+    List<Struct> keys = childrenRowsQuery.getParameters().get("keys").getStructArray();
+    assertThat(keys).hasSize(2);
+    assertThat(keys.get(1).getString("id")).isEqualTo("k2.1");
+    assertThat(keys.get(1).getString("id_2")).isEqualTo("k2.2");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void buildQueryKeysOfDifferentSizesTest() {
+    final SpannerPersistentEntity<TestEntity> entity =
+        (SpannerPersistentEntity<TestEntity>)
+            this.spannerMappingContext.getPersistentEntity(TestEntity.class);
+    Statement statement =
+        SpannerStatementQueryExecutor.buildQuery(
+            KeySet.newBuilder()
+                .addKey(Key.of("k1.1", "k1.2"))
+                .addKey(Key.of("k2.1"))
+                .build(),
+            entity,
+            new SpannerWriteConverter(),
+            this.spannerMappingContext,
+            null);
+
+    // keys of different sizes can't share a struct type, so they are bound one part at a time.
+    assertThat(statement.getSql())
+        .endsWith(" FROM custom_test_table WHERE (id = @tag0 AND id_2 = @tag1) OR (id = @tag2)");
+    assertThat(statement.getParameters()).hasSize(3);
   }
 
   @Table(name = "custom_test_table")
@@ -18,8 +18,10 @@ package com.google.cloud.spring.data.spanner.repository.query;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -37,12 +39,14 @@ import com.google.cloud.spring.data.spanner.core.mapping.SpannerMappingContext;
 import com.google.cloud.spring.data.spanner.core.mapping.Table;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -323,6 +327,77 @@ public class SpannerStatementQueryTests {
     verify(this.spannerTemplate, times(1)).query((Class) any(), any(), any());
   }
 
+  @Test
+  public void repeatedCallsReuseSqlTest() throws NoSuchMethodException {
+    when(this.queryMethod.getName()).thenReturn("findByPriceLessThan");
+    Method method = QueryHolder.class.getMethod("repositoryMethod5", Double.class, Pageable.class);
+    when(this.queryMethod.getQueryMethod()).thenReturn(method);
+    doReturn(new DefaultParameters(method)).when(this.queryMethod).getParameters();
+    this.partTreeSpannerQuery = spy(createQuery());
+    doReturn(Object.class).when(this.partTreeSpannerQuery).getReturnedSimpleConvertableItemType();
+    doReturn(null).when(this.partTreeSpannerQuery).convertToSimpleReturnType(any(), any());
+
+    List<Statement> statements = new ArrayList<>();
+    when(this.spannerTemplate.query((Class) any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              statements.add(invocation.getArgument(1));
+              return null;
+            });
+
+    this.partTreeSpannerQuery.execute(new Object[] {1.11, PageRequest.of(0, 5)});
+    this.partTreeSpannerQuery.execute(
+        new Object[] {2.22, PageRequest.of(2, 5, Sort.by(Order.desc("traderId")))});
+    this.partTreeSpannerQuery.execute(
+        new Object[] {3.33, PageRequest.of(1, 5, Sort.by(Order.desc("traderId")))});
+
+    String select =
+        "SELECT shares, trader_id, ticker, price, action, id, value FROM trades"
+            + " WHERE ( price<@tag0 )";
+    assertThat(statements)
+        .extracting(Statement::getSql)
+        .containsExactly(
+            select + " LIMIT 5 OFFSET 0",
+            select + " ORDER BY trader_id DESC LIMIT 5 OFFSET 10",
+            select + " ORDER BY trader_id DESC LIMIT 5 OFFSET 5");
+    assertThat(statements)
+        .extracting(statement -> statement.getParameters().get("tag0").getFloat64())
+        .containsExactly(1.11, 2.22, 3.33);
+    // the SQL is only built from the method on the first call
+    verify(this.queryMethod, times(1)).getQueryMethod();
+  }
+
+  @Test
+  public void streamTest() throws NoSuchMethodException {
+    when(this.queryMethod.getName()).thenReturn("findByPriceLessThan");
+    when(this.queryMethod.isStreamQuery()).thenReturn(true);
+    doReturn(new DefaultParameters(QueryHolder.class.getMethod("repositoryMethod7", Double.class)))
+        .when(this.queryMethod)
+        .getParameters();
+    this.partTreeSpannerQuery = spy(createQuery());
+    doReturn(null).when(this.partTreeSpannerQuery).getReturnedSimpleConvertableItemType();
+    doAnswer(invocation -> invocation.getArgument(0))
+        .when(this.partTreeSpannerQuery)
+        .processRawObjectForProjection(any());
+
+    Trade trade = new Trade();
+    when(this.spannerTemplate.queryStream((Class) any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Statement statement = invocation.getArgument(1);
+              assertThat(statement.getSql())
+                  .isEqualTo(
+                      "SELECT shares, trader_id, ticker, price, action, id, value FROM trades"
+                          + " WHERE ( price<@tag0 )");
+              return Stream.of(trade);
+            });
+
+    Stream<Object> result = (Stream<Object>) this.partTreeSpannerQuery.execute(new Object[] {8.88});
+
+    assertThat(result).containsExactly(trade);
+    verify(this.spannerTemplate, never()).query((Class) any(), any(), any());
+  }
+
   @Test
   public void unspecifiedParametersTest() throws NoSuchMethodException {
     this.expectedEx.expect(IllegalArgumentException.class);
@@ -468,5 +543,9 @@ public class SpannerStatementQueryTests {
     public long repositoryMethod6(Double tag0, Sort tag1) {
       return 0;
     }
+
+    public Stream<Trade> repositoryMethod7(Double tag0) {
+      return null;
+    }
   }
 }
@@ -22,6 +22,7 @@ import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -53,6 +54,7 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import org.assertj.core.data.Offset;
 import org.junit.Before;
@@ -535,6 +537,75 @@ public class SqlSpannerQueryTests {
     verify(this.spannerTemplate, times(1)).executeDmlStatement(any());
   }
 
+  @Test
+  public void asyncDmlTest() throws NoSuchMethodException {
+    String sql =
+        "UPDATE :com.google.cloud.spring.data.spanner.repository.query.SqlSpannerQueryTests$Trade:"
+            + " SET action = 'SELL' WHERE id = @id";
+    CompletableFuture<Long> rowsAffected = CompletableFuture.completedFuture(1L);
+    doReturn(rowsAffected).when(this.spannerTemplate).executeDmlStatementAsync(any());
+
+    Method method = QueryHolder.class.getMethod("asyncDmlMethod", String.class);
+    when(this.queryMethod.getQueryMethod()).thenReturn(method);
+    Mockito.<Parameters>when(this.queryMethod.getParameters())
+        .thenReturn(new DefaultParameters(method));
+
+    Object result = createQuery(sql, Trade.class, true).execute(new Object[] {"id1"});
+
+    assertThat(result).isSameAs(rowsAffected);
+    ArgumentCaptor<Statement> statementCaptor = ArgumentCaptor.forClass(Statement.class);
+    verify(this.spannerTemplate).executeDmlStatementAsync(statementCaptor.capture());
+    verify(this.spannerTemplate, never()).executeDmlStatement(any());
+    assertThat(statementCaptor.getValue().getSql())
+        .isEqualTo("UPDATE trades SET action = 'SELL' WHERE id = @id");
+    assertThat(statementCaptor.getValue().getParameters().get("id").getString()).isEqualTo("id1");
+  }
+
+  @Test
+  public void repeatedCallsReuseParsedSqlTest() throws NoSuchMethodException {
+    String sql =
+        "UPDATE :com.google.cloud.spring.data.spanner.repository.query.SqlSpannerQueryTests$Trade:"
+            + " SET action = #{#traderId + '_' + #id} WHERE id = @id;";
+
+    when(this.evaluationContextProvider.getEvaluationContext(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Object[] values = invocation.getArgument(1);
+              EvaluationContext evaluationContext = new StandardEvaluationContext();
+              evaluationContext.setVariable("id", values[0]);
+              evaluationContext.setVariable("traderId", values[1]);
+              return evaluationContext;
+            });
+    doReturn(1L).when(this.spannerTemplate).executeDmlStatement(any());
+
+    Method method = QueryHolder.class.getMethod("dummyMethod3", String.class, String.class);
+    when(this.queryMethod.getQueryMethod()).thenReturn(method);
+    Mockito.<Parameters>when(this.queryMethod.getParameters())
+        .thenReturn(new DefaultParameters(method));
+
+    SqlSpannerQuery sqlSpannerQuery = spy(createQuery(sql, Trade.class, true));
+    doReturn(long.class).when(sqlSpannerQuery).getReturnedSimpleConvertableItemType();
+    doReturn(null).when(sqlSpannerQuery).convertToSimpleReturnType(any(), any());
+
+    sqlSpannerQuery.execute(new Object[] {"id1", "trader1"});
+    sqlSpannerQuery.execute(new Object[] {"id2", "trader2"});
+
+    ArgumentCaptor<Statement> statementCaptor = ArgumentCaptor.forClass(Statement.class);
+    verify(this.spannerTemplate, times(2)).executeDmlStatement(statementCaptor.capture());
+    List<Statement> statements = statementCaptor.getAllValues();
+    assertThat(statements)
+        .extracting(Statement::getSql)
+        .containsOnly("UPDATE trades SET action = @SpELtag1 WHERE id = @id");
+    assertThat(statements.get(0).getParameters().get("id").getString()).isEqualTo("id1");
+    assertThat(statements.get(0).getParameters().get("SpELtag1").getString())
+        .isEqualTo("trader1_id1");
+    assertThat(statements.get(1).getParameters().get("id").getString()).isEqualTo("id2");
+    assertThat(statements.get(1).getParameters().get("SpELtag1").getString())
+        .isEqualTo("trader2_id2");
+    // the SQL and the parameter metadata are only resolved on the first call
+    verify(this.queryMethod, times(1)).getQueryMethod();
+  }
+
   @Test
   public void sqlCountWithWhereTest() throws NoSuchMethodException {
     String sql =
@@ -773,6 +844,10 @@ public class SqlSpannerQueryTests {
       return 0;
     }
 
+    public CompletableFuture<Long> asyncDmlMethod(String id) {
+      return null;
+    }
+
     public List<Child> dummyMethod4(String id, String traderId, Pageable param3) {
       return null;
     }
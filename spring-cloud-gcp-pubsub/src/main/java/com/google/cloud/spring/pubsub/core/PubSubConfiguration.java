@@ -109,6 +109,38 @@ public class PubSubConfiguration {
     return flowControl;
   }
 
+  /**
+   * Computes adaptive flow control settings to use. Each subscription-specific property takes
+   * precedence over the global one if both are set.
+   *
+   * @param subscriptionName subscription name
+   * @param projectId project id
+   * @return adaptive flow control settings
+   */
+  public AdaptiveFlowControl computeAdaptiveFlowControl(String subscriptionName, String projectId) {
+    AdaptiveFlowControl adaptiveFlowControl =
+        getSubscriber(subscriptionName, projectId).getAdaptiveFlowControl();
+    AdaptiveFlowControl globalAdaptiveFlowControl = this.globalSubscriber.getAdaptiveFlowControl();
+    AdaptiveFlowControl computed = new AdaptiveFlowControl();
+    computed.setEnabled(
+        adaptiveFlowControl.getEnabled() != null
+            ? adaptiveFlowControl.getEnabled()
+            : globalAdaptiveFlowControl.getEnabled());
+    computed.setMinOutstandingElementCount(
+        adaptiveFlowControl.getMinOutstandingElementCount() != null
+            ? adaptiveFlowControl.getMinOutstandingElementCount()
+            : globalAdaptiveFlowControl.getMinOutstandingElementCount());
+    computed.setMaxOutstandingElementCount(
+        adaptiveFlowControl.getMaxOutstandingElementCount() != null
+            ? adaptiveFlowControl.getMaxOutstandingElementCount()
+            : globalAdaptiveFlowControl.getMaxOutstandingElementCount());
+    computed.setLatencyTolerance(
+        adaptiveFlowControl.getLatencyTolerance() != null
+            ? adaptiveFlowControl.getLatencyTolerance()
+            : globalAdaptiveFlowControl.getLatencyTolerance());
+    return computed;
+  }
+
   /**
    * Computes parallel pull count. The subscription-specific property takes precedence if both
    * global and subscription-specific properties are set. If subscription-specific configuration is
@@ -234,6 +266,9 @@ public class PubSubConfiguration {
     /** Set publisher endpoint. Example: "us-east1-pubsub.googleapis.com:443". */
     private String endpoint;
 
+    /** Publisher cache properties. */
+    private final PublisherCache cache = new PublisherCache();
+
     public Batching getBatching() {
       return this.batching;
     }
@@ -265,6 +300,10 @@ public class PubSubConfiguration {
     public void setEndpoint(String endpoint) {
       this.endpoint = endpoint;
     }
+
+    public PublisherCache getCache() {
+      return this.cache;
+    }
   }
 
   /** Subscriber settings. */
@@ -273,6 +312,12 @@ public class PubSubConfiguration {
     /** Number of threads used by every subscriber. */
     private Integer executorThreads;
 
+    /**
+     * Whether to run message receivers on virtual threads instead of a thread pool. Requires Java
+     * 21 or later.
+     */
+    private Boolean virtualThreads;
+
     /** Number of threads used for batch acknowledgement. */
     private int maxAcknowledgementThreads = 4;
 
@@ -294,6 +339,12 @@ public class PubSubConfiguration {
     /** RPC status codes that should be retried when pulling messages. */
     private Code[] retryableCodes = null;
 
+    /** Acknowledgement batching settings for the subscriber template. */
+    private final AckBatching ackBatching = new AckBatching();
+
+    /** Adaptive flow control settings for subscriber factory. */
+    private final AdaptiveFlowControl adaptiveFlowControl = new AdaptiveFlowControl();
+
     public Retry getRetry() {
       return this.retry;
     }
@@ -347,6 +398,14 @@ public class PubSubConfiguration {
       this.executorThreads = executorThreads;
     }
 
+    public Boolean getVirtualThreads() {
+      return this.virtualThreads;
+    }
+
+    public void setVirtualThreads(Boolean virtualThreads) {
+      this.virtualThreads = virtualThreads;
+    }
+
     public int getMaxAcknowledgementThreads() {
       return this.maxAcknowledgementThreads;
     }
@@ -354,6 +413,14 @@ public class PubSubConfiguration {
     public void setMaxAcknowledgementThreads(int maxAcknowledgementThreads) {
       this.maxAcknowledgementThreads = maxAcknowledgementThreads;
     }
+
+    public AckBatching getAckBatching() {
+      return this.ackBatching;
+    }
+
+    public AdaptiveFlowControl getAdaptiveFlowControl() {
+      return this.adaptiveFlowControl;
+    }
   }
 
   /** Health Check settings. */
@@ -640,4 +707,163 @@ public class PubSubConfiguration {
       return this.flowControl;
     }
   }
+
+  /** Acknowledgement batching settings. */
+  public static class AckBatching {
+
+    /** Enables coalescing of acknowledgement and deadline requests across calls if true. */
+    private boolean enabled;
+
+    /** The number of ack IDs after which a pending batch is sent. */
+    private Long elementCountThreshold;
+
+    /** The size in bytes of ack IDs after which a pending batch is sent. */
+    private Long requestByteThreshold;
+
+    /**
+     * The delay threshold in milliseconds. After this amount of time has elapsed (counting from the
+     * first ack ID added), the pending batch is sent.
+     */
+    private long delayThresholdMillis = 100L;
+
+    public boolean isEnabled() {
+      return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Long getElementCountThreshold() {
+      return this.elementCountThreshold;
+    }
+
+    public void setElementCountThreshold(Long elementCountThreshold) {
+      this.elementCountThreshold = elementCountThreshold;
+    }
+
+    public Long getRequestByteThreshold() {
+      return this.requestByteThreshold;
+    }
+
+    public void setRequestByteThreshold(Long requestByteThreshold) {
+      this.requestByteThreshold = requestByteThreshold;
+    }
+
+    public long getDelayThresholdMillis() {
+      return this.delayThresholdMillis;
+    }
+
+    public void setDelayThresholdMillis(long delayThresholdMillis) {
+      this.delayThresholdMillis = delayThresholdMillis;
+    }
+  }
+
+  /** Publisher cache settings. */
+  public static class PublisherCache {
+
+    /**
+     * Maximum number of cached publishers. The least recently used publisher is shut down when
+     * exceeded. Unbounded if not set.
+     */
+    private Integer maxSize;
+
+    /** Number of seconds after which an unused publisher is shut down. Never if not set. */
+    private Long idleTimeoutSeconds;
+
+    /** Number of seconds to wait for an evicted publisher to publish its pending messages. */
+    private long shutdownTimeoutSeconds = 30L;
+
+    /** Number of seconds an evicted publisher stays usable before it is shut down. */
+    private long evictionGracePeriodSeconds = 10L;
+
+    public Integer getMaxSize() {
+      return this.maxSize;
+    }
+
+    public void setMaxSize(Integer maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    public Long getIdleTimeoutSeconds() {
+      return this.idleTimeoutSeconds;
+    }
+
+    public void setIdleTimeoutSeconds(Long idleTimeoutSeconds) {
+      this.idleTimeoutSeconds = idleTimeoutSeconds;
+    }
+
+    public long getShutdownTimeoutSeconds() {
+      return this.shutdownTimeoutSeconds;
+    }
+
+    public void setShutdownTimeoutSeconds(long shutdownTimeoutSeconds) {
+      this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+    }
+
+    public long getEvictionGracePeriodSeconds() {
+      return this.evictionGracePeriodSeconds;
+    }
+
+    public void setEvictionGracePeriodSeconds(long evictionGracePeriodSeconds) {
+      this.evictionGracePeriodSeconds = evictionGracePeriodSeconds;
+    }
+  }
+
+  /** Adaptive flow control settings. */
+  public static class AdaptiveFlowControl {
+
+    /**
+     * Tunes the number of messages processed by the receiver at once from the observed processing
+     * latency if true.
+     */
+    private Boolean enabled;
+
+    /** Lowest number of messages processed by the receiver at once. Defaults to 1. */
+    private Long minOutstandingElementCount;
+
+    /**
+     * Highest, and initial, number of messages processed by the receiver at once. Defaults to the
+     * flow control max outstanding element count, or 1000 if not set.
+     */
+    private Long maxOutstandingElementCount;
+
+    /**
+     * Ratio to the baseline processing latency above which the number of outstanding messages is
+     * reduced. Defaults to 2.
+     */
+    private Double latencyTolerance;
+
+    public Boolean getEnabled() {
+      return this.enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Long getMinOutstandingElementCount() {
+      return this.minOutstandingElementCount;
+    }
+
+    public void setMinOutstandingElementCount(Long minOutstandingElementCount) {
+      this.minOutstandingElementCount = minOutstandingElementCount;
+    }
+
+    public Long getMaxOutstandingElementCount() {
+      return this.maxOutstandingElementCount;
+    }
+
+    public void setMaxOutstandingElementCount(Long maxOutstandingElementCount) {
+      this.maxOutstandingElementCount = maxOutstandingElementCount;
+    }
+
+    public Double getLatencyTolerance() {
+      return this.latencyTolerance;
+    }
+
+    public void setLatencyTolerance(Double latencyTolerance) {
+      this.latencyTolerance = latencyTolerance;
+    }
+  }
 }
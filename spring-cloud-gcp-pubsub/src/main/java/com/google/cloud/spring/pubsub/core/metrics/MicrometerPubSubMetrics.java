@@ -0,0 +1,263 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link PubSubMetrics} recording to a Micrometer {@link MeterRegistry}.
+ *
+ * <p>Meters are tagged with the short name of the subscription or topic, and timers with an {@code
+ * outcome} of {@code success} or {@code failure}. They are registered when first needed and then
+ * looked up by subscription or topic, so that recording does not allocate.
+ *
+ * <ul>
+ *   <li>{@code gcp.pubsub.subscriber.pull}: pull request latency
+ *   <li>{@code gcp.pubsub.subscriber.received.messages}: number of received messages
+ *   <li>{@code gcp.pubsub.subscriber.received.bytes}: size of the received message payloads
+ *   <li>{@code gcp.pubsub.subscriber.conversion}: payload conversion time
+ *   <li>{@code gcp.pubsub.subscriber.handling}: application handling time
+ *   <li>{@code gcp.pubsub.subscriber.acknowledgement}: acknowledgement request latency
+ *   <li>{@code gcp.pubsub.subscriber.acknowledgement.messages}: number of acknowledged ack IDs
+ *   <li>{@code gcp.pubsub.publisher.publish}: publish latency
+ *   <li>{@code gcp.pubsub.publisher.sent.bytes}: size of the published message payloads
+ *   <li>{@code gcp.pubsub.publisher.cache.requests}: publisher cache requests, with a {@code
+ *       result} of {@code hit} or {@code miss}
+ *   <li>{@code gcp.pubsub.publisher.cache.evictions}: publishers evicted from the cache
+ * </ul>
+ *
+ * @since 3.2
+ */
+public class MicrometerPubSubMetrics implements PubSubMetrics {
+
+  private static final String METRIC_PREFIX = "gcp.pubsub.";
+
+  private static final String SUBSCRIPTION_TAG = "subscription";
+
+  private static final String TOPIC_TAG = "topic";
+
+  private static final String OUTCOME_TAG = "outcome";
+
+  private static final String RESULT_TAG = "result";
+
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, Timer[]> pullTimers = new ConcurrentHashMap<>();
+
+  private final Map<String, Counter[]> receivedCounters = new ConcurrentHashMap<>();
+
+  private final Map<String, Timer[]> conversionTimers = new ConcurrentHashMap<>();
+
+  private final Map<String, Timer[]> handlingTimers = new ConcurrentHashMap<>();
+
+  private final Map<String, Timer[]> acknowledgementTimers = new ConcurrentHashMap<>();
+
+  private final Map<String, Counter[]> acknowledgementCounters = new ConcurrentHashMap<>();
+
+  private final Map<String, Timer[]> publishTimers = new ConcurrentHashMap<>();
+
+  private final Map<String, Counter> sentBytesCounters = new ConcurrentHashMap<>();
+
+  private final Map<String, Counter[]> publisherCacheCounters = new ConcurrentHashMap<>();
+
+  public MicrometerPubSubMetrics(MeterRegistry meterRegistry) {
+    Assert.notNull(meterRegistry, "The meterRegistry can't be null.");
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void recordPull(String subscription, long durationNanos, boolean success) {
+    record(
+        outcomeTimers(this.pullTimers, "subscriber.pull", SUBSCRIPTION_TAG, subscription),
+        durationNanos,
+        success);
+  }
+
+  @Override
+  public void recordReceived(String subscription, int messageCount, long bytes) {
+    Counter[] counters = this.receivedCounters.get(subscription);
+    if (counters == null) {
+      counters =
+          this.receivedCounters.computeIfAbsent(
+              subscription,
+              key ->
+                  new Counter[] {
+                    Counter.builder(METRIC_PREFIX + "subscriber.received.messages")
+                        .tag(SUBSCRIPTION_TAG, shortName(key))
+                        .register(this.meterRegistry),
+                    Counter.builder(METRIC_PREFIX + "subscriber.received.bytes")
+                        .tag(SUBSCRIPTION_TAG, shortName(key))
+                        .baseUnit("bytes")
+                        .register(this.meterRegistry)
+                  });
+    }
+    counters[0].increment(messageCount);
+    counters[1].increment(bytes);
+  }
+
+  @Override
+  public void recordConversion(String subscription, long durationNanos, boolean success) {
+    record(
+        outcomeTimers(
+            this.conversionTimers, "subscriber.conversion", SUBSCRIPTION_TAG, subscription),
+        durationNanos,
+        success);
+  }
+
+  @Override
+  public void recordHandling(String subscription, long durationNanos, boolean success) {
+    record(
+        outcomeTimers(this.handlingTimers, "subscriber.handling", SUBSCRIPTION_TAG, subscription),
+        durationNanos,
+        success);
+  }
+
+  @Override
+  public void recordAcknowledgement(
+      String subscription, long durationNanos, int messageCount, boolean success) {
+    record(
+        outcomeTimers(
+            this.acknowledgementTimers,
+            "subscriber.acknowledgement",
+            SUBSCRIPTION_TAG,
+            subscription),
+        durationNanos,
+        success);
+
+    Counter[] counters = this.acknowledgementCounters.get(subscription);
+    if (counters == null) {
+      counters =
+          this.acknowledgementCounters.computeIfAbsent(
+              subscription,
+              key ->
+                  new Counter[] {
+                    acknowledgementCounter(key, "success"), acknowledgementCounter(key, "failure")
+                  });
+    }
+    counters[success ? 0 : 1].increment(messageCount);
+  }
+
+  @Override
+  public void recordPublish(String topic, long durationNanos, long bytes, boolean success) {
+    record(
+        outcomeTimers(this.publishTimers, "publisher.publish", TOPIC_TAG, topic),
+        durationNanos,
+        success);
+
+    Counter counter = this.sentBytesCounters.get(topic);
+    if (counter == null) {
+      counter =
+          this.sentBytesCounters.computeIfAbsent(
+              topic,
+              key ->
+                  Counter.builder(METRIC_PREFIX + "publisher.sent.bytes")
+                      .tag(TOPIC_TAG, shortName(key))
+                      .baseUnit("bytes")
+                      .register(this.meterRegistry));
+    }
+    counter.increment(bytes);
+  }
+
+  @Override
+  public void recordPublisherCacheHit(String topic) {
+    publisherCacheCounters(topic)[0].increment();
+  }
+
+  @Override
+  public void recordPublisherCacheMiss(String topic) {
+    publisherCacheCounters(topic)[1].increment();
+  }
+
+  @Override
+  public void recordPublisherCacheEviction(String topic) {
+    publisherCacheCounters(topic)[2].increment();
+  }
+
+  private Counter[] publisherCacheCounters(String topic) {
+    Counter[] counters = this.publisherCacheCounters.get(topic);
+    if (counters == null) {
+      counters =
+          this.publisherCacheCounters.computeIfAbsent(
+              topic,
+              key ->
+                  new Counter[] {
+                    publisherCacheRequestCounter(key, "hit"),
+                    publisherCacheRequestCounter(key, "miss"),
+                    Counter.builder(METRIC_PREFIX + "publisher.cache.evictions")
+                        .tag(TOPIC_TAG, shortName(key))
+                        .register(this.meterRegistry)
+                  });
+    }
+    return counters;
+  }
+
+  private Counter publisherCacheRequestCounter(String topic, String result) {
+    return Counter.builder(METRIC_PREFIX + "publisher.cache.requests")
+        .tag(TOPIC_TAG, shortName(topic))
+        .tag(RESULT_TAG, result)
+        .register(this.meterRegistry);
+  }
+
+  private Counter acknowledgementCounter(String subscription, String outcome) {
+    return Counter.builder(METRIC_PREFIX + "subscriber.acknowledgement.messages")
+        .tag(SUBSCRIPTION_TAG, shortName(subscription))
+        .tag(OUTCOME_TAG, outcome)
+        .register(this.meterRegistry);
+  }
+
+  /**
+   * Returns the success and failure timers of a subscription or topic, registering them on first
+   * use. The cache is checked before {@code computeIfAbsent} to avoid allocating the mapping
+   * function on every call.
+   */
+  private Timer[] outcomeTimers(
+      Map<String, Timer[]> cache, String name, String tagKey, String tagValue) {
+    Timer[] timers = cache.get(tagValue);
+    if (timers == null) {
+      timers =
+          cache.computeIfAbsent(
+              tagValue,
+              key ->
+                  new Timer[] {
+                    timer(name, tagKey, shortName(key), "success"),
+                    timer(name, tagKey, shortName(key), "failure")
+                  });
+    }
+    return timers;
+  }
+
+  private Timer timer(String name, String tagKey, String tagValue, String outcome) {
+    return Timer.builder(METRIC_PREFIX + name)
+        .tag(tagKey, tagValue)
+        .tag(OUTCOME_TAG, outcome)
+        .register(this.meterRegistry);
+  }
+
+  private static void record(Timer[] timers, long durationNanos, boolean success) {
+    timers[success ? 0 : 1].record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static String shortName(String name) {
+    return name.substring(name.lastIndexOf('/') + 1);
+  }
+}
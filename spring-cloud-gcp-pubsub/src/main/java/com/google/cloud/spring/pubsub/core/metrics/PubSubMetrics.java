@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.core.metrics;
+
+/**
+ * Records the throughput and latency of Pub/Sub operations, per subscription or topic.
+ *
+ * <p>Subscriptions and topics are passed as given to the instrumented components, either short or
+ * fully qualified. Implementations are called on the message path and should avoid allocating for
+ * every call. Every method does nothing by default.
+ *
+ * @see MicrometerPubSubMetrics
+ * @since 3.2
+ */
+public interface PubSubMetrics {
+
+  /** A {@link PubSubMetrics} that records nothing. */
+  PubSubMetrics NOOP = new PubSubMetrics() {};
+
+  /**
+   * Record a synchronous or asynchronous pull request.
+   *
+   * @param subscription the subscription name
+   * @param durationNanos the time from sending the request to receiving its response
+   * @param success whether the request succeeded
+   */
+  default void recordPull(String subscription, long durationNanos, boolean success) {}
+
+  /**
+   * Record received messages, whether pulled or streamed.
+   *
+   * @param subscription the subscription name
+   * @param messageCount the number of messages
+   * @param bytes the total size of the message payloads
+   */
+  default void recordReceived(String subscription, int messageCount, long bytes) {}
+
+  /**
+   * Record the conversion of a received message payload.
+   *
+   * @param subscription the subscription name
+   * @param durationNanos the time spent in the message converter
+   * @param success whether the conversion succeeded
+   */
+  default void recordConversion(String subscription, long durationNanos, boolean success) {}
+
+  /**
+   * Record the handling of received messages by the application.
+   *
+   * @param subscription the subscription name
+   * @param durationNanos the time spent handling the messages
+   * @param success whether the messages were handled successfully
+   */
+  default void recordHandling(String subscription, long durationNanos, boolean success) {}
+
+  /**
+   * Record an acknowledgement or ack deadline modification request.
+   *
+   * @param subscription the subscription name
+   * @param durationNanos the time from sending the request to receiving its response
+   * @param messageCount the number of ack IDs in the request
+   * @param success whether the request succeeded
+   */
+  default void recordAcknowledgement(
+      String subscription, long durationNanos, int messageCount, boolean success) {}
+
+  /**
+   * Record the publishing of a message.
+   *
+   * @param topic the topic name
+   * @param durationNanos the time from handing the message to the publisher to its publication
+   * @param bytes the size of the message payload
+   * @param success whether the message was published
+   */
+  default void recordPublish(String topic, long durationNanos, long bytes, boolean success) {}
+
+  /**
+   * Record a publisher request served from the publisher cache.
+   *
+   * @param topic the topic name
+   */
+  default void recordPublisherCacheHit(String topic) {}
+
+  /**
+   * Record a publisher request that created a new publisher in the publisher cache.
+   *
+   * @param topic the topic name
+   */
+  default void recordPublisherCacheMiss(String topic) {}
+
+  /**
+   * Record the eviction of a publisher from the publisher cache.
+   *
+   * @param topic the topic name
+   */
+  default void recordPublisherCacheEviction(String topic) {}
+}
@@ -0,0 +1,2 @@
+/** Metrics instrumentation for Spring Cloud GCP Pub/Sub. */
+package com.google.cloud.spring.pubsub.core.metrics;
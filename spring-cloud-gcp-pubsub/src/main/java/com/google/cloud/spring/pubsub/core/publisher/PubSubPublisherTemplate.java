@@ -21,7 +21,9 @@ import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import com.google.api.core.ApiFuture;
 import com.google.api.core.ApiFutureCallback;
 import com.google.api.core.ApiFutures;
+import com.google.cloud.pubsub.v1.Publisher;
 import com.google.cloud.spring.pubsub.core.PubSubDeliveryException;
+import com.google.cloud.spring.pubsub.core.metrics.PubSubMetrics;
 import com.google.cloud.spring.pubsub.support.PublisherFactory;
 import com.google.cloud.spring.pubsub.support.converter.PubSubMessageConverter;
 import com.google.cloud.spring.pubsub.support.converter.SimplePubSubMessageConverter;
@@ -38,6 +40,9 @@ import org.springframework.util.concurrent.SettableListenableFuture;
  *
  * <p>The main Google Cloud Pub/Sub integration component for publishing to topics.
  *
+ * <p>Publish latency and payload sizes are recorded per topic to the {@link PubSubMetrics} set with
+ * {@link #setMetrics(PubSubMetrics)}.
+ *
  * @since 1.1
  */
 public class PubSubPublisherTemplate implements PubSubPublisherOperations {
@@ -48,6 +53,8 @@ public class PubSubPublisherTemplate implements PubSubPublisherOperations {
 
   private final PublisherFactory publisherFactory;
 
+  private PubSubMetrics metrics = PubSubMetrics.NOOP;
+
   /**
    * Default {@link PubSubPublisherTemplate} constructor that uses {@link
    * SimplePubSubMessageConverter} to serialize and deserialize payloads.
@@ -71,6 +78,18 @@ public class PubSubPublisherTemplate implements PubSubPublisherOperations {
     this.pubSubMessageConverter = pubSubMessageConverter;
   }
 
+  /**
+   * Set the {@link PubSubMetrics} to record publish latency and payload sizes to. Nothing is
+   * recorded by default.
+   *
+   * @param metrics the metrics to record to
+   * @since 3.2
+   */
+  public void setMetrics(PubSubMetrics metrics) {
+    Assert.notNull(metrics, "metrics can't be null.");
+    this.metrics = metrics;
+  }
+
   /**
    * Uses the configured message converter to first convert the payload and headers to a {@code
    * PubsubMessage} and then publish it.
@@ -91,8 +110,8 @@ public class PubSubPublisherTemplate implements PubSubPublisherOperations {
     Assert.hasText(topic, "The topic can't be null or empty.");
     Assert.notNull(pubsubMessage, "The pubsubMessage can't be null.");
 
-    ApiFuture<String> publishFuture =
-        this.publisherFactory.createPublisher(topic).publish(pubsubMessage);
+    long startNanos = System.nanoTime();
+    ApiFuture<String> publishFuture = publishWithCurrentPublisher(topic, pubsubMessage);
 
     final SettableListenableFuture<String> settableFuture = new SettableListenableFuture<>();
     ApiFutures.addCallback(
@@ -101,6 +120,7 @@ public class PubSubPublisherTemplate implements PubSubPublisherOperations {
 
           @Override
           public void onFailure(Throwable throwable) {
+            recordPublish(false);
             String errorMessage = "Publishing to " + topic + " topic failed.";
             LOGGER.warn(errorMessage, throwable);
             PubSubDeliveryException pubSubDeliveryException =
@@ -110,17 +130,40 @@ public class PubSubPublisherTemplate implements PubSubPublisherOperations {
 
           @Override
           public void onSuccess(String result) {
+            recordPublish(true);
             if (LOGGER.isDebugEnabled()) {
               LOGGER.debug("Publishing to " + topic + " was successful. Message ID: " + result);
             }
             settableFuture.set(result);
           }
+
+          private void recordPublish(boolean success) {
+            metrics.recordPublish(
+                topic, System.nanoTime() - startNanos, pubsubMessage.getData().size(), success);
+          }
         },
         directExecutor());
 
     return settableFuture;
   }
 
+  /**
+   * Publishes with the publisher of the topic, requesting it again if it was shut down in the
+   * meantime, as a caching publisher factory does with the publishers it evicts.
+   */
+  private ApiFuture<String> publishWithCurrentPublisher(String topic, PubsubMessage pubsubMessage) {
+    Publisher publisher = this.publisherFactory.createPublisher(topic);
+    try {
+      return publisher.publish(pubsubMessage);
+    } catch (IllegalStateException ex) {
+      Publisher current = this.publisherFactory.createPublisher(topic);
+      if (current == publisher) {
+        throw ex;
+      }
+      return current.publish(pubsubMessage);
+    }
+  }
+
   public PublisherFactory getPublisherFactory() {
     return this.publisherFactory;
   }
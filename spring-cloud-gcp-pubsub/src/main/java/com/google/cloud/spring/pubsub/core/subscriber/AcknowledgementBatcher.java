@@ -0,0 +1,295 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.core.subscriber;
+
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.api.gax.batching.BatchingSettings;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Empty;
+import com.google.pubsub.v1.AcknowledgeRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.springframework.util.Assert;
+
+/**
+ * Coalesces acknowledgement and ack deadline modification requests for the same subscription
+ * across calls, so that messages acknowledged one at a time are sent in as few RPCs as possible.
+ *
+ * <p>A pending batch is sent when it reaches the element count threshold, the request byte
+ * threshold or when the delay threshold has elapsed since its first ack ID was added, whichever
+ * comes first. Batches never exceed {@link #MAX_ACK_IDS_PER_REQUEST} ack IDs or {@link
+ * #MAX_REQUEST_BYTES} bytes, regardless of the configured thresholds.
+ *
+ * @since 3.2
+ */
+final class AcknowledgementBatcher {
+
+  /** Maximum number of ack IDs accepted by the service in a single request. */
+  static final int MAX_ACK_IDS_PER_REQUEST = 2500;
+
+  /** Maximum size, in bytes, of the ack IDs in a single request. */
+  static final long MAX_REQUEST_BYTES = 512L * 1024L;
+
+  private static final long DEFAULT_DELAY_THRESHOLD_MILLIS = 100L;
+
+  /** Ack deadline value identifying acknowledgement, as opposed to deadline modification. */
+  private static final int ACK = -1;
+
+  private final long elementCountThreshold;
+
+  private final long requestByteThreshold;
+
+  private final long delayThresholdMillis;
+
+  private final BatchSender batchSender;
+
+  private final ScheduledExecutorService scheduler;
+
+  private final Map<BatchKey, Batch> pendingBatches = new HashMap<>();
+
+  private final Object lock = new Object();
+
+  // Set once shut down, after which ack IDs are sent right away instead of being batched.
+  private boolean shutdown;
+
+  AcknowledgementBatcher(BatchingSettings batchingSettings, BatchSender batchSender) {
+    Assert.notNull(batchingSettings, "The batchingSettings can't be null.");
+    Assert.notNull(batchSender, "The batchSender can't be null.");
+
+    this.elementCountThreshold =
+        limit(batchingSettings.getElementCountThreshold(), MAX_ACK_IDS_PER_REQUEST);
+    this.requestByteThreshold =
+        limit(batchingSettings.getRequestByteThreshold(), MAX_REQUEST_BYTES);
+    this.delayThresholdMillis =
+        batchingSettings.getDelayThreshold() != null
+            ? batchingSettings.getDelayThreshold().toMillis()
+            : DEFAULT_DELAY_THRESHOLD_MILLIS;
+    this.batchSender = batchSender;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "gcp-pubsub-ack-batcher");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  private static long limit(Long threshold, long max) {
+    return threshold != null && threshold > 0 ? Math.min(threshold, max) : max;
+  }
+
+  /**
+   * Add ack IDs to the pending acknowledgement batch of a subscription.
+   *
+   * @param subscriptionName the fully-qualified subscription name
+   * @param ackIds the ack IDs to acknowledge
+   * @return a future completing when every batch holding one of the ack IDs has been sent
+   */
+  ApiFuture<Empty> ack(String subscriptionName, List<String> ackIds) {
+    return add(new BatchKey(subscriptionName, ACK), ackIds);
+  }
+
+  /**
+   * Add ack IDs to the pending deadline modification batch of a subscription.
+   *
+   * @param subscriptionName the fully-qualified subscription name
+   * @param ackIds the ack IDs to modify the deadline of
+   * @param ackDeadlineSeconds the new ack deadline
+   * @return a future completing when every batch holding one of the ack IDs has been sent
+   */
+  ApiFuture<Empty> modifyAckDeadline(
+      String subscriptionName, List<String> ackIds, int ackDeadlineSeconds) {
+    Assert.isTrue(ackDeadlineSeconds >= 0, "The ackDeadlineSeconds must not be negative.");
+    return add(new BatchKey(subscriptionName, ackDeadlineSeconds), ackIds);
+  }
+
+  /**
+   * Send every pending batch and stop the delay threshold scheduler. Ack IDs added afterwards are
+   * sent without waiting for a batch to fill up.
+   */
+  void shutdown() {
+    List<Batch> batches;
+    synchronized (this.lock) {
+      this.shutdown = true;
+      batches = new ArrayList<>(this.pendingBatches.values());
+      this.pendingBatches.clear();
+    }
+    batches.forEach(this::send);
+    this.scheduler.shutdown();
+  }
+
+  private ApiFuture<Empty> add(BatchKey key, List<String> ackIds) {
+    Set<ApiFuture<Empty>> joinedBatches = new LinkedHashSet<>();
+    List<Batch> completeBatches = new ArrayList<>();
+
+    synchronized (this.lock) {
+      // Once shut down, the scheduler rejects delayed flushes, so the ack IDs are only split into
+      // batches that are sent right away.
+      Map<BatchKey, Batch> batches = this.shutdown ? new HashMap<>() : this.pendingBatches;
+      for (String ackId : ackIds) {
+        long ackIdBytes =
+            CodedOutputStream.computeStringSize(AcknowledgeRequest.ACK_IDS_FIELD_NUMBER, ackId);
+        Batch batch = batches.get(key);
+        if (batch != null && batch.requestBytes + ackIdBytes > this.requestByteThreshold) {
+          completeBatches.add(batches.remove(key));
+          batch = null;
+        }
+        if (batch == null) {
+          batch = new Batch(key);
+          batches.put(key, batch);
+          if (!this.shutdown) {
+            Batch scheduledBatch = batch;
+            batch.delayedFlush =
+                this.scheduler.schedule(
+                    () -> flush(scheduledBatch), this.delayThresholdMillis, TimeUnit.MILLISECONDS);
+          }
+        }
+        batch.ackIds.add(ackId);
+        batch.requestBytes += ackIdBytes;
+        joinedBatches.add(batch.result);
+        if (batch.ackIds.size() >= this.elementCountThreshold
+            || batch.requestBytes >= this.requestByteThreshold) {
+          completeBatches.add(batches.remove(key));
+        }
+      }
+      if (this.shutdown) {
+        completeBatches.addAll(batches.values());
+      }
+    }
+
+    completeBatches.forEach(this::send);
+
+    if (joinedBatches.size() == 1) {
+      return joinedBatches.iterator().next();
+    }
+    return ApiFutures.transform(
+        ApiFutures.allAsList(joinedBatches), results -> Empty.getDefaultInstance(), directExecutor());
+  }
+
+  private void flush(Batch batch) {
+    synchronized (this.lock) {
+      if (!this.pendingBatches.remove(batch.key, batch)) {
+        // Already sent because a size threshold was reached.
+        return;
+      }
+    }
+    send(batch);
+  }
+
+  private void send(Batch batch) {
+    if (batch.delayedFlush != null) {
+      batch.delayedFlush.cancel(false);
+    }
+
+    ApiFuture<Empty> sendFuture;
+    try {
+      sendFuture =
+          batch.key.ackDeadlineSeconds == ACK
+              ? this.batchSender.ack(batch.key.subscriptionName, batch.ackIds)
+              : this.batchSender.modifyAckDeadline(
+                  batch.key.subscriptionName, batch.ackIds, batch.key.ackDeadlineSeconds);
+    } catch (RuntimeException ex) {
+      batch.result.setException(ex);
+      return;
+    }
+
+    ApiFutures.addCallback(
+        sendFuture,
+        new ApiFutureCallback<Empty>() {
+          @Override
+          public void onFailure(Throwable throwable) {
+            batch.result.setException(throwable);
+          }
+
+          @Override
+          public void onSuccess(Empty empty) {
+            batch.result.set(empty);
+          }
+        },
+        directExecutor());
+  }
+
+  /** Performs the actual acknowledgement and deadline modification RPCs. */
+  interface BatchSender {
+
+    ApiFuture<Empty> ack(String subscriptionName, List<String> ackIds);
+
+    ApiFuture<Empty> modifyAckDeadline(
+        String subscriptionName, List<String> ackIds, int ackDeadlineSeconds);
+  }
+
+  private static final class BatchKey {
+
+    private final String subscriptionName;
+
+    private final int ackDeadlineSeconds;
+
+    BatchKey(String subscriptionName, int ackDeadlineSeconds) {
+      this.subscriptionName = subscriptionName;
+      this.ackDeadlineSeconds = ackDeadlineSeconds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      BatchKey that = (BatchKey) o;
+      return this.ackDeadlineSeconds == that.ackDeadlineSeconds
+          && this.subscriptionName.equals(that.subscriptionName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.subscriptionName, this.ackDeadlineSeconds);
+    }
+  }
+
+  private static final class Batch {
+
+    private final BatchKey key;
+
+    private final List<String> ackIds = new ArrayList<>();
+
+    private final SettableApiFuture<Empty> result = SettableApiFuture.create();
+
+    private long requestBytes;
+
+    private ScheduledFuture<?> delayedFlush;
+
+    Batch(BatchKey key) {
+      this.key = key;
+    }
+  }
+}
@@ -16,12 +16,16 @@
 
 package com.google.cloud.spring.pubsub.core.subscriber;
 
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
 import com.google.api.core.ApiFuture;
 import com.google.api.core.ApiFutureCallback;
 import com.google.api.core.ApiFutures;
+import com.google.api.gax.batching.BatchingSettings;
 import com.google.cloud.pubsub.v1.AckReplyConsumer;
 import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.pubsub.v1.stub.SubscriberStub;
+import com.google.cloud.spring.pubsub.core.metrics.PubSubMetrics;
 import com.google.cloud.spring.pubsub.support.AcknowledgeablePubsubMessage;
 import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
 import com.google.cloud.spring.pubsub.support.PubSubSubscriptionUtils;
@@ -69,6 +73,13 @@ import org.springframework.util.concurrent.SettableListenableFuture;
  * the asynchronous pull callback operations. By default, this is executed on the same thread that
  * executes the callback.
  *
+ * <p>Acknowledgement batching can be enabled with {@link #setAckBatchingSettings(BatchingSettings)}
+ * to coalesce the ack IDs of separate acknowledgement and deadline operations on the same
+ * subscription into fewer requests.
+ *
+ * <p>Pull and acknowledgement latency, received messages and payload conversion time are recorded
+ * per subscription to the {@link PubSubMetrics} set with {@link #setMetrics(PubSubMetrics)}.
+ *
  * @since 1.1
  */
 public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, DisposableBean {
@@ -83,6 +94,10 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
 
   private Executor asyncPullExecutor = Runnable::run;
 
+  private AcknowledgementBatcher acknowledgementBatcher;
+
+  private PubSubMetrics metrics = PubSubMetrics.NOOP;
+
   private ConcurrentHashMap<String, SubscriberStub> subscriptionNameToStubMap =
       new ConcurrentHashMap<>();
 
@@ -140,6 +155,55 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
     this.asyncPullExecutor = asyncPullExecutor;
   }
 
+  /**
+   * Enable batching of acknowledgement and deadline operations across calls. Ack IDs for the same
+   * subscription are buffered until the element count threshold, the request byte threshold or the
+   * delay threshold of the settings is reached, and then sent in a single request. Futures returned
+   * by the acknowledgement methods complete when the batches holding their messages have been
+   * sent. Batching is disabled by default, and is turned off again by settings that are not
+   * enabled.
+   *
+   * @param ackBatchingSettings the batching settings to apply to acknowledgement operations
+   * @since 3.2
+   */
+  public void setAckBatchingSettings(BatchingSettings ackBatchingSettings) {
+    Assert.notNull(ackBatchingSettings, "ackBatchingSettings can't be null.");
+    if (this.acknowledgementBatcher != null) {
+      this.acknowledgementBatcher.shutdown();
+      this.acknowledgementBatcher = null;
+    }
+    if (!Boolean.FALSE.equals(ackBatchingSettings.getIsEnabled())) {
+      this.acknowledgementBatcher =
+          new AcknowledgementBatcher(
+              ackBatchingSettings,
+              new AcknowledgementBatcher.BatchSender() {
+                @Override
+                public ApiFuture<Empty> ack(String subscriptionName, List<String> ackIds) {
+                  return PubSubSubscriberTemplate.this.ack(subscriptionName, ackIds);
+                }
+
+                @Override
+                public ApiFuture<Empty> modifyAckDeadline(
+                    String subscriptionName, List<String> ackIds, int ackDeadlineSeconds) {
+                  return PubSubSubscriberTemplate.this.modifyAckDeadline(
+                      subscriptionName, ackIds, ackDeadlineSeconds);
+                }
+              });
+    }
+  }
+
+  /**
+   * Set the {@link PubSubMetrics} to record pull and acknowledgement latency, received messages and
+   * payload conversion time to. Nothing is recorded by default.
+   *
+   * @param metrics the metrics to record to
+   * @since 3.2
+   */
+  public void setMetrics(PubSubMetrics metrics) {
+    Assert.notNull(metrics, "metrics can't be null.");
+    this.metrics = metrics;
+  }
+
   @Override
   public Subscriber subscribe(
       String subscription, Consumer<BasicAcknowledgeablePubsubMessage> messageConsumer) {
@@ -148,13 +212,15 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
     Subscriber subscriber =
         this.subscriberFactory.createSubscriber(
             subscription,
-            (message, ackReplyConsumer) ->
-                messageConsumer.accept(
-                    new PushedAcknowledgeablePubsubMessage(
-                        PubSubSubscriptionUtils.toProjectSubscriptionName(
-                            subscription, this.subscriberFactory.getProjectId()),
-                        message,
-                        ackReplyConsumer)));
+            (message, ackReplyConsumer) -> {
+              this.metrics.recordReceived(subscription, 1, message.getData().size());
+              messageConsumer.accept(
+                  new PushedAcknowledgeablePubsubMessage(
+                      PubSubSubscriptionUtils.toProjectSubscriptionName(
+                          subscription, this.subscriberFactory.getProjectId()),
+                      message,
+                      ackReplyConsumer));
+            });
     subscriber.startAsync();
     return subscriber;
   }
@@ -169,14 +235,16 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
     Subscriber subscriber =
         this.subscriberFactory.createSubscriber(
             subscription,
-            (message, ackReplyConsumer) ->
-                messageConsumer.accept(
-                    new ConvertedPushedAcknowledgeablePubsubMessage<>(
-                        PubSubSubscriptionUtils.toProjectSubscriptionName(
-                            subscription, this.subscriberFactory.getProjectId()),
-                        message,
-                        this.getMessageConverter().fromPubSubMessage(message, payloadType),
-                        ackReplyConsumer)));
+            (message, ackReplyConsumer) -> {
+              this.metrics.recordReceived(subscription, 1, message.getData().size());
+              messageConsumer.accept(
+                  new ConvertedPushedAcknowledgeablePubsubMessage<>(
+                      PubSubSubscriptionUtils.toProjectSubscriptionName(
+                          subscription, this.subscriberFactory.getProjectId()),
+                      message,
+                      convert(subscription, message, payloadType),
+                      ackReplyConsumer));
+            });
     subscriber.startAsync();
     return subscriber;
   }
@@ -190,8 +258,16 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
    */
   private List<AcknowledgeablePubsubMessage> pull(PullRequest pullRequest) {
     Assert.notNull(pullRequest, "The pull request can't be null.");
-    PullResponse pullResponse =
-        getSubscriberStub(pullRequest.getSubscription()).pullCallable().call(pullRequest);
+    long startNanos = System.nanoTime();
+    PullResponse pullResponse;
+    try {
+      pullResponse =
+          getSubscriberStub(pullRequest.getSubscription()).pullCallable().call(pullRequest);
+    } catch (RuntimeException ex) {
+      this.metrics.recordPull(pullRequest.getSubscription(), System.nanoTime() - startNanos, false);
+      throw ex;
+    }
+    this.metrics.recordPull(pullRequest.getSubscription(), System.nanoTime() - startNanos, true);
     return toAcknowledgeablePubsubMessageList(
         pullResponse.getReceivedMessagesList(), pullRequest.getSubscription());
   }
@@ -205,6 +281,8 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
    */
   private ListenableFuture<List<AcknowledgeablePubsubMessage>> pullAsync(PullRequest pullRequest) {
     Assert.notNull(pullRequest, "The pull request can't be null.");
+    String subscription = pullRequest.getSubscription();
+    long startNanos = System.nanoTime();
     ApiFuture<PullResponse> pullFuture =
         getSubscriberStub(pullRequest.getSubscription()).pullCallable().futureCall(pullRequest);
 
@@ -216,11 +294,13 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
 
           @Override
           public void onFailure(Throwable throwable) {
+            metrics.recordPull(subscription, System.nanoTime() - startNanos, false);
             settableFuture.setException(throwable);
           }
 
           @Override
           public void onSuccess(PullResponse pullResponse) {
+            metrics.recordPull(subscription, System.nanoTime() - startNanos, true);
             List<AcknowledgeablePubsubMessage> result =
                 toAcknowledgeablePubsubMessageList(
                     pullResponse.getReceivedMessagesList(), pullRequest.getSubscription());
@@ -235,6 +315,13 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
 
   private List<AcknowledgeablePubsubMessage> toAcknowledgeablePubsubMessageList(
       List<ReceivedMessage> messages, String subscriptionId) {
+    if (!messages.isEmpty()) {
+      long bytes = 0;
+      for (ReceivedMessage message : messages) {
+        bytes += message.getMessage().getData().size();
+      }
+      this.metrics.recordReceived(subscriptionId, messages.size(), bytes);
+    }
     return messages.stream()
         .map(
             message ->
@@ -263,10 +350,12 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
   @Override
   public <T> List<ConvertedAcknowledgeablePubsubMessage<T>> pullAndConvert(
       String subscription, Integer maxMessages, Boolean returnImmediately, Class<T> payloadType) {
-    List<AcknowledgeablePubsubMessage> ackableMessages =
-        this.pull(subscription, maxMessages, returnImmediately);
+    PullRequest pullRequest =
+        this.subscriberFactory.createPullRequest(subscription, maxMessages, returnImmediately);
+    List<AcknowledgeablePubsubMessage> ackableMessages = this.pull(pullRequest);
 
-    return this.toConvertedAcknowledgeablePubsubMessages(payloadType, ackableMessages);
+    return this.toConvertedAcknowledgeablePubsubMessages(
+        pullRequest.getSubscription(), payloadType, ackableMessages);
   }
 
   @Override
@@ -275,11 +364,14 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
     final SettableListenableFuture<List<ConvertedAcknowledgeablePubsubMessage<T>>> settableFuture =
         new SettableListenableFuture<>();
 
-    this.pullAsync(subscription, maxMessages, returnImmediately)
+    PullRequest pullRequest =
+        this.subscriberFactory.createPullRequest(subscription, maxMessages, returnImmediately);
+    this.pullAsync(pullRequest)
         .addCallback(
             ackableMessages ->
                 settableFuture.set(
-                    this.toConvertedAcknowledgeablePubsubMessages(payloadType, ackableMessages)),
+                    this.toConvertedAcknowledgeablePubsubMessages(
+                        pullRequest.getSubscription(), payloadType, ackableMessages)),
             settableFuture::setException);
 
     return settableFuture;
@@ -287,17 +379,29 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
 
   private <T>
       List<ConvertedAcknowledgeablePubsubMessage<T>> toConvertedAcknowledgeablePubsubMessages(
-          Class<T> payloadType, List<AcknowledgeablePubsubMessage> ackableMessages) {
+          String subscription,
+          Class<T> payloadType,
+          List<AcknowledgeablePubsubMessage> ackableMessages) {
     return ackableMessages.stream()
         .map(
             m ->
                 new ConvertedPulledAcknowledgeablePubsubMessage<>(
-                    m,
-                    this.pubSubMessageConverter.fromPubSubMessage(
-                        m.getPubsubMessage(), payloadType)))
+                    m, convert(subscription, m.getPubsubMessage(), payloadType)))
         .collect(Collectors.toList());
   }
 
+  private <T> T convert(String subscription, PubsubMessage message, Class<T> payloadType) {
+    long startNanos = System.nanoTime();
+    boolean success = false;
+    try {
+      T payload = this.pubSubMessageConverter.fromPubSubMessage(message, payloadType);
+      success = true;
+      return payload;
+    } finally {
+      this.metrics.recordConversion(subscription, System.nanoTime() - startNanos, success);
+    }
+  }
+
   @Override
   public List<PubsubMessage> pullAndAck(
       String subscription, Integer maxMessages, Boolean returnImmediately) {
@@ -382,7 +486,9 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
     Assert.notEmpty(
         acknowledgeablePubsubMessages, "The acknowledgeablePubsubMessages can't be empty.");
 
-    return doBatchedAsyncOperation(acknowledgeablePubsubMessages, this::ack);
+    AcknowledgementBatcher batcher = this.acknowledgementBatcher;
+    return doBatchedAsyncOperation(
+        acknowledgeablePubsubMessages, batcher != null ? batcher::ack : this::ack);
   }
 
   /**
@@ -415,15 +521,24 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
         acknowledgeablePubsubMessages, "The acknowledgeablePubsubMessages can't be empty.");
     Assert.isTrue(ackDeadlineSeconds >= 0, "The ackDeadlineSeconds must not be negative.");
 
+    AcknowledgementBatcher batcher = this.acknowledgementBatcher;
     return doBatchedAsyncOperation(
         acknowledgeablePubsubMessages,
         (String subscriptionName, List<String> ackIds) ->
-            modifyAckDeadline(subscriptionName, ackIds, ackDeadlineSeconds));
+            batcher != null
+                ? batcher.modifyAckDeadline(subscriptionName, ackIds, ackDeadlineSeconds)
+                : modifyAckDeadline(subscriptionName, ackIds, ackDeadlineSeconds));
   }
 
-  /** Destroys the default executor, regardless of whether it was used. */
+  /**
+   * Sends pending acknowledgement batches and destroys the default executor, regardless of whether
+   * it was used.
+   */
   @Override
   public void destroy() {
+    if (this.acknowledgementBatcher != null) {
+      this.acknowledgementBatcher.shutdown();
+    }
     this.defaultAckExecutor.shutdown();
     for (SubscriberStub stub : subscriptionNameToStubMap.values()) {
       stub.close();
@@ -437,7 +552,10 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
             .setSubscription(subscriptionName)
             .build();
     SubscriberStub subscriberStub = getSubscriberStub(subscriptionName);
-    return subscriberStub.acknowledgeCallable().futureCall(acknowledgeRequest);
+    long startNanos = System.nanoTime();
+    ApiFuture<Empty> ackFuture =
+        subscriberStub.acknowledgeCallable().futureCall(acknowledgeRequest);
+    return recordAcknowledgement(subscriptionName, ackIds.size(), startNanos, ackFuture);
   }
 
   private ApiFuture<Empty> modifyAckDeadline(
@@ -449,7 +567,35 @@ public class PubSubSubscriberTemplate implements PubSubSubscriberOperations, Dis
             .setSubscription(subscriptionName)
             .build();
     SubscriberStub subscriberStub = getSubscriberStub(subscriptionName);
-    return subscriberStub.modifyAckDeadlineCallable().futureCall(modifyAckDeadlineRequest);
+    long startNanos = System.nanoTime();
+    ApiFuture<Empty> modifyAckDeadlineFuture =
+        subscriberStub.modifyAckDeadlineCallable().futureCall(modifyAckDeadlineRequest);
+    return recordAcknowledgement(
+        subscriptionName, ackIds.size(), startNanos, modifyAckDeadlineFuture);
+  }
+
+  private ApiFuture<Empty> recordAcknowledgement(
+      String subscriptionName, int messageCount, long startNanos, ApiFuture<Empty> future) {
+    if (this.metrics == PubSubMetrics.NOOP) {
+      return future;
+    }
+    ApiFutures.addCallback(
+        future,
+        new ApiFutureCallback<Empty>() {
+          @Override
+          public void onFailure(Throwable throwable) {
+            metrics.recordAcknowledgement(
+                subscriptionName, System.nanoTime() - startNanos, messageCount, false);
+          }
+
+          @Override
+          public void onSuccess(Empty empty) {
+            metrics.recordAcknowledgement(
+                subscriptionName, System.nanoTime() - startNanos, messageCount, true);
+          }
+        },
+        directExecutor());
+    return future;
   }
 
   /**
@@ -17,9 +17,15 @@
 package com.google.cloud.spring.pubsub.integration;
 
 import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import org.springframework.integration.history.MessageHistory;
 import org.springframework.integration.mapping.HeaderMapper;
 import org.springframework.integration.support.utils.PatternMatchUtils;
@@ -55,6 +61,9 @@ public class PubSubHeaderMapper implements HeaderMapper<Map<String, String>> {
   /** Patterns of headers to map in {@link #toHeaders(Map)}. First patterns take precedence. */
   private String[] inboundHeaderPatterns = {"*"};
 
+  /** Whether the inbound patterns map every header, so that no filtering is needed. */
+  private boolean mapAllInboundHeaders = true;
+
   /**
    * Set the patterns of the headers to be mapped in {@link #fromHeaders(MessageHeaders, Map)}.
    * First patterns take precedence.
@@ -78,6 +87,8 @@ public class PubSubHeaderMapper implements HeaderMapper<Map<String, String>> {
     Assert.notNull(inboundHeaderPatterns, "Header patterns can't be null.");
     Assert.noNullElements(inboundHeaderPatterns, "No header pattern can be null.");
     this.inboundHeaderPatterns = Arrays.copyOf(inboundHeaderPatterns, inboundHeaderPatterns.length);
+    this.mapAllInboundHeaders =
+        inboundHeaderPatterns.length > 0 && "*".equals(inboundHeaderPatterns[0]);
   }
 
   /**
@@ -108,14 +119,118 @@ public class PubSubHeaderMapper implements HeaderMapper<Map<String, String>> {
    *
    * @param pubsubMessageHeaders headers in {@link com.google.pubsub.v1.PubsubMessage} format
    * @return a map with headers in the {@link org.springframework.messaging.Message} format
+   * @see #toHeadersView(Map)
    */
   @Override
   public Map<String, Object> toHeaders(Map<String, String> pubsubMessageHeaders) {
-    return pubsubMessageHeaders.entrySet().stream()
-        .filter(
-            entry ->
-                Boolean.TRUE.equals(
-                    PatternMatchUtils.smartMatch(entry.getKey(), this.inboundHeaderPatterns)))
-        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    return new HashMap<>(toHeadersView(pubsubMessageHeaders));
+  }
+
+  /**
+   * Generate headers in {@link org.springframework.messaging.Message} format from {@code
+   * Map<String, String>} without copying them.
+   *
+   * <p>Will map only the headers that match the patterns in {@code inboundHeaderPatternsMap}.
+   * Unlike {@link #toHeaders(Map)}, the returned map is a read-only view of {@code
+   * pubsubMessageHeaders}, and patterns are only evaluated for the headers that are actually
+   * accessed. When all headers are mapped, the view is returned without any filtering.
+   *
+   * @param pubsubMessageHeaders headers in {@link com.google.pubsub.v1.PubsubMessage} format
+   * @return a read-only view with headers in the {@link org.springframework.messaging.Message}
+   *     format
+   * @since 3.2
+   */
+  public Map<String, Object> toHeadersView(Map<String, String> pubsubMessageHeaders) {
+    if (this.mapAllInboundHeaders) {
+      return Collections.unmodifiableMap(pubsubMessageHeaders);
+    }
+    return new FilteredHeaders(pubsubMessageHeaders, this.inboundHeaderPatterns);
+  }
+
+  /** A read-only view of the headers whose names match a set of patterns. */
+  private static final class FilteredHeaders extends AbstractMap<String, Object> {
+
+    private final Map<String, String> headers;
+
+    private final String[] patterns;
+
+    private Set<Entry<String, Object>> entrySet;
+
+    FilteredHeaders(Map<String, String> headers, String[] patterns) {
+      this.headers = headers;
+      this.patterns = patterns;
+    }
+
+    private boolean isMapped(Object name) {
+      return name instanceof String
+          && Boolean.TRUE.equals(PatternMatchUtils.smartMatch((String) name, this.patterns));
+    }
+
+    @Override
+    public Object get(Object name) {
+      return isMapped(name) ? this.headers.get(name) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+      return isMapped(name) && this.headers.containsKey(name);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      if (this.entrySet == null) {
+        this.entrySet =
+            new AbstractSet<Entry<String, Object>>() {
+              @Override
+              public Iterator<Entry<String, Object>> iterator() {
+                return new FilteringIterator(FilteredHeaders.this.headers.entrySet().iterator());
+              }
+
+              @Override
+              public int size() {
+                int size = 0;
+                for (String name : FilteredHeaders.this.headers.keySet()) {
+                  if (isMapped(name)) {
+                    size++;
+                  }
+                }
+                return size;
+              }
+            };
+      }
+      return this.entrySet;
+    }
+
+    private final class FilteringIterator implements Iterator<Entry<String, Object>> {
+
+      private final Iterator<Entry<String, String>> delegate;
+
+      private Entry<String, String> next;
+
+      FilteringIterator(Iterator<Entry<String, String>> delegate) {
+        this.delegate = delegate;
+      }
+
+      @Override
+      public boolean hasNext() {
+        while (this.next == null && this.delegate.hasNext()) {
+          Entry<String, String> candidate = this.delegate.next();
+          if (isMapped(candidate.getKey())) {
+            this.next = candidate;
+          }
+        }
+        return this.next != null;
+      }
+
+      @Override
+      public Entry<String, Object> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Entry<String, String> entry = this.next;
+        this.next = null;
+        return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue());
+      }
+    }
   }
 }
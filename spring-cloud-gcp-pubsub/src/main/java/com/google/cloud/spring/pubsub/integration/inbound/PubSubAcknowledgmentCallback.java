@@ -16,6 +16,7 @@
 
 package com.google.cloud.spring.pubsub.integration.inbound;
 
+import com.google.cloud.spring.pubsub.core.metrics.PubSubMetrics;
 import com.google.cloud.spring.pubsub.integration.AckMode;
 import com.google.cloud.spring.pubsub.support.AcknowledgeablePubsubMessage;
 import org.springframework.integration.acks.AcknowledgmentCallback;
@@ -38,6 +39,12 @@ public class PubSubAcknowledgmentCallback implements AcknowledgmentCallback {
 
   private final AckMode ackMode;
 
+  private final PubSubMetrics metrics;
+
+  private final String subscriptionName;
+
+  private final long startNanos;
+
   private boolean acknowledged;
 
   /**
@@ -47,10 +54,30 @@ public class PubSubAcknowledgmentCallback implements AcknowledgmentCallback {
    * @param ackMode whether to ack and/or nack automatically
    */
   public PubSubAcknowledgmentCallback(AcknowledgeablePubsubMessage message, AckMode ackMode) {
+    this(message, ackMode, PubSubMetrics.NOOP, null);
+  }
+
+  /**
+   * Instantiates a callback recording the time until the message is acknowledged as its handling
+   * time.
+   *
+   * @param message message to acknowledge
+   * @param ackMode whether to ack and/or nack automatically
+   * @param metrics the metrics to record the handling time to
+   * @param subscriptionName the subscription name to record the handling time for
+   */
+  PubSubAcknowledgmentCallback(
+      AcknowledgeablePubsubMessage message,
+      AckMode ackMode,
+      PubSubMetrics metrics,
+      String subscriptionName) {
     Assert.notNull(message, "message to be acknowledged cannot be null");
     Assert.notNull(ackMode, "ackMode cannot be null");
     this.message = message;
     this.ackMode = ackMode;
+    this.metrics = metrics;
+    this.subscriptionName = subscriptionName;
+    this.startNanos = System.nanoTime();
   }
 
   /**
@@ -61,6 +88,12 @@ public class PubSubAcknowledgmentCallback implements AcknowledgmentCallback {
    */
   @Override
   public void acknowledge(Status status) {
+    if (!this.acknowledged) {
+      this.metrics.recordHandling(
+          this.subscriptionName,
+          System.nanoTime() - this.startNanos,
+          status == AcknowledgmentCallback.Status.ACCEPT);
+    }
     if (status == AcknowledgmentCallback.Status.ACCEPT) {
       this.message.ack();
     } else if (this.ackMode == AckMode.MANUAL || this.ackMode == AckMode.AUTO) {
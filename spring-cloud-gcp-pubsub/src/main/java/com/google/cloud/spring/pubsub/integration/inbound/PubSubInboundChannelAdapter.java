@@ -18,13 +18,21 @@ package com.google.cloud.spring.pubsub.integration.inbound;
 
 import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.spring.pubsub.core.health.HealthTrackerRegistry;
+import com.google.cloud.spring.pubsub.core.metrics.PubSubMetrics;
 import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberOperations;
 import com.google.cloud.spring.pubsub.integration.AckMode;
 import com.google.cloud.spring.pubsub.integration.PubSubHeaderMapper;
 import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
 import com.google.cloud.spring.pubsub.support.converter.ConvertedBasicAcknowledgeablePubsubMessage;
 import com.google.pubsub.v1.ProjectSubscriptionName;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.integration.endpoint.MessageProducerSupport;
@@ -34,11 +42,23 @@ import org.springframework.util.Assert;
 /**
  * Converts from GCP Pub/Sub message to Spring message and sends the Spring message to the attached
  * channels.
+ *
+ * <p>When a batch size greater than 1 is set, received messages are accumulated and sent as a
+ * single Spring message with a {@link List} payload once the batch is full or the batch timeout
+ * has elapsed since its first message was received. The headers of each Pub/Sub message are
+ * available, in payload order, in the {@link GcpPubSubHeaders#BATCH_CONVERTED_HEADERS} header.
+ * Stopping the adapter waits for the subscriber to terminate, which takes until the pending batches
+ * are sent and acknowledged, before sending the last pending batch.
+ *
+ * <p>The time spent sending each message or batch downstream is recorded to the {@link
+ * PubSubMetrics} set with {@link #setMetrics(PubSubMetrics)}.
  */
 public class PubSubInboundChannelAdapter extends MessageProducerSupport {
 
   private static final Log LOGGER = LogFactory.getLog(PubSubInboundChannelAdapter.class);
 
+  private static final long SUBSCRIBER_STOP_TIMEOUT_MILLIS = 10000L;
+
   private final String subscriptionName;
 
   private final PubSubSubscriberOperations pubSubSubscriberOperations;
@@ -53,6 +73,18 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
 
   private HealthTrackerRegistry healthTrackerRegistry;
 
+  private PubSubMetrics metrics = PubSubMetrics.NOOP;
+
+  private int batchSize = 1;
+
+  private long batchTimeout = 1000L;
+
+  private final Object batchMonitor = new Object();
+
+  private List<ConvertedBasicAcknowledgeablePubsubMessage<?>> pendingBatch = new ArrayList<>();
+
+  private ScheduledFuture<?> pendingBatchTimeout;
+
   /**
    * Instantiates a streaming Pub/Sub subscirtion adapter.
    *
@@ -80,6 +112,18 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
     this.healthTrackerRegistry = healthTrackerRegistry;
   }
 
+  /**
+   * Set the {@link PubSubMetrics} to record the time spent sending messages downstream to. Nothing
+   * is recorded by default.
+   *
+   * @param metrics the metrics to record to
+   * @since 3.2
+   */
+  public void setMetrics(PubSubMetrics metrics) {
+    Assert.notNull(metrics, "The metrics can't be null.");
+    this.metrics = metrics;
+  }
+
   public Class<?> getPayloadType() {
     return this.payloadType;
   }
@@ -110,6 +154,38 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
     this.headerMapper = headerMapper;
   }
 
+  public int getBatchSize() {
+    return this.batchSize;
+  }
+
+  /**
+   * Set the maximum number of Pub/Sub messages to send downstream as a single Spring message with a
+   * {@link List} payload. The default batch size of 1 sends every Pub/Sub message on its own.
+   *
+   * @param batchSize the maximum number of messages per batch
+   * @since 3.2
+   */
+  public void setBatchSize(int batchSize) {
+    Assert.isTrue(batchSize > 0, "The batch size must be greater than 0.");
+    this.batchSize = batchSize;
+  }
+
+  public long getBatchTimeout() {
+    return this.batchTimeout;
+  }
+
+  /**
+   * Set the time in milliseconds after which a batch that is not full is sent, counting from its
+   * first message. Only used when the batch size is greater than 1. Defaults to 1000 ms.
+   *
+   * @param batchTimeout the batch timeout in milliseconds
+   * @since 3.2
+   */
+  public void setBatchTimeout(long batchTimeout) {
+    Assert.isTrue(batchTimeout > 0, "The batch timeout must be greater than 0.");
+    this.batchTimeout = batchTimeout;
+  }
+
   @Override
   protected void doStart() {
     super.doStart();
@@ -118,7 +194,9 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
 
     this.subscriber =
         this.pubSubSubscriberOperations.subscribeAndConvert(
-            this.subscriptionName, this::consumeMessage, this.payloadType);
+            this.subscriptionName,
+            this.batchSize > 1 ? this::addToBatch : this::consumeMessage,
+            this.payloadType);
 
     addListeners();
   }
@@ -127,25 +205,47 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
   protected void doStop() {
     if (this.subscriber != null) {
       this.subscriber.stopAsync();
+      if (this.batchSize > 1) {
+        awaitSubscriberTerminated();
+      }
     }
+    List<ConvertedBasicAcknowledgeablePubsubMessage<?>> batch;
+    synchronized (this.batchMonitor) {
+      batch = this.pendingBatch;
+    }
+    sendPendingBatch(batch);
 
     super.doStop();
   }
 
-  private void consumeMessage(ConvertedBasicAcknowledgeablePubsubMessage<?> message) {
-    Map<String, Object> messageHeaders =
-        this.headerMapper.toHeaders(message.getPubsubMessage().getAttributesMap());
+  private void awaitSubscriberTerminated() {
+    // Messages keep being delivered until the subscriber terminates, which waits for the pending
+    // batches to be sent on timeout and acknowledged.
+    try {
+      this.subscriber.awaitTerminated(
+          this.batchTimeout + SUBSCRIBER_STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      LOGGER.warn(
+          "Subscriber to " + this.subscriptionName + " did not terminate; sending pending batch.");
+    } catch (IllegalStateException ex) {
+      // The subscriber failed, and won't deliver any more messages.
+    }
+  }
 
-    // Send the original message downstream so that the user can decide on when to
-    // ack/nack, or just have access to the original message for any other reason.
-    messageHeaders.put(GcpPubSubHeaders.ORIGINAL_MESSAGE, message);
+  private void consumeMessage(ConvertedBasicAcknowledgeablePubsubMessage<?> message) {
+    Map<String, Object> messageHeaders = mapHeaders(message.getPubsubMessage().getAttributesMap());
 
+    long startNanos = System.nanoTime();
     try {
       sendMessage(
           getMessageBuilderFactory()
               .withPayload(message.getPayload())
               .copyHeaders(messageHeaders)
+              // Send the original message downstream so that the user can decide on when to
+              // ack/nack, or just have access to the original message for any other reason.
+              .setHeader(GcpPubSubHeaders.ORIGINAL_MESSAGE, message)
               .build());
+      recordHandling(startNanos, true);
 
       processedMessage(message.getProjectSubscriptionName());
 
@@ -153,6 +253,7 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
         message.ack();
       }
     } catch (RuntimeException re) {
+      recordHandling(startNanos, false);
       if (this.ackMode == AckMode.AUTO) {
         message.nack();
         LOGGER.warn(
@@ -170,6 +271,100 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
     }
   }
 
+  private void addToBatch(ConvertedBasicAcknowledgeablePubsubMessage<?> message) {
+    List<ConvertedBasicAcknowledgeablePubsubMessage<?>> fullBatch = null;
+
+    synchronized (this.batchMonitor) {
+      List<ConvertedBasicAcknowledgeablePubsubMessage<?>> batch = this.pendingBatch;
+      batch.add(message);
+      if (batch.size() >= this.batchSize) {
+        fullBatch = takePendingBatch();
+      } else if (batch.size() == 1) {
+        this.pendingBatchTimeout =
+            getTaskScheduler()
+                .schedule(
+                    () -> sendPendingBatch(batch),
+                    new Date(System.currentTimeMillis() + this.batchTimeout));
+      }
+    }
+
+    if (fullBatch != null) {
+      consumeBatch(fullBatch);
+    }
+  }
+
+  /**
+   * Send the given batch if it is still pending, so that a timeout firing as its batch fills up
+   * does not send the next batch early.
+   */
+  private void sendPendingBatch(List<ConvertedBasicAcknowledgeablePubsubMessage<?>> batch) {
+    synchronized (this.batchMonitor) {
+      if (batch != this.pendingBatch || batch.isEmpty()) {
+        return;
+      }
+      takePendingBatch();
+    }
+    consumeBatch(batch);
+  }
+
+  private List<ConvertedBasicAcknowledgeablePubsubMessage<?>> takePendingBatch() {
+    if (this.pendingBatchTimeout != null) {
+      this.pendingBatchTimeout.cancel(false);
+      this.pendingBatchTimeout = null;
+    }
+    List<ConvertedBasicAcknowledgeablePubsubMessage<?>> batch = this.pendingBatch;
+    this.pendingBatch = new ArrayList<>(this.batchSize);
+    return batch;
+  }
+
+  private void consumeBatch(List<ConvertedBasicAcknowledgeablePubsubMessage<?>> batch) {
+    List<Object> payloads = new ArrayList<>(batch.size());
+    List<Map<String, Object>> batchHeaders = new ArrayList<>(batch.size());
+    for (ConvertedBasicAcknowledgeablePubsubMessage<?> message : batch) {
+      Map<String, Object> messageHeaders =
+          new HashMap<>(mapHeaders(message.getPubsubMessage().getAttributesMap()));
+      messageHeaders.put(GcpPubSubHeaders.ORIGINAL_MESSAGE, message);
+      payloads.add(message.getPayload());
+      batchHeaders.add(messageHeaders);
+    }
+
+    long startNanos = System.nanoTime();
+    try {
+      sendMessage(
+          getMessageBuilderFactory()
+              .withPayload(payloads)
+              .setHeader(GcpPubSubHeaders.BATCH_CONVERTED_HEADERS, batchHeaders)
+              .build());
+      recordHandling(startNanos, true);
+
+      processedMessage(batch.get(0).getProjectSubscriptionName());
+
+      if (this.ackMode == AckMode.AUTO_ACK || this.ackMode == AckMode.AUTO) {
+        batch.forEach(ConvertedBasicAcknowledgeablePubsubMessage::ack);
+      }
+    } catch (RuntimeException re) {
+      recordHandling(startNanos, false);
+      if (this.ackMode == AckMode.AUTO) {
+        batch.forEach(ConvertedBasicAcknowledgeablePubsubMessage::nack);
+        LOGGER.warn(
+            "Sending Spring message batch of "
+                + batch.size()
+                + " messages failed; messages nacked automatically.",
+            re);
+      } else {
+        LOGGER.warn(
+            "Sending Spring message batch of "
+                + batch.size()
+                + " messages failed; messages neither acked nor nacked.",
+            re);
+      }
+    }
+  }
+
+  private void recordHandling(long startNanos, boolean success) {
+    this.metrics.recordHandling(this.subscriptionName, System.nanoTime() - startNanos, success);
+  }
+
   private void addToHealthRegistry() {
     if (healthCheckEnabled()) {
       healthTrackerRegistry.registerTracker(subscriptionName);
@@ -191,4 +386,11 @@ public class PubSubInboundChannelAdapter extends MessageProducerSupport {
   public boolean healthCheckEnabled() {
     return healthTrackerRegistry != null;
   }
+
+  private Map<String, Object> mapHeaders(Map<String, String> attributes) {
+    // A view spares a copy of the attributes, which the message builder copies anyway.
+    return (this.headerMapper instanceof PubSubHeaderMapper)
+        ? ((PubSubHeaderMapper) this.headerMapper).toHeadersView(attributes)
+        : this.headerMapper.toHeaders(attributes);
+  }
 }
@@ -16,6 +16,7 @@
 
 package com.google.cloud.spring.pubsub.integration.inbound;
 
+import com.google.cloud.spring.pubsub.core.metrics.PubSubMetrics;
 import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberOperations;
 import com.google.cloud.spring.pubsub.integration.AckMode;
 import com.google.cloud.spring.pubsub.integration.PubSubHeaderMapper;
@@ -36,6 +37,9 @@ import org.springframework.util.Assert;
  * A <a href="https://cloud.google.com/pubsub/docs/pull#pubsub-pull-messages-sync-java">PubSub
  * Synchronous pull</a> implementation of {@link AbstractMessageSource}.
  *
+ * <p>The time from polling each message to its acknowledgement is recorded as its handling time to
+ * the {@link PubSubMetrics} set with {@link #setMetrics(PubSubMetrics)}.
+ *
  * @since 1.2
  */
 public class PubSubMessageSource extends AbstractFetchLimitingMessageSource<Object> {
@@ -52,6 +56,8 @@ public class PubSubMessageSource extends AbstractFetchLimitingMessageSource<Obje
 
   private boolean blockOnPull;
 
+  private PubSubMetrics metrics = PubSubMetrics.NOOP;
+
   private final ArrayDeque<ConvertedAcknowledgeablePubsubMessage<?>> cachedMessages =
       new ArrayDeque<>();
 
@@ -84,6 +90,18 @@ public class PubSubMessageSource extends AbstractFetchLimitingMessageSource<Obje
     this.headerMapper = headerMapper;
   }
 
+  /**
+   * Set the {@link PubSubMetrics} to record the time from polling messages to their acknowledgement
+   * to. Nothing is recorded by default.
+   *
+   * @param metrics the metrics to record to
+   * @since 3.2
+   */
+  public void setMetrics(PubSubMetrics metrics) {
+    Assert.notNull(metrics, "The metrics can't be null.");
+    this.metrics = metrics;
+  }
+
   /**
    * Instructs synchronous pull to wait until at least one message is available.
    *
@@ -143,14 +161,22 @@ public class PubSubMessageSource extends AbstractFetchLimitingMessageSource<Obje
       return null;
     }
 
-    Map<String, Object> messageHeaders =
-        this.headerMapper.toHeaders(message.getPubsubMessage().getAttributesMap());
+    Map<String, Object> messageHeaders = mapHeaders(message.getPubsubMessage().getAttributesMap());
 
-    messageHeaders.put(GcpPubSubHeaders.ORIGINAL_MESSAGE, message);
-    messageHeaders.put(
-        IntegrationMessageHeaderAccessor.ACKNOWLEDGMENT_CALLBACK,
-        new PubSubAcknowledgmentCallback(message, this.ackMode));
+    return getMessageBuilderFactory()
+        .withPayload(message.getPayload())
+        .copyHeaders(messageHeaders)
+        .setHeader(GcpPubSubHeaders.ORIGINAL_MESSAGE, message)
+        .setHeader(
+            IntegrationMessageHeaderAccessor.ACKNOWLEDGMENT_CALLBACK,
+            new PubSubAcknowledgmentCallback(
+                message, this.ackMode, this.metrics, this.subscriptionName));
+  }
 
-    return getMessageBuilderFactory().withPayload(message.getPayload()).copyHeaders(messageHeaders);
+  private Map<String, Object> mapHeaders(Map<String, String> attributes) {
+    // A view spares a copy of the attributes, which the message builder copies anyway.
+    return (this.headerMapper instanceof PubSubHeaderMapper)
+        ? ((PubSubHeaderMapper) this.headerMapper).toHeadersView(attributes)
+        : this.headerMapper.toHeaders(attributes);
   }
 }
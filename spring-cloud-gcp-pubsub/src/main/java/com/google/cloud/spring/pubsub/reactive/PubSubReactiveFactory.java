@@ -16,9 +16,14 @@
 
 package com.google.cloud.spring.pubsub.reactive;
 
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
+import com.google.api.core.ApiService;
 import com.google.api.gax.rpc.DeadlineExceededException;
+import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberOperations;
 import com.google.cloud.spring.pubsub.support.AcknowledgeablePubsubMessage;
+import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -38,6 +43,9 @@ import reactor.core.scheduler.Scheduler;
  * subscription, when the demand is unlimited. The scheduler is not used when there is a specific
  * demand (a.k.a backpressure).
  *
+ * <p>Streams created by {@link #stream(String)} are backed by a Pub/Sub StreamingPull connection
+ * instead of repeated pull requests, and do not use the {@link Scheduler}.
+ *
  * @since 1.2
  */
 public final class PubSubReactiveFactory {
@@ -120,6 +128,59 @@ public final class PubSubReactiveFactory {
                 }));
   }
 
+  /**
+   * Create an infinite stream {@link Flux} of {@link BasicAcknowledgeablePubsubMessage} objects
+   * backed by a Pub/Sub StreamingPull connection.
+   *
+   * <p>Messages are pushed over a single long-lived stream as soon as they are available, avoiding
+   * the round trip of a pull request for every batch. The stream is opened when the {@link Flux} is
+   * subscribed to and closed when it is cancelled.
+   *
+   * <p>Messages received while there is no outstanding demand are buffered. Because buffered
+   * messages are not yet acknowledged, the number of buffered messages is bounded by the flow
+   * control settings (maximum outstanding element count and bytes) of the subscription: once the
+   * outstanding-message window is full, the service stops sending messages on the stream until
+   * downstream consumers request and acknowledge more. Messages received after cancellation are
+   * nacked so they are redelivered immediately.
+   *
+   * <p>Errors that stop the underlying stream are passed as an error to the {@link Flux}.
+   *
+   * @param subscriptionName subscription from which to retrieve messages.
+   * @return infinite stream of {@link BasicAcknowledgeablePubsubMessage} objects.
+   * @since 3.2
+   */
+  public Flux<BasicAcknowledgeablePubsubMessage> stream(String subscriptionName) {
+    return Flux.create(sink -> streamingPull(subscriptionName, sink));
+  }
+
+  private void streamingPull(
+      String subscriptionName, FluxSink<BasicAcknowledgeablePubsubMessage> sink) {
+    Subscriber subscriber =
+        this.subscriberOperations.subscribe(
+            subscriptionName,
+            message -> {
+              if (sink.isCancelled()) {
+                message.nack();
+              } else {
+                sink.next(message);
+              }
+            });
+
+    subscriber.addListener(
+        new ApiService.Listener() {
+          @Override
+          public void failed(ApiService.State from, Throwable failure) {
+            sink.error(failure);
+          }
+        },
+        directExecutor());
+    if (subscriber.state() == ApiService.State.FAILED) {
+      sink.error(subscriber.failureCause());
+    }
+
+    sink.onDispose(subscriber::stopAsync);
+  }
+
   private void pollingPull(
       String subscriptionName, long pollingPeriodMs, FluxSink<AcknowledgeablePubsubMessage> sink) {
     Disposable disposable =
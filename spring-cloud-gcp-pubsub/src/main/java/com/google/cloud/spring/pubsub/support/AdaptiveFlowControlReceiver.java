@@ -0,0 +1,180 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.support;
+
+import com.google.api.core.ApiClock;
+import com.google.cloud.pubsub.v1.AckReplyConsumer;
+import com.google.cloud.pubsub.v1.MessageReceiver;
+import com.google.pubsub.v1.PubsubMessage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link MessageReceiver} that limits the number of messages being processed by its delegate,
+ * tuning the limit from the observed processing latency.
+ *
+ * <p>A message is processed until its delegate call returns, or until it is acked or nacked if that
+ * happens first. Messages handed off to be acked later, such as in batches or streams, therefore
+ * only count while they are handed off, and their later acks and nacks do not affect the limit.
+ *
+ * <p>The limit starts at the configured maximum and follows an additive-increase/
+ * multiplicative-decrease scheme. It shrinks by 10% for every nacked, failed or slower message and
+ * grows by one for every message processed within {@code latencyTolerance} times the baseline
+ * latency while at least half of the limit is in use, always staying between the configured minimum
+ * and maximum. The baseline is the lowest latency observed, slowly drifting towards recent
+ * latencies so that it can recover from an outlier.
+ *
+ * <p>Messages over the limit wait on the subscriber's executor thread until a slot is released,
+ * while the subscriber keeps extending their ack deadline. The subscriber's own flow control
+ * settings still bound how many messages are held in memory.
+ *
+ * @since 3.2
+ */
+final class AdaptiveFlowControlReceiver implements MessageReceiver {
+
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private static final double BASELINE_DRIFT = 0.01;
+
+  private final MessageReceiver delegate;
+
+  private final long minOutstandingElementCount;
+
+  private final long maxOutstandingElementCount;
+
+  private final double latencyTolerance;
+
+  private final ApiClock clock;
+
+  private final Object lock = new Object();
+
+  private double limit;
+
+  private long outstandingElementCount;
+
+  private double baselineLatencyNanos = -1;
+
+  AdaptiveFlowControlReceiver(
+      MessageReceiver delegate,
+      long minOutstandingElementCount,
+      long maxOutstandingElementCount,
+      double latencyTolerance,
+      ApiClock clock) {
+    Assert.notNull(delegate, "The delegate receiver can't be null.");
+    Assert.isTrue(
+        minOutstandingElementCount > 0, "The minOutstandingElementCount must be greater than 0.");
+    Assert.isTrue(
+        maxOutstandingElementCount >= minOutstandingElementCount,
+        "The maxOutstandingElementCount must not be lower than minOutstandingElementCount.");
+    Assert.isTrue(latencyTolerance >= 1, "The latencyTolerance must be at least 1.");
+    Assert.notNull(clock, "The clock can't be null.");
+    this.delegate = delegate;
+    this.minOutstandingElementCount = minOutstandingElementCount;
+    this.maxOutstandingElementCount = maxOutstandingElementCount;
+    this.latencyTolerance = latencyTolerance;
+    this.clock = clock;
+    this.limit = maxOutstandingElementCount;
+  }
+
+  @Override
+  public void receiveMessage(PubsubMessage message, AckReplyConsumer consumer) {
+    try {
+      acquire();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      consumer.nack();
+      return;
+    }
+
+    long startNanos = this.clock.nanoTime();
+    AtomicBoolean released = new AtomicBoolean();
+    AckReplyConsumer trackingConsumer =
+        new AckReplyConsumer() {
+          @Override
+          public void ack() {
+            if (released.compareAndSet(false, true)) {
+              release(startNanos, true);
+            }
+            consumer.ack();
+          }
+
+          @Override
+          public void nack() {
+            if (released.compareAndSet(false, true)) {
+              release(startNanos, false);
+            }
+            consumer.nack();
+          }
+        };
+
+    boolean success = false;
+    try {
+      this.delegate.receiveMessage(message, trackingConsumer);
+      success = true;
+    } finally {
+      if (released.compareAndSet(false, true)) {
+        release(startNanos, success);
+      }
+    }
+  }
+
+  long getLimit() {
+    synchronized (this.lock) {
+      return (long) this.limit;
+    }
+  }
+
+  long getOutstandingElementCount() {
+    synchronized (this.lock) {
+      return this.outstandingElementCount;
+    }
+  }
+
+  private void acquire() throws InterruptedException {
+    synchronized (this.lock) {
+      while (this.outstandingElementCount >= (long) this.limit) {
+        this.lock.wait();
+      }
+      this.outstandingElementCount++;
+    }
+  }
+
+  private void release(long startNanos, boolean success) {
+    long latencyNanos = this.clock.nanoTime() - startNanos;
+    synchronized (this.lock) {
+      boolean limitInUse = this.outstandingElementCount * 2 >= (long) this.limit;
+      this.outstandingElementCount--;
+
+      boolean healthy = success;
+      if (success) {
+        if (this.baselineLatencyNanos < 0 || latencyNanos < this.baselineLatencyNanos) {
+          this.baselineLatencyNanos = latencyNanos;
+        } else {
+          this.baselineLatencyNanos += (latencyNanos - this.baselineLatencyNanos) * BASELINE_DRIFT;
+        }
+        healthy = latencyNanos <= this.baselineLatencyNanos * this.latencyTolerance;
+      }
+
+      if (!healthy) {
+        this.limit = Math.max(this.minOutstandingElementCount, this.limit * BACKOFF_RATIO);
+      } else if (limitInUse) {
+        this.limit = Math.min(this.maxOutstandingElementCount, this.limit + 1);
+      }
+      this.lock.notifyAll();
+    }
+  }
+}
@@ -16,21 +16,85 @@
 
 package com.google.cloud.spring.pubsub.support;
 
+import com.google.api.core.ApiClock;
+import com.google.api.core.NanoClock;
 import com.google.cloud.pubsub.v1.Publisher;
+import com.google.cloud.spring.pubsub.core.metrics.PubSubMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
 
 /**
  * The caching implementation of the {@link PublisherFactory}.
  *
  * <p>Creates {@link Publisher}s for topics once using delegate, caches and reuses them.
+ *
+ * <p>The cache is unbounded by default. A {@link #setMaximumSize(int) maximum size} and an {@link
+ * #setIdleTimeout(Duration) idle timeout} can be set to evict the least recently used and the idle
+ * publishers, respectively. Idle publishers are looked for when the factory is used, at most once
+ * per idle timeout.
+ *
+ * <p>Callers may still hold an evicted publisher, so it is only shut down after an {@link
+ * #setEvictionGracePeriod(Duration) eviction grace period}, which publishes its outstanding
+ * messages first. A caller publishing on a publisher that was shut down anyway gets an {@link
+ * IllegalStateException} and should request the publisher again, as the {@code
+ * PubSubPublisherTemplate} does. Hits, misses and evictions are recorded to the {@link
+ * PubSubMetrics} set with {@link #setMetrics(PubSubMetrics)}.
  */
-public class CachingPublisherFactory implements PublisherFactory {
+public class CachingPublisherFactory implements PublisherFactory, DisposableBean {
+
+  private static final Log LOGGER = LogFactory.getLog(CachingPublisherFactory.class);
+
   /** {@link Publisher} cache, enforces only one {@link Publisher} per Pub/Sub topic exists. */
-  private final ConcurrentHashMap<String, Publisher> publishers =
+  private final ConcurrentHashMap<String, CachedPublisher> publishers =
       new ConcurrentHashMap<>();
 
+  private final Object evictionLock = new Object();
+
+  private final LongAdder hitCount = new LongAdder();
+
+  private final LongAdder missCount = new LongAdder();
+
+  private final LongAdder evictionCount = new LongAdder();
+
   private PublisherFactory delegate;
 
+  private int maximumSize;
+
+  private long idleTimeoutMillis;
+
+  private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+  private Duration evictionGracePeriod = Duration.ofSeconds(10);
+
+  private PubSubMetrics metrics = PubSubMetrics.NOOP;
+
+  private ApiClock clock = NanoClock.getDefaultClock();
+
+  private volatile long lastIdleSweepMillis;
+
+  /** Evicted publishers waiting for the grace period to be shut down, guarded by the lock. */
+  private final Set<Publisher> pendingShutdown =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private boolean destroyed;
+
+  private ScheduledExecutorService shutdownExecutor;
+
   /**
    * Constructs a caching {@link PublisherFactory} using the delegate.
    *
@@ -40,9 +104,104 @@ public class CachingPublisherFactory implements PublisherFactory {
     this.delegate = delegate;
   }
 
+  /**
+   * Set the maximum number of cached publishers. When exceeded, the least recently used publisher
+   * is evicted.
+   *
+   * @param maximumSize the maximum number of publishers, or 0 for an unbounded cache
+   * @since 3.2
+   */
+  public void setMaximumSize(int maximumSize) {
+    Assert.isTrue(maximumSize >= 0, "The maximumSize must not be negative.");
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Set the time after which a publisher that has not been requested is evicted.
+   *
+   * @param idleTimeout the idle timeout, or {@code null} to never evict idle publishers
+   * @since 3.2
+   */
+  public void setIdleTimeout(Duration idleTimeout) {
+    Assert.isTrue(
+        idleTimeout == null || !idleTimeout.isNegative(), "The idleTimeout must not be negative.");
+    this.idleTimeoutMillis = idleTimeout != null ? idleTimeout.toMillis() : 0L;
+  }
+
+  /**
+   * Set how long to wait after shutting down an evicted publisher before warning that it has not
+   * published its outstanding messages and terminated. Defaults to 30 seconds.
+   *
+   * @param shutdownTimeout the shutdown timeout
+   * @since 3.2
+   */
+  public void setShutdownTimeout(Duration shutdownTimeout) {
+    Assert.notNull(shutdownTimeout, "The shutdownTimeout can't be null.");
+    this.shutdownTimeout = shutdownTimeout;
+  }
+
+  /**
+   * Set how long an evicted publisher stays usable by callers that obtained it before its eviction.
+   * It is shut down afterwards. Defaults to 10 seconds.
+   *
+   * @param evictionGracePeriod the grace period
+   * @since 3.2
+   */
+  public void setEvictionGracePeriod(Duration evictionGracePeriod) {
+    Assert.notNull(evictionGracePeriod, "The evictionGracePeriod can't be null.");
+    Assert.isTrue(
+        !evictionGracePeriod.isNegative(), "The evictionGracePeriod must not be negative.");
+    this.evictionGracePeriod = evictionGracePeriod;
+  }
+
+  /**
+   * Set the {@link PubSubMetrics} to record cache hits, misses and evictions to. Nothing is
+   * recorded by default.
+   *
+   * @param metrics the metrics to record to
+   * @since 3.2
+   */
+  public void setMetrics(PubSubMetrics metrics) {
+    Assert.notNull(metrics, "The metrics can't be null.");
+    this.metrics = metrics;
+  }
+
+  void setClock(ApiClock clock) {
+    this.clock = clock;
+  }
+
   @Override
   public Publisher createPublisher(String topic) {
-    return this.publishers.computeIfAbsent(topic, delegate::createPublisher);
+    long now = this.clock.millisTime();
+    CachedPublisher cached = this.publishers.get(topic);
+    boolean hit = cached != null;
+    if (!hit) {
+      boolean[] created = new boolean[1];
+      cached =
+          this.publishers.computeIfAbsent(
+              topic,
+              key -> {
+                created[0] = true;
+                return new CachedPublisher(this.delegate.createPublisher(key), now);
+              });
+      hit = !created[0];
+    }
+
+    if (hit) {
+      this.hitCount.increment();
+      this.metrics.recordPublisherCacheHit(topic);
+      cached.lastAccessMillis = now;
+      if (this.idleTimeoutMillis > 0 && now - this.lastIdleSweepMillis >= this.idleTimeoutMillis) {
+        evict(topic, now);
+      }
+    } else {
+      this.missCount.increment();
+      this.metrics.recordPublisherCacheMiss(topic);
+      if (this.maximumSize > 0 || this.idleTimeoutMillis > 0) {
+        evict(topic, now);
+      }
+    }
+    return cached.publisher;
   }
 
   /**
@@ -53,4 +212,173 @@ public class CachingPublisherFactory implements PublisherFactory {
   public PublisherFactory getDelegate() {
     return delegate;
   }
+
+  /**
+   * Returns the number of requests served by a cached publisher.
+   *
+   * @return the cache hit count
+   * @since 3.2
+   */
+  public long getHitCount() {
+    return this.hitCount.sum();
+  }
+
+  /**
+   * Returns the number of requests that created a new publisher.
+   *
+   * @return the cache miss count
+   * @since 3.2
+   */
+  public long getMissCount() {
+    return this.missCount.sum();
+  }
+
+  /**
+   * Returns the number of publishers evicted because of the maximum size or idle timeout.
+   *
+   * @return the eviction count
+   * @since 3.2
+   */
+  public long getEvictionCount() {
+    return this.evictionCount.sum();
+  }
+
+  /**
+   * Returns the number of currently cached publishers.
+   *
+   * @return the cache size
+   * @since 3.2
+   */
+  public int getCacheSize() {
+    return this.publishers.size();
+  }
+
+  /**
+   * Shut down every cached publisher and every evicted publisher still in its grace period,
+   * publishing their outstanding messages first. Publishers evicted afterwards are shut down right
+   * away.
+   */
+  @Override
+  public void destroy() {
+    List<Publisher> remaining = new ArrayList<>();
+    synchronized (this.evictionLock) {
+      this.destroyed = true;
+      this.publishers.values().forEach(cached -> remaining.add(cached.publisher));
+      this.publishers.clear();
+      remaining.addAll(this.pendingShutdown);
+      this.pendingShutdown.clear();
+      if (this.shutdownExecutor != null) {
+        this.shutdownExecutor.shutdownNow();
+      }
+    }
+    remaining.forEach(Publisher::shutdown);
+  }
+
+  private void evict(String requestedTopic, long now) {
+    Map<String, Publisher> evicted = new LinkedHashMap<>();
+    boolean destroyed;
+    synchronized (this.evictionLock) {
+      if (this.idleTimeoutMillis > 0) {
+        this.lastIdleSweepMillis = now;
+        for (Map.Entry<String, CachedPublisher> entry : this.publishers.entrySet()) {
+          if (!entry.getKey().equals(requestedTopic)
+              && now - entry.getValue().lastAccessMillis >= this.idleTimeoutMillis
+              && this.publishers.remove(entry.getKey(), entry.getValue())) {
+            evicted.put(entry.getKey(), entry.getValue().publisher);
+          }
+        }
+      }
+      while (this.maximumSize > 0 && this.publishers.size() > this.maximumSize) {
+        Map.Entry<String, CachedPublisher> leastRecentlyUsed = null;
+        for (Map.Entry<String, CachedPublisher> entry : this.publishers.entrySet()) {
+          if (!entry.getKey().equals(requestedTopic)
+              && (leastRecentlyUsed == null
+                  || entry.getValue().lastAccessMillis
+                      < leastRecentlyUsed.getValue().lastAccessMillis)) {
+            leastRecentlyUsed = entry;
+          }
+        }
+        if (leastRecentlyUsed == null) {
+          break;
+        }
+        if (this.publishers.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue())) {
+          evicted.put(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue().publisher);
+        }
+      }
+      if (!evicted.isEmpty() && !this.destroyed) {
+        // Scheduled under the lock so that destroy() cannot shut the executor down in between.
+        for (Publisher publisher : evicted.values()) {
+          this.pendingShutdown.add(publisher);
+          getShutdownExecutor()
+              .schedule(
+                  () -> shutdownEvicted(publisher),
+                  this.evictionGracePeriod.toMillis(),
+                  TimeUnit.MILLISECONDS);
+        }
+      }
+      destroyed = this.destroyed;
+    }
+
+    for (Map.Entry<String, Publisher> entry : evicted.entrySet()) {
+      this.evictionCount.increment();
+      this.metrics.recordPublisherCacheEviction(entry.getKey());
+      if (destroyed) {
+        entry.getValue().shutdown();
+      }
+    }
+  }
+
+  private ScheduledExecutorService getShutdownExecutor() {
+    if (this.shutdownExecutor == null) {
+      this.shutdownExecutor =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "gcp-pubsub-publisher-cache-eviction");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return this.shutdownExecutor;
+  }
+
+  private void shutdownEvicted(Publisher publisher) {
+    synchronized (this.evictionLock) {
+      if (!this.pendingShutdown.remove(publisher)) {
+        return;
+      }
+      // Checked later instead of awaited, so that slow publishers do not hold up the others.
+      getShutdownExecutor()
+          .schedule(
+              () -> checkTerminated(publisher),
+              this.shutdownTimeout.toMillis(),
+              TimeUnit.MILLISECONDS);
+    }
+    publisher.shutdown();
+  }
+
+  private void checkTerminated(Publisher publisher) {
+    try {
+      if (!publisher.awaitTermination(0L, TimeUnit.MILLISECONDS)) {
+        LOGGER.warn(
+            "Publisher for topic "
+                + publisher.getTopicNameString()
+                + " did not terminate in time.");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      LOGGER.warn("Interrupted while shutting down a publisher.", ex);
+    }
+  }
+
+  private static final class CachedPublisher {
+
+    private final Publisher publisher;
+
+    private volatile long lastAccessMillis;
+
+    CachedPublisher(Publisher publisher, long lastAccessMillis) {
+      this.publisher = publisher;
+      this.lastAccessMillis = lastAccessMillis;
+    }
+  }
 }
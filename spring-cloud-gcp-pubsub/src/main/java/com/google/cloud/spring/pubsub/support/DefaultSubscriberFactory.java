@@ -17,6 +17,7 @@
 package com.google.cloud.spring.pubsub.support;
 
 import com.google.api.core.ApiClock;
+import com.google.api.core.NanoClock;
 import com.google.api.gax.batching.FlowControlSettings;
 import com.google.api.gax.core.CredentialsProvider;
 import com.google.api.gax.core.ExecutorProvider;
@@ -44,6 +45,10 @@ import org.threeten.bp.Duration;
 /** The default {@link SubscriberFactory} implementation. */
 public class DefaultSubscriberFactory implements SubscriberFactory {
 
+  private static final long DEFAULT_MAX_OUTSTANDING_ELEMENT_COUNT = 1000L;
+
+  private static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+
   private final String projectId;
 
   private ExecutorProvider executorProvider;
@@ -247,6 +252,14 @@ public class DefaultSubscriberFactory implements SubscriberFactory {
     ProjectSubscriptionName projectSubscriptionName =
         PubSubSubscriptionUtils.toProjectSubscriptionName(subscriptionName, this.projectId);
 
+    FlowControlSettings flowControl = getFlowControlSettings(subscriptionName);
+
+    PubSubConfiguration.AdaptiveFlowControl adaptiveFlowControl =
+        this.pubSubConfiguration.computeAdaptiveFlowControl(subscriptionName, this.projectId);
+    if (adaptiveFlowControl != null && Boolean.TRUE.equals(adaptiveFlowControl.getEnabled())) {
+      receiver = createAdaptiveFlowControlReceiver(receiver, adaptiveFlowControl, flowControl);
+    }
+
     boolean shouldAddToHealthCheck = shouldAddToHealthCheck(subscriptionName);
     if (shouldAddToHealthCheck) {
       receiver = healthTrackerRegistry.wrap(projectSubscriptionName, receiver);
@@ -275,7 +288,6 @@ public class DefaultSubscriberFactory implements SubscriberFactory {
       subscriberBuilder.setSystemExecutorProvider(this.systemExecutorProvider);
     }
 
-    FlowControlSettings flowControl = getFlowControlSettings(subscriptionName);
     if (flowControl != null) {
       subscriberBuilder.setFlowControlSettings(flowControl);
     }
@@ -300,6 +312,32 @@ public class DefaultSubscriberFactory implements SubscriberFactory {
     return subscriber;
   }
 
+  private MessageReceiver createAdaptiveFlowControlReceiver(
+      MessageReceiver receiver,
+      PubSubConfiguration.AdaptiveFlowControl adaptiveFlowControl,
+      FlowControlSettings flowControl) {
+    long min =
+        adaptiveFlowControl.getMinOutstandingElementCount() != null
+            ? adaptiveFlowControl.getMinOutstandingElementCount()
+            : 1L;
+    long max = DEFAULT_MAX_OUTSTANDING_ELEMENT_COUNT;
+    if (adaptiveFlowControl.getMaxOutstandingElementCount() != null) {
+      max = adaptiveFlowControl.getMaxOutstandingElementCount();
+    } else if (flowControl != null && flowControl.getMaxOutstandingElementCount() != null) {
+      max = flowControl.getMaxOutstandingElementCount();
+    }
+    double latencyTolerance =
+        adaptiveFlowControl.getLatencyTolerance() != null
+            ? adaptiveFlowControl.getLatencyTolerance()
+            : DEFAULT_LATENCY_TOLERANCE;
+    return new AdaptiveFlowControlReceiver(
+        receiver,
+        min,
+        Math.max(min, max),
+        latencyTolerance,
+        this.apiClock != null ? this.apiClock : NanoClock.getDefaultClock());
+  }
+
   @Override
   public PullRequest createPullRequest(
       String subscriptionName, Integer maxMessages, Boolean returnImmediately) {
@@ -35,6 +35,13 @@ public abstract class GcpPubSubHeaders {
   /** The original message header text. */
   public static final String ORIGINAL_MESSAGE = PREFIX + "original_message";
 
+  /**
+   * The list of per-message header maps of a batch message, in payload order.
+   *
+   * @since 3.2
+   */
+  public static final String BATCH_CONVERTED_HEADERS = PREFIX + "batch_converted_headers";
+
   /** The Pub/Sub message ordering key. */
   public static final String ORDERING_KEY = PREFIX + "ordering_key";
 
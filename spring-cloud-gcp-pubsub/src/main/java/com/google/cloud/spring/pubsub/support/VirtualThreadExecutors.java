@@ -0,0 +1,253 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.support;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.util.Assert;
+
+/**
+ * Factory methods for executors that run every task on a new virtual thread, so that message
+ * receivers and callbacks can block without holding on to platform threads.
+ *
+ * <p>Virtual threads are only available when running on Java 21 or later. The factory methods throw
+ * an {@link IllegalStateException} on older runtimes; use {@link #isSupported()} to check first.
+ *
+ * @since 3.2
+ */
+public final class VirtualThreadExecutors {
+
+  // Resolved on the public Thread.Builder interfaces; the builder implementations are not public.
+  private static final Method OF_VIRTUAL = findMethod(Thread.class.getName(), "ofVirtual");
+
+  private static final Method BUILDER_NAME =
+      findMethod("java.lang.Thread$Builder$OfVirtual", "name", String.class, long.class);
+
+  private static final Method BUILDER_FACTORY = findMethod("java.lang.Thread$Builder", "factory");
+
+  private VirtualThreadExecutors() {}
+
+  private static Method findMethod(
+      String className, String methodName, Class<?>... parameterTypes) {
+    try {
+      return Class.forName(className).getMethod(methodName, parameterTypes);
+    } catch (ClassNotFoundException | NoSuchMethodException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Check whether the current runtime supports virtual threads.
+   *
+   * @return true if virtual threads can be created
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null;
+  }
+
+  /**
+   * Create a {@link ThreadFactory} for virtual threads.
+   *
+   * @param threadNamePrefix the prefix of the names of the created threads, followed by a counter
+   * @return the virtual thread factory
+   * @throws IllegalStateException if the runtime does not support virtual threads
+   */
+  public static ThreadFactory newThreadFactory(String threadNamePrefix) {
+    Assert.notNull(threadNamePrefix, "The threadNamePrefix can't be null.");
+    Assert.state(isSupported(), "Virtual threads require Java 21 or later.");
+    try {
+      Object builder = OF_VIRTUAL.invoke(null);
+      builder = BUILDER_NAME.invoke(builder, threadNamePrefix, 0L);
+      return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Unable to create a virtual thread factory.", ex);
+    }
+  }
+
+  /**
+   * Create an {@link Executor} that runs every task on a new virtual thread.
+   *
+   * @param threadNamePrefix the prefix of the names of the created threads
+   * @return the executor
+   * @throws IllegalStateException if the runtime does not support virtual threads
+   */
+  public static Executor newExecutor(String threadNamePrefix) {
+    return new ThreadPerTaskExecutor(newThreadFactory(threadNamePrefix));
+  }
+
+  /**
+   * Create a {@link ScheduledExecutorService} that runs every task on a new virtual thread. Delayed
+   * and periodic tasks are timed by a single platform thread and, like immediate tasks, run on
+   * their own virtual thread once due.
+   *
+   * <p>Shutting the executor down stops the timing thread; tasks already running on virtual threads
+   * are not awaited.
+   *
+   * @param threadNamePrefix the prefix of the names of the created threads
+   * @return the scheduled executor
+   * @throws IllegalStateException if the runtime does not support virtual threads
+   */
+  public static ScheduledExecutorService newScheduledExecutor(String threadNamePrefix) {
+    return new ThreadPerTaskScheduledExecutor(
+        threadNamePrefix, newThreadFactory(threadNamePrefix));
+  }
+
+  static final class ThreadPerTaskExecutor implements Executor {
+
+    private final ThreadFactory threadFactory;
+
+    ThreadPerTaskExecutor(ThreadFactory threadFactory) {
+      this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      this.threadFactory.newThread(command).start();
+    }
+  }
+
+  static final class ThreadPerTaskScheduledExecutor extends ScheduledThreadPoolExecutor {
+
+    private final Executor taskExecutor;
+
+    ThreadPerTaskScheduledExecutor(String threadNamePrefix, ThreadFactory taskThreadFactory) {
+      super(
+          1,
+          runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + "scheduler");
+            thread.setDaemon(true);
+            return thread;
+          });
+      this.taskExecutor = new ThreadPerTaskExecutor(taskThreadFactory);
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(
+        Runnable runnable, RunnableScheduledFuture<V> task) {
+      return new HandOffScheduledFuture<>(task, this.taskExecutor);
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(
+        Callable<V> callable, RunnableScheduledFuture<V> task) {
+      return new HandOffScheduledFuture<>(task, this.taskExecutor);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      if (isShutdown()) {
+        throw new RejectedExecutionException("The executor has been shut down.");
+      }
+      this.taskExecutor.execute(command);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+      FutureTask<Object> futureTask = new FutureTask<>(task, null);
+      execute(futureTask);
+      return futureTask;
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+      FutureTask<T> futureTask = new FutureTask<>(task, result);
+      execute(futureTask);
+      return futureTask;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+      FutureTask<T> futureTask = new FutureTask<>(task);
+      execute(futureTask);
+      return futureTask;
+    }
+  }
+
+  /**
+   * Runs a scheduled task on the task executor once due, so that the scheduling thread is only
+   * used for timing. Periodic tasks are rescheduled by the wrapped task after each run.
+   */
+  static final class HandOffScheduledFuture<V> implements RunnableScheduledFuture<V> {
+
+    private final RunnableScheduledFuture<V> task;
+
+    private final Executor taskExecutor;
+
+    HandOffScheduledFuture(RunnableScheduledFuture<V> task, Executor taskExecutor) {
+      this.task = task;
+      this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public void run() {
+      this.taskExecutor.execute(this.task);
+    }
+
+    @Override
+    public boolean isPeriodic() {
+      return this.task.isPeriodic();
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return this.task.getDelay(unit);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return this.task.compareTo(other);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      return this.task.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return this.task.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return this.task.isDone();
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+      return this.task.get();
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit)
+        throws InterruptedException, ExecutionException, TimeoutException {
+      return this.task.get(timeout, unit);
+    }
+  }
+}
@@ -16,19 +16,31 @@
 
 package com.google.cloud.spring.pubsub.support.converter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.protobuf.ByteString;
 import com.google.pubsub.v1.PubsubMessage;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.util.Assert;
 
-/** A converter using Jackson JSON. */
+/**
+ * A converter using Jackson JSON.
+ *
+ * <p>Payloads are serialized straight into a {@link ByteString.Output} and deserialized from a
+ * {@link ByteString#newInput() ByteString input stream}, so the message data is never copied into
+ * an intermediate byte array. The {@link ObjectReader} of each payload type is created once and
+ * reused, so changes made to the {@link ObjectMapper} after the first conversion of that type are
+ * not seen when reading; payloads are always written with the current configuration.
+ */
 public class JacksonPubSubMessageConverter implements PubSubMessageConverter {
 
   private final ObjectMapper objectMapper;
 
+  private final Map<Class<?>, ObjectReader> objectReaders = new ConcurrentHashMap<>();
+
   /**
    * Constructor.
    *
@@ -41,21 +53,25 @@ public class JacksonPubSubMessageConverter implements PubSubMessageConverter {
 
   @Override
   public PubsubMessage toPubSubMessage(Object payload, Map<String, String> headers) {
+    ByteString.Output output = ByteString.newOutput();
     try {
-      return byteStringToPubSubMessage(
-          ByteString.copyFrom(this.objectMapper.writeValueAsBytes(payload)), headers);
-    } catch (JsonProcessingException ex) {
+      this.objectMapper.writeValue(output, payload);
+    } catch (IOException ex) {
       throw new PubSubMessageConversionException(
-          "JSON serialization of an object of type " + payload.getClass().getName() + " failed.",
+          "JSON serialization of an object of type "
+              + (payload != null ? payload.getClass().getName() : null)
+              + " failed.",
           ex);
     }
+    return byteStringToPubSubMessage(output.toByteString(), headers);
   }
 
   @Override
   public <T> T fromPubSubMessage(PubsubMessage message, Class<T> payloadType) {
-    try {
-      return (T)
-          this.objectMapper.readerFor(payloadType).readValue(message.getData().toByteArray());
+    ObjectReader objectReader =
+        this.objectReaders.computeIfAbsent(payloadType, this.objectMapper::readerFor);
+    try (InputStream input = message.getData().newInput()) {
+      return objectReader.readValue(input);
     } catch (IOException ex) {
       throw new PubSubMessageConversionException(
           "JSON deserialization of an object of type " + payloadType.getName() + " failed.", ex);
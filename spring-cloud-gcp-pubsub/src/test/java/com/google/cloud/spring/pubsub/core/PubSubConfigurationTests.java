@@ -160,6 +160,30 @@ class PubSubConfigurationTests {
     assertThat(result.getMaxOutstandingRequestBytes()).isEqualTo(2L);
   }
 
+  @Test
+  void testComputeAdaptiveFlowControl_mergesCustomAndGlobal() {
+    PubSubConfiguration pubSubConfiguration = new PubSubConfiguration();
+    PubSubConfiguration.AdaptiveFlowControl globalAdaptiveFlowControl =
+        pubSubConfiguration.getSubscriber().getAdaptiveFlowControl();
+    globalAdaptiveFlowControl.setEnabled(true);
+    globalAdaptiveFlowControl.setMaxOutstandingElementCount(100L);
+    PubSubConfiguration.Subscriber subscriber = new PubSubConfiguration.Subscriber();
+    subscriber.getAdaptiveFlowControl().setMaxOutstandingElementCount(10L);
+    subscriber.getAdaptiveFlowControl().setLatencyTolerance(3.0);
+    pubSubConfiguration
+        .getSubscription()
+        .put("projects/projectId/subscriptions/subscription-name", subscriber);
+
+    PubSubConfiguration.AdaptiveFlowControl result =
+        pubSubConfiguration.computeAdaptiveFlowControl("subscription-name", "projectId");
+
+    assertThat(result.getEnabled()).isTrue();
+    assertThat(result.getMinOutstandingElementCount()).isNull();
+    assertThat(result.getMaxOutstandingElementCount()).isEqualTo(10L);
+    assertThat(result.getLatencyTolerance()).isEqualTo(3.0);
+    assertThat(globalAdaptiveFlowControl.getMaxOutstandingElementCount()).isEqualTo(100L);
+  }
+
   @Test
   void testComputeParallelPullCount_returnCustom() {
     PubSubConfiguration pubSubConfiguration = new PubSubConfiguration();
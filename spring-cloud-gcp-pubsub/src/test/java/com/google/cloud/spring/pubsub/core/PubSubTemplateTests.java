@@ -179,6 +179,31 @@ public class PubSubTemplateTests {
     this.pubSubTemplate.publish("testTopic", this.pubsubMessage);
   }
 
+  @Test
+  public void testPublishRetriedOnReplacedShutDownPublisher() throws Exception {
+    Publisher shutDownPublisher = mock(Publisher.class);
+    when(shutDownPublisher.publish(isA(PubsubMessage.class)))
+        .thenThrow(new IllegalStateException("Cannot publish on a shut-down publisher."));
+    when(this.mockPublisherFactory.createPublisher("testTopic"))
+        .thenReturn(shutDownPublisher, this.mockPublisher);
+    this.settableApiFuture.set("result");
+
+    ListenableFuture<String> future = this.pubSubTemplate.publish("testTopic", this.pubsubMessage);
+
+    assertThat(future.get()).isEqualTo("result");
+    verify(this.mockPublisher).publish(this.pubsubMessage);
+  }
+
+  @Test
+  public void testPublishOnShutDownPublisherFailsIfNotReplaced() {
+    this.expectedException.expect(IllegalStateException.class);
+    this.expectedException.expectMessage("Cannot publish on a shut-down publisher.");
+    when(this.mockPublisher.publish(isA(PubsubMessage.class)))
+        .thenThrow(new IllegalStateException("Cannot publish on a shut-down publisher."));
+
+    this.pubSubTemplate.publish("testTopic", this.pubsubMessage);
+  }
+
   @Test
   public void testSend_onFailure() {
     ListenableFuture<String> future = this.pubSubTemplate.publish("testTopic", this.pubsubMessage);
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/** Tests for {@link MicrometerPubSubMetrics}. */
+public class MicrometerPubSubMetricsTests {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private final MicrometerPubSubMetrics metrics = new MicrometerPubSubMetrics(this.registry);
+
+  @Test
+  public void testTimersTaggedWithShortNameAndOutcome() {
+    this.metrics.recordPull("projects/proj/subscriptions/sub", 1_000_000L, true);
+    this.metrics.recordPull("sub", 3_000_000L, true);
+    this.metrics.recordPull("sub", 5_000_000L, false);
+
+    Timer success =
+        this.registry
+            .get("gcp.pubsub.subscriber.pull")
+            .tag("subscription", "sub")
+            .tag("outcome", "success")
+            .timer();
+    Timer failure =
+        this.registry
+            .get("gcp.pubsub.subscriber.pull")
+            .tag("subscription", "sub")
+            .tag("outcome", "failure")
+            .timer();
+    assertThat(success.count()).isEqualTo(2);
+    assertThat(success.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(4.0);
+    assertThat(failure.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void testReceivedAndAcknowledgedCounters() {
+    this.metrics.recordReceived("sub", 3, 120L);
+    this.metrics.recordReceived("sub", 1, 30L);
+    this.metrics.recordAcknowledgement("sub", 1_000_000L, 4, true);
+    this.metrics.recordAcknowledgement("sub", 1_000_000L, 2, false);
+
+    assertThat(
+            this.registry.get("gcp.pubsub.subscriber.received.messages").counter().count())
+        .isEqualTo(4.0);
+    assertThat(this.registry.get("gcp.pubsub.subscriber.received.bytes").counter().count())
+        .isEqualTo(150.0);
+    assertThat(
+            this.registry
+                .get("gcp.pubsub.subscriber.acknowledgement.messages")
+                .tag("outcome", "failure")
+                .counter()
+                .count())
+        .isEqualTo(2.0);
+    assertThat(
+            this.registry
+                .get("gcp.pubsub.subscriber.acknowledgement")
+                .tag("outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void testPublishRecordedPerTopic() {
+    this.metrics.recordPublish("topic1", 1_000_000L, 10L, true);
+    this.metrics.recordPublish("projects/proj/topics/topic2", 1_000_000L, 20L, false);
+
+    assertThat(
+            this.registry
+                .get("gcp.pubsub.publisher.publish")
+                .tag("topic", "topic2")
+                .tag("outcome", "failure")
+                .timer()
+                .count())
+        .isEqualTo(1);
+    assertThat(
+            this.registry
+                .get("gcp.pubsub.publisher.sent.bytes")
+                .tag("topic", "topic1")
+                .counter()
+                .count())
+        .isEqualTo(10.0);
+  }
+
+  @Test
+  public void testPublisherCacheCountersPerTopic() {
+    this.metrics.recordPublisherCacheMiss("projects/proj/topics/topic1");
+    this.metrics.recordPublisherCacheHit("topic1");
+    this.metrics.recordPublisherCacheHit("topic1");
+    this.metrics.recordPublisherCacheEviction("topic1");
+
+    assertThat(
+            this.registry
+                .get("gcp.pubsub.publisher.cache.requests")
+                .tag("topic", "topic1")
+                .tag("result", "hit")
+                .counter()
+                .count())
+        .isEqualTo(2.0);
+    assertThat(
+            this.registry
+                .get("gcp.pubsub.publisher.cache.requests")
+                .tag("topic", "topic1")
+                .tag("result", "miss")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+    assertThat(this.registry.get("gcp.pubsub.publisher.cache.evictions").counter().count())
+        .isEqualTo(1.0);
+  }
+}
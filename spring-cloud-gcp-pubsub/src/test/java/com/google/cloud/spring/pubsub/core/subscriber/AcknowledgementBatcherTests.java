@@ -0,0 +1,232 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.core.subscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.api.gax.batching.BatchingSettings;
+import com.google.protobuf.Empty;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Test;
+import org.threeten.bp.Duration;
+
+/** Tests for {@link AcknowledgementBatcher}. */
+public class AcknowledgementBatcherTests {
+
+  private final List<SentBatch> sentBatches = new CopyOnWriteArrayList<>();
+
+  private AcknowledgementBatcher batcher;
+
+  @After
+  public void tearDown() {
+    if (this.batcher != null) {
+      this.batcher.shutdown();
+    }
+  }
+
+  @Test
+  public void testAcksCoalescedUntilElementCountThreshold() throws Exception {
+    this.batcher = createBatcher(3L, null, Duration.ofHours(1));
+
+    ApiFuture<Empty> first = this.batcher.ack("sub", Collections.singletonList("ack1"));
+    ApiFuture<Empty> second = this.batcher.ack("sub", Collections.singletonList("ack2"));
+    assertThat(this.sentBatches).isEmpty();
+    assertThat(first.isDone()).isFalse();
+
+    ApiFuture<Empty> third = this.batcher.ack("sub", Collections.singletonList("ack3"));
+
+    assertThat(this.sentBatches).hasSize(1);
+    assertThat(this.sentBatches.get(0).ackIds).containsExactly("ack1", "ack2", "ack3");
+    assertThat(this.sentBatches.get(0).ackDeadlineSeconds).isNull();
+    first.get(1, TimeUnit.SECONDS);
+    second.get(1, TimeUnit.SECONDS);
+    third.get(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testBatchSentAfterDelayThreshold() throws Exception {
+    this.batcher = createBatcher(100L, null, Duration.ofMillis(10));
+
+    ApiFuture<Empty> future = this.batcher.ack("sub", Arrays.asList("ack1", "ack2"));
+
+    future.get(5, TimeUnit.SECONDS);
+    assertThat(this.sentBatches).hasSize(1);
+    assertThat(this.sentBatches.get(0).ackIds).containsExactly("ack1", "ack2");
+  }
+
+  @Test
+  public void testBatchesSplitOnRequestByteThreshold() throws Exception {
+    // Each 5-character ack ID takes 7 bytes on the wire.
+    this.batcher = createBatcher(100L, 14L, Duration.ofHours(1));
+
+    ApiFuture<Empty> future =
+        this.batcher.ack("sub", Arrays.asList("ack01", "ack02", "ack03", "ack04", "ack05"));
+    this.batcher.shutdown();
+
+    future.get(1, TimeUnit.SECONDS);
+    assertThat(this.sentBatches.stream().map(batch -> batch.ackIds))
+        .containsExactly(
+            Arrays.asList("ack01", "ack02"),
+            Arrays.asList("ack03", "ack04"),
+            Collections.singletonList("ack05"));
+  }
+
+  @Test
+  public void testElementCountCappedAtRequestLimit() {
+    this.batcher = createBatcher(Long.MAX_VALUE, null, Duration.ofHours(1));
+
+    List<String> ackIds =
+        IntStream.range(0, AcknowledgementBatcher.MAX_ACK_IDS_PER_REQUEST + 1)
+            .mapToObj(i -> "ack" + i)
+            .collect(Collectors.toList());
+    this.batcher.ack("sub", ackIds);
+
+    assertThat(this.sentBatches).hasSize(1);
+    assertThat(this.sentBatches.get(0).ackIds)
+        .hasSize(AcknowledgementBatcher.MAX_ACK_IDS_PER_REQUEST);
+  }
+
+  @Test
+  public void testBatchesKeptApartPerSubscriptionAndOperation() {
+    this.batcher = createBatcher(100L, null, Duration.ofHours(1));
+
+    this.batcher.ack("sub1", Collections.singletonList("ack1"));
+    this.batcher.ack("sub2", Collections.singletonList("ack2"));
+    this.batcher.modifyAckDeadline("sub1", Collections.singletonList("ack3"), 0);
+    this.batcher.modifyAckDeadline("sub1", Collections.singletonList("ack4"), 10);
+    this.batcher.modifyAckDeadline("sub1", Collections.singletonList("ack5"), 0);
+    this.batcher.shutdown();
+
+    assertThat(this.sentBatches)
+        .extracting(batch -> batch.subscriptionName, batch -> batch.ackDeadlineSeconds)
+        .containsExactlyInAnyOrder(
+            tuple("sub1", null),
+            tuple("sub2", null),
+            tuple("sub1", 0),
+            tuple("sub1", 10));
+    assertThat(this.sentBatches)
+        .filteredOn(batch -> Integer.valueOf(0).equals(batch.ackDeadlineSeconds))
+        .singleElement()
+        .satisfies(batch -> assertThat(batch.ackIds).containsExactly("ack3", "ack5"));
+  }
+
+  @Test
+  public void testAcksSentRightAwayAfterShutdown() throws Exception {
+    this.batcher = createBatcher(2L, null, Duration.ofHours(1));
+    this.batcher.shutdown();
+
+    ApiFuture<Empty> first = this.batcher.ack("sub", Arrays.asList("ack1", "ack2", "ack3"));
+    ApiFuture<Empty> second =
+        this.batcher.modifyAckDeadline("sub", Collections.singletonList("ack4"), 0);
+
+    first.get(1, TimeUnit.SECONDS);
+    second.get(1, TimeUnit.SECONDS);
+    assertThat(this.sentBatches.stream().map(batch -> batch.ackIds))
+        .containsExactly(
+            Arrays.asList("ack1", "ack2"),
+            Collections.singletonList("ack3"),
+            Collections.singletonList("ack4"));
+  }
+
+  @Test
+  public void testFailedBatchFailsEveryCaller() {
+    SettableApiFuture<Empty> rpcFuture = SettableApiFuture.create();
+    this.batcher =
+        new AcknowledgementBatcher(
+            BatchingSettings.newBuilder()
+                .setElementCountThreshold(2L)
+                .setRequestByteThreshold(null)
+                .setDelayThreshold(Duration.ofHours(1))
+                .build(),
+            new AcknowledgementBatcher.BatchSender() {
+              @Override
+              public ApiFuture<Empty> ack(String subscriptionName, List<String> ackIds) {
+                return rpcFuture;
+              }
+
+              @Override
+              public ApiFuture<Empty> modifyAckDeadline(
+                  String subscriptionName, List<String> ackIds, int ackDeadlineSeconds) {
+                return rpcFuture;
+              }
+            });
+
+    ApiFuture<Empty> first = this.batcher.ack("sub", Collections.singletonList("ack1"));
+    ApiFuture<Empty> second = this.batcher.ack("sub", Collections.singletonList("ack2"));
+    rpcFuture.setException(new IllegalStateException("boom"));
+
+    assertThatThrownBy(first::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(second::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  private AcknowledgementBatcher createBatcher(
+      Long elementCountThreshold, Long requestByteThreshold, Duration delayThreshold) {
+    return new AcknowledgementBatcher(
+        BatchingSettings.newBuilder()
+            .setElementCountThreshold(elementCountThreshold)
+            .setRequestByteThreshold(requestByteThreshold)
+            .setDelayThreshold(delayThreshold)
+            .build(),
+        new AcknowledgementBatcher.BatchSender() {
+          @Override
+          public ApiFuture<Empty> ack(String subscriptionName, List<String> ackIds) {
+            sentBatches.add(new SentBatch(subscriptionName, ackIds, null));
+            return ApiFutures.immediateFuture(Empty.getDefaultInstance());
+          }
+
+          @Override
+          public ApiFuture<Empty> modifyAckDeadline(
+              String subscriptionName, List<String> ackIds, int ackDeadlineSeconds) {
+            sentBatches.add(new SentBatch(subscriptionName, ackIds, ackDeadlineSeconds));
+            return ApiFutures.immediateFuture(Empty.getDefaultInstance());
+          }
+        });
+  }
+
+  private static final class SentBatch {
+
+    private final String subscriptionName;
+
+    private final List<String> ackIds;
+
+    private final Integer ackDeadlineSeconds;
+
+    SentBatch(String subscriptionName, List<String> ackIds, Integer ackDeadlineSeconds) {
+      this.subscriptionName = subscriptionName;
+      this.ackIds = new ArrayList<>(ackIds);
+      this.ackDeadlineSeconds = ackDeadlineSeconds;
+    }
+  }
+}
@@ -29,11 +29,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.gax.batching.BatchingSettings;
 import com.google.api.gax.rpc.UnaryCallable;
 import com.google.cloud.pubsub.v1.AckReplyConsumer;
 import com.google.cloud.pubsub.v1.MessageReceiver;
 import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.pubsub.v1.stub.SubscriberStub;
+import com.google.cloud.spring.pubsub.core.metrics.MicrometerPubSubMetrics;
 import com.google.cloud.spring.pubsub.support.AcknowledgeablePubsubMessage;
 import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
 import com.google.cloud.spring.pubsub.support.SubscriberFactory;
@@ -47,6 +49,7 @@ import com.google.pubsub.v1.PubsubMessage;
 import com.google.pubsub.v1.PullRequest;
 import com.google.pubsub.v1.PullResponse;
 import com.google.pubsub.v1.ReceivedMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigInteger;
 import java.util.HashSet;
 import java.util.List;
@@ -67,6 +70,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.threeten.bp.Duration;
 
 /** Unit tests for {@link PubSubSubscriberTemplate}. */
 @RunWith(MockitoJUnitRunner.class)
@@ -405,6 +409,56 @@ public class PubSubSubscriberTemplateTests {
     verify(this.ackApiFuture, times(2)).addListener(any(), same(mockExecutor));
   }
 
+  @Test
+  public void testPull_AndIndividualAcksBatched()
+      throws InterruptedException, ExecutionException, TimeoutException {
+    this.pubSubSubscriberTemplate.setAckBatchingSettings(
+        BatchingSettings.newBuilder()
+            .setElementCountThreshold(2L)
+            .setRequestByteThreshold(null)
+            .setDelayThreshold(Duration.ofHours(1))
+            .build());
+
+    AcknowledgeablePubsubMessage first = this.pubSubSubscriberTemplate.pull("sub", 1, true).get(0);
+    AcknowledgeablePubsubMessage second =
+        this.pubSubSubscriberTemplate.pull("sub", 1, true).get(0);
+
+    ListenableFuture<Void> firstAck = first.ack();
+    verify(this.ackCallable, never()).futureCall(any(AcknowledgeRequest.class));
+    assertThat(firstAck.isDone()).isFalse();
+
+    ListenableFuture<Void> secondAck = second.ack();
+    firstAck.get(10L, TimeUnit.SECONDS);
+    secondAck.get(10L, TimeUnit.SECONDS);
+
+    ArgumentCaptor<AcknowledgeRequest> requestCaptor =
+        ArgumentCaptor.forClass(AcknowledgeRequest.class);
+    verify(this.ackCallable, times(1)).futureCall(requestCaptor.capture());
+    assertThat(requestCaptor.getValue().getAckIdsCount()).isEqualTo(2);
+    assertThat(requestCaptor.getValue().getSubscription())
+        .isEqualTo("projects/testProject/subscriptions/sub");
+  }
+
+  @Test
+  public void testAckBatchingFlushedOnDestroy() throws Exception {
+    this.pubSubSubscriberTemplate.setAckBatchingSettings(
+        BatchingSettings.newBuilder()
+            .setElementCountThreshold(100L)
+            .setRequestByteThreshold(null)
+            .setDelayThreshold(Duration.ofHours(1))
+            .build());
+
+    List<AcknowledgeablePubsubMessage> result = this.pubSubSubscriberTemplate.pull("sub", 1, true);
+    ListenableFuture<Void> nack = this.pubSubSubscriberTemplate.nack(result);
+    verify(this.modifyAckDeadlineCallable, never()).futureCall(any(ModifyAckDeadlineRequest.class));
+
+    this.pubSubSubscriberTemplate.destroy();
+
+    verify(this.modifyAckDeadlineCallable, times(1))
+        .futureCall(any(ModifyAckDeadlineRequest.class));
+    nack.get(10L, TimeUnit.SECONDS);
+  }
+
   @Test
   public void testPullAsync_AndManualAck()
       throws InterruptedException, ExecutionException, TimeoutException {
@@ -509,6 +563,43 @@ public class PubSubSubscriberTemplateTests {
     assertThat(result.get(0).getProjectSubscriptionName().getSubscription()).isEqualTo("sub2");
   }
 
+  @Test
+  public void testPullAndConvert_AndAckRecordsMetrics() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    this.pubSubSubscriberTemplate.setMetrics(new MicrometerPubSubMetrics(registry));
+
+    List<ConvertedAcknowledgeablePubsubMessage<BigInteger>> result =
+        this.pubSubSubscriberTemplate.pullAndConvert("sub2", 1, true, BigInteger.class);
+    result.get(0).ack();
+
+    assertThat(
+            registry
+                .get("gcp.pubsub.subscriber.pull")
+                .tag("subscription", "sub2")
+                .tag("outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+    assertThat(registry.get("gcp.pubsub.subscriber.received.messages").counter().count())
+        .isEqualTo(1.0);
+    assertThat(
+            registry
+                .get("gcp.pubsub.subscriber.conversion")
+                .tag("subscription", "sub2")
+                .tag("outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+    assertThat(
+            registry
+                .get("gcp.pubsub.subscriber.acknowledgement")
+                .tag("subscription", "sub2")
+                .tag("outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
   @Test
   public void testPullAndConvertAsync()
       throws InterruptedException, ExecutionException, TimeoutException {
@@ -106,6 +106,61 @@ public class PubSubHeaderMapperTests {
         .doesNotContainKey("my header");
   }
 
+  @Test
+  public void testToHeadersIsMutableCopy() {
+    PubSubHeaderMapper mapper = new PubSubHeaderMapper();
+    Map<String, String> originalHeaders = new HashMap<>();
+    originalHeaders.put("my header", "don't touch it");
+
+    Map<String, Object> internalHeaders = mapper.toHeaders(originalHeaders);
+    originalHeaders.put("late header", "not copied");
+    internalHeaders.put("another header", "added");
+
+    assertThat(internalHeaders)
+        .hasSize(2)
+        .containsEntry("my header", "don't touch it")
+        .containsEntry("another header", "added");
+  }
+
+  @Test
+  public void testToHeadersViewIsReadOnlyView() {
+    PubSubHeaderMapper mapper = new PubSubHeaderMapper();
+    Map<String, String> originalHeaders = new HashMap<>();
+    originalHeaders.put("my header", "don't touch it");
+
+    Map<String, Object> internalHeaders = mapper.toHeadersView(originalHeaders);
+    originalHeaders.put("late header", "visible through the view");
+
+    assertThat(internalHeaders)
+        .hasSize(2)
+        .containsEntry("my header", "don't touch it")
+        .containsEntry("late header", "visible through the view");
+    this.expectedException.expect(UnsupportedOperationException.class);
+    internalHeaders.put("another header", "rejected");
+  }
+
+  @Test
+  public void testSetInboundHeaderPatternsWithNegation() {
+    PubSubHeaderMapper mapper = new PubSubHeaderMapper();
+
+    mapper.setInboundHeaderPatterns("!secret-*", "*");
+    Map<String, String> originalHeaders = new HashMap<>();
+    originalHeaders.put("secret-token", "hidden");
+    originalHeaders.put("my header", "don't touch it");
+
+    assertThat(mapper.toHeaders(originalHeaders)).containsOnlyKeys("my header");
+    Map<String, Object> internalHeaders = mapper.toHeadersView(originalHeaders);
+
+    assertThat(internalHeaders)
+        .hasSize(1)
+        .containsEntry("my header", "don't touch it")
+        .doesNotContainKey("secret-token");
+    assertThat(internalHeaders.get("secret-token")).isNull();
+    assertThat(internalHeaders.keySet()).containsExactly("my header");
+    this.expectedException.expect(UnsupportedOperationException.class);
+    internalHeaders.remove("my header");
+  }
+
   @Test
   public void testSetInboundHeaderPatternsNullPatterns() {
     this.expectedException.expect(IllegalArgumentException.class);
@@ -19,18 +19,31 @@ package com.google.cloud.spring.pubsub.integration.inbound;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.spring.pubsub.core.health.HealthTrackerRegistry;
+import com.google.cloud.spring.pubsub.core.metrics.MicrometerPubSubMetrics;
 import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberOperations;
 import com.google.cloud.spring.pubsub.integration.AckMode;
 import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
 import com.google.cloud.spring.pubsub.support.converter.ConvertedBasicAcknowledgeablePubsubMessage;
 import com.google.pubsub.v1.PubsubMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.junit.After;
 import org.junit.Before;
@@ -51,6 +64,7 @@ import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.GenericMessage;
+import org.springframework.scheduling.TaskScheduler;
 
 /** {@link PubSubInboundChannelAdapter} unit tests. */
 @RunWith(MockitoJUnitRunner.class)
@@ -129,6 +143,36 @@ public class PubSubInboundChannelAdapterTests {
     assertThat(output.getOut()).contains(EXCEPTION_MESSAGE);
   }
 
+  @Test
+  public void testHandlingRecordedToMetrics() {
+    when(this.mockMessageChannel.send(any()))
+        .thenReturn(true)
+        .thenThrow(new RuntimeException(EXCEPTION_MESSAGE));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    this.adapter.setMetrics(new MicrometerPubSubMetrics(registry));
+
+    this.adapter.start();
+    this.adapter.stop();
+    this.adapter.start();
+
+    assertThat(
+            registry
+                .get("gcp.pubsub.subscriber.handling")
+                .tag("subscription", "testSubscription")
+                .tag("outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+    assertThat(
+            registry
+                .get("gcp.pubsub.subscriber.handling")
+                .tag("subscription", "testSubscription")
+                .tag("outcome", "failure")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
   @Test
   public void testAckModeAuto_nacksWhenDownstreamProcessingFailsWhenContextShutdown() {
 
@@ -258,6 +302,190 @@ public class PubSubInboundChannelAdapterTests {
     verifyOriginalMessage();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBatchMode_sendsFullBatchAsSingleMessage() {
+    List<Consumer<ConvertedBasicAcknowledgeablePubsubMessage<?>>> consumers =
+        captureMessageConsumer();
+    this.context.refresh();
+    this.adapter.setBatchSize(2);
+    this.adapter.setAckMode(AckMode.AUTO);
+    this.adapter.start();
+
+    ConvertedBasicAcknowledgeablePubsubMessage<?> first = createMessage("payload1", "value1");
+    ConvertedBasicAcknowledgeablePubsubMessage<?> second = createMessage("payload2", "value2");
+    consumers.get(0).accept(first);
+    verify(this.mockMessageChannel, never()).send(any());
+    consumers.get(0).accept(second);
+
+    ArgumentCaptor<Message<List<Object>>> argument = ArgumentCaptor.forClass(Message.class);
+    verify(this.mockMessageChannel).send(argument.capture());
+    assertThat(argument.getValue().getPayload()).containsExactly("payload1", "payload2");
+    List<Map<String, Object>> batchHeaders =
+        (List<Map<String, Object>>)
+            argument.getValue().getHeaders().get(GcpPubSubHeaders.BATCH_CONVERTED_HEADERS);
+    assertThat(batchHeaders).hasSize(2);
+    assertThat(batchHeaders.get(0))
+        .containsEntry("key", "value1")
+        .containsEntry(GcpPubSubHeaders.ORIGINAL_MESSAGE, first);
+    assertThat(batchHeaders.get(1))
+        .containsEntry("key", "value2")
+        .containsEntry(GcpPubSubHeaders.ORIGINAL_MESSAGE, second);
+    verify(first).ack();
+    verify(second).ack();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBatchMode_sendsPartialBatchAfterTimeout() {
+    List<Consumer<ConvertedBasicAcknowledgeablePubsubMessage<?>>> consumers =
+        captureMessageConsumer();
+    this.context.refresh();
+    this.adapter.setBatchSize(10);
+    this.adapter.setBatchTimeout(10L);
+    this.adapter.start();
+
+    consumers.get(0).accept(createMessage("payload1", "value1"));
+
+    ArgumentCaptor<Message<List<Object>>> argument = ArgumentCaptor.forClass(Message.class);
+    verify(this.mockMessageChannel, timeout(5000)).send(argument.capture());
+    assertThat(argument.getValue().getPayload()).containsExactly("payload1");
+  }
+
+  @Test
+  public void testBatchMode_nacksWholeBatchWhenDownstreamProcessingFails() {
+    List<Consumer<ConvertedBasicAcknowledgeablePubsubMessage<?>>> consumers =
+        captureMessageConsumer();
+    this.context.refresh();
+    when(this.mockMessageChannel.send(any())).thenThrow(new RuntimeException(EXCEPTION_MESSAGE));
+    this.adapter.setBatchSize(2);
+    this.adapter.setAckMode(AckMode.AUTO);
+    this.adapter.start();
+
+    ConvertedBasicAcknowledgeablePubsubMessage<?> first = createMessage("payload1", "value1");
+    ConvertedBasicAcknowledgeablePubsubMessage<?> second = createMessage("payload2", "value2");
+    consumers.get(0).accept(first);
+    consumers.get(0).accept(second);
+
+    verify(first).nack();
+    verify(second).nack();
+    assertThat(output.getOut()).contains("batch of 2 messages failed; messages nacked automatically");
+  }
+
+  @Test
+  public void testBatchMode_sendsPendingBatchOnStop() {
+    List<Consumer<ConvertedBasicAcknowledgeablePubsubMessage<?>>> consumers =
+        captureMessageConsumer();
+    this.context.refresh();
+    this.adapter.setBatchSize(10);
+    this.adapter.setBatchTimeout(60000L);
+    this.adapter.start();
+
+    consumers.get(0).accept(createMessage("payload1", "value1"));
+    verify(this.mockMessageChannel, never()).send(any());
+
+    this.adapter.stop();
+
+    verify(this.mockMessageChannel).send(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBatchMode_sendsMessagesDeliveredWhileStoppingOnceTerminated() throws Exception {
+    List<Consumer<ConvertedBasicAcknowledgeablePubsubMessage<?>>> consumers = new ArrayList<>();
+    Subscriber subscriber = mock(Subscriber.class);
+    when(this.mockPubSubSubscriberOperations.subscribeAndConvert(
+            anyString(), any(Consumer.class), any(Class.class)))
+        .then(
+            invocationOnMock -> {
+              consumers.add(invocationOnMock.getArgument(1));
+              return subscriber;
+            });
+    this.context.refresh();
+    this.adapter.setBatchSize(10);
+    this.adapter.setBatchTimeout(60000L);
+    this.adapter.start();
+    consumers.get(0).accept(createMessage("payload1", "value1"));
+    doAnswer(
+            invocationOnMock -> {
+              verify(subscriber).stopAsync();
+              consumers.get(0).accept(createMessage("payload2", "value2"));
+              return null;
+            })
+        .when(subscriber)
+        .awaitTerminated(anyLong(), any(TimeUnit.class));
+
+    this.adapter.stop();
+
+    ArgumentCaptor<Message<List<Object>>> argument = ArgumentCaptor.forClass(Message.class);
+    verify(this.mockMessageChannel).send(argument.capture());
+    assertThat(argument.getValue().getPayload()).containsExactly("payload1", "payload2");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBatchMode_staleTimeoutDoesNotSendNextBatch() {
+    List<Consumer<ConvertedBasicAcknowledgeablePubsubMessage<?>>> consumers =
+        captureMessageConsumer();
+    List<Runnable> timeouts = new ArrayList<>();
+    TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    when(taskScheduler.schedule(any(Runnable.class), any(Date.class)))
+        .then(
+            invocationOnMock -> {
+              timeouts.add(invocationOnMock.getArgument(0));
+              return mock(ScheduledFuture.class);
+            });
+    this.adapter.setTaskScheduler(taskScheduler);
+    this.adapter.setBatchSize(2);
+    this.adapter.start();
+
+    consumers.get(0).accept(createMessage("payload1", "value1"));
+    consumers.get(0).accept(createMessage("payload2", "value2"));
+    consumers.get(0).accept(createMessage("payload3", "value3"));
+    // The timeout of the first batch fires after it filled up.
+    timeouts.get(0).run();
+    verify(this.mockMessageChannel, times(1)).send(any());
+
+    timeouts.get(1).run();
+
+    ArgumentCaptor<Message<List<Object>>> argument = ArgumentCaptor.forClass(Message.class);
+    verify(this.mockMessageChannel, times(2)).send(argument.capture());
+    assertThat(argument.getAllValues().get(1).getPayload()).containsExactly("payload3");
+  }
+
+  @Test
+  public void testInvalidBatchSettings() {
+    assertThatThrownBy(() -> this.adapter.setBatchSize(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("The batch size must be greater than 0.");
+    assertThatThrownBy(() -> this.adapter.setBatchTimeout(0L))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("The batch timeout must be greater than 0.");
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Consumer<ConvertedBasicAcknowledgeablePubsubMessage<?>>> captureMessageConsumer() {
+    List<Consumer<ConvertedBasicAcknowledgeablePubsubMessage<?>>> consumers = new ArrayList<>();
+    when(this.mockPubSubSubscriberOperations.subscribeAndConvert(
+            anyString(), any(Consumer.class), any(Class.class)))
+        .then(
+            invocationOnMock -> {
+              consumers.add(invocationOnMock.getArgument(1));
+              return null;
+            });
+    return consumers;
+  }
+
+  private ConvertedBasicAcknowledgeablePubsubMessage<?> createMessage(
+      String payload, String attributeValue) {
+    ConvertedBasicAcknowledgeablePubsubMessage<?> message =
+        mock(ConvertedBasicAcknowledgeablePubsubMessage.class);
+    when(message.getPubsubMessage())
+        .thenReturn(PubsubMessage.newBuilder().putAttributes("key", attributeValue).build());
+    when(message.getPayload()).thenAnswer(invocation -> payload);
+    return message;
+  }
+
   @SuppressWarnings("unchecked")
   private void verifyOriginalMessage() {
     ArgumentCaptor<Message<?>> argument = ArgumentCaptor.forClass(Message.class);
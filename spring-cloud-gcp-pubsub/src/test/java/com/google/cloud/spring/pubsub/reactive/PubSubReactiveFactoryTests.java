@@ -22,12 +22,16 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.api.core.ApiService;
 import com.google.api.gax.grpc.GrpcStatusCode;
 import com.google.api.gax.rpc.DeadlineExceededException;
+import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.spring.pubsub.core.subscriber.PubSubSubscriberOperations;
 import com.google.cloud.spring.pubsub.support.AcknowledgeablePubsubMessage;
+import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
 import com.google.protobuf.ByteString;
 import com.google.pubsub.v1.PubsubMessage;
 import io.grpc.Status;
@@ -36,9 +40,11 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -205,7 +211,71 @@ public class PubSubReactiveFactoryTests {
     methodOrder.verifyNoMoreInteractions();
   }
 
-  private String messageToString(AcknowledgeablePubsubMessage message) {
+  @Test
+  public void testStreamDeliversPushedMessages() {
+    List<Consumer<BasicAcknowledgeablePubsubMessage>> consumers = new ArrayList<>();
+    Subscriber subscriber = mock(Subscriber.class);
+    when(subscriberOperations.subscribe(eq("sub1"), any()))
+        .then(
+            invocation -> {
+              consumers.add(invocation.getArgument(1));
+              return subscriber;
+            });
+    when(subscriber.state()).thenReturn(ApiService.State.RUNNING);
+
+    BasicAcknowledgeablePubsubMessage lateMessage = createBasicMessage("late");
+
+    StepVerifier.create(factory.stream("sub1").map(this::messageToString), 1)
+        .expectSubscription()
+        .then(
+            () -> {
+              consumers.get(0).accept(createBasicMessage("msg1"));
+              consumers.get(0).accept(createBasicMessage("msg2"));
+            })
+        .expectNext("msg1")
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenRequest(1)
+        .expectNext("msg2")
+        .thenCancel()
+        .verify();
+
+    consumers.get(0).accept(lateMessage);
+
+    verify(subscriber).stopAsync();
+    verify(lateMessage).nack();
+    verify(subscriberOperations, times(1)).subscribe(eq("sub1"), any());
+  }
+
+  @Test
+  public void testStreamFailsWhenSubscriberFails() {
+    Subscriber subscriber = mock(Subscriber.class);
+    when(subscriberOperations.subscribe(eq("sub1"), any())).thenReturn(subscriber);
+    when(subscriber.state()).thenReturn(ApiService.State.RUNNING);
+    ArgumentCaptor<ApiService.Listener> listenerCaptor =
+        ArgumentCaptor.forClass(ApiService.Listener.class);
+
+    StepVerifier.create(factory.stream("sub1"))
+        .expectSubscription()
+        .then(
+            () -> {
+              verify(subscriber).addListener(listenerCaptor.capture(), any());
+              listenerCaptor
+                  .getValue()
+                  .failed(ApiService.State.RUNNING, new RuntimeException("stream broken"));
+            })
+        .expectErrorMessage("stream broken")
+        .verify();
+  }
+
+  private BasicAcknowledgeablePubsubMessage createBasicMessage(String payload) {
+    BasicAcknowledgeablePubsubMessage msg = mock(BasicAcknowledgeablePubsubMessage.class);
+    PubsubMessage pubsubMessage =
+        PubsubMessage.newBuilder().setData(ByteString.copyFrom(payload.getBytes())).build();
+    when(msg.getPubsubMessage()).thenReturn(pubsubMessage);
+    return msg;
+  }
+
+  private String messageToString(BasicAcknowledgeablePubsubMessage message) {
     return new String(message.getPubsubMessage().getData().toByteArray(), Charset.defaultCharset());
   }
 
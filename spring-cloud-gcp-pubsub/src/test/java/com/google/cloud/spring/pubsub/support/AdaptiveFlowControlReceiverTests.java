@@ -0,0 +1,187 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.api.core.ApiClock;
+import com.google.cloud.pubsub.v1.AckReplyConsumer;
+import com.google.cloud.pubsub.v1.MessageReceiver;
+import com.google.pubsub.v1.PubsubMessage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+/** Tests for {@link AdaptiveFlowControlReceiver}. */
+public class AdaptiveFlowControlReceiverTests {
+
+  private final AtomicLong nanos = new AtomicLong();
+
+  private final ApiClock clock =
+      new ApiClock() {
+        @Override
+        public long nanoTime() {
+          return nanos.get();
+        }
+
+        @Override
+        public long millisTime() {
+          return TimeUnit.NANOSECONDS.toMillis(nanos.get());
+        }
+      };
+
+  private final AtomicLong latencyNanos = new AtomicLong();
+
+  @Test
+  public void testLimitStartsAtMaximum() {
+    AdaptiveFlowControlReceiver receiver = createReceiver(1, 3, acking());
+
+    assertThat(receiver.getLimit()).isEqualTo(3);
+    assertThat(receiver.getOutstandingElementCount()).isZero();
+  }
+
+  @Test
+  public void testLimitShrinksOnSlowProcessingAndGrowsBack() {
+    AdaptiveFlowControlReceiver receiver = createReceiver(1, 3, acking());
+    receive(receiver, 10L);
+
+    receive(receiver, 100L);
+    assertThat(receiver.getLimit()).isEqualTo(2);
+
+    receive(receiver, 10L);
+    assertThat(receiver.getLimit()).isEqualTo(3);
+    assertThat(receiver.getOutstandingElementCount()).isZero();
+  }
+
+  @Test
+  public void testLimitShrinksOnNackButNotBelowMinimum() {
+    AdaptiveFlowControlReceiver receiver =
+        createReceiver(2, 3, (message, consumer) -> consumer.nack());
+
+    for (int i = 0; i < 5; i++) {
+      AckReplyConsumer consumer = mock(AckReplyConsumer.class);
+      receiver.receiveMessage(PubsubMessage.getDefaultInstance(), consumer);
+      verify(consumer).nack();
+    }
+
+    assertThat(receiver.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  public void testLimitShrinksOnReceiverFailure() {
+    AdaptiveFlowControlReceiver receiver =
+        createReceiver(
+            1,
+            10,
+            (message, consumer) -> {
+              throw new IllegalStateException("boom");
+            });
+
+    assertThatThrownBy(
+            () ->
+                receiver.receiveMessage(
+                    PubsubMessage.getDefaultInstance(), mock(AckReplyConsumer.class)))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(receiver.getLimit()).isEqualTo(9);
+    assertThat(receiver.getOutstandingElementCount()).isZero();
+  }
+
+  @Test
+  public void testMessagesAckedLaterReleasedOnceDelivered() {
+    List<AckReplyConsumer> pendingConsumers = new CopyOnWriteArrayList<>();
+    AdaptiveFlowControlReceiver receiver =
+        createReceiver(1, 1, (message, consumer) -> pendingConsumers.add(consumer));
+    AckReplyConsumer consumer = mock(AckReplyConsumer.class);
+
+    receiver.receiveMessage(PubsubMessage.getDefaultInstance(), consumer);
+    receiver.receiveMessage(PubsubMessage.getDefaultInstance(), consumer);
+    assertThat(receiver.getOutstandingElementCount()).isZero();
+
+    pendingConsumers.forEach(AckReplyConsumer::ack);
+    verify(consumer, times(2)).ack();
+    assertThat(receiver.getOutstandingElementCount()).isZero();
+    assertThat(receiver.getLimit()).isEqualTo(1);
+  }
+
+  @Test
+  public void testMessagesOverLimitWaitForRelease() throws Exception {
+    CountDownLatch processing = new CountDownLatch(1);
+    CountDownLatch proceed = new CountDownLatch(1);
+    AdaptiveFlowControlReceiver receiver =
+        createReceiver(
+            1,
+            1,
+            (message, consumer) -> {
+              processing.countDown();
+              try {
+                proceed.await();
+              } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+              }
+              consumer.ack();
+            });
+    AckReplyConsumer consumer = mock(AckReplyConsumer.class);
+    Thread first =
+        new Thread(() -> receiver.receiveMessage(PubsubMessage.getDefaultInstance(), consumer));
+    first.start();
+    assertThat(processing.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CountDownLatch delivered = new CountDownLatch(1);
+    Thread second =
+        new Thread(
+            () -> {
+              receiver.receiveMessage(
+                  PubsubMessage.getDefaultInstance(), mock(AckReplyConsumer.class));
+              delivered.countDown();
+            });
+    second.start();
+
+    assertThat(delivered.await(100, TimeUnit.MILLISECONDS)).isFalse();
+    proceed.countDown();
+    assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+    verify(consumer).ack();
+    first.join();
+    second.join();
+  }
+
+  private MessageReceiver acking() {
+    return (message, consumer) -> {
+      this.nanos.addAndGet(this.latencyNanos.get());
+      consumer.ack();
+    };
+  }
+
+  private AdaptiveFlowControlReceiver createReceiver(
+      long min, long max, MessageReceiver delegate) {
+    return new AdaptiveFlowControlReceiver(delegate, min, max, 2.0, this.clock);
+  }
+
+  private void receive(AdaptiveFlowControlReceiver receiver, long latencyNanos) {
+    this.latencyNanos.set(latencyNanos);
+    AckReplyConsumer consumer = mock(AckReplyConsumer.class);
+    receiver.receiveMessage(PubsubMessage.getDefaultInstance(), consumer);
+    verify(consumer).ack();
+  }
+}
@@ -17,11 +17,21 @@
 package com.google.cloud.spring.pubsub.support;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.api.core.ApiClock;
 import com.google.cloud.pubsub.v1.Publisher;
+import com.google.cloud.spring.pubsub.core.metrics.PubSubMetrics;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -37,6 +47,25 @@ public class CachingPublisherFactoryTests {
 
   @Mock private Publisher publisher2;
 
+  @Mock private Publisher publisher3;
+
+  @Mock private PubSubMetrics metrics;
+
+  private final AtomicLong millis = new AtomicLong();
+
+  private final ApiClock clock =
+      new ApiClock() {
+        @Override
+        public long nanoTime() {
+          return TimeUnit.MILLISECONDS.toNanos(millis.get());
+        }
+
+        @Override
+        public long millisTime() {
+          return millis.get();
+        }
+      };
+
   @Test
   public void testGetPublisherCaching() {
     CachingPublisherFactory cachingPublisherFactory = new CachingPublisherFactory(delegate);
@@ -53,4 +82,130 @@ public class CachingPublisherFactoryTests {
     verify(delegate, times(1)).createPublisher("topic1");
     verify(delegate, times(1)).createPublisher("topic2");
   }
+
+  @Test
+  public void testLeastRecentlyUsedPublisherEvictedOverMaximumSize() throws Exception {
+    CachingPublisherFactory cachingPublisherFactory = new CachingPublisherFactory(delegate);
+    cachingPublisherFactory.setClock(this.clock);
+    cachingPublisherFactory.setMaximumSize(2);
+    cachingPublisherFactory.setEvictionGracePeriod(Duration.ZERO);
+    cachingPublisherFactory.setShutdownTimeout(Duration.ZERO);
+    cachingPublisherFactory.setMetrics(this.metrics);
+
+    when(delegate.createPublisher("topic1")).thenReturn(publisher1);
+    when(delegate.createPublisher("topic2")).thenReturn(publisher2);
+    when(delegate.createPublisher("topic3")).thenReturn(publisher3);
+    when(publisher2.awaitTermination(anyLong(), any())).thenReturn(true);
+
+    cachingPublisherFactory.createPublisher("topic1");
+    this.millis.set(1);
+    cachingPublisherFactory.createPublisher("topic2");
+    this.millis.set(2);
+    cachingPublisherFactory.createPublisher("topic1");
+    this.millis.set(3);
+    assertThat(cachingPublisherFactory.createPublisher("topic3")).isEqualTo(publisher3);
+
+    verify(publisher2, timeout(1000)).shutdown();
+    verify(publisher2, timeout(1000)).awaitTermination(0L, TimeUnit.MILLISECONDS);
+    verify(publisher1, never()).shutdown();
+    assertThat(cachingPublisherFactory.getCacheSize()).isEqualTo(2);
+    assertThat(cachingPublisherFactory.getHitCount()).isEqualTo(1);
+    assertThat(cachingPublisherFactory.getMissCount()).isEqualTo(3);
+    assertThat(cachingPublisherFactory.getEvictionCount()).isEqualTo(1);
+    verify(this.metrics).recordPublisherCacheHit("topic1");
+    verify(this.metrics).recordPublisherCacheMiss("topic3");
+    verify(this.metrics).recordPublisherCacheEviction("topic2");
+  }
+
+  @Test
+  public void testEvictedPublisherShutDownAfterGracePeriod() throws Exception {
+    CachingPublisherFactory cachingPublisherFactory = new CachingPublisherFactory(delegate);
+    cachingPublisherFactory.setClock(this.clock);
+    cachingPublisherFactory.setMaximumSize(1);
+    cachingPublisherFactory.setEvictionGracePeriod(Duration.ofMillis(200));
+
+    when(delegate.createPublisher("topic1")).thenReturn(publisher1);
+    when(delegate.createPublisher("topic2")).thenReturn(publisher2);
+
+    cachingPublisherFactory.createPublisher("topic1");
+    this.millis.set(1);
+    cachingPublisherFactory.createPublisher("topic2");
+
+    assertThat(cachingPublisherFactory.getEvictionCount()).isOne();
+    verify(publisher1, after(100).never()).shutdown();
+    verify(publisher1, timeout(1000)).shutdown();
+  }
+
+  @Test
+  public void testDestroyShutsDownPublishersInGracePeriod() {
+    CachingPublisherFactory cachingPublisherFactory = new CachingPublisherFactory(delegate);
+    cachingPublisherFactory.setClock(this.clock);
+    cachingPublisherFactory.setMaximumSize(1);
+    cachingPublisherFactory.setEvictionGracePeriod(Duration.ofHours(1));
+
+    when(delegate.createPublisher("topic1")).thenReturn(publisher1);
+    when(delegate.createPublisher("topic2")).thenReturn(publisher2);
+    when(delegate.createPublisher("topic3")).thenReturn(publisher3);
+
+    cachingPublisherFactory.createPublisher("topic1");
+    this.millis.set(1);
+    cachingPublisherFactory.createPublisher("topic2");
+    cachingPublisherFactory.destroy();
+
+    verify(publisher1).shutdown();
+    verify(publisher2).shutdown();
+
+    // Publishers evicted after destroy() are shut down right away.
+    this.millis.set(2);
+    cachingPublisherFactory.createPublisher("topic3");
+    cachingPublisherFactory.createPublisher("topic1");
+    verify(publisher3).shutdown();
+  }
+
+  @Test
+  public void testIdlePublisherEvicted() {
+    CachingPublisherFactory cachingPublisherFactory = new CachingPublisherFactory(delegate);
+    cachingPublisherFactory.setClock(this.clock);
+    cachingPublisherFactory.setIdleTimeout(Duration.ofSeconds(10));
+    cachingPublisherFactory.setEvictionGracePeriod(Duration.ZERO);
+
+    when(delegate.createPublisher("topic1")).thenReturn(publisher1);
+    when(delegate.createPublisher("topic2")).thenReturn(publisher2);
+
+    cachingPublisherFactory.createPublisher("topic1");
+    this.millis.set(5000);
+    cachingPublisherFactory.createPublisher("topic2");
+    this.millis.set(12000);
+    cachingPublisherFactory.createPublisher("topic2");
+    verify(publisher1, never()).shutdown();
+
+    this.millis.set(15000);
+    cachingPublisherFactory.createPublisher("topic2");
+
+    verify(publisher1, timeout(1000)).shutdown();
+    verify(publisher2, never()).shutdown();
+    assertThat(cachingPublisherFactory.getCacheSize()).isOne();
+    assertThat(cachingPublisherFactory.getEvictionCount()).isOne();
+
+    this.millis.set(16000);
+    assertThat(cachingPublisherFactory.createPublisher("topic1")).isEqualTo(publisher1);
+    verify(delegate, times(2)).createPublisher("topic1");
+  }
+
+  @Test
+  public void testDestroyShutsDownCachedPublishers() {
+    CachingPublisherFactory cachingPublisherFactory = new CachingPublisherFactory(delegate);
+
+    when(delegate.createPublisher("topic1")).thenReturn(publisher1);
+    when(delegate.createPublisher("topic2")).thenReturn(publisher2);
+
+    cachingPublisherFactory.createPublisher("topic1");
+    cachingPublisherFactory.createPublisher("topic2");
+    cachingPublisherFactory.destroy();
+
+    verify(publisher1).shutdown();
+    verify(publisher2).shutdown();
+    assertThat(cachingPublisherFactory.getCacheSize()).isZero();
+    assertThat(cachingPublisherFactory.getEvictionCount()).isZero();
+  }
 }
@@ -376,6 +376,40 @@ public class DefaultSubscriberFactoryTests {
         .hasFieldOrPropertyWithValue("numPullers", 2);
   }
 
+  @Test
+  public void testCreateSubscriber_adaptiveFlowControl() throws IllegalAccessException {
+    PubSubConfiguration pubSubConfiguration = new PubSubConfiguration();
+    pubSubConfiguration.getSubscriber().getAdaptiveFlowControl().setEnabled(true);
+    pubSubConfiguration.getSubscriber().getAdaptiveFlowControl().setMinOutstandingElementCount(5L);
+    DefaultSubscriberFactory factory =
+        new DefaultSubscriberFactory(() -> "project", pubSubConfiguration);
+    factory.setCredentialsProvider(this.credentialsProvider);
+    factory.setGlobalFlowControlSettings(
+        FlowControlSettings.newBuilder().setMaxOutstandingElementCount(20L).build());
+
+    Subscriber subscriber = factory.createSubscriber("sub", (message, consumer) -> {});
+
+    Object receiver = FieldUtils.readField(subscriber, "receiver", true);
+    assertThat(receiver)
+        .isInstanceOf(AdaptiveFlowControlReceiver.class)
+        .hasFieldOrPropertyWithValue("minOutstandingElementCount", 5L)
+        .hasFieldOrPropertyWithValue("maxOutstandingElementCount", 20L)
+        .hasFieldOrPropertyWithValue("latencyTolerance", 2.0);
+  }
+
+  @Test
+  public void testCreateSubscriber_adaptiveFlowControlDisabledByDefault()
+      throws IllegalAccessException {
+    DefaultSubscriberFactory factory =
+        new DefaultSubscriberFactory(() -> "project", new PubSubConfiguration());
+    factory.setCredentialsProvider(this.credentialsProvider);
+
+    Subscriber subscriber = factory.createSubscriber("sub", (message, consumer) -> {});
+
+    assertThat(FieldUtils.readField(subscriber, "receiver", true))
+        .isNotInstanceOf(AdaptiveFlowControlReceiver.class);
+  }
+
   @Test
   public void testGetFlowControlSettings_userProvidedBean() {
     FlowControlSettings expectedFlowSettings =
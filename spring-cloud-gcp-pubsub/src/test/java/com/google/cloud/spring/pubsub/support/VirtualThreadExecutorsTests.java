@@ -0,0 +1,154 @@
+/*
+ * Copyright 2022-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.spring.pubsub.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+/** Tests for {@link VirtualThreadExecutors}. */
+public class VirtualThreadExecutorsTests {
+
+  private final AtomicInteger threadCount = new AtomicInteger();
+
+  private final ThreadFactory taskThreadFactory =
+      runnable -> new Thread(runnable, "task-" + threadCount.incrementAndGet());
+
+  private final VirtualThreadExecutors.ThreadPerTaskScheduledExecutor scheduler =
+      new VirtualThreadExecutors.ThreadPerTaskScheduledExecutor("test-", taskThreadFactory);
+
+  @After
+  public void tearDown() {
+    this.scheduler.shutdownNow();
+  }
+
+  @Test
+  public void testImmediateTasksRunOnNewThreads() throws Exception {
+    CompletableFuture<String> executed = new CompletableFuture<>();
+    this.scheduler.execute(() -> executed.complete(Thread.currentThread().getName()));
+
+    String submitted =
+        this.scheduler.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+    assertThat(executed.get(5, TimeUnit.SECONDS)).isEqualTo("task-1");
+    assertThat(submitted).isEqualTo("task-2");
+  }
+
+  @Test
+  public void testDelayedTasksRunOnNewThreads() throws Exception {
+    ScheduledFuture<String> future =
+        this.scheduler.schedule(
+            () -> Thread.currentThread().getName(), 10, TimeUnit.MILLISECONDS);
+
+    assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("task-1");
+    assertThat(future.isDone()).isTrue();
+  }
+
+  @Test
+  public void testPeriodicTasksRunOnNewThreadEveryTime() throws Exception {
+    List<String> threadNames = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(3);
+    ScheduledFuture<?> future =
+        this.scheduler.scheduleAtFixedRate(
+            () -> {
+              threadNames.add(Thread.currentThread().getName());
+              latch.countDown();
+            },
+            0,
+            10,
+            TimeUnit.MILLISECONDS);
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    future.cancel(false);
+
+    assertThat(threadNames.subList(0, 3)).containsExactly("task-1", "task-2", "task-3");
+    assertThat(future.isCancelled()).isTrue();
+  }
+
+  @Test
+  public void testTasksRejectedAfterShutdown() {
+    this.scheduler.shutdown();
+
+    assertThatThrownBy(() -> this.scheduler.execute(() -> {}))
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThatThrownBy(() -> this.scheduler.schedule(() -> {}, 1, TimeUnit.SECONDS))
+        .isInstanceOf(RejectedExecutionException.class);
+  }
+
+  @Test
+  public void testSupportedFromJava21() {
+    String specificationVersion = System.getProperty("java.specification.version");
+    boolean java21OrLater =
+        !specificationVersion.startsWith("1.") && Integer.parseInt(specificationVersion) >= 21;
+
+    assertThat(VirtualThreadExecutors.isSupported()).isEqualTo(java21OrLater);
+  }
+
+  @Test
+  public void testUnsupportedRuntime() {
+    assumeFalse(VirtualThreadExecutors.isSupported());
+
+    assertThatThrownBy(() -> VirtualThreadExecutors.newExecutor("test-"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Virtual threads require Java 21 or later.");
+  }
+
+  @Test
+  public void testTasksRunOnVirtualThreads() throws Exception {
+    assumeTrue(VirtualThreadExecutors.isSupported());
+
+    CompletableFuture<Thread> thread = new CompletableFuture<>();
+    VirtualThreadExecutors.newExecutor("test-")
+        .execute(() -> thread.complete(Thread.currentThread()));
+
+    Thread taskThread = thread.get(5, TimeUnit.SECONDS);
+    assertThat(taskThread.getName()).isEqualTo("test-0");
+    assertThat(Thread.class.getMethod("isVirtual").invoke(taskThread)).isEqualTo(true);
+  }
+
+  @Test
+  public void testScheduledTasksRunOnVirtualThreads() throws Exception {
+    assumeTrue(VirtualThreadExecutors.isSupported());
+
+    ScheduledExecutorService executor = VirtualThreadExecutors.newScheduledExecutor("test-");
+    try {
+      ScheduledFuture<Thread> thread =
+          executor.schedule(Thread::currentThread, 10, TimeUnit.MILLISECONDS);
+
+      Thread taskThread = thread.get(5, TimeUnit.SECONDS);
+
+      assertThat(taskThread.getName()).startsWith("test-");
+      assertThat(Thread.class.getMethod("isVirtual").invoke(taskThread)).isEqualTo(true);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
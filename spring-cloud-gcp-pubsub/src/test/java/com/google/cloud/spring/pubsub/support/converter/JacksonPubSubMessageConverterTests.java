@@ -17,10 +17,14 @@
 package com.google.cloud.spring.pubsub.support.converter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
+import com.google.protobuf.ByteString;
 import com.google.pubsub.v1.PubsubMessage;
+import java.util.Arrays;
 import java.util.Collections;
 import org.json.JSONException;
 import org.junit.jupiter.api.Test;
@@ -67,6 +71,42 @@ class JacksonPubSubMessageConverterTests {
         .isEqualTo(contact);
   }
 
+  @Test
+  void testLargePojo() {
+    char[] name = new char[64 * 1024];
+    Arrays.fill(name, 'a');
+    Contact contact = new Contact(new String(name), "Edison", 8817);
+
+    PubsubMessage pubsubMessage = this.converter.toPubSubMessage(contact, null);
+
+    assertThat(pubsubMessage.getData().size()).isGreaterThan(name.length);
+    assertThat(this.converter.fromPubSubMessage(pubsubMessage, Contact.class)).isEqualTo(contact);
+    assertThat(this.converter.fromPubSubMessage(pubsubMessage, Contact.class)).isEqualTo(contact);
+  }
+
+  @Test
+  void testObjectMapperChangesSeenWhenWriting() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    JacksonPubSubMessageConverter converter = new JacksonPubSubMessageConverter(objectMapper);
+    Contact contact = new Contact("Thomas", "Edison", 8817);
+    converter.toPubSubMessage(contact, null);
+
+    objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+    assertThat(converter.toPubSubMessage(contact, null).getData().toStringUtf8()).contains("\n");
+  }
+
+  @Test
+  void testFromPubSubMessageWithInvalidJson() {
+    PubsubMessage pubsubMessage =
+        PubsubMessage.newBuilder().setData(ByteString.copyFromUtf8("{\"zip\":")).build();
+
+    assertThatThrownBy(() -> this.converter.fromPubSubMessage(pubsubMessage, Contact.class))
+        .isInstanceOf(PubSubMessageConversionException.class)
+        .hasMessageStartingWith(
+            "JSON deserialization of an object of type " + Contact.class.getName() + " failed.");
+  }
+
   @Test
   void testToPubSubMessageWithNullPayload() throws JSONException {
     PubsubMessage pubsubMessage = this.converter.toPubSubMessage(null, null);